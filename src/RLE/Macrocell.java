@@ -0,0 +1,267 @@
+package RLE;
+
+import model.board.NodeTable;
+import model.board.QuadTree;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Macrocell toolbox class for reading and writing patterns in Golly's quadtree format.
+ *
+ * A macrocell file lists the distinct nodes of a pattern's quadtree, one per line and children before parents, so a
+ * pattern made up of repeated regions is stored once per distinct region rather than once per cell. Leaves are 8 by 8
+ * cells, written as rows of {@code .} and {@code *} ended by {@code $}. Larger nodes are written as their level
+ * followed by the line numbers of their four quadrants, with 0 for an empty quadrant. The last node is the root.
+ */
+public final class Macrocell {
+    /**
+     * First line of every macrocell file.
+     */
+    private static final String MAGIC = "[M2]";
+
+    /**
+     * Hogging the constructor, to prevent instantiation.
+     */
+    private Macrocell() {}
+
+    /**
+     * Reads a macrocell file into a table of nodes, without expanding it into cells.
+     * @param reader Reader to read the macrocell file from. It is not closed.
+     * @return A {@code MacrocellPattern} containing metadata on the pattern, as well as its quadtree.
+     * @throws IOException Throws an exception if the IO operation fails.
+     * @throws RLEParserException Throws an exception if the file is not a valid macrocell file.
+     */
+    public static MacrocellPattern toPattern(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line = in.readLine();
+        if (line == null || !line.startsWith(MAGIC)) {
+            throw new RLEParserException("Missing " + MAGIC + " header");
+        }
+
+        String name = "";
+        String author = "";
+        StringBuilder description = new StringBuilder();
+        String rule = "B3/S23";
+        NodeTable tree = new NodeTable();
+        int lineNumber = 1;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            char first = line.charAt(0);
+            if (first == '#') {
+                String text = line.length() > 2 ? line.substring(2).trim() : "";
+                char type = line.length() > 1 ? line.charAt(1) : ' ';
+                if (type == 'R' && text.length() > 0) {
+                    rule = text;
+                } else if (type == 'N') {
+                    name = text;
+                } else if (type == 'O') {
+                    author = text;
+                } else if (type == 'C') {
+                    if (description.length() > 0) description.append('\n');
+                    description.append(text);
+                }
+                continue;
+            }
+
+            int node;
+            if (first == '.' || first == '*' || first == '$') {
+                node = tree.addLeaf(parseLeaf(line, lineNumber));
+            } else {
+                node = parseNode(line, tree, lineNumber);
+            }
+            tree.setRoot(node);
+        }
+
+        return new MacrocellPattern(name, author, description.toString(), "", rule, tree);
+    }
+
+    /**
+     * @param line Leaf line, made up of {@code .}, {@code *} and {@code $}.
+     * @param lineNumber Number of the line in the file, for error messages.
+     * @return The leaf's cells.
+     */
+    private static long parseLeaf(String line, int lineNumber) {
+        long cells = 0;
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '$') {
+                y++;
+                x = 0;
+                continue;
+            }
+            if (y >= 8 || x >= 8 || (ch != '.' && ch != '*')) {
+                throw new RLEParserException("Invalid leaf on line " + lineNumber);
+            }
+            if (ch == '*') cells |= 1L << (y * 8 + x);
+            x++;
+        }
+        return cells;
+    }
+
+    /**
+     * @param line Node line, made up of the node's level and the numbers of its four quadrants.
+     * @param tree Table of the nodes read so far, which the node is added to.
+     * @param lineNumber Number of the line in the file, for error messages.
+     * @return Number of the added node.
+     */
+    private static int parseNode(String line, NodeTable tree, int lineNumber) {
+        String[] fields = line.split("\\s+");
+        if (fields.length != 5) {
+            throw new RLEParserException("Invalid node on line " + lineNumber);
+        }
+        int[] values = new int[5];
+        try {
+            for (int i = 0; i < 5; i++) {
+                values[i] = Integer.parseInt(fields[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new RLEParserException("Invalid node on line " + lineNumber);
+        }
+
+        int level = values[0];
+        if (level <= QuadTree.LEAF_LEVEL || level > 62) {
+            throw new RLEParserException("Invalid level " + level + " on line " + lineNumber);
+        }
+        for (int i = 1; i < 5; i++) {
+            int child = values[i];
+            if (child < 0 || child > tree.getNodeCount()) {
+                throw new RLEParserException("Node on line " + lineNumber + " refers to unknown node " + child);
+            }
+            if (child != 0 && tree.getLevel(child) != level - 1) {
+                throw new RLEParserException("Node on line " + lineNumber + " has a quadrant of the wrong level");
+            }
+        }
+        return tree.addNode(level, values[1], values[2], values[3], values[4]);
+    }
+
+    /**
+     * Writes a quadtree as a macrocell file. Identical subtrees are written once, even if the tree holds them as
+     * separate nodes, and every node of the tree is visited at most once.
+     * @param out Writer to write the macrocell file to. It is flushed, but not closed.
+     * @param name The name of the pattern.
+     * @param author The author of the pattern.
+     * @param description The description of the pattern. Each of its lines is written as a line of its own.
+     * @param rule The rule string the pattern is designed for.
+     * @param tree The pattern's quadtree.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public static void write(Writer out, String name, String author, String description, String rule, QuadTree tree)
+            throws IOException {
+        if (rule.length() <= 0) throw new RLEException("Rule must be defined");
+
+        out.write(MAGIC + " (game-of-life)\n");
+        out.write("#R " + rule + "\n");
+        if (name.length() > 0) out.write("#N " + name + "\n");
+        if (author.length() > 0) out.write("#O " + author + "\n");
+        if (description.length() > 0) {
+            for (String line : description.split("\n")) {
+                out.write("#C " + line + "\n");
+            }
+        }
+
+        if (tree.getRoot() != 0) {
+            new NodeWriter(out, tree).write(tree.getRoot());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the nodes of a quadtree bottom-up, numbering each distinct node by the line it is written on.
+     */
+    private static final class NodeWriter {
+        private final Writer out;
+
+        private final QuadTree tree;
+
+        /**
+         * Line number each node of the tree was written on, indexed by node, or 0 if it has not been written.
+         */
+        private final int[] lines;
+
+        /**
+         * Nodes of the tree found to hold no alive cells, indexed by node.
+         */
+        private final BitSet empty;
+
+        /**
+         * Line numbers of the lines written so far, keyed by their contents.
+         */
+        private final Map<String, Integer> written = new HashMap<>();
+
+        NodeWriter(Writer out, QuadTree tree) {
+            this.out = out;
+            this.tree = tree;
+            this.lines = new int[tree.getNodeCount() + 1];
+            this.empty = new BitSet(tree.getNodeCount() + 1);
+        }
+
+        /**
+         * Writes a node, after its quadrants, unless it has been written already or is known to be empty.
+         * @param node Node of the tree.
+         * @return Line number of the node, or 0 if it is empty.
+         * @throws IOException Throws an exception if the IO operation fails.
+         */
+        int write(int node) throws IOException {
+            if (node == 0 || empty.get(node)) return 0;
+            if (lines[node] != 0) return lines[node];
+
+            String line;
+            if (tree.getLevel(node) == QuadTree.LEAF_LEVEL) {
+                long cells = tree.getLeaf(node);
+                if (cells == 0) {
+                    empty.set(node);
+                    return 0;
+                }
+                line = leafLine(cells);
+            } else {
+                int nw = write(tree.getChild(node, 0));
+                int ne = write(tree.getChild(node, 1));
+                int sw = write(tree.getChild(node, 2));
+                int se = write(tree.getChild(node, 3));
+                if ((nw | ne | sw | se) == 0) {
+                    // Empty nodes shared by many parents are only walked once.
+                    empty.set(node);
+                    return 0;
+                }
+                line = tree.getLevel(node) + " " + nw + " " + ne + " " + sw + " " + se;
+            }
+
+            Integer number = written.get(line);
+            if (number == null) {
+                number = written.size() + 1;
+                written.put(line, number);
+                out.write(line);
+                out.write('\n');
+            }
+            lines[node] = number;
+            return number;
+        }
+
+        /**
+         * @param cells Cells of a leaf.
+         * @return The leaf's line, leaving out dead cells at the end of each row and empty rows at the end.
+         */
+        private static String leafLine(long cells) {
+            StringBuilder line = new StringBuilder();
+            for (int y = 0; y < 8 && (cells >>> (y * 8)) != 0; y++) {
+                int row = (int) (cells >>> (y * 8)) & 0xFF;
+                for (int x = 0; row >>> x != 0; x++) {
+                    line.append((row >>> x & 1) != 0 ? '*' : '.');
+                }
+                line.append('$');
+            }
+            return line.toString();
+        }
+    }
+}
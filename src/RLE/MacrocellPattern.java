@@ -0,0 +1,103 @@
+package RLE;
+
+import model.board.QuadTree;
+
+/**
+ * A parsed pattern stored as the table of quadtree nodes it was read from, as read by {@link Macrocell}.
+ *
+ * Boards that store their cells in a quadtree, such as {@code HashLifeBoard}, can take the nodes in as they are. Other
+ * boards need the pattern expanded into cells through {@link #getPattern()}, which is only possible for patterns small
+ * enough to fit in an array.
+ */
+public class MacrocellPattern extends ParsedPattern implements QuadTree {
+    /**
+     * Widest pattern {@link #getPattern()} expands, in cells.
+     */
+    private static final int MAX_EXPANDED_SIZE = 1 << 14;
+
+    /**
+     * The pattern's quadtree.
+     */
+    private final QuadTree tree;
+
+    /**
+     * Constructor.
+     * @param name The name of this parsed pattern.
+     * @param author The author of this parsed pattern.
+     * @param description The description for this pattern.
+     * @param date The date this pattern was created.
+     * @param rule The rule string this pattern was designed for.
+     * @param tree The pattern's quadtree.
+     */
+    MacrocellPattern(String name, String author, String description, String date, String rule, QuadTree tree) {
+        super(name, author, description, date, rule);
+        this.tree = tree;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return tree.getNodeCount();
+    }
+
+    @Override
+    public int getRoot() {
+        return tree.getRoot();
+    }
+
+    @Override
+    public int getLevel(int node) {
+        return tree.getLevel(node);
+    }
+
+    @Override
+    public int getChild(int node, int quadrant) {
+        return tree.getChild(node, quadrant);
+    }
+
+    @Override
+    public long getLeaf(int node) {
+        return tree.getLeaf(node);
+    }
+
+    /**
+     * Expands the quadtree into a two-dimensional byte array as wide as the root node.
+     * @return The pattern, with 0 for dead and 1 for alive.
+     * @throws RLEException Throws an exception if the pattern is too large to expand.
+     */
+    @Override
+    public byte[][] getPattern() {
+        int root = tree.getRoot();
+        if (root == 0) return new byte[1][1];
+        int level = tree.getLevel(root);
+        if (level > 30 || 1 << level > MAX_EXPANDED_SIZE) {
+            throw new RLEException("Pattern is too large to expand: 2^" + level + " cells wide");
+        }
+        byte[][] pattern = new byte[1 << level][1 << level];
+        expand(root, 0, 0, pattern);
+        return pattern;
+    }
+
+    /**
+     * Writes the alive cells of a node into the pattern.
+     * @param node Node to expand, or 0 for an empty node.
+     * @param top Row of the node's top edge.
+     * @param left Column of the node's left edge.
+     * @param pattern Pattern to write into.
+     */
+    private void expand(int node, int top, int left, byte[][] pattern) {
+        if (node == 0) return;
+        int level = tree.getLevel(node);
+        if (level == LEAF_LEVEL) {
+            for (long cells = tree.getLeaf(node); cells != 0; cells &= cells - 1) {
+                int bit = Long.numberOfTrailingZeros(cells);
+                pattern[top + (bit >>> 3)][left + (bit & 7)] = 1;
+            }
+            return;
+        }
+        int half = 1 << (level - 1);
+        expand(tree.getChild(node, 0), top, left, pattern);
+        expand(tree.getChild(node, 1), top, left + half, pattern);
+        expand(tree.getChild(node, 2), top + half, left, pattern);
+        expand(tree.getChild(node, 3), top + half, left + half, pattern);
+    }
+}
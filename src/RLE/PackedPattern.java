@@ -0,0 +1,80 @@
+package RLE;
+
+/**
+ * A parsed pattern stored as packed rows of bits rather than a byte per cell.
+ *
+ * Column {@code x} of a row is bit {@code x & 63} of word {@code x >>> 6}, the same layout as the bit-packed boards
+ * use, so that a board can take the pattern in with word-level copies through
+ * {@code Board.insertPattern(int, long[][])}. Empty rows are stored as {@code null}, and each row only holds words up
+ * to its last alive cell, so a sparse pattern takes up little more memory than its RLE file does.
+ */
+public class PackedPattern extends ParsedPattern {
+    /**
+     * Number of columns in the pattern.
+     */
+    private final int sizeX;
+
+    /**
+     * The pattern's rows, each {@code null} or at most as long as needed to hold {@link #sizeX} bits.
+     */
+    private final long[][] rows;
+
+    /**
+     * Constructor.
+     * @param name The name of this parsed pattern.
+     * @param author The author of this parsed pattern.
+     * @param description The description for this pattern.
+     * @param date The date this pattern was created.
+     * @param rule The rule string this pattern was designed for.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows The pattern's packed rows.
+     */
+    PackedPattern(String name, String author, String description, String date, String rule, int sizeX,
+                  long[][] rows) {
+        super(name, author, description, date, rule);
+        this.sizeX = sizeX;
+        this.rows = rows;
+    }
+
+    /**
+     * @return Number of columns in the pattern.
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * @return Number of rows in the pattern.
+     */
+    public int getSizeY() {
+        return rows.length;
+    }
+
+    /**
+     * @return The pattern's packed rows. A row is {@code null} if it is empty, and may be shorter than the pattern
+     * is wide if its last words are empty.
+     */
+    public long[][] getRows() {
+        return rows;
+    }
+
+    /**
+     * Unpacks the pattern into a two-dimensional byte array, for consumers that need one. This allocates a byte for
+     * every cell of the pattern's bounding box.
+     * @return The pattern, with 0 for dead and 1 for alive.
+     */
+    @Override
+    public byte[][] getPattern() {
+        byte[][] pattern = new byte[rows.length][sizeX];
+        for (int y = 0; y < rows.length; y++) {
+            long[] row = rows[y];
+            if (row == null) continue;
+            for (int i = 0; i < row.length; i++) {
+                for (long word = row[i]; word != 0; word &= word - 1) {
+                    pattern[y][(i << 6) + Long.numberOfTrailingZeros(word)] = 1;
+                }
+            }
+        }
+        return pattern;
+    }
+}
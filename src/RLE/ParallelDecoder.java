@@ -0,0 +1,339 @@
+package RLE;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Decodes large RLE files into packed rows on several threads.
+ *
+ * The file is mapped into memory and its body cut into chunks that each start right after a {@code $}, so that every
+ * chunk starts at the beginning of a row. A first parallel pass counts the rows each chunk moves down by, from its
+ * {@code $} markers and their run counts, which gives the row every chunk starts at. A second parallel pass then
+ * decodes the chunks into the rows of the pattern. No row is written by more than one chunk, so the chunks need no
+ * locking, and decoding scales with the number of cores.
+ *
+ * A decode can be cancelled, which is checked before every chunk, and reports its progress as bytes of the file
+ * decoded, after every chunk of the second pass.
+ */
+public final class ParallelDecoder {
+    /**
+     * Size of the smallest file worth decoding in parallel, in bytes. Smaller files are read faster in one pass.
+     */
+    public static final long MIN_PARALLEL_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Size of the largest file decoded in parallel, in bytes. Larger files cannot be mapped in one piece, and are read
+     * in one pass.
+     */
+    public static final long MAX_PARALLEL_BYTES = Integer.MAX_VALUE;
+
+    /**
+     * Fewest bytes of the body decoded by one chunk.
+     */
+    private static final long MIN_CHUNK_BYTES = 1024 * 1024;
+
+    /**
+     * Number of chunks per thread of the pool, so that threads finishing early can take over the remaining chunks.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Hogging the constructor, to prevent instantiation.
+     */
+    private ParallelDecoder() {}
+
+    /**
+     * Decodes an RLE file on the passed pool. Files too large to be mapped in one piece are read in a single pass.
+     * @param channel Channel to read the UTF-8 encoded RLE file from. It is not closed.
+     * @param pool Pool to decode the chunks of the body on.
+     * @return The pattern, with its metadata.
+     * @throws IOException Throws an exception if the IO operation fails.
+     * @throws RLEException Throws an exception if the header is missing the size of the pattern.
+     * @throws RLEParserException Throws an exception if the body does not fit the size declared by the header.
+     */
+    public static PackedPattern decode(FileChannel channel, ForkJoinPool pool) throws IOException {
+        return decode(channel, pool, () -> false, bytes -> {});
+    }
+
+    /**
+     * Decodes an RLE file on the passed pool, until cancelled. Files too large to be mapped in one piece are read in
+     * a single pass, which is neither checked for cancellation nor reported.
+     * @param channel Channel to read the UTF-8 encoded RLE file from. It is not closed.
+     * @param pool Pool to decode the chunks of the body on.
+     * @param cancelled Returns {@code true} once the decode should stop, checked from the threads of the pool.
+     * @param progress Receives the number of bytes of the file decoded so far, one call at a time, from the threads of
+     *                 the pool, and the size of the file once done.
+     * @return The pattern, with its metadata.
+     * @throws IOException Throws an exception if the IO operation fails.
+     * @throws CancellationException Throws an exception if the decode was cancelled.
+     * @throws RLEException Throws an exception if the header is missing the size of the pattern.
+     * @throws RLEParserException Throws an exception if the body does not fit the size declared by the header.
+     */
+    public static PackedPattern decode(FileChannel channel, ForkJoinPool pool, BooleanSupplier cancelled,
+                                       LongConsumer progress) throws IOException {
+        long chunkBytes = channel.size() / ((long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        return decode(channel, pool, Math.max(MIN_CHUNK_BYTES, chunkBytes), cancelled, progress);
+    }
+
+    /**
+     * @param channel Channel to read the UTF-8 encoded RLE file from. It is not closed.
+     * @param pool Pool to decode the chunks of the body on.
+     * @param chunkBytes Number of bytes of the body to decode per chunk, before rounding up to the end of a row.
+     * @param cancelled Returns {@code true} once the decode should stop.
+     * @param progress Receives the number of bytes of the file decoded so far.
+     * @return The pattern, with its metadata.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    static PackedPattern decode(FileChannel channel, ForkJoinPool pool, long chunkBytes, BooleanSupplier cancelled,
+                                LongConsumer progress) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize > MAX_PARALLEL_BYTES) {
+            channel.position(0);
+            return Parser.toPackedPattern(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        int size = (int) fileSize;
+
+        // The metadata and header are read as the single-pass reader reads them, from the bytes before the body.
+        int bodyStart = findBody(buffer, size);
+        byte[] head = new byte[bodyStart];
+        buffer.duplicate().get(head);
+        RLEReader reader = new RLEReader(new InputStreamReader(new ByteArrayInputStream(head), StandardCharsets.UTF_8));
+        Parser.PackedSink sink = new Parser.PackedSink();
+        reader.read(sink);
+
+        int[] starts = splitBody(buffer, bodyStart, size, chunkBytes);
+        int chunks = starts.length - 1;
+        long[] rowsMoved = new long[chunks];
+        boolean[] terminated = new boolean[chunks];
+        forEachChunk(pool, chunks, cancelled, chunk -> {
+            long moved = countRows(buffer, starts[chunk], starts[chunk + 1]);
+            terminated[chunk] = moved < 0;
+            rowsMoved[chunk] = moved < 0 ? ~moved : moved;
+        });
+
+        // Chunks after the one holding the terminating ! are not part of the body.
+        int[] firstRows = new int[chunks];
+        long y = 0;
+        int bodyChunks = 0;
+        while (bodyChunks < chunks) {
+            firstRows[bodyChunks] = (int) Math.min(y, Integer.MAX_VALUE);
+            y += rowsMoved[bodyChunks];
+            if (terminated[bodyChunks++]) break;
+        }
+
+        Progress decoded = new Progress(progress, bodyStart);
+        forEachChunk(pool, bodyChunks, cancelled, chunk -> {
+            decodeChunk(buffer, starts[chunk], starts[chunk + 1], firstRows[chunk], sink);
+            decoded.add(starts[chunk + 1] - starts[chunk]);
+        });
+        progress.accept(fileSize);
+
+        return new PackedPattern(reader.getName(), reader.getAuthor(), reader.getDescription(), "", sink.rule,
+                sink.sizeX, sink.rows);
+    }
+
+    /**
+     * Finds the body the way {@link RLEReader} does, after the blank lines, the metadata lines and the header line.
+     * @param buffer The file.
+     * @param size Size of the file, in bytes.
+     * @return Offset of the first byte of the body, or the size of the file if it has no body.
+     */
+    private static int findBody(MappedByteBuffer buffer, int size) {
+        int i = 0;
+        while (i < size) {
+            int ch = buffer.get(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+                continue;
+            }
+            // Both metadata lines and the header line are skipped up to their end, but the header ends the search.
+            while (i < size && buffer.get(i) != '\n') {
+                i++;
+            }
+            i++;
+            if (ch != '#') break;
+        }
+        return Math.min(i, size);
+    }
+
+    /**
+     * Cuts the body into chunks, each starting right after a {@code $} so that it starts at the beginning of a row.
+     * @param buffer The file.
+     * @param bodyStart Offset of the first byte of the body.
+     * @param size Size of the file, in bytes.
+     * @param chunkBytes Number of bytes per chunk, before rounding up to the end of a row.
+     * @return Offsets of the first byte of every chunk, followed by the size of the file.
+     */
+    private static int[] splitBody(MappedByteBuffer buffer, int bodyStart, int size, long chunkBytes) {
+        int[] starts = new int[16];
+        int count = 0;
+        int start = bodyStart;
+        while (true) {
+            if (count == starts.length) starts = Arrays.copyOf(starts, count * 2);
+            starts[count++] = start;
+            long next = start + Math.max(1, chunkBytes);
+            if (next >= size) break;
+            int i = (int) next;
+            while (i < size && buffer.get(i) != '$' && buffer.get(i) != '!') {
+                i++;
+            }
+            if (i >= size - 1 || buffer.get(i) == '!') break;
+            start = i + 1;
+        }
+        starts = Arrays.copyOf(starts, count + 1);
+        starts[count] = size;
+        return starts;
+    }
+
+    /**
+     * Counts the rows a chunk moves down by, parsing only its run counts and {@code $} markers.
+     * @param buffer The file.
+     * @param from Offset of the first byte of the chunk.
+     * @param to Offset after the last byte of the chunk.
+     * @return The number of rows, or its complement if the chunk holds the terminating {@code !}.
+     */
+    private static long countRows(MappedByteBuffer buffer, int from, int to) {
+        long rows = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int ch = buffer.get(i);
+            if (ch >= '0' && ch <= '9') {
+                // Run lengths that are too long are reported when the chunk is decoded.
+                count = Math.min(count * 10 + (ch - '0'), 1 << 29);
+                continue;
+            }
+            if (Character.isWhitespace(ch)) continue;
+            if (ch == '!') return ~rows;
+            if (ch == '$') rows += count == 0 ? 1 : count;
+            count = 0;
+        }
+        return rows;
+    }
+
+    /**
+     * Decodes a chunk into the sink, the way {@link RLEReader} decodes a body.
+     * @param buffer The file.
+     * @param from Offset of the first byte of the chunk.
+     * @param to Offset after the last byte of the chunk.
+     * @param firstRow Row the chunk starts at.
+     * @param sink Receiver of the runs, which must allow runs of different rows to be passed from different threads.
+     */
+    private static void decodeChunk(MappedByteBuffer buffer, int from, int to, int firstRow, Parser.PackedSink sink) {
+        int sizeX = sink.sizeX;
+        int sizeY = sink.rows.length;
+        int x = 0;
+        int y = firstRow;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int ch = buffer.get(i);
+            if (ch == '!') break;
+            if (ch >= '0' && ch <= '9') {
+                count = count * 10 + (ch - '0');
+                if (count > 1 << 28) throw new RLEParserException("Run length too long at row " + y);
+                continue;
+            }
+            if (Character.isWhitespace(ch)) continue;
+
+            int length = count == 0 ? 1 : count;
+            count = 0;
+            if (ch == '$') {
+                y = (int) Math.min((long) y + length, Integer.MAX_VALUE);
+                x = 0;
+                continue;
+            }
+
+            if (ch == 'o') {
+                if (y >= sizeY || x + length > sizeX) {
+                    throw new RLEParserException("Pattern exceeds its declared size of " + sizeX + "x" + sizeY
+                            + " at row " + y);
+                }
+                sink.aliveRun(y, x, length);
+            }
+            x += length;
+        }
+    }
+
+    /**
+     * Runs an action for every chunk on the pool, splitting the chunks in halves until each task has one.
+     * @param pool Pool to run the actions on.
+     * @param chunks Number of chunks.
+     * @param cancelled Returns {@code true} once no more chunks should be run.
+     * @param action Action to run with the index of each chunk.
+     * @throws CancellationException Throws an exception if cancelled before every chunk was run.
+     */
+    private static void forEachChunk(ForkJoinPool pool, int chunks, BooleanSupplier cancelled, IntConsumer action) {
+        if (chunks > 0) pool.invoke(new ChunkAction(0, chunks, chunk -> {
+            if (cancelled.getAsBoolean()) throw new CancellationException("Decoding cancelled");
+            action.accept(chunk);
+        }));
+    }
+
+    /**
+     * Adds up the bytes of the chunks decoded by every thread, and reports the total one call at a time.
+     */
+    private static final class Progress {
+        private final LongConsumer progress;
+
+        private long bytes;
+
+        /**
+         * Constructor.
+         * @param progress Receives the number of bytes decoded so far.
+         * @param bytes Number of bytes decoded before the first chunk.
+         */
+        Progress(LongConsumer progress, long bytes) {
+            this.progress = progress;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @param chunkBytes Number of bytes of the chunk just decoded.
+         */
+        synchronized void add(long chunkBytes) {
+            bytes += chunkBytes;
+            progress.accept(bytes);
+        }
+    }
+
+    /**
+     * Runs an action for a range of chunks, forking half of the range until one chunk is left.
+     */
+    private static final class ChunkAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final IntConsumer action;
+
+        ChunkAction(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkAction(from, middle, action), new ChunkAction(middle, to, action));
+        }
+    }
+}
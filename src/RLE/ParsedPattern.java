@@ -56,6 +56,18 @@ public class ParsedPattern {
         this.date = date;
     }
 
+    /**
+     * Constructor, for subclasses that store the pattern in another form and override {@link #getPattern()}.
+     * @param name The name of this parsed pattern.
+     * @param author The author of this parsed pattern.
+     * @param description The description for this pattern.
+     * @param date The date this pattern was created.
+     * @param rule The rule string this pattern was designed for.
+     */
+    ParsedPattern(String name, String author, String description, String date, String rule) {
+        this(name, author, description, date, rule, null);
+    }
+
     /**
      * Constructor
      * @param rule The rule this pattern is designed for.
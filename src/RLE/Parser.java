@@ -1,5 +1,11 @@
 package RLE;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
 /**
  * RLE parser toolbox class for reading and writing RLE strings to two-dimensional byte arrays.
  */
@@ -16,64 +22,110 @@ public final class Parser {
      * @return A {@code ParsedPattern} containing metadata on the pattern, as well as the pattern itself.
      */
     public static ParsedPattern toPattern(String RLEString) {
-        FileContents contents = new FileContents(RLEString);
+        try {
+            return toPattern(new StringReader(RLEString));
+        } catch (IOException e) {
+            // Reading a string does not fail.
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        int sizeX = contents.getNumCols();
-        int sizeY = contents.getNumRows();
-        String rule = contents.getRule();
+    /**
+     * Reads an RLE file from the passed reader in a single pass, and converts it to a two-dimensional byte array,
+     * contained in a container class with its corresponding metadata, for consumption by Board instances.
+     * @param reader Reader to read the RLE file from. It is not closed.
+     * @return A {@code ParsedPattern} containing metadata on the pattern, as well as the pattern itself.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public static ParsedPattern toPattern(Reader reader) throws IOException {
+        RLEReader rleReader = new RLEReader(reader);
+        PatternSink sink = new PatternSink();
+        rleReader.read(sink);
 
-        byte[][] pattern = new byte[sizeY][sizeX];
+        return new ParsedPattern(rleReader.getName(), rleReader.getAuthor(), rleReader.getDescription(), "",
+                sink.rule, sink.pattern);
+    }
 
-        int pX = 0;
-        int pY = 0;
+    /**
+     * Reads an RLE file from the passed reader in a single pass, into packed rows of bits. Unlike
+     * {@link #toPattern(Reader)}, this does not allocate the pattern's full bounding box, only the rows and words that
+     * hold alive cells.
+     * @param reader Reader to read the RLE file from. It is not closed.
+     * @return A {@code PackedPattern} containing metadata on the pattern, as well as the pattern itself.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public static PackedPattern toPackedPattern(Reader reader) throws IOException {
+        RLEReader rleReader = new RLEReader(reader);
+        PackedSink sink = new PackedSink();
+        rleReader.read(sink);
 
-        StringBuilder digitAccumulator = new StringBuilder();
-        boolean done = false;
-        for (String line : contents.getLines()) {
-            if (done) break;
-            for (char ch : line.toCharArray()) {
-                if (ch == '!') {
-                    done = true;
-                    break;
-                }
+        return new PackedPattern(rleReader.getName(), rleReader.getAuthor(), rleReader.getDescription(), "",
+                sink.rule, sink.sizeX, sink.rows);
+    }
 
-                if (Character.isDigit(ch)) {
-                    digitAccumulator.append(ch);
-                    continue;
-                }
+    /**
+     * Collects the runs read by an {@link RLEReader} into packed rows of bits, growing each row as needed. Runs of
+     * different rows may be passed from different threads, as {@link ParallelDecoder} does.
+     */
+    static final class PackedSink implements RLEReader.RunSink {
+        String rule;
 
-                if (ch == '$') {
-                    int count;
-                    try {
-                        count = Integer.parseInt(digitAccumulator.toString());
-                    } catch (NumberFormatException e) {
-                        count = 1;
-                    }
-                    digitAccumulator.setLength(0);
-
-                    pY += count;
-                    pX = 0;
-                    continue;
-                }
+        int sizeX;
 
-                int count;
-                try {
-                    count = Integer.parseInt(digitAccumulator.toString());
-                } catch (NumberFormatException e) {
-                    count = 1;
-                }
-                digitAccumulator.setLength(0);
+        long[][] rows;
 
-                byte newState = ch == 'o' ? (byte) 1 : (byte) 0;
+        @Override
+        public void header(int sizeX, int sizeY, String rule) {
+            this.rule = rule;
+            this.sizeX = sizeX;
+            this.rows = new long[sizeY][];
+        }
 
-                for (int i = 0; i < count; i++) {
-                    pattern[pY][pX] = newState;
-                    pX++;
-                }
+        @Override
+        public void aliveRun(int y, int x, int length) {
+            int end = x + length;
+            int words = (end + 63) >>> 6;
+            long[] row = rows[y];
+            if (row == null || row.length < words) {
+                int capacity = Math.min((sizeX + 63) >>> 6, Math.max(words, row == null ? 0 : row.length * 2));
+                row = row == null ? new long[capacity] : Arrays.copyOf(row, capacity);
+                rows[y] = row;
             }
+
+            int first = x >>> 6;
+            int last = (end - 1) >>> 6;
+            long firstMask = -1L << x;
+            long lastMask = -1L >>> (-end & 63);
+            if (first == last) {
+                row[first] |= firstMask & lastMask;
+                return;
+            }
+            row[first] |= firstMask;
+            for (int i = first + 1; i < last; i++) {
+                row[i] = -1L;
+            }
+            row[last] |= lastMask;
         }
+    }
 
-        return new ParsedPattern(rule, pattern);
+    /**
+     * Collects the runs read by an {@link RLEReader} into a two-dimensional byte array.
+     */
+    private static final class PatternSink implements RLEReader.RunSink {
+        private String rule;
+
+        private byte[][] pattern;
+
+        @Override
+        public void header(int sizeX, int sizeY, String rule) {
+            this.rule = rule;
+            this.pattern = new byte[sizeY][sizeX];
+        }
+
+        @Override
+        public void aliveRun(int y, int x, int length) {
+            Arrays.fill(pattern[y], x, x + length, (byte) 1);
+        }
     }
 
     /**
@@ -0,0 +1,207 @@
+package RLE;
+
+import model.board.NodeTable;
+import model.board.QuadTree;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary form of parsed patterns, for storing patterns that have already been parsed so they can be read back without
+ * parsing them again.
+ *
+ * Macrocell patterns are stored as their table of nodes, and every other pattern as packed rows, so reading a pattern
+ * back takes little more than copying its words. Patterns read back are a {@link MacrocellPattern} or a
+ * {@link PackedPattern}, with the metadata of the pattern that was written.
+ */
+public final class PatternCodec {
+    /**
+     * First four bytes of every encoded pattern, "GOLP".
+     */
+    private static final int MAGIC = 0x474F4C50;
+
+    /**
+     * Version of the format written by this class.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Kind of an encoded pattern stored as packed rows.
+     */
+    private static final int PACKED = 0;
+
+    /**
+     * Kind of an encoded pattern stored as a quadtree.
+     */
+    private static final int QUADTREE = 1;
+
+    /**
+     * Hogging the constructor, to prevent instantiation.
+     */
+    private PatternCodec() {}
+
+    /**
+     * Writes a pattern in binary form.
+     * @param output Stream to write to. It is flushed, but not closed.
+     * @param pattern Pattern to write.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public static void write(OutputStream output, ParsedPattern pattern) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(pattern instanceof MacrocellPattern ? QUADTREE : PACKED);
+        writeString(out, pattern.getName());
+        writeString(out, pattern.getAuthor());
+        writeString(out, pattern.getDescription());
+        writeString(out, pattern.getDate());
+        writeString(out, pattern.getRule());
+
+        if (pattern instanceof MacrocellPattern) {
+            QuadTree tree = (MacrocellPattern) pattern;
+            int count = tree.getNodeCount();
+            out.writeInt(count);
+            out.writeInt(tree.getRoot());
+            for (int node = 1; node <= count; node++) {
+                int level = tree.getLevel(node);
+                out.writeByte(level);
+                if (level == QuadTree.LEAF_LEVEL) {
+                    out.writeLong(tree.getLeaf(node));
+                } else {
+                    for (int quadrant = 0; quadrant < 4; quadrant++) {
+                        out.writeInt(tree.getChild(node, quadrant));
+                    }
+                }
+            }
+        } else {
+            PackedPattern packed = pattern instanceof PackedPattern ? (PackedPattern) pattern : pack(pattern);
+            long[][] rows = packed.getRows();
+            out.writeInt(packed.getSizeX());
+            out.writeInt(rows.length);
+            for (long[] row : rows) {
+                out.writeInt(row == null ? 0 : row.length);
+                if (row == null) continue;
+                for (long word : row) {
+                    out.writeLong(word);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a pattern written by {@link #write(OutputStream, ParsedPattern)}.
+     * @param input Stream to read from. It is not closed.
+     * @return The pattern.
+     * @throws IOException Throws an exception if the IO operation fails, or if the stream ends too early.
+     * @throws RLEParserException Throws an exception if the stream does not hold an encoded pattern.
+     */
+    public static ParsedPattern read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) throw new RLEParserException("Not an encoded pattern");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new RLEParserException("Unsupported pattern version " + version);
+        int kind = in.readUnsignedByte();
+        String name = readString(in);
+        String author = readString(in);
+        String description = readString(in);
+        String date = readString(in);
+        String rule = readString(in);
+
+        if (kind == QUADTREE) {
+            int count = in.readInt();
+            int root = in.readInt();
+            NodeTable tree = new NodeTable();
+            for (int node = 1; node <= count; node++) {
+                int level = in.readUnsignedByte();
+                if (level == QuadTree.LEAF_LEVEL) {
+                    tree.addLeaf(in.readLong());
+                } else {
+                    tree.addNode(level, readChild(in, node), readChild(in, node), readChild(in, node),
+                            readChild(in, node));
+                }
+            }
+            if (root < 0 || root > count) throw new RLEParserException("Invalid root node " + root);
+            tree.setRoot(root);
+            return new MacrocellPattern(name, author, description, date, rule, tree);
+        }
+        if (kind != PACKED) throw new RLEParserException("Unknown pattern kind " + kind);
+
+        int sizeX = in.readInt();
+        int sizeY = in.readInt();
+        if (sizeX < 0 || sizeY < 0) throw new RLEParserException("Invalid pattern size");
+        int maxWords = (int) (((long) sizeX + 63) >>> 6);
+        long[][] rows = new long[sizeY][];
+        for (int y = 0; y < sizeY; y++) {
+            int words = in.readInt();
+            if (words < 0 || words > maxWords) throw new RLEParserException("Invalid row " + y);
+            if (words == 0) continue;
+            long[] row = new long[words];
+            for (int i = 0; i < words; i++) {
+                row[i] = in.readLong();
+            }
+            rows[y] = row;
+        }
+        return new PackedPattern(name, author, description, date, rule, sizeX, rows);
+    }
+
+    /**
+     * @param in Stream to read from.
+     * @param node Node the child belongs to.
+     * @return Number of the child, which must have been read before the node.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static int readChild(DataInputStream in, int node) throws IOException {
+        int child = in.readInt();
+        if (child < 0 || child >= node) throw new RLEParserException("Invalid child of node " + node);
+        return child;
+    }
+
+    /**
+     * @param pattern Pattern stored as bytes.
+     * @return The same pattern, stored as packed rows.
+     */
+    private static PackedPattern pack(ParsedPattern pattern) {
+        byte[][] cells = pattern.getPattern();
+        int sizeX = cells.length > 0 ? cells[0].length : 0;
+        long[][] rows = new long[cells.length][];
+        for (int y = 0; y < cells.length; y++) {
+            for (int x = 0; x < cells[y].length; x++) {
+                if (cells[y][x] != 1) continue;
+                if (rows[y] == null) rows[y] = new long[(sizeX + 63) >>> 6];
+                rows[y][x >>> 6] |= 1L << x;
+            }
+        }
+        return new PackedPattern(pattern.getName(), pattern.getAuthor(), pattern.getDescription(), pattern.getDate(),
+                pattern.getRule(), sizeX, rows);
+    }
+
+    /**
+     * @param out Stream to write to.
+     * @param value String to write, as its length in bytes followed by its UTF-8 bytes. {@code null} is written as an
+     *              empty string.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @param in Stream to read from.
+     * @return String written by {@link #writeString(DataOutputStream, String)}.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > 1 << 24) throw new RLEParserException("Invalid string length " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
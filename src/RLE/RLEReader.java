@@ -0,0 +1,275 @@
+package RLE;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Single-pass RLE tokenizer.
+ *
+ * Reads the metadata lines, the header and the run-length encoded body of an RLE file straight off of a
+ * {@code Reader}, handing every run of alive cells to a {@link RunSink} as soon as it is read. Apart from the
+ * metadata strings, it uses a fixed-size character buffer no matter how large the pattern is, so that the sink can
+ * write the pattern directly into whatever storage it ends up in.
+ */
+public final class RLEReader {
+    /**
+     * Receiver of the runs read from an RLE body.
+     */
+    public interface RunSink {
+        /**
+         * Called once, after the header has been read and before the first run.
+         * @param sizeX Number of columns in the pattern.
+         * @param sizeY Number of rows in the pattern.
+         * @param rule Rule string the pattern is designed for.
+         */
+        void header(int sizeX, int sizeY, String rule);
+
+        /**
+         * Called for each run of alive cells, in the order they appear in the body.
+         * @param y Row of the run.
+         * @param x Column of the run's first cell.
+         * @param length Number of alive cells in the run.
+         */
+        void aliveRun(int y, int x, int length);
+    }
+
+    /**
+     * Size of the character buffer, in characters.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Source of the RLE file.
+     */
+    private final Reader in;
+
+    /**
+     * Characters read from {@link #in}, but not yet consumed.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Index of the next character to consume in {@link #buffer}.
+     */
+    private int position;
+
+    /**
+     * Number of characters in {@link #buffer}.
+     */
+    private int limit;
+
+    /**
+     * Number of columns declared by the header.
+     */
+    private int sizeX;
+
+    /**
+     * Number of rows declared by the header.
+     */
+    private int sizeY;
+
+    /**
+     * Name of the pattern, from its #N line.
+     */
+    private String name = "";
+
+    /**
+     * Author of the pattern, from its #O line.
+     */
+    private String author = "";
+
+    /**
+     * Description of the pattern, from its #C lines.
+     */
+    private final StringBuilder description = new StringBuilder();
+
+    /**
+     * Constructor.
+     * @param in Reader to read the RLE file from. It is not closed by this reader.
+     */
+    public RLEReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Constructor.
+     * @param channel Channel to read the UTF-8 encoded RLE file from. It is not closed by this reader.
+     */
+    public RLEReader(ReadableByteChannel channel) {
+        this(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
+    }
+
+    /**
+     * @return The name of the pattern, or an empty string if it has none. Only complete after {@link #read}.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return The author of the pattern, or an empty string if it has none. Only complete after {@link #read}.
+     */
+    String getAuthor() {
+        return author;
+    }
+
+    /**
+     * @return The description of the pattern, or an empty string if it has none. Only complete after {@link #read}.
+     */
+    String getDescription() {
+        return description.toString();
+    }
+
+    /**
+     * Reads the RLE file, passing its header and alive runs to the sink.
+     * @param sink Receiver of the pattern.
+     * @throws IOException Throws an exception if reading the underlying reader fails.
+     * @throws RLEException Throws an exception if the header is missing the size of the pattern.
+     * @throws RLEParserException Throws an exception if the body does not fit the size declared by the header.
+     */
+    public void read(RunSink sink) throws IOException {
+        int ch = skipMeta();
+        readHeader(ch, sink);
+        readBody(sink);
+    }
+
+    /**
+     * @return The next character, or -1 at the end of the file.
+     * @throws IOException Throws an exception if reading the underlying reader fails.
+     */
+    private int next() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Reads the rest of the current line.
+     * @return The line, without its line terminator and surrounding whitespace.
+     * @throws IOException Throws an exception if reading the underlying reader fails.
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int ch;
+        while ((ch = next()) != -1 && ch != '\n') {
+            line.append((char) ch);
+        }
+        return line.toString().trim();
+    }
+
+    /**
+     * Reads the metadata lines and blank lines preceding the header, keeping the name, author and description.
+     * @return The first character of the header line, or -1 at the end of the file.
+     * @throws IOException Throws an exception if reading the underlying reader fails.
+     */
+    private int skipMeta() throws IOException {
+        int ch;
+        while ((ch = next()) != -1) {
+            if (Character.isWhitespace(ch)) continue;
+            if (ch != '#') return ch;
+
+            int type = next();
+            String text = type == '\n' ? "" : readLine();
+            switch (type) {
+                case 'N':
+                    name = text;
+                    break;
+                case 'O':
+                    author = text;
+                    break;
+                case 'C':
+                case 'c':
+                    if (description.length() > 0) description.append('\n');
+                    description.append(text);
+                    break;
+                default:
+                    // Other metadata lines, such as #P and #R, describe the pattern's position and are ignored.
+            }
+        }
+        return ch;
+    }
+
+    /**
+     * Reads the header line, in the form of {@code x = m, y = n, rule = abc}, and passes it to the sink.
+     * @param first First character of the header line, already consumed.
+     * @param sink Receiver of the header.
+     * @throws IOException Throws an exception if reading the underlying reader fails.
+     */
+    private void readHeader(int first, RunSink sink) throws IOException {
+        int sizeX = -1;
+        int sizeY = -1;
+        String rule = "B3/S23";
+
+        String line = first == -1 ? "" : (char) first + readLine();
+        for (String field : line.split(",")) {
+            int equals = field.indexOf('=');
+            if (equals < 0) continue;
+            String key = field.substring(0, equals).trim();
+            String value = field.substring(equals + 1).trim();
+            try {
+                if (key.equals("x")) {
+                    sizeX = Integer.parseInt(value);
+                } else if (key.equals("y")) {
+                    sizeY = Integer.parseInt(value);
+                } else if (key.equals("rule") && value.length() > 0) {
+                    rule = value;
+                }
+            } catch (NumberFormatException e) {
+                throw new RLEException("Invalid axis information: " + field.trim());
+            }
+        }
+        if (sizeX < 0) throw new RLEException("Missing axis information: x");
+        if (sizeY < 0) throw new RLEException("Missing axis information: y");
+
+        sink.header(sizeX, sizeY, rule);
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+    }
+
+    /**
+     * Reads the run-length encoded body up to the terminating {@code !} or the end of the file, passing each run of
+     * alive cells to the sink. Any state other than {@code o} is read as dead.
+     * @param sink Receiver of the runs.
+     * @throws IOException Throws an exception if reading the underlying reader fails.
+     */
+    private void readBody(RunSink sink) throws IOException {
+        int x = 0;
+        int y = 0;
+        int count = 0;
+        int ch;
+        while ((ch = next()) != -1 && ch != '!') {
+            if (ch >= '0' && ch <= '9') {
+                count = count * 10 + (ch - '0');
+                if (count > 1 << 28) throw new RLEParserException("Run length too long at row " + y);
+                continue;
+            }
+            if (Character.isWhitespace(ch)) continue;
+
+            int length = count == 0 ? 1 : count;
+            count = 0;
+            if (ch == '$') {
+                y += length;
+                x = 0;
+                continue;
+            }
+
+            if (ch == 'o') {
+                if (y >= sizeY || x + length > sizeX) {
+                    throw new RLEParserException("Pattern exceeds its declared size of " + sizeX + "x" + sizeY
+                            + " at row " + y);
+                }
+                sink.aliveRun(y, x, length);
+            }
+            x += length;
+        }
+    }
+}
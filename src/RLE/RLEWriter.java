@@ -0,0 +1,226 @@
+package RLE;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incremental RLE encoder.
+ *
+ * Takes a pattern one row of packed bits at a time, laid out like {@link PackedPattern#getRows()}, and writes its runs
+ * to a {@code Writer} as they are found, wrapping lines at 70 characters. Runs are found by scanning whole words for
+ * the next set or cleared bit, so empty stretches of a row cost a word each rather than a cell each. Apart from the
+ * writer's own buffer, memory use does not depend on the size of the pattern.
+ *
+ * Unlike {@link Parser#fromPattern(ParsedPattern)}, dead cells at the end of a row are left out, as the format allows.
+ */
+public final class RLEWriter {
+    /**
+     * Source of the rows of a pattern.
+     */
+    @FunctionalInterface
+    public interface RowReader {
+        /**
+         * Copies a row of the pattern into the passed array as packed bits.
+         * @param y Row to copy.
+         * @param dst Array to copy the row into.
+         */
+        void readRow(int y, long[] dst);
+    }
+
+    /**
+     * Greatest number of characters on a line of the body.
+     */
+    private static final int LINE_LENGTH = 70;
+
+    /**
+     * Destination of the RLE file.
+     */
+    private final Writer out;
+
+    /**
+     * Digits of the run count being written, in reverse order.
+     */
+    private final char[] digits = new char[10];
+
+    /**
+     * Number of columns in the pattern, as written in the header.
+     */
+    private int sizeX = -1;
+
+    /**
+     * Number of rows in the pattern, as written in the header.
+     */
+    private int sizeY;
+
+    /**
+     * Index of the next row to be passed to {@link #writeRow(long[])}.
+     */
+    private int nextRow;
+
+    /**
+     * Row the last written run is on.
+     */
+    private int cursorRow;
+
+    /**
+     * Number of characters on the current line of the body.
+     */
+    private int lineLength;
+
+    /**
+     * Constructor.
+     * @param out Writer to write the RLE file to. It is flushed by {@link #finish()}, but not closed.
+     */
+    public RLEWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Constructor.
+     * @param channel Channel to write the UTF-8 encoded RLE file to. It is not closed by this writer.
+     */
+    public RLEWriter(WritableByteChannel channel) {
+        this(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1));
+    }
+
+    /**
+     * Writes the metadata lines and the header. Empty metadata is left out.
+     * @param name The name of the pattern.
+     * @param author The author of the pattern.
+     * @param description The description of the pattern. Each of its lines is written as a line of its own.
+     * @param date The date the pattern was created.
+     * @param rule The rule string the pattern is designed for.
+     * @param sizeX Number of columns in the pattern.
+     * @param sizeY Number of rows in the pattern.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public void writeHeader(String name, String author, String description, String date, String rule, int sizeX,
+                            int sizeY) throws IOException {
+        if (this.sizeX >= 0) throw new IllegalStateException("Header already written");
+        if (rule.length() <= 0) throw new RLEException("Rule must be defined");
+
+        if (name.length() > 0) {
+            out.write("#N " + name + "\n");
+        }
+        if (author.length() > 0 && date.length() > 0) {
+            out.write("#O " + author + ", " + date + "\n");
+        } else if (author.length() > 0 || date.length() > 0) {
+            out.write("#O " + author + date + "\n");
+        }
+        if (description.length() > 0) {
+            for (String line : description.split("\n")) {
+                out.write("#C " + line + "\n");
+            }
+        }
+        out.write("x = " + sizeX + ", y = " + sizeY + ", rule = " + rule + "\n");
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+    }
+
+    /**
+     * Writes the next row of the pattern.
+     * @param row The row, as packed bits. Bits past the last column must be cleared.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public void writeRow(long[] row) throws IOException {
+        if (sizeX < 0) throw new IllegalStateException("Header not written");
+        if (nextRow >= sizeY) throw new IllegalStateException("All " + sizeY + " rows already written");
+        int y = nextRow++;
+
+        int x = 0;
+        int start;
+        while ((start = nextSetBit(row, x)) >= 0) {
+            if (y > cursorRow) {
+                writeRun(y - cursorRow, '$');
+                cursorRow = y;
+            }
+            int end = nextClearBit(row, start);
+            if (start > x) writeRun(start - x, 'b');
+            writeRun(end - start, 'o');
+            x = end;
+        }
+    }
+
+    /**
+     * Writes every row of the pattern that is left, reading each from the passed reader.
+     * @param rows Reader of the pattern's rows.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public void writeRows(RowReader rows) throws IOException {
+        if (sizeX < 0) throw new IllegalStateException("Header not written");
+        long[] row = new long[(sizeX + 63) >>> 6];
+        while (nextRow < sizeY) {
+            rows.readRow(nextRow, row);
+            writeRow(row);
+        }
+    }
+
+    /**
+     * Ends the pattern, and flushes the writer.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public void finish() throws IOException {
+        if (sizeX < 0) throw new IllegalStateException("Header not written");
+        out.write("!\n");
+        out.flush();
+    }
+
+    /**
+     * Writes a run, starting a new line first if it would not fit on the current one.
+     * @param count Length of the run.
+     * @param tag State of the run, or {@code $} for a run of line ends.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private void writeRun(int count, char tag) throws IOException {
+        int length = 0;
+        if (count > 1) {
+            for (int n = count; n > 0; n /= 10) {
+                digits[length++] = (char) ('0' + n % 10);
+            }
+        }
+        if (lineLength + length + 1 > LINE_LENGTH) {
+            out.write('\n');
+            lineLength = 0;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            out.write(digits[i]);
+        }
+        out.write(tag);
+        lineLength += length + 1;
+    }
+
+    /**
+     * @param row Row to search.
+     * @param from Column to start searching from.
+     * @return Column of the first set bit at or after {@code from}, or -1 if there is none.
+     */
+    private static int nextSetBit(long[] row, int from) {
+        int i = from >>> 6;
+        if (i >= row.length) return -1;
+        long word = row[i] & (-1L << from);
+        while (word == 0) {
+            if (++i == row.length) return -1;
+            word = row[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param row Row to search.
+     * @param from Column to start searching from.
+     * @return Column of the first cleared bit at or after {@code from}, which may be past the end of the row.
+     */
+    private static int nextClearBit(long[] row, int from) {
+        int i = from >>> 6;
+        if (i >= row.length) return from;
+        long word = ~row[i] & (-1L << from);
+        while (word == 0) {
+            if (++i == row.length) return i << 6;
+            word = ~row[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
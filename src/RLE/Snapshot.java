@@ -0,0 +1,377 @@
+package RLE;
+
+import model.board.Board;
+import model.board.HashLifeBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary snapshot of a board, for saving and restoring the full state of a simulation quickly.
+ *
+ * A snapshot holds the rule string, generation count, dynamic flag and size of a board, followed by its cells as
+ * packed rows laid out like {@link PackedPattern#getRows()}. All values are little-endian. The header is:
+ * <pre>
+ *  0  int    magic, "GOLS"
+ *  4  short  version
+ *  6  short  flags, {@link #FLAG_DYNAMIC} and {@link #FLAG_DEFLATE}
+ *  8  long   generation count
+ * 16  int    number of columns
+ * 20  int    number of rows
+ * 24  int    length of the rule string, in bytes
+ * 28  byte[] UTF-8 encoded rule string, padded with zeroes to a multiple of 8 bytes
+ * </pre>
+ * The rows follow the header, either as they are, or in blocks of whole rows compressed with Deflate, each block
+ * preceded by an int holding its compressed length. Snapshots are written through a {@code FileChannel} and read
+ * through memory mapped buffers, so uncompressed snapshots are copied straight between the file and the rows.
+ */
+public final class Snapshot {
+    /**
+     * First four bytes of every snapshot.
+     */
+    private static final int MAGIC = 0x534C4F47;
+
+    /**
+     * Version of the format written by this class.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Flag set if the board grows as its pattern does.
+     */
+    static final int FLAG_DYNAMIC = 1;
+
+    /**
+     * Flag set if the rows are compressed with Deflate.
+     */
+    static final int FLAG_DEFLATE = 2;
+
+    /**
+     * Size of the header before the rule string, in bytes.
+     */
+    private static final int HEADER_SIZE = 28;
+
+    /**
+     * Number of bytes of rows written at a time, and compressed as one block.
+     */
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    /**
+     * Greatest number of bytes mapped at a time.
+     */
+    private static final int MAP_SIZE = 1 << 30;
+
+    private final String rule;
+
+    private final long genCount;
+
+    private final boolean dynamic;
+
+    private final int sizeX;
+
+    private final long[][] rows;
+
+    /**
+     * Constructor.
+     * @param rule The rule string of the board.
+     * @param genCount The number of generations the board had advanced.
+     * @param dynamic Whether the board grows as its pattern does.
+     * @param sizeX Number of columns of the board.
+     * @param rows Rows of the board, as packed bits.
+     */
+    private Snapshot(String rule, long genCount, boolean dynamic, int sizeX, long[][] rows) {
+        this.rule = rule;
+        this.genCount = genCount;
+        this.dynamic = dynamic;
+        this.sizeX = sizeX;
+        this.rows = rows;
+    }
+
+    /**
+     * @return The rule string of the board.
+     */
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * @return The number of generations the board had advanced.
+     */
+    public long getGenCount() {
+        return genCount;
+    }
+
+    /**
+     * @return Whether the board grows as its pattern does.
+     */
+    public boolean getDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @return Number of columns of the board.
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * @return Number of rows of the board.
+     */
+    public int getSizeY() {
+        return rows.length;
+    }
+
+    /**
+     * @return Rows of the board, as packed bits, all of the same length.
+     */
+    public long[][] getRows() {
+        return rows;
+    }
+
+    /**
+     * Restores the cells, dynamic flag and generation count of the snapshot onto a board. The rule set is left to the
+     * caller, as the snapshot only holds its rule string.
+     * @param board Board to restore onto, which should be as large as the snapshot. A larger board gets the cells in
+     *              its middle, and a smaller board is grown, like {@link Board#insertPattern(int, long[][])}.
+     */
+    public void restore(Board board) {
+        board.insertPattern(sizeX, rows);
+        board.setDynamic(dynamic);
+        if (board instanceof HashLifeBoard) {
+            ((HashLifeBoard) board).setGenerationCount(genCount);
+        } else {
+            board.setGenCount((int) Math.min(Integer.MAX_VALUE, genCount));
+        }
+    }
+
+    /**
+     * Writes a snapshot of a board, reading its cells one row at a time.
+     * @param path File to write the snapshot to. It is replaced if it exists.
+     * @param board Board to save. Boards on an unbounded plane are saved as far as their window reaches.
+     * @param compress Whether to compress the rows with Deflate, which is slower but much smaller for sparse boards.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    public static void write(Path path, Board board, boolean compress) throws IOException {
+        int sizeX = board.getSizeX();
+        int sizeY = board.getSizeY();
+        long genCount = board instanceof HashLifeBoard
+                ? ((HashLifeBoard) board).getGenerationCount() : board.getGenCount();
+        byte[] rule = board.getRuleSet().getRuleString().getBytes(StandardCharsets.UTF_8);
+        int flags = (board.getDynamic() ? FLAG_DYNAMIC : 0) | (compress ? FLAG_DEFLATE : 0);
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize(rule.length)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort((short) VERSION).putShort((short) flags).putLong(genCount)
+                .putInt(sizeX).putInt(sizeY).putInt(rule.length).put(rule);
+        header.clear();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+
+            int words = (sizeX + 63) >>> 6;
+            int blockRows = rowsPerBlock(words);
+            long[] row = new long[words];
+            ByteBuffer block = compress
+                    ? ByteBuffer.allocate(blockRows * words * 8)
+                    : ByteBuffer.allocateDirect(blockRows * words * 8);
+            block.order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer blockWords = block.asLongBuffer();
+            Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+            byte[] compressed = compress ? new byte[block.capacity() + 64] : null;
+            try {
+                for (int y = 0; y < sizeY; y += blockRows) {
+                    int count = Math.min(blockRows, sizeY - y);
+                    blockWords.clear();
+                    for (int i = 0; i < count; i++) {
+                        board.readRow(y + i, row);
+                        blockWords.put(row);
+                    }
+                    block.clear().limit(count * words * 8);
+                    if (compress) {
+                        deflater.reset();
+                        deflater.setInput(block.array(), 0, block.limit());
+                        deflater.finish();
+                        int length = 0;
+                        while (!deflater.finished()) {
+                            if (length == compressed.length) compressed = Arrays.copyOf(compressed, length * 2);
+                            length += deflater.deflate(compressed, length, compressed.length - length);
+                        }
+                        ByteBuffer prefix = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(length);
+                        prefix.flip();
+                        writeFully(channel, prefix);
+                        writeFully(channel, ByteBuffer.wrap(compressed, 0, length));
+                    } else {
+                        writeFully(channel, block);
+                    }
+                }
+            } finally {
+                if (deflater != null) deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot, mapping the file into memory rather than reading it through a buffer.
+     * @param path File to read the snapshot from.
+     * @return The snapshot.
+     * @throws IOException Throws an exception if the IO operation fails.
+     * @throws RLEParserException Throws an exception if the file is not a snapshot, or is cut short.
+     * @throws RLEException Throws an exception if the snapshot was written by a newer version of the format.
+     */
+    public static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) throw new RLEParserException("Snapshot is cut short");
+            ByteBuffer header = map(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) throw new RLEParserException("Not a snapshot");
+            int version = header.getShort();
+            if (version > VERSION) throw new RLEException("Unsupported snapshot version " + version);
+            int flags = header.getShort();
+            long genCount = header.getLong();
+            int sizeX = header.getInt();
+            int sizeY = header.getInt();
+            int ruleLength = header.getInt();
+            if (sizeX < 0 || sizeY < 0 || ruleLength < 0 || HEADER_SIZE + (long) ruleLength > fileSize) {
+                throw new RLEParserException("Invalid snapshot header");
+            }
+            byte[] ruleBytes = new byte[ruleLength];
+            map(channel, HEADER_SIZE, ruleLength).get(ruleBytes);
+            String rule = new String(ruleBytes, StandardCharsets.UTF_8);
+
+            int words = (sizeX + 63) >>> 6;
+            long[][] rows = new long[sizeY][words];
+            long position = headerSize(ruleLength);
+            if ((flags & FLAG_DEFLATE) != 0) {
+                readCompressed(channel, position, rows, words);
+            } else {
+                readPlain(channel, position, rows, words);
+            }
+            return new Snapshot(rule, genCount, (flags & FLAG_DYNAMIC) != 0, sizeX, rows);
+        }
+    }
+
+    /**
+     * Copies uncompressed rows out of the file, mapping as many whole rows at a time as fit in a mapping.
+     * @param channel Channel of the snapshot file.
+     * @param position Position of the first row in the file.
+     * @param rows Rows to fill.
+     * @param words Number of words in each row.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void readPlain(FileChannel channel, long position, long[][] rows, int words) throws IOException {
+        if (words == 0) return;
+        long rowBytes = words * 8L;
+        if (position + rowBytes * rows.length > channel.size()) throw new RLEParserException("Snapshot is cut short");
+        int mapRows = (int) Math.max(1, MAP_SIZE / rowBytes);
+        for (int y = 0; y < rows.length; y += mapRows) {
+            int count = Math.min(mapRows, rows.length - y);
+            LongBuffer region = map(channel, position + y * rowBytes, count * rowBytes).asLongBuffer();
+            for (int i = 0; i < count; i++) {
+                region.get(rows[y + i]);
+            }
+        }
+    }
+
+    /**
+     * Inflates the blocks of compressed rows out of the file, mapping one block at a time.
+     * @param channel Channel of the snapshot file.
+     * @param position Position of the first block in the file.
+     * @param rows Rows to fill.
+     * @param words Number of words in each row.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void readCompressed(FileChannel channel, long position, long[][] rows, int words)
+            throws IOException {
+        if (words == 0) return;
+        int blockRows = rowsPerBlock(words);
+        ByteBuffer block = ByteBuffer.allocate(blockRows * words * 8).order(ByteOrder.LITTLE_ENDIAN);
+        LongBuffer blockWords = block.asLongBuffer();
+        byte[] compressed = new byte[0];
+        Inflater inflater = new Inflater();
+        try {
+            for (int y = 0; y < rows.length; y += blockRows) {
+                int count = Math.min(blockRows, rows.length - y);
+                if (position + 4 > channel.size()) throw new RLEParserException("Snapshot is cut short");
+                int length = map(channel, position, 4).getInt();
+                if (length < 0 || position + 4 + length > channel.size()) {
+                    throw new RLEParserException("Snapshot is cut short");
+                }
+                if (compressed.length < length) compressed = new byte[length];
+                map(channel, position + 4, length).get(compressed, 0, length);
+                position += 4 + length;
+
+                inflater.reset();
+                inflater.setInput(compressed, 0, length);
+                int expected = count * words * 8;
+                int inflated = 0;
+                while (inflated < expected && !inflater.finished()) {
+                    int n = inflater.inflate(block.array(), inflated, expected - inflated);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                    inflated += n;
+                }
+                if (inflated != expected) throw new RLEParserException("Corrupt snapshot block at row " + y);
+
+                blockWords.clear();
+                for (int i = 0; i < count; i++) {
+                    blockWords.get(rows[y + i]);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new RLEParserException("Corrupt snapshot block: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param channel Channel to map.
+     * @param position Position of the region in the file.
+     * @param size Size of the region, in bytes.
+     * @return The region, mapped read-only and in little-endian order.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * @param channel Channel to write to.
+     * @param buffer Buffer to write, from its position to its limit.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * @param ruleLength Length of the rule string, in bytes.
+     * @return Size of the header including the rule string and its padding, in bytes.
+     */
+    private static int headerSize(int ruleLength) {
+        return (HEADER_SIZE + ruleLength + 7) & ~7;
+    }
+
+    /**
+     * @param words Number of words in each row.
+     * @return Number of whole rows written or compressed at a time.
+     */
+    private static int rowsPerBlock(int words) {
+        return Math.max(1, BLOCK_SIZE / Math.max(1, words * 8));
+    }
+}
@@ -3,6 +3,7 @@ package app;
 import javafx.scene.control.Alert;
 
 import java.io.IOException;
+import java.util.List;
 
 public final class AlertLibrary {
 
@@ -20,4 +21,43 @@ public final class AlertLibrary {
 
         alert.show();
     }
+
+    /**
+     * Displays an alert box with the message of the passed error, which stopped a pattern from being loaded.
+     *
+     * @param error Error to display.
+     */
+    public static void loadwa(Throwable error) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Could not load pattern");
+        alert.setContentText(error.getMessage());
+
+        alert.show();
+    }
+
+    /**
+     * Displays an alert box with the message of the passed error, which stopped a command from changing the board.
+     *
+     * @param error Error to display.
+     */
+    public static void simwa(Throwable error) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Could not update board");
+        alert.setContentText(error.getMessage());
+
+        alert.show();
+    }
+
+    /**
+     * Displays an alert box with the errors met while listing the patterns of the library.
+     *
+     * @param errors Messages of the errors to display.
+     */
+    public static void libwa(List<String> errors) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Some library patterns could not be listed");
+        alert.setContentText(String.join("\n", errors));
+
+        alert.show();
+    }
 }
@@ -1,8 +1,10 @@
 package app;
 
+import RLE.MacrocellPattern;
+import RLE.PackedPattern;
 import RLE.ParsedPattern;
-import RLE.Parser;
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -20,22 +22,34 @@ import javafx.scene.text.Text;
 import javafx.stage.Modality;
 import model.board.ArrayListBoard;
 import model.board.Board;
-import model.board.Cell;
+import model.board.BoardSnapshot;
+import model.board.HashLifeBoard;
+import model.board.SimulationService;
 import rules.RuleException;
 import rules.RuleSet;
 import rules.RulesCollection;
 import view.BoardCoordinate;
 import view.CanvasController;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static app.AlertLibrary.iowa;
+import static app.AlertLibrary.libwa;
+import static app.AlertLibrary.loadwa;
+import static app.AlertLibrary.simwa;
 import static javafx.scene.input.KeyCode.SHIFT;
 
 /**
@@ -43,25 +57,57 @@ import static javafx.scene.input.KeyCode.SHIFT;
  */
 public class Controller implements Initializable {
     /**
-     * Actual game board that is being run.
+     * Latest snapshot of the game board, which is what the window displays. The board itself is stepped and changed
+     * on the simulation's thread.
      */
     public Board board;
 
+    /**
+     * Service stepping the game board on a thread of its own. Every change to the board goes through it.
+     */
+    private SimulationService simulation;
+
+    /**
+     * Time budget of a frame in turbo mode, in nanoseconds, leaving the rest of a 60 Hz frame for drawing.
+     */
+    private static final long TURBO_FRAME_BUDGET = TimeUnit.MILLISECONDS.toNanos(12);
+
+    /**
+     * {@code true} if the simulation steps as many generations per frame as fit in {@link #TURBO_FRAME_BUDGET}.
+     */
+    private boolean turbo;
+
     /**
      * Canvas controller handling displaying the board.
      */
     CanvasController canvasController;
 
     /**
-     * The animation timer handling drawing the board on each nextGeneration.
+     * The animation timer drawing the latest snapshot of the board the simulation published.
      */
     private AnimationTimer timer;
 
     /**
-     * Interval between each {@code AnimationTimer} tick.
+     * Interval between each generation, in nanoseconds, or 0 to run the simulation as fast as possible.
      */
     private double frameInterval;
 
+    /**
+     * Loads patterns from files and URLs in the background.
+     */
+    private final PatternLoader patternLoader = new PatternLoader(
+            new PatternCache(PatternCache.defaultDirectory(), PatternCache.DEFAULT_MAX_BYTES));
+
+    /**
+     * Library of pattern files, listed in the drop-down box after the default patterns.
+     */
+    private final PatternLibrary patternLibrary = new PatternLibrary(PatternLibrary.defaultDirectory());
+
+    /**
+     * Patterns of the library by their name in the drop-down box, decoded only once they are picked.
+     */
+    private final Map<String, PatternLibrary.Entry> libraryPatterns = new HashMap<>();
+
     /**
      * Collection of default patterns available from the drop-down box.
      */
@@ -167,7 +213,7 @@ public class Controller implements Initializable {
     private void setPremadePattern(String premadePattern) {
         for (Pattern pattern : patterns) {
             if (pattern.getName().equals(premadePattern)) {
-                board.insertPattern(pattern.getPattern());
+                replacePattern(pattern.getPattern());
 
                 break;
             }
@@ -175,30 +221,133 @@ public class Controller implements Initializable {
     }
 
     /**
-     * Displays a file browser for the user to select a file to be imported into the model.
+     * Clears the board and inserts a pattern in its middle.
+     * @param pattern The pattern to insert.
      */
-    public void importFile() {
-        FileHandler fileHandler = new FileHandler();
-        try {
-            String data = fileHandler.readGameBoardFromDisk();
-            if (data.length() == 0) return;
-            ParsedPattern pattern = Parser.toPattern(data);
-            String rule = pattern.getRule();
-            if (!board.getRuleSet().isEqual(rule)) {
-                throw new RuleException(board.getRuleSet().getRuleString(), rule);
+    void replacePattern(byte[][] pattern) {
+        submit(board -> {
+            board.clearBoard();
+            board.insertPattern(pattern);
+        }, this::showCentered);
+    }
+
+    /**
+     * Runs a command on the simulation's thread, and hands the snapshot taken after it to the JavaFX application
+     * thread. Warns the user if the command fails.
+     * @param command Command to run on the board.
+     * @param then Action taking the snapshot taken after the command, on the JavaFX application thread.
+     */
+    private void submit(Consumer<Board> command, Consumer<BoardSnapshot> then) {
+        simulation.submit(command).whenCompleteAsync((snapshot, error) -> {
+            if (error instanceof CompletionException) {
+                error = error.getCause();
             }
-            byte[][] newBoard = pattern.getPattern();
-            board.insertPattern(newBoard);
-            canvasController.resetPanningPointers(board);
-            canvasController.recalculateTableBounds(board);
-            canvasController.draw(board);
-        } catch (IOException e) {
-            iowa(e);
+            if (error != null) {
+                simwa(error);
 
-            e.printStackTrace();
+                error.printStackTrace();
+                return;
+            }
+            then.accept(snapshot);
+        }, Platform::runLater);
+    }
+
+    /**
+     * Runs a command on the simulation's thread, leaving the board to be re-drawn once the simulation publishes it.
+     * Warns the user if the command fails.
+     * @param command Command to run on the board.
+     */
+    private void submit(Consumer<Board> command) {
+        submit(command, snapshot -> {});
+    }
+
+    /**
+     * Makes a snapshot of the board the one displayed, and draws it with the panning pointers reset to its middle.
+     * @param snapshot The snapshot to display.
+     */
+    private void showCentered(BoardSnapshot snapshot) {
+        board = snapshot;
+        recountCellsAndGeneration();
+        canvasController.resetPanningPointers(board);
+        canvasController.recalculateTableBounds(board);
+        canvasController.draw(board);
+    }
+
+    /**
+     * Makes a snapshot of the board the one displayed, and draws it.
+     * @param snapshot The snapshot to display.
+     */
+    private void show(BoardSnapshot snapshot) {
+        board = snapshot;
+        recountCellsAndGeneration();
+        canvasController.recalculateTableBounds(board);
+        canvasController.draw(board);
+    }
+
+    /**
+     * Lists the patterns of the library in the background, and adds them to the drop-down box once they are listed.
+     * Patterns named like another pattern are told apart by their file name.
+     * @param patternNames Names in the drop-down box.
+     */
+    private void listLibraryPatterns(ObservableList<String> patternNames) {
+        patternLoader.index(patternLibrary).whenCompleteAsync((listing, error) -> {
+            if (error instanceof CompletionException) {
+                error = error.getCause();
+            }
+            if (error != null) {
+                libwa(Collections.singletonList(error.getMessage()));
+
+                error.printStackTrace();
+                return;
+            }
+            if (!listing.getErrors().isEmpty()) {
+                libwa(listing.getErrors());
+            }
+            List<PatternLibrary.Entry> entries = listing.getEntries();
+            List<String> names = new ArrayList<>(entries.size());
+            for (PatternLibrary.Entry entry : entries) {
+                String name = entry.getName();
+                if (libraryPatterns.containsKey(name) || PatternCollection.getNames().contains(name)) {
+                    name += " (" + entry.getFileName() + ")";
+                }
+                libraryPatterns.put(name, entry);
+                names.add(name);
+            }
+            patternNames.addAll(names);
+        }, Platform::runLater);
+    }
+
+    /**
+     * Inserts a loaded pattern into the model, in the most compact form the board can take it in.
+     * @param board Board to insert the pattern into.
+     * @param pattern Pattern to insert.
+     */
+    private static void insertPattern(Board board, ParsedPattern pattern) {
+        String rule = pattern.getRule();
+        if (!board.getRuleSet().isEqual(rule)) {
+            throw new RuleException(board.getRuleSet().getRuleString(), rule);
+        }
+        if (pattern instanceof MacrocellPattern && board instanceof HashLifeBoard) {
+            ((HashLifeBoard) board).insertQuadTree((MacrocellPattern) pattern);
+        } else if (pattern instanceof PackedPattern) {
+            PackedPattern packed = (PackedPattern) pattern;
+            board.insertPattern(packed.getSizeX(), packed.getRows());
+        } else {
+            board.insertPattern(pattern.getPattern());
         }
     }
 
+    /**
+     * Displays a file browser for the user to select a file to be imported into the model.
+     */
+    public void importFile() {
+        FileHandler fileHandler = new FileHandler();
+        File file = fileHandler.chooseFileToOpen();
+        if (file == null) return;
+        ProgressDialog dialog = new ProgressDialog("Loading " + file.getName());
+        load(patternLoader.load(file.toPath(), dialog::update), dialog);
+    }
+
     /**
      * Displays a field for the user to input a URI pointing to an Parser file on the network, which is subsequently
      * downloaded and inserted into the model.
@@ -206,18 +355,10 @@ public class Controller implements Initializable {
     public void importURL() {
         FileHandler fileHandler = new FileHandler();
         try {
-            String data = fileHandler.readGameBoardFromURL();
-            if (data.length() == 0) return;
-            ParsedPattern pattern = Parser.toPattern(data);
-            String rule = pattern.getRule();
-            if (!board.getRuleSet().isEqual(rule)) {
-                throw new RuleException(board.getRuleSet().getRuleString(), rule);
-            }
-            byte[][] newBoard = pattern.getPattern();
-            board.insertPattern(newBoard);
-            canvasController.resetPanningPointers(board);
-            canvasController.recalculateTableBounds(board);
-            canvasController.draw(board);
+            URL url = fileHandler.chooseURL();
+            if (url == null) return;
+            ProgressDialog dialog = new ProgressDialog("Loading " + url);
+            load(patternLoader.load(url, dialog::update), dialog);
         } catch (IOException e) {
             iowa(e);
 
@@ -225,26 +366,39 @@ public class Controller implements Initializable {
         }
     }
 
+    /**
+     * Inserts the pattern of a load into the model once it has been parsed, on the simulation's thread, and displays
+     * the board with a single hand-off to the JavaFX application thread. Closing the load's dialog cancels the load.
+     * @param load Future completing with the parsed pattern.
+     * @param dialog Dialog showing the load's progress, closed once the load is done.
+     */
+    private void load(CompletableFuture<ParsedPattern> load, ProgressDialog dialog) {
+        dialog.setOnHidden(() -> load.cancel(true));
+        CompletableFuture<BoardSnapshot> inserted =
+                load.thenCompose(pattern -> simulation.submit(board -> insertPattern(board, pattern)));
+        inserted.whenCompleteAsync((snapshot, error) -> {
+            dialog.close();
+            if (error instanceof CompletionException) {
+                error = error.getCause();
+            }
+            if (error instanceof CancellationException) return;
+            if (error != null) {
+                loadwa(error);
+
+                error.printStackTrace();
+                return;
+            }
+            showCentered(snapshot);
+        }, Platform::runLater);
+    }
+
     /**
      * Displays a file browser for the user to export a file from model.
      */
     public void exportFile() {
         FileHandler fileHandler = new FileHandler();
         try {
-            List<List<Cell>> currentBoard = board.getThisGen();
-            byte[][] newArray = new byte[currentBoard.size()][currentBoard.get(0).size()];
-            for (int y = 0; y < currentBoard.size(); y++) {
-                List<Cell> row = currentBoard.get(y);
-                for (int x = 0; x < row.size(); x++) {
-                    Cell cell = row.get(x);
-                    newArray[y][x] = cell.getState().isAlive() ? (byte) 1 : 0;
-                }
-            }
-            DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm");
-            Date date = new Date();
-            ParsedPattern pp = new ParsedPattern("", "", "", dateFormat.format(date), board.getRuleSet().getRuleString(), newArray);
-            String RLEString = Parser.fromPattern(pp);
-            fileHandler.writeToFile(RLEString);
+            fileHandler.writeToFile(board, "", "", "");
 
         } catch (IOException e) {
             iowa(e);
@@ -290,7 +444,7 @@ public class Controller implements Initializable {
      * Toggles the board between being a dynamic board and a torus board (wrapping board).
      */
     public void toggleDynamicBoard() {
-        board.setDynamic(!board.getDynamic());
+        submit(board -> board.setDynamic(!board.getDynamic()));
         if (dynamicBoardButton.selectedProperty().getValue()) {
             dynamicBoardButton.setText("Turn off");
         } else {
@@ -302,7 +456,7 @@ public class Controller implements Initializable {
      * Toggles multithreading
      */
     public void toggleMultithreading() {
-        board.setMultithreading(!board.getMultithreading());
+        submit(board -> board.setMultithreading(!board.getMultithreading()));
         if (multithreadingButton.selectedProperty().getValue()) {
             multithreadingButton.setText("Turn off");
         } else {
@@ -315,47 +469,36 @@ public class Controller implements Initializable {
      * Clears the board entirely.
      */
     public void clearBoard() {
-        board.clearBoard();
-        canvasController.recalculateTableBounds(board);
-        canvasController.resetPanningPointers(board);
-        canvasController.draw(board);
+        submit(Board::clearBoard, this::showCentered);
     }
 
     /**
      * Starts the simulation.
      */
     private void start() {
-        timer.start();
+        simulation.start();
     }
 
     /**
      * Stops the simulation.
      */
     private void stop() {
-        timer.stop();
+        simulation.stop();
     }
 
     /**
      * Creates the main animation timer.
-     * @return A new animation timer, which draws the board each animation tick.
+     * @return A new animation timer, which draws the latest snapshot of the board on each animation tick, if the
+     * simulation published one since the last tick.
      */
     private AnimationTimer getAnimationTimer() {
         return new AnimationTimer() {
-            private long past;
-
             @Override
             public void handle(long now) {
-                if (now - past < frameInterval) return;
-                past = now;
-
-                if(board.getMultithreading()){
-                    board.nextGenerationConcurrent();
-                } else {
-                    board.nextGeneration();
+                BoardSnapshot snapshot = simulation.takeSnapshot();
+                if (snapshot != null) {
+                    show(snapshot);
                 }
-                recountCellsAndGeneration();
-                canvasController.recalculateTableBounds(board);
-                canvasController.draw(board);
             }
         };
     }
@@ -367,6 +510,7 @@ public class Controller implements Initializable {
      * Increases the panning speed if shift is pressed.
      * Toggles the simulation when Q is pressed.
      * Steps one frame forward when E is pressed.
+     * Toggles turbo mode when T is pressed.
      *
      * @param event Keyboard event.
      */
@@ -395,6 +539,9 @@ public class Controller implements Initializable {
             case E:
                 nextFrame();
                 break;
+            case T:
+                toggleTurbo();
+                break;
         }
     }
 
@@ -434,9 +581,15 @@ public class Controller implements Initializable {
 
     /**
      * Sets the time between each next generation.
-     * @param interval The value, from 1 to 10, indicating the requested speed of the simulation.
+     * @param interval The value, from 1 to 10, indicating the requested speed of the simulation. At 10, the simulation
+     *                 runs as fast as it can.
      */
     private void setFrameInterval(double interval) {
+        if (interval >= speedSlider.getMax()) {
+            frameInterval = 0;
+            simulation.setInterval(0);
+            return;
+        }
         interval += 1;
         double newValue = - Math.log10(interval) + 1;
         int multiplier = 100000;
@@ -445,15 +598,24 @@ public class Controller implements Initializable {
         int step = max - min;
 
         frameInterval = min + (step * newValue);
+        simulation.setInterval((long) frameInterval);
     }
 
     /**
-     * Calls the boards nextGeneration() method and re-draws the board.
+     * Toggles turbo mode, where the simulation skips frames, stepping as many generations between two drawn frames as
+     * fit in the frame's time budget.
+     */
+    public void toggleTurbo() {
+        turbo = !turbo;
+        simulation.setTurbo(turbo ? TURBO_FRAME_BUDGET : 0);
+    }
+
+    /**
+     * Calls the boards nextGeneration() method on the simulation's thread. The board is re-drawn once the simulation
+     * publishes it.
      */
     public void nextFrame() {
-        board.nextGeneration();
-        recountCellsAndGeneration();
-        canvasController.draw(board);
+        submit(Board::nextGeneration);
     }
 
     /**
@@ -501,15 +663,22 @@ public class Controller implements Initializable {
             return;
         }
         boolean cell = board.getCellAlive(coord.getY(), coord.getX());
-        if (!cell) {
-            board.setCellAlive(coord.getY(), coord.getX(), true);
-            onDragValue = true;
-            canvasController.draw(board);
-        } else {
-            board.setCellAlive(coord.getY(), coord.getX(), false);
-            onDragValue = false;
-            canvasController.draw(board);
-        }
+        onDragValue = !cell;
+        setCellAlive(coord, onDragValue);
+    }
+
+    /**
+     * Sets the state of a cell on the simulation's thread. The board is re-drawn once the simulation publishes it.
+     * @param coord Coordinate of the cell.
+     * @param alive New state of the cell.
+     */
+    private void setCellAlive(BoardCoordinate coord, boolean alive) {
+        submit(board -> {
+            // The board may have shrunk since the displayed snapshot was taken.
+            if (coord.getY() < board.getSizeY() && coord.getX() < board.getSizeX()) {
+                board.setCellAlive(coord.getY(), coord.getX(), alive);
+            }
+        });
     }
 
     /**
@@ -533,9 +702,7 @@ public class Controller implements Initializable {
                 coord.getY() >= board.getSizeY()) {
             return;
         }
-        board.setCellAlive(coord.getY(), coord.getX(), onDragValue);
-
-        canvasController.draw(board);
+        setCellAlive(coord, onDragValue);
     }
 
     /**
@@ -546,20 +713,28 @@ public class Controller implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         int sizeX = 100;
         int sizeY = 100;
-        board = new ArrayListBoard(sizeX, sizeY);
+        Board gameBoard = new ArrayListBoard(sizeX, sizeY);
+        gameBoard.addPostResizeListener(size -> Platform.runLater(() -> canvasController.correctOffsetForGrowth(size)));
+        board = BoardSnapshot.of(gameBoard, null);
+        simulation = new SimulationService(gameBoard);
         aliveColorPicker.setValue(Color.BLACK);
         deadColorPicker.setValue(Color.WHITE);
 
         ObservableList<String> patternNames = FXCollections.observableArrayList(PatternCollection.getNames());
         comboBox.setItems(patternNames);
+        listLibraryPatterns(patternNames);
 
         speedSlider.valueProperty().addListener((observable, oldValue, newValue) -> setFrameInterval(newValue.intValue()));
 
         comboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
-            clearBoard();
+            PatternLibrary.Entry entry = libraryPatterns.get(newValue);
+            if (entry != null) {
+                clearBoard();
+                ProgressDialog dialog = new ProgressDialog("Loading " + newValue);
+                load(patternLoader.load(patternLibrary, entry, dialog::update), dialog);
+                return;
+            }
             setPremadePattern(newValue);
-            canvasController.recalculateTableBounds(board);
-            canvasController.draw(board);
         });
 
         // Init simulation interval with slider's default value.
@@ -568,15 +743,16 @@ public class Controller implements Initializable {
         // Get main GraphicsContext for the canvas.
         canvasController = new CanvasController(canvas);
 
-        // Init main animation timer for the simulation.
+        // Init main animation timer, drawing the snapshots the simulation publishes.
         timer = getAnimationTimer();
+        timer.start();
 
         List<RuleSet> ruleSets = RulesCollection.getCollection();
         for (RuleSet ruleSet : ruleSets) {
             String name = ruleSet.getName();
             MenuItem menuEntry = new MenuItem();
             menuEntry.setText(name);
-            menuEntry.setOnAction((event) -> board.setRuleSet(ruleSet));
+            menuEntry.setOnAction((event) -> submit(board -> board.setRuleSet(ruleSet)));
             rulesMenu.getItems().add(menuEntry);
         }
 
@@ -592,11 +768,6 @@ public class Controller implements Initializable {
             canvasController.draw(board);
         });
 
-        board.addPostResizeListener(size -> {
-            canvasController.recalculateTableBounds(board);
-            canvasController.correctOffsetForGrowth(size);
-        });
-
         canvasController.initialize(board);
     }
 }
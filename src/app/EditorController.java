@@ -1,7 +1,5 @@
 package app;
 
-import RLE.ParsedPattern;
-import RLE.Parser;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -31,9 +29,6 @@ import view.CanvasController;
 
 import java.io.IOException;
 import java.net.URL;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -158,27 +153,7 @@ public class EditorController extends Stage implements Initializable {
 
         FileHandler fileHandler = new FileHandler();
         try {
-            List<List<Cell>> currentBoard = editorBoard.getThisGen();
-            byte[][] newArray = new byte[currentBoard.size()][currentBoard.get(0).size()];
-            for (int y = 0; y < currentBoard.size(); y++) {
-                List<Cell> row = currentBoard.get(y);
-                for (int x = 0; x < row.size(); x++) {
-                    Cell cell = row.get(x);
-                    newArray[y][x] = cell.getState().isAlive() ? (byte) 1 : 0;
-                }
-            }
-            DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm");
-            Date date = new Date();
-            ParsedPattern pp = new ParsedPattern(
-                    name.getText(),
-                    author.getText(),
-                    description.getText(),
-                    dateFormat.format(date),
-                    editorBoard.getRuleSet().getRuleString(),
-                    newArray
-            );
-            String RLEString = Parser.fromPattern(pp);
-            fileHandler.writeToFile(RLEString);
+            fileHandler.writeToFile(editorBoard, name.getText(), author.getText(), description.getText());
 
         } catch (IOException e) {
             iowa(e);
@@ -193,9 +168,7 @@ public class EditorController extends Stage implements Initializable {
      */
     public void onSaveAndCloseButtonAction() {
         Pattern editorBoardExport = new Pattern("Editor Board", editorBoard.getThisGen());
-        mainController.clearBoard();
-        mainController.board.insertPattern(editorBoardExport.getPattern());
-        mainController.canvasController.draw(mainController.board);
+        mainController.replacePattern(editorBoardExport.getPattern());
         close();
     }
 
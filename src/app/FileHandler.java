@@ -1,63 +1,76 @@
 package app;
 
+import RLE.Macrocell;
+import RLE.ParsedPattern;
+import RLE.Parser;
+import RLE.RLEWriter;
 import javafx.scene.control.TextInputDialog;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import model.board.Board;
 
 import java.io.*;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
 import java.util.Optional;
 
 class FileHandler {
 
     /**
-     * Reads a BufferedReader into a String.
+     * Reads a pattern in the format given by its file name: Macrocell for {@code .mc} files, and RLE otherwise.
      *
-     * @param br BufferedReader to read into a String.
-     * @return The entire contents of the BufferedReader.
+     * @param fileName Name of the pattern's file.
+     * @param reader Reader to read the pattern from.
+     * @return The pattern, as a {@code MacrocellPattern} or a {@code PackedPattern}.
      * @throws IOException Throws an exception if the IO operation fails.
      */
-    private String bufferToString(BufferedReader br) throws IOException {
-        String str;
-        StringBuilder sb = new StringBuilder();
-
-        while ((str = br.readLine()) != null) {
-            sb.append(str);
-            sb.append('\n');
+    static ParsedPattern readPattern(String fileName, Reader reader) throws IOException {
+        if (fileName.toLowerCase(Locale.ROOT).endsWith(".mc")) {
+            return Macrocell.toPattern(reader);
         }
-        br.close();
-
-        return sb.toString();
+        return Parser.toPackedPattern(reader);
     }
 
     /**
-     * Opens a file chooser where it is possible to enter a Parser file.
+     * Reads a UTF-8 encoded pattern in the format given by its file name, as {@link #readPattern(String, Reader)} does.
      *
-     * @return Parser String representing the fetched file's contents, if it exists.
+     * @param fileName Name of the pattern's file.
+     * @param in Stream to read the pattern from. It is closed once the pattern has been read.
+     * @return The pattern.
      * @throws IOException Throws an exception if the IO operation fails.
      */
-    String readGameBoardFromDisk() throws IOException {
+    static ParsedPattern readPattern(String fileName, InputStream in) throws IOException {
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return readPattern(fileName, reader);
+        }
+    }
+
+    /**
+     * Opens a file chooser where it is possible to choose a pattern file.
+     *
+     * @return The chosen file, or {@code null} if no file was chosen.
+     */
+    File chooseFileToOpen() {
         FileChooser fs = new FileChooser();
         fs.setTitle("Open file");
         fs.getExtensionFilters().addAll(
-                new FileChooser.ExtensionFilter("Text Files", "*.RLE", "*.rle"));
-        File f = fs.showOpenDialog(new Stage());
-
-        if (f == null) return "";
-
-        BufferedReader br = new BufferedReader(new FileReader(f));
-
-        return bufferToString(br);
+                new FileChooser.ExtensionFilter("Pattern Files", "*.RLE", "*.rle", "*.MC", "*.mc"));
+        return fs.showOpenDialog(new Stage());
     }
 
     /**
      * Opens a text input dialog where it is possible to enter a URL.
      *
-     * @return Parser String representing the fetched file's contents, if it exists.
-     * @throws IOException Throws an exception if the IO operation fails.
+     * @return The entered URL, or {@code null} if no URL was entered.
+     * @throws MalformedURLException Throws an exception if the entered text is not a URL.
      */
-    String readGameBoardFromURL() throws IOException {
+    URL chooseURL() throws MalformedURLException {
         TextInputDialog dialog = new TextInputDialog();
         dialog.setTitle("Open URL");
         dialog.setHeaderText(null);
@@ -65,22 +78,22 @@ class FileHandler {
 
         Optional<String> result = dialog.showAndWait();
 
-        if (!result.isPresent()) return "";
-
-        URL destination = new URL(result.get());
-        URLConnection conn = destination.openConnection();
-        BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream()));
+        if (!result.isPresent()) return null;
 
-        return bufferToString(br);
+        return new URL(result.get());
     }
 
     /**
-     * Opens a file chooser where it is possible to save the model.
+     * Opens a file chooser where it is possible to save the model, and writes the board to the chosen file as RLE,
+     * one row at a time.
      *
-     * @param RLEString File contents to write to file.
+     * @param board Board to write to file.
+     * @param name Name of the pattern.
+     * @param author Author of the pattern.
+     * @param description Description of the pattern.
      * @throws IOException Throws an exception if the IO operation fails.
      */
-    void writeToFile(String RLEString) throws IOException {
+    void writeToFile(Board board, String name, String author, String description) throws IOException {
         FileChooser fs = new FileChooser();
         fs.setTitle("Save file");
         fs.getExtensionFilters().addAll(
@@ -91,9 +104,15 @@ class FileHandler {
             return;
         }
 
-        BufferedWriter bw = new BufferedWriter(new FileWriter(f));
-        bw.write(RLEString);
-        bw.close();
+        String date = new SimpleDateFormat("yyyy/MM/dd HH:mm").format(new Date());
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            RLEWriter writer = new RLEWriter(channel);
+            writer.writeHeader(name, author, description, date, board.getRuleSet().getRuleString(),
+                    board.getSizeX(), board.getSizeY());
+            writer.writeRows(board::readRow);
+            writer.finish();
+        }
     }
 
     /**
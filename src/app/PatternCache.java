@@ -0,0 +1,361 @@
+package app;
+
+import RLE.ParsedPattern;
+import RLE.PatternCodec;
+import RLE.RLEParserException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.LongSupplier;
+
+/**
+ * On-disk cache of patterns downloaded over HTTP, so that importing the same pattern again skips both the download
+ * and the parse.
+ *
+ * Each URL has an entry holding the ETag and Last-Modified date of its last download, and the SHA-256 hash of its
+ * contents. Patterns are stored once per hash, in the binary form of {@link PatternCodec}, so URLs serving the same
+ * file share a stored pattern, and a changed file that hashes like a stored one is not parsed again. Every load
+ * revalidates the entry with a conditional request, and the stored pattern is used if the server answers that it has
+ * not been modified, or if the server can not be reached. Once the stored patterns take up more than the size limit,
+ * the least recently used entries are removed until they fit.
+ */
+final class PatternCache {
+    /**
+     * Default limit on the size of the stored patterns, in bytes.
+     */
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * File name suffix of URL entries.
+     */
+    private static final String ENTRY_SUFFIX = ".entry";
+
+    /**
+     * File name suffix of stored patterns.
+     */
+    private static final String PATTERN_SUFFIX = ".pattern";
+
+    private static final String URL = "url";
+    private static final String HASH = "hash";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String ACCESSED = "accessed";
+
+    /**
+     * Directory holding the entries and stored patterns.
+     */
+    private final Path directory;
+
+    /**
+     * Limit on the size of the stored patterns, in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * Source of the access times used to find the least recently used entries.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Constructor.
+     * @param directory Directory to store the cache in. It is created on first use.
+     * @param maxBytes Limit on the size of the stored patterns, in bytes.
+     */
+    PatternCache(Path directory, long maxBytes) {
+        this(directory, maxBytes, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor.
+     * @param directory Directory to store the cache in. It is created on first use.
+     * @param maxBytes Limit on the size of the stored patterns, in bytes.
+     * @param clock Source of the access times used to find the least recently used entries.
+     */
+    PatternCache(Path directory, long maxBytes, LongSupplier clock) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * @return The directory the cache is stored in by default, in the user's home directory.
+     */
+    static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".game-of-life", "cache");
+    }
+
+    /**
+     * Loads a pattern from a URL, in the format given by its path. URLs other than HTTP URLs are read as they are,
+     * without being cached.
+     * @param url URL to load.
+     * @param wrapper Wrapper to pass the downloaded stream through.
+     * @return The pattern.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    synchronized ParsedPattern load(URL url, PatternLoader.StreamWrapper wrapper) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (!(connection instanceof HttpURLConnection)) {
+            return FileHandler.readPattern(url.getPath(),
+                    wrapper.wrap(connection.getInputStream(), connection.getContentLengthLong()));
+        }
+        HttpURLConnection http = (HttpURLConnection) connection;
+
+        String key = hash(url.toString().getBytes(StandardCharsets.UTF_8));
+        Properties entry = readEntry(key);
+        // A stored pattern that can not be decoded, such as one written by another version of the codec, is only
+        // replaced if the server sends the pattern again, so its entry is dropped before the request is made.
+        ParsedPattern cached = entry != null ? readPattern(entry.getProperty(HASH)) : null;
+        if (entry != null && cached == null) {
+            Files.deleteIfExists(entryFile(key));
+            entry = null;
+        }
+        if (entry != null) {
+            String etag = entry.getProperty(ETAG);
+            if (etag != null) http.setRequestProperty("If-None-Match", etag);
+            long lastModified = Long.parseLong(entry.getProperty(LAST_MODIFIED, "0"));
+            if (lastModified > 0) http.setIfModifiedSince(lastModified);
+        }
+
+        int status;
+        try {
+            status = http.getResponseCode();
+        } catch (IOException e) {
+            // Serves the stored pattern while the server can not be reached.
+            if (entry != null) return hit(key, entry, cached);
+            throw e;
+        }
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+            http.disconnect();
+            return hit(key, entry, cached);
+        }
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Server returned HTTP " + status + " for " + url);
+        }
+        return download(url, key, http, wrapper);
+    }
+
+    /**
+     * Downloads a pattern into a temporary file while hashing it, and reads the stored pattern with the same hash, or
+     * parses and stores the download if there is none.
+     * @param url URL of the pattern.
+     * @param key Key of the URL's entry.
+     * @param http Connection the server answered on with the pattern.
+     * @param wrapper Wrapper to pass the downloaded stream through.
+     * @return The pattern.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private ParsedPattern download(URL url, String key, HttpURLConnection http, PatternLoader.StreamWrapper wrapper)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path download = Files.createTempFile(directory, "download", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(
+                    wrapper.wrap(http.getInputStream(), http.getContentLengthLong()), digest)) {
+                Files.copy(in, download, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = hex(digest.digest());
+
+            ParsedPattern pattern = readPattern(hash);
+            if (pattern == null) {
+                pattern = FileHandler.readPattern(url.getPath(), Files.newInputStream(download));
+                writePattern(hash, pattern);
+            }
+
+            Properties entry = new Properties();
+            entry.setProperty(URL, url.toString());
+            entry.setProperty(HASH, hash);
+            String etag = http.getHeaderField("ETag");
+            if (etag != null) entry.setProperty(ETAG, etag);
+            entry.setProperty(LAST_MODIFIED, Long.toString(http.getLastModified()));
+            entry.setProperty(ACCESSED, Long.toString(clock.getAsLong()));
+            writeEntry(key, entry);
+            evict(key);
+            return pattern;
+        } finally {
+            Files.deleteIfExists(download);
+        }
+    }
+
+    /**
+     * Marks an entry as used.
+     * @param key Key of the entry.
+     * @param entry The entry.
+     * @param pattern The stored pattern of the entry.
+     * @return The pattern.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private ParsedPattern hit(String key, Properties entry, ParsedPattern pattern) throws IOException {
+        entry.setProperty(ACCESSED, Long.toString(clock.getAsLong()));
+        writeEntry(key, entry);
+        return pattern;
+    }
+
+    /**
+     * Removes the least recently used entries, other than the passed one, until the stored patterns fit within the
+     * size limit. Stored patterns are removed along with the last entry using them.
+     * @param keep Key of the entry to keep.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private void evict(String keep) throws IOException {
+        Map<String, Long> patternSizes = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PATTERN_SUFFIX)) {
+                    patternSizes.put(name.substring(0, name.length() - PATTERN_SUFFIX.length()), Files.size(file));
+                } else if (name.endsWith(ENTRY_SUFFIX)) {
+                    keys.add(name.substring(0, name.length() - ENTRY_SUFFIX.length()));
+                }
+            }
+        }
+
+        Map<String, Properties> entries = new HashMap<>();
+        Map<String, Integer> users = new HashMap<>();
+        for (String key : keys) {
+            Properties entry = readEntry(key);
+            if (entry == null) continue;
+            entries.put(key, entry);
+            users.merge(entry.getProperty(HASH), 1, Integer::sum);
+        }
+
+        long total = 0;
+        for (Map.Entry<String, Long> pattern : patternSizes.entrySet()) {
+            if (users.containsKey(pattern.getKey())) {
+                total += pattern.getValue();
+            } else {
+                Files.deleteIfExists(patternFile(pattern.getKey()));
+            }
+        }
+
+        List<String> leastRecent = new ArrayList<>(entries.keySet());
+        leastRecent.remove(keep);
+        leastRecent.sort(Comparator.comparingLong(key -> Long.parseLong(entries.get(key).getProperty(ACCESSED, "0"))));
+        for (String key : leastRecent) {
+            if (total <= maxBytes) break;
+            String hash = entries.get(key).getProperty(HASH);
+            Files.deleteIfExists(entryFile(key));
+            if (users.merge(hash, -1, Integer::sum) == 0) {
+                Files.deleteIfExists(patternFile(hash));
+                total -= patternSizes.getOrDefault(hash, 0L);
+            }
+        }
+    }
+
+    /**
+     * @param hash Hash of the pattern's file.
+     * @return The stored pattern, or {@code null} if there is none or it can not be read.
+     */
+    private ParsedPattern readPattern(String hash) {
+        Path file = patternFile(hash);
+        if (!Files.exists(file)) return null;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return PatternCodec.read(in);
+        } catch (IOException | RLEParserException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores a pattern, replacing the file in one step so that a pattern is never read half written.
+     * @param hash Hash of the pattern's file.
+     * @param pattern Pattern to store.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private void writePattern(String hash, ParsedPattern pattern) throws IOException {
+        Path temp = Files.createTempFile(directory, hash, ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            PatternCodec.write(out, pattern);
+        }
+        Files.move(temp, patternFile(hash), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param key Key of the entry.
+     * @return The entry, or {@code null} if there is none or it can not be read.
+     */
+    private Properties readEntry(String key) {
+        Path file = entryFile(key);
+        if (!Files.exists(file)) return null;
+        Properties entry = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            entry.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        return entry.getProperty(HASH) != null ? entry : null;
+    }
+
+    /**
+     * @param key Key of the entry.
+     * @param entry The entry.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private void writeEntry(String key, Properties entry) throws IOException {
+        try (OutputStream out = Files.newOutputStream(entryFile(key))) {
+            entry.store(out, null);
+        }
+    }
+
+    private Path entryFile(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private Path patternFile(String hash) {
+        return directory.resolve(hash + PATTERN_SUFFIX);
+    }
+
+    /**
+     * @param bytes Bytes to hash.
+     * @return The SHA-256 hash of the bytes, in hexadecimal.
+     */
+    private static String hash(byte[] bytes) {
+        return hex(newDigest().digest(bytes));
+    }
+
+    /**
+     * @return A new SHA-256 digest.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param bytes Bytes to format.
+     * @return The bytes in lower case hexadecimal.
+     */
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,533 @@
+package app;
+
+import RLE.Macrocell;
+import RLE.MacrocellPattern;
+import RLE.ParsedPattern;
+import RLE.RLEReader;
+import model.board.QuadTree;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Library of RLE and Macrocell pattern files in a directory, indexed so that the patterns can be listed without
+ * decoding them.
+ *
+ * The first listing scans every pattern file once, and stores what it finds in an index file in the directory: the
+ * name, rule, bounding box and population of each pattern, and the offset its header starts at. Later listings only
+ * scan files that have been added or changed since, so they take about as long however many patterns there are. A
+ * pattern is decoded only when it is read, starting at its offset. Files that can not be read as patterns are indexed
+ * too, as bad files, so that they are not scanned again until they change.
+ */
+final class PatternLibrary {
+    /**
+     * Name of the index file in the library's directory.
+     */
+    static final String INDEX_FILE = "library.index";
+
+    /**
+     * First four bytes of the index file, "GOLI".
+     */
+    private static final int MAGIC = 0x474F4C49;
+
+    /**
+     * Version of the index format written by this class.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Directory holding the pattern files.
+     */
+    private final Path directory;
+
+    /**
+     * Constructor.
+     * @param directory Directory holding the pattern files.
+     */
+    PatternLibrary(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The directory patterns are looked for in by default, in the user's home directory.
+     */
+    static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".game-of-life", "patterns");
+    }
+
+    /**
+     * Lists the patterns of the library, scanning the files that are not in the index yet, or have changed since they
+     * were indexed, and updating the index. Files that can not be read as patterns are left out of the listing, and
+     * reported by it the time they are scanned.
+     * @return The patterns, sorted by file name, with the errors met while listing them. No patterns if the directory
+     * does not exist.
+     * @throws IOException Throws an exception if the directory can not be listed.
+     */
+    synchronized Listing index() throws IOException {
+        if (!Files.isDirectory(directory)) return new Listing(Collections.emptyList(), Collections.emptyList());
+        Map<String, Entry> indexed = readIndex();
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (isPatternFile(file.getFileName().toString()) && Files.isRegularFile(file)) files.add(file);
+            }
+        }
+        Collections.sort(files);
+
+        List<Entry> indexEntries = new ArrayList<>(files.size());
+        List<Entry> entries = new ArrayList<>(files.size());
+        List<String> errors = new ArrayList<>();
+        boolean changed = indexed.size() != files.size();
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            Entry entry = indexed.get(fileName);
+            if (entry == null || entry.size != size || entry.modified != modified) {
+                changed = true;
+                try {
+                    entry = scan(file, size, modified);
+                } catch (IOException | RuntimeException e) {
+                    errors.add("Could not read " + fileName + ": " + e.getMessage());
+                    entry = Entry.bad(fileName, size, modified);
+                }
+            }
+            indexEntries.add(entry);
+            if (!entry.bad) entries.add(entry);
+        }
+
+        if (changed) {
+            try {
+                writeIndex(indexEntries);
+            } catch (IOException e) {
+                // The index only saves scanning the files again, so a library in a read-only directory still works.
+                errors.add("Could not save the index of " + directory + ": " + e.getMessage());
+            }
+        }
+        return new Listing(Collections.unmodifiableList(entries), Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * Decodes a pattern of the library, starting at its indexed offset unless the file has changed since it was
+     * indexed.
+     * @param entry The pattern's entry.
+     * @param wrapper Wrapper to pass the file's stream through.
+     * @return The pattern.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    ParsedPattern read(Entry entry, PatternLoader.StreamWrapper wrapper) throws IOException {
+        Path file = directory.resolve(entry.fileName);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            boolean unchanged = size == entry.size && Files.getLastModifiedTime(file).toMillis() == entry.modified;
+            long offset = unchanged ? entry.offset : 0;
+            channel.position(offset);
+            return FileHandler.readPattern(entry.fileName, wrapper.wrap(Channels.newInputStream(channel),
+                    size - offset));
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @param fileName Name of a file.
+     * @return {@code true} if the file is an RLE or Macrocell file.
+     */
+    private static boolean isPatternFile(String fileName) {
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        return lowerCase.endsWith(".rle") || lowerCase.endsWith(".mc");
+    }
+
+    /**
+     * Scans a pattern file, reading its metadata lines and counting its cells without keeping them.
+     * @param file The file.
+     * @param size Size of the file, in bytes.
+     * @param modified Time the file was last modified, in milliseconds since the epoch.
+     * @return The file's entry.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static Entry scan(Path file, long size, long modified) throws IOException {
+        String fileName = file.getFileName().toString();
+        boolean macrocell = fileName.toLowerCase(Locale.ROOT).endsWith(".mc");
+        String name = null;
+        long offset = 0;
+
+        // Metadata lines come first in both formats, after the [M2] line of Macrocell files.
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            boolean first = true;
+            long position = 0;
+            while (true) {
+                long start = position;
+                line.reset();
+                int b;
+                while ((b = in.read()) >= 0 && b != '\n') {
+                    line.write(b);
+                    position++;
+                }
+                position++;
+                String text = new String(line.toByteArray(), StandardCharsets.UTF_8).trim();
+                if (text.startsWith("#N") && name == null) {
+                    name = text.substring(2).trim();
+                } else if (!text.startsWith("#") && !text.isEmpty() && !(macrocell && first)) {
+                    if (!macrocell) offset = start;
+                    break;
+                }
+                first = false;
+                if (b < 0) break;
+            }
+        }
+        if (name == null || name.isEmpty()) {
+            name = fileName.substring(0, fileName.lastIndexOf('.'));
+        }
+
+        String rule;
+        long[] bounds;
+        if (macrocell) {
+            MacrocellPattern pattern;
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                pattern = Macrocell.toPattern(reader);
+            }
+            rule = pattern.getRule();
+            bounds = treeBounds(pattern);
+        } else {
+            BoundsSink sink = new BoundsSink();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                channel.position(offset);
+                new RLEReader(channel).read(sink);
+            }
+            rule = sink.rule;
+            bounds = sink.bounds();
+        }
+        return new Entry(fileName, size, modified, name, rule, bounds[0], bounds[1], bounds[2], bounds[3], bounds[4],
+                offset, false);
+    }
+
+    /**
+     * @param tree A quadtree.
+     * @return The bounding box of the tree's alive cells, as its left and top edges relative to the root, width and
+     * height, followed by the number of alive cells.
+     */
+    private static long[] treeBounds(QuadTree tree) {
+        int count = tree.getNodeCount();
+        long[] population = new long[count + 1];
+        long[] minX = new long[count + 1];
+        long[] minY = new long[count + 1];
+        long[] maxX = new long[count + 1];
+        long[] maxY = new long[count + 1];
+
+        // Children are numbered before their parents, so a single pass finds the bounds of every node.
+        for (int node = 1; node <= count; node++) {
+            minX[node] = minY[node] = Long.MAX_VALUE;
+            maxX[node] = maxY[node] = Long.MIN_VALUE;
+            int level = tree.getLevel(node);
+            if (level == QuadTree.LEAF_LEVEL) {
+                long leaf = tree.getLeaf(node);
+                population[node] = Long.bitCount(leaf);
+                for (int y = 0; y < 8; y++) {
+                    int row = (int) (leaf >>> (8 * y)) & 0xFF;
+                    if (row == 0) continue;
+                    minX[node] = Math.min(minX[node], Integer.numberOfTrailingZeros(row));
+                    maxX[node] = Math.max(maxX[node], 31 - Integer.numberOfLeadingZeros(row));
+                    minY[node] = Math.min(minY[node], y);
+                    maxY[node] = y;
+                }
+                continue;
+            }
+            long half = 1L << (level - 1);
+            for (int quadrant = 0; quadrant < 4; quadrant++) {
+                int child = tree.getChild(node, quadrant);
+                if (child == 0 || population[child] == 0) continue;
+                long dx = (quadrant & 1) * half;
+                long dy = (quadrant >> 1) * half;
+                population[node] += population[child];
+                minX[node] = Math.min(minX[node], minX[child] + dx);
+                maxX[node] = Math.max(maxX[node], maxX[child] + dx);
+                minY[node] = Math.min(minY[node], minY[child] + dy);
+                maxY[node] = Math.max(maxY[node], maxY[child] + dy);
+            }
+        }
+
+        int root = tree.getRoot();
+        if (root == 0 || population[root] == 0) return new long[5];
+        return new long[] {minX[root], minY[root], maxX[root] - minX[root] + 1, maxY[root] - minY[root] + 1,
+                population[root]};
+    }
+
+    /**
+     * Finds the bounding box and number of alive cells of an RLE body, without storing its cells.
+     */
+    private static final class BoundsSink implements RLEReader.RunSink {
+        private String rule;
+
+        private long population;
+
+        private long minX = Long.MAX_VALUE;
+
+        private long minY = Long.MAX_VALUE;
+
+        private long maxX = Long.MIN_VALUE;
+
+        private long maxY = Long.MIN_VALUE;
+
+        @Override
+        public void header(int sizeX, int sizeY, String rule) {
+            this.rule = rule;
+        }
+
+        @Override
+        public void aliveRun(int y, int x, int length) {
+            population += length;
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x + length - 1L);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+
+        /**
+         * @return The bounding box of the alive cells, followed by their number, as {@link #treeBounds} returns them.
+         */
+        long[] bounds() {
+            if (population == 0) return new long[5];
+            return new long[] {minX, minY, maxX - minX + 1, maxY - minY + 1, population};
+        }
+    }
+
+    /**
+     * @return The entries of the index file by file name, or an empty map if there is no index or it can not be read.
+     */
+    private Map<String, Entry> readIndex() {
+        Map<String, Entry> entries = new HashMap<>();
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.exists(file)) return entries;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) return entries;
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Entry entry = new Entry(in.readUTF(), in.readLong(), in.readLong(), in.readUTF(), in.readUTF(),
+                        in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readBoolean());
+                entries.put(entry.fileName, entry);
+            }
+        } catch (IOException e) {
+            // A damaged index is rebuilt by scanning the files again.
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Replaces the index file in one step, so that it is never read half written.
+     * @param entries Entries of the index.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private void writeIndex(List<Entry> entries) throws IOException {
+        Path temp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    out.writeUTF(entry.fileName);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeUTF(entry.name);
+                    out.writeUTF(entry.rule);
+                    out.writeLong(entry.minX);
+                    out.writeLong(entry.minY);
+                    out.writeLong(entry.width);
+                    out.writeLong(entry.height);
+                    out.writeLong(entry.population);
+                    out.writeLong(entry.offset);
+                    out.writeBoolean(entry.bad);
+                }
+            }
+            Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Result of listing the patterns of the library.
+     */
+    static final class Listing {
+        private final List<Entry> entries;
+
+        private final List<String> errors;
+
+        Listing(List<Entry> entries, List<String> errors) {
+            this.entries = entries;
+            this.errors = errors;
+        }
+
+        /**
+         * @return The patterns, sorted by file name.
+         */
+        List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * @return Messages of the files that could not be read as patterns when scanned by this listing, and of the
+         * index if it could not be saved.
+         */
+        List<String> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * A pattern of the library, as it was when its file was indexed.
+     */
+    static final class Entry {
+        private final String fileName;
+
+        /**
+         * Size of the file, in bytes.
+         */
+        private final long size;
+
+        /**
+         * Time the file was last modified, in milliseconds since the epoch.
+         */
+        private final long modified;
+
+        private final String name;
+
+        private final String rule;
+
+        private final long minX;
+
+        private final long minY;
+
+        private final long width;
+
+        private final long height;
+
+        private final long population;
+
+        /**
+         * Offset of the pattern's header in the file, in bytes.
+         */
+        private final long offset;
+
+        /**
+         * {@code true} if the file could not be read as a pattern when it was indexed.
+         */
+        private final boolean bad;
+
+        Entry(String fileName, long size, long modified, String name, String rule, long minX, long minY, long width,
+              long height, long population, long offset, boolean bad) {
+            this.fileName = fileName;
+            this.size = size;
+            this.modified = modified;
+            this.name = name;
+            this.rule = rule;
+            this.minX = minX;
+            this.minY = minY;
+            this.width = width;
+            this.height = height;
+            this.population = population;
+            this.offset = offset;
+            this.bad = bad;
+        }
+
+        /**
+         * @param fileName Name of the file in the library's directory.
+         * @param size Size of the file, in bytes.
+         * @param modified Time the file was last modified, in milliseconds since the epoch.
+         * @return Entry of a file that could not be read as a pattern.
+         */
+        static Entry bad(String fileName, long size, long modified) {
+            return new Entry(fileName, size, modified, "", "", 0, 0, 0, 0, 0, 0, true);
+        }
+
+        /**
+         * @return Name of the pattern's file in the library's directory.
+         */
+        String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * @return Name of the pattern, from its #N line, or its file name without the extension.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return Rule string the pattern is designed for.
+         */
+        String getRule() {
+            return rule;
+        }
+
+        /**
+         * @return Left edge of the pattern's alive cells, relative to the pattern.
+         */
+        long getMinX() {
+            return minX;
+        }
+
+        /**
+         * @return Top edge of the pattern's alive cells, relative to the pattern.
+         */
+        long getMinY() {
+            return minY;
+        }
+
+        /**
+         * @return Width of the bounding box of the pattern's alive cells, or 0 if it has none.
+         */
+        long getWidth() {
+            return width;
+        }
+
+        /**
+         * @return Height of the bounding box of the pattern's alive cells, or 0 if it has none.
+         */
+        long getHeight() {
+            return height;
+        }
+
+        /**
+         * @return Number of alive cells in the pattern.
+         */
+        long getPopulation() {
+            return population;
+        }
+
+        /**
+         * @return Offset of the pattern's header in its file, in bytes.
+         */
+        long getOffset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package app;
+
+import RLE.ParallelDecoder;
+import RLE.ParsedPattern;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Loads patterns from files and URLs on a background thread, so that downloading and parsing a large pattern does not
+ * hold up the JavaFX application thread.
+ *
+ * Each load returns a future that completes with the parsed pattern, or with the error that stopped it. Cancelling
+ * the future stops the load at the next read from its source, or at the next chunk of a file decoded in parallel.
+ * Progress is reported as bytes are read, from the loading thread, at most about a hundred times per stream read, and
+ * after every chunk of a file decoded in parallel. Loads from URLs go through a {@link PatternCache},
+ * if there is one, and patterns of a {@link PatternLibrary} are listed and decoded on the same thread.
+ */
+final class PatternLoader {
+    /**
+     * Receiver of a load's progress.
+     */
+    @FunctionalInterface
+    interface ProgressListener {
+        /**
+         * Called from the loading thread as a stream is read, and once more when it is closed. Large files decoded in
+         * parallel report from the decoding threads instead, one call at a time.
+         * @param bytesRead Number of bytes read so far.
+         * @param totalBytes Size of the source in bytes, or -1 if it is not known.
+         */
+        void progress(long bytesRead, long totalBytes);
+    }
+
+    /**
+     * Reads the pattern of a load, on the loading thread.
+     */
+    @FunctionalInterface
+    private interface Source {
+        /**
+         * @param wrapper Wrapper to pass every stream read from the network or disk through.
+         * @param cancelled Returns {@code true} once the load has been cancelled, for sources not read as streams.
+         * @return The pattern.
+         * @throws IOException Throws an exception if the IO operation fails.
+         */
+        ParsedPattern read(StreamWrapper wrapper, BooleanSupplier cancelled) throws IOException;
+    }
+
+    /**
+     * Wraps an opened stream, knowing its length, to report progress and stop when the load is cancelled.
+     */
+    @FunctionalInterface
+    interface StreamWrapper {
+        /**
+         * @param in The opened stream.
+         * @param totalBytes Size of the source in bytes, or -1 if it is not known.
+         * @return The wrapped stream.
+         */
+        InputStream wrap(InputStream in, long totalBytes);
+    }
+
+    /**
+     * Fewest bytes read between two progress reports.
+     */
+    private static final long MIN_REPORT_BYTES = 64 * 1024;
+
+    /**
+     * Executor parsing the patterns.
+     */
+    private final Executor executor;
+
+    /**
+     * Cache of patterns loaded from URLs, or {@code null} to always download them.
+     */
+    private final PatternCache cache;
+
+    /**
+     * Constructor.
+     * Loads patterns one at a time on a daemon thread of its own.
+     * @param cache Cache of patterns loaded from URLs, or {@code null} to always download them.
+     */
+    PatternLoader(PatternCache cache) {
+        this(newDaemonExecutor(), cache);
+    }
+
+    /**
+     * Constructor.
+     * @param executor Executor to load patterns on.
+     * @param cache Cache of patterns loaded from URLs, or {@code null} to always download them.
+     */
+    PatternLoader(Executor executor, PatternCache cache) {
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    /**
+     * @return A single-thread executor whose thread does not keep the application running.
+     */
+    private static ExecutorService newDaemonExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pattern-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads a pattern from a file, in the format given by its file name. Large RLE files are decoded in parallel.
+     * @param file File to load.
+     * @param listener Receiver of the load's progress.
+     * @return A future completing with the pattern.
+     */
+    CompletableFuture<ParsedPattern> load(Path file, ProgressListener listener) {
+        String fileName = file.getFileName().toString();
+        return load((wrapper, cancelled) -> {
+            long size = Files.size(file);
+            if (size >= ParallelDecoder.MIN_PARALLEL_BYTES && size <= ParallelDecoder.MAX_PARALLEL_BYTES
+                    && !fileName.toLowerCase(Locale.ROOT).endsWith(".mc")) {
+                // Large RLE files are decoded on every core at once, chunk by chunk.
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    return ParallelDecoder.decode(channel, ForkJoinPool.commonPool(), cancelled,
+                            decoded -> listener.progress(decoded, size));
+                }
+            }
+            return FileHandler.readPattern(fileName, wrapper.wrap(Files.newInputStream(file), size));
+        }, listener);
+    }
+
+    /**
+     * Loads a pattern from a URL, in the format given by its path, through the cache if there is one.
+     * @param url URL to load.
+     * @param listener Receiver of the load's progress.
+     * @return A future completing with the pattern.
+     */
+    CompletableFuture<ParsedPattern> load(URL url, ProgressListener listener) {
+        if (cache != null) {
+            return load((wrapper, cancelled) -> cache.load(url, wrapper), listener);
+        }
+        return load((wrapper, cancelled) -> {
+            URLConnection connection = url.openConnection();
+            return FileHandler.readPattern(url.getPath(),
+                    wrapper.wrap(connection.getInputStream(), connection.getContentLengthLong()));
+        }, listener);
+    }
+
+    /**
+     * Decodes a pattern of a library.
+     * @param library The library.
+     * @param entry The pattern's entry.
+     * @param listener Receiver of the load's progress.
+     * @return A future completing with the pattern.
+     */
+    CompletableFuture<ParsedPattern> load(PatternLibrary library, PatternLibrary.Entry entry,
+                                          ProgressListener listener) {
+        return load((wrapper, cancelled) -> library.read(entry, wrapper), listener);
+    }
+
+    /**
+     * Lists the patterns of a library, scanning the files it has not indexed yet.
+     * @param library The library.
+     * @return A future completing with the library's patterns, and the errors met while listing them.
+     */
+    CompletableFuture<PatternLibrary.Listing> index(PatternLibrary library) {
+        CompletableFuture<PatternLibrary.Listing> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(library.index());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @param source Source of the pattern.
+     * @param listener Receiver of the load's progress.
+     * @return A future completing with the pattern.
+     */
+    private CompletableFuture<ParsedPattern> load(Source source, ProgressListener listener) {
+        CompletableFuture<ParsedPattern> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) return;
+            try {
+                future.complete(source.read((stream, total) ->
+                        new ProgressInputStream(stream, total, future, listener), future::isCancelled));
+            } catch (Throwable e) {
+                // Does nothing if the future has been cancelled.
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Counts the bytes read from a stream, reporting them to a listener, and stops reading once a future has been
+     * cancelled.
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+        private final long totalBytes;
+
+        private final CompletableFuture<?> future;
+
+        private final ProgressListener listener;
+
+        /**
+         * Number of bytes to read between two progress reports.
+         */
+        private final long reportBytes;
+
+        private long bytesRead;
+
+        private long nextReport;
+
+        ProgressInputStream(InputStream in, long totalBytes, CompletableFuture<?> future,
+                            ProgressListener listener) {
+            super(in);
+            this.totalBytes = totalBytes;
+            this.future = future;
+            this.listener = listener;
+            this.reportBytes = Math.max(MIN_REPORT_BYTES, totalBytes / 100);
+            this.nextReport = reportBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkCancelled();
+            int b = super.read();
+            if (b >= 0) counted(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            int n = super.read(b, off, len);
+            if (n > 0) counted(n);
+            return n;
+        }
+
+        /**
+         * @throws InterruptedIOException Throws an exception if the load has been cancelled.
+         */
+        private void checkCancelled() throws InterruptedIOException {
+            if (future.isCancelled()) throw new InterruptedIOException("Loading cancelled");
+        }
+
+        /**
+         * @param n Number of bytes just read.
+         */
+        private void counted(int n) {
+            bytesRead += n;
+            if (bytesRead >= nextReport) {
+                nextReport = bytesRead + reportBytes;
+                report();
+            }
+        }
+
+        /**
+         * Reports the number of bytes read so far, unless the load has been cancelled, and closes the stream.
+         * @throws IOException Throws an exception if the IO operation fails.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!future.isCancelled()) report();
+            super.close();
+        }
+
+        /**
+         * Reports the number of bytes read so far.
+         */
+        private void report() {
+            listener.progress(bytesRead, totalBytes);
+        }
+    }
+}
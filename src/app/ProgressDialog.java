@@ -0,0 +1,54 @@
+package app;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ProgressBar;
+
+/**
+ * Non-modal dialog showing the progress of a background task, with a button to cancel it.
+ */
+final class ProgressDialog {
+    private final Alert alert;
+
+    private final ProgressBar progressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+
+    /**
+     * Constructor.
+     * Shows the dialog. Must be called on the JavaFX application thread.
+     * @param title Title of the dialog.
+     */
+    ProgressDialog(String title) {
+        alert = new Alert(Alert.AlertType.NONE);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.getButtonTypes().setAll(ButtonType.CANCEL);
+        progressBar.setPrefWidth(300);
+        alert.getDialogPane().setContent(progressBar);
+        alert.show();
+    }
+
+    /**
+     * @param onHidden Called when the dialog is closed, either by {@link #close()} or by the user cancelling.
+     */
+    void setOnHidden(Runnable onHidden) {
+        alert.setOnHidden(event -> onHidden.run());
+    }
+
+    /**
+     * Updates the progress bar. May be called from any thread.
+     * @param done Amount of work done.
+     * @param total Total amount of work, or a negative value if it is not known.
+     */
+    void update(long done, long total) {
+        double progress = total > 0 ? Math.min(1.0, (double) done / total) : ProgressBar.INDETERMINATE_PROGRESS;
+        Platform.runLater(() -> progressBar.setProgress(progress));
+    }
+
+    /**
+     * Closes the dialog. Must be called on the JavaFX application thread.
+     */
+    void close() {
+        alert.close();
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import model.board.ArrayListBoard;
+import model.board.Board;
+import model.board.BooleanCell;
+import model.board.ByteCell;
+import model.board.Cell;
+import model.board.GenerationScheduler;
+import model.board.ReferenceCell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rules.RulesCollection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures a single generation of {@link ArrayListBoard}, for each of the {@link Cell} implementations it can be
+ * backed by. The board is refilled with a fresh soup every {@value #GENERATIONS_PER_SOUP} generations, as an
+ * iteration runs thousands of generations and a soup left alone settles into still lifes and oscillators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    /**
+     * Number of generations run on a soup before the board is refilled with it.
+     */
+    static final int GENERATIONS_PER_SOUP = 64;
+
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    @Param({"0.1", "0.3", "0.5"})
+    public double density;
+
+    @Param({"Conway", "Highlife"})
+    public String rule;
+
+    @Param({"ByteCell", "BooleanCell", "ReferenceCell"})
+    public String cell;
+
+    private Board board;
+
+    private GenerationScheduler scheduler;
+
+    private byte[][] pattern;
+
+    /**
+     * Number of generations run on the current soup.
+     */
+    private int generations;
+
+    /**
+     * @param name Simple name of a {@code Cell} implementation.
+     * @return Factory for cells of the implementation.
+     */
+    @SuppressWarnings("deprecation")
+    static Supplier<Cell> cellFactory(String name) {
+        switch (name) {
+            case "ByteCell":
+                return ByteCell::new;
+            case "BooleanCell":
+                return BooleanCell::new;
+            case "ReferenceCell":
+                return ReferenceCell::new;
+            default:
+                throw new IllegalArgumentException("Unknown cell: " + name);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createBoard() {
+        pattern = Patterns.soup(size, density);
+        scheduler = new GenerationScheduler();
+        board = new ArrayListBoard(size, size, cellFactory(cell));
+        board.setRuleSet(RulesCollection.getByName(rule));
+        board.setScheduler(scheduler);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillBoard() {
+        if (generations++ % GENERATIONS_PER_SOUP != 0) return;
+        board.clearBoard();
+        board.insertPattern(pattern);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public int nextGeneration() {
+        board.nextGeneration();
+        return board.getAliveCount();
+    }
+
+    @Benchmark
+    public int nextGenerationConcurrent() {
+        board.nextGenerationConcurrent();
+        return board.getAliveCount();
+    }
+}
@@ -0,0 +1,124 @@
+package benchmark;
+
+import model.board.ArrayListBoard;
+import model.board.BitBoard;
+import model.board.Board;
+import model.board.GenerationScheduler;
+import model.board.HashLifeBoard;
+import model.board.MappedBoard;
+import model.board.TiledBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rules.RulesCollection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a single generation across the {@link Board} implementations, on the same soup. The board is refilled
+ * with the soup every {@value #GENERATIONS_PER_SOUP} generations, as a settled soup would let the engines that skip
+ * unchanged areas measure little but bookkeeping.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+    /**
+     * Number of generations run on a soup before the board is refilled with it.
+     */
+    static final int GENERATIONS_PER_SOUP = 64;
+
+    @Param({"256", "1024", "4096"})
+    public int size;
+
+    @Param({"0.1", "0.3", "0.5"})
+    public double density;
+
+    @Param({"Conway", "Highlife"})
+    public String rule;
+
+    @Param({"ArrayListBoard", "BitBoard", "TiledBoard", "HashLifeBoard", "MappedBoard"})
+    public String engine;
+
+    private Board board;
+
+    private GenerationScheduler scheduler;
+
+    private byte[][] pattern;
+
+    /**
+     * Number of generations run on the current soup.
+     */
+    private int generations;
+
+    /**
+     * @param name Simple name of a {@code Board} implementation.
+     * @param size Number of rows and columns.
+     * @return An empty board of the implementation.
+     */
+    static Board createBoard(String name, int size) {
+        switch (name) {
+            case "ArrayListBoard":
+                return new ArrayListBoard(size, size);
+            case "BitBoard":
+                return new BitBoard(size, size);
+            case "TiledBoard":
+                return new TiledBoard(size, size);
+            case "HashLifeBoard":
+                return new HashLifeBoard(size, size);
+            case "MappedBoard":
+                return new MappedBoard(size, size);
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createBoard() {
+        pattern = Patterns.soup(size, density);
+        scheduler = new GenerationScheduler();
+        board = createBoard(engine, size);
+        board.setRuleSet(RulesCollection.getByName(rule));
+        board.setScheduler(scheduler);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillBoard() {
+        if (generations++ % GENERATIONS_PER_SOUP != 0) return;
+        board.clearBoard();
+        board.insertPattern(pattern);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        scheduler.shutdown();
+        if (board instanceof MappedBoard) {
+            ((MappedBoard) board).close();
+        }
+    }
+
+    @Benchmark
+    public int nextGeneration() {
+        board.nextGeneration();
+        return board.getAliveCount();
+    }
+
+    @Benchmark
+    public int nextGenerationConcurrent() {
+        board.nextGenerationConcurrent();
+        return board.getAliveCount();
+    }
+}
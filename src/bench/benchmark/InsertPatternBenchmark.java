@@ -0,0 +1,76 @@
+package benchmark;
+
+import model.board.ArrayListBoard;
+import model.board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rules.RulesCollection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inserting a pattern into a board, including the doubling of a board that is too small for the pattern, and
+ * inserting the same pattern packed into rows of bits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertPatternBenchmark {
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    @Param({"0.1", "0.5"})
+    public double density;
+
+    @Param({"Conway", "Highlife"})
+    public String rule;
+
+    @Param({"ByteCell", "BooleanCell", "ReferenceCell"})
+    public String cell;
+
+    private byte[][] pattern;
+
+    private long[][] packed;
+
+    @Setup
+    public void createPattern() {
+        pattern = Patterns.soup(size, density);
+        packed = Patterns.pack(pattern);
+    }
+
+    @Benchmark
+    public Board insertIntoFittingBoard() {
+        Board board = new ArrayListBoard(size, size, BoardBenchmark.cellFactory(cell));
+        board.setRuleSet(RulesCollection.getByName(rule));
+        board.insertPattern(pattern);
+        return board;
+    }
+
+    @Benchmark
+    public Board insertIntoGrowingBoard() {
+        Board board = new ArrayListBoard(1, 1, BoardBenchmark.cellFactory(cell));
+        board.setRuleSet(RulesCollection.getByName(rule));
+        board.insertPattern(pattern);
+        return board;
+    }
+
+    @Benchmark
+    public Board insertPackedIntoFittingBoard() {
+        Board board = new ArrayListBoard(size, size, BoardBenchmark.cellFactory(cell));
+        board.setRuleSet(RulesCollection.getByName(rule));
+        board.insertPattern(size, packed);
+        return board;
+    }
+}
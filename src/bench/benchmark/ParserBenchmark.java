@@ -0,0 +1,88 @@
+package benchmark;
+
+import RLE.PackedPattern;
+import RLE.ParsedPattern;
+import RLE.Parser;
+import RLE.RLEWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing RLE strings with {@link Parser}, and with the streaming {@link RLEWriter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    @Param({"0.1", "0.3", "0.5"})
+    public double density;
+
+    @Param({"B3/S23", "B36/S23"})
+    public String rule;
+
+    private ParsedPattern pattern;
+
+    private String rle;
+
+    private long[][] rows;
+
+    @Setup
+    public void createPattern() {
+        pattern = new ParsedPattern("Soup", "", "", "", rule, Patterns.soup(size, density));
+        rle = Parser.fromPattern(pattern);
+        rows = Patterns.pack(pattern.getPattern());
+    }
+
+    @Benchmark
+    public ParsedPattern toPattern() {
+        return Parser.toPattern(rle);
+    }
+
+    @Benchmark
+    public String fromPattern() {
+        return Parser.fromPattern(pattern);
+    }
+
+    @Benchmark
+    public PackedPattern toPackedPattern() throws IOException {
+        return Parser.toPackedPattern(new StringReader(rle));
+    }
+
+    @Benchmark
+    public String writeRows() throws IOException {
+        StringWriter out = new StringWriter();
+        RLEWriter writer = new RLEWriter(out);
+        writer.writeHeader("Soup", "", "", "", rule, size, size);
+        writer.writeRows((y, dst) -> {
+            long[] row = rows[y];
+            if (row == null) {
+                Arrays.fill(dst, 0);
+            } else {
+                System.arraycopy(row, 0, dst, 0, dst.length);
+            }
+        });
+        writer.finish();
+        return out.toString();
+    }
+}
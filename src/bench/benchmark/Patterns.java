@@ -0,0 +1,48 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates the patterns benchmarks run on.
+ */
+final class Patterns {
+    /**
+     * Hogging the constructor, to prevent instantiation.
+     */
+    private Patterns() {}
+
+    /**
+     * Creates a square pattern of randomly placed alive cells. The same arguments always give the same pattern, so
+     * runs can be compared against each other.
+     * @param size Number of rows and columns.
+     * @param density Chance of each cell being alive, from 0 to 1.
+     * @return The pattern.
+     */
+    static byte[][] soup(int size, double density) {
+        Random random = new Random(size * 31L + Double.doubleToLongBits(density));
+        byte[][] pattern = new byte[size][size];
+        for (byte[] row : pattern) {
+            for (int x = 0; x < row.length; x++) {
+                row[x] = random.nextDouble() < density ? (byte) 1 : 0;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Packs a pattern into rows of bits, as taken by {@code Board.insertPattern(int, long[][])}.
+     * @param pattern Pattern to pack.
+     * @return The packed rows, {@code null} where a row is empty.
+     */
+    static long[][] pack(byte[][] pattern) {
+        long[][] rows = new long[pattern.length][];
+        for (int y = 0; y < pattern.length; y++) {
+            for (int x = 0; x < pattern[y].length; x++) {
+                if (pattern[y][x] != 1) continue;
+                if (rows[y] == null) rows[y] = new long[(pattern[y].length + 63) >>> 6];
+                rows[y][x >>> 6] |= 1L << x;
+            }
+        }
+        return rows;
+    }
+}
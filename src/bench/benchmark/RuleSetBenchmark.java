@@ -0,0 +1,69 @@
+package benchmark;
+
+import model.state.ByteState;
+import model.state.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rules.RuleSet;
+import rules.RulesCollection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation of a single cell's next state, through both the allocating and the table-driven API of
+ * {@link RuleSet}. Each invocation evaluates every combination of state and neighbor count once.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleSetBenchmark {
+    /**
+     * Number of evaluations per invocation: dead and alive, with 0 through 8 neighbors.
+     */
+    private static final int EVALUATIONS = 18;
+
+    @Param({"Conway", "Highlife"})
+    public String rule;
+
+    private RuleSet ruleSet;
+
+    private final State alive = new ByteState(true);
+
+    private final State dead = new ByteState(false);
+
+    @Setup
+    public void findRuleSet() {
+        ruleSet = RulesCollection.getByName(rule);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVALUATIONS)
+    public void getNewState(Blackhole blackhole) {
+        for (int n = 0; n <= 8; n++) {
+            blackhole.consume(ruleSet.getNewState(dead, n));
+            blackhole.consume(ruleSet.getNewState(alive, n));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVALUATIONS)
+    public void next(Blackhole blackhole) {
+        for (int n = 0; n <= 8; n++) {
+            blackhole.consume(ruleSet.next(false, n));
+            blackhole.consume(ruleSet.next(true, n));
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package cli;
+
+import RLE.Macrocell;
+import RLE.MacrocellPattern;
+import RLE.PackedPattern;
+import RLE.ParallelDecoder;
+import RLE.RLEException;
+import RLE.RLEParserException;
+import RLE.RLEReader;
+import RLE.RLEWriter;
+import RLE.Snapshot;
+import model.board.ArrayListBoard;
+import model.board.BitBoard;
+import model.board.Board;
+import model.board.GenerationScheduler;
+import model.board.HashLifeBoard;
+import model.board.MappedBoard;
+import model.board.TiledBoard;
+import rules.RuleSet;
+import rules.RulesCollection;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs a simulation without a user interface, for batch runs on machines without a display.
+ *
+ * Loads a pattern from an RLE file, steps it a number of generations as fast as the chosen engine allows, and prints
+ * the throughput. The final state of the board can be written back out as RLE, or saved as a binary snapshot to carry
+ * on from in a later run.
+ */
+public final class HeadlessRunner {
+    /**
+     * Exit status for a completed run.
+     */
+    static final int EXIT_OK = 0;
+
+    /**
+     * Exit status for a run that failed while loading, stepping or saving.
+     */
+    static final int EXIT_FAILURE = 1;
+
+    /**
+     * Exit status for invalid arguments.
+     */
+    static final int EXIT_USAGE = 2;
+
+    /**
+     * Command line usage.
+     */
+    private static final String USAGE = String.join("\n",
+            "Usage: cli.HeadlessRunner [options] <pattern.rle|pattern.mc|board.snap>",
+            "  -g, --generations <n>   Number of generations to step (default 1000)",
+            "  -e, --engine <name>     ArrayListBoard, BitBoard, TiledBoard, HashLifeBoard or MappedBoard",
+            "                          (default BitBoard)",
+            "  -t, --threads <n>       Number of threads to step on (default 1)",
+            "  -r, --rule <name>       Rule set from the rules collection (default: the pattern's rule)",
+            "  -s, --size <cols>x<rows>  Size of the board (default: the pattern's size)",
+            "  -d, --dynamic           Grow the board as the pattern grows",
+            "  -o, --output <file>     Write the final state of the board as RLE, as Macrocell for .mc files, or as",
+            "                          a snapshot for .snap files",
+            "  -z, --compress          Compress snapshots written with --output",
+            "");
+
+    /**
+     * Engines the runner can step patterns with.
+     */
+    enum Engine {
+        ArrayListBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new ArrayListBoard(sizeX, sizeY);
+            }
+        },
+        BitBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new BitBoard(sizeX, sizeY);
+            }
+        },
+        TiledBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new TiledBoard(sizeX, sizeY);
+            }
+        },
+        HashLifeBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new HashLifeBoard(sizeX, sizeY);
+            }
+        },
+        MappedBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new MappedBoard(sizeX, sizeY);
+            }
+        };
+
+        /**
+         * @param sizeX Number of columns.
+         * @param sizeY Number of rows.
+         * @return An empty board of this engine.
+         */
+        abstract Board create(int sizeX, int sizeY);
+    }
+
+    /**
+     * Writes the runs of an RLE file straight into a new board of the chosen engine, centered like
+     * {@link Board#insertPattern(byte[][])} would, without building the pattern as an array first.
+     */
+    private static final class BoardSink implements RLEReader.RunSink {
+        private final Engine engine;
+
+        private final int minSizeX;
+
+        private final int minSizeY;
+
+        private Board board;
+
+        private String rule;
+
+        private int originRow;
+
+        private int originCol;
+
+        /**
+         * @param engine Engine of the board to create.
+         * @param minSizeX Least number of columns of the board, or -1 to fit the pattern.
+         * @param minSizeY Least number of rows of the board, or -1 to fit the pattern.
+         */
+        BoardSink(Engine engine, int minSizeX, int minSizeY) {
+            this.engine = engine;
+            this.minSizeX = minSizeX;
+            this.minSizeY = minSizeY;
+        }
+
+        @Override
+        public void header(int sizeX, int sizeY, String rule) {
+            this.rule = rule;
+            int boardX = Math.max(sizeX, minSizeX);
+            int boardY = Math.max(sizeY, minSizeY);
+            board = engine.create(boardX, boardY);
+            originRow = boardY / 2 - sizeY / 2;
+            originCol = boardX / 2 - sizeX / 2;
+        }
+
+        @Override
+        public void aliveRun(int y, int x, int length) {
+            for (int i = 0; i < length; i++) {
+                board.setCellAlive(originRow + y, originCol + x + i, true);
+            }
+        }
+    }
+
+    /**
+     * Hogging the constructor, to prevent instantiation.
+     */
+    private HeadlessRunner() {}
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs a simulation as described by the passed arguments.
+     * @param args Command line arguments.
+     * @param out Stream to print results to.
+     * @param err Stream to print usage and errors to.
+     * @return Exit status of the run.
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        long generations = 1000;
+        Engine engine = Engine.BitBoard;
+        int threads = 1;
+        String ruleName = null;
+        int sizeX = -1;
+        int sizeY = -1;
+        boolean dynamic = false;
+        boolean compress = false;
+        Path input = null;
+        Path output = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "-g":
+                    case "--generations":
+                        generations = Long.parseLong(value(args, ++i, arg));
+                        if (generations < 0) throw new IllegalArgumentException("Generations must not be negative");
+                        break;
+                    case "-e":
+                    case "--engine":
+                        engine = Engine.valueOf(value(args, ++i, arg));
+                        break;
+                    case "-t":
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i, arg));
+                        if (threads <= 0) throw new IllegalArgumentException("Threads must be positive");
+                        break;
+                    case "-r":
+                    case "--rule":
+                        ruleName = value(args, ++i, arg);
+                        break;
+                    case "-s":
+                    case "--size":
+                        String[] size = value(args, ++i, arg).split("x");
+                        if (size.length != 2) throw new IllegalArgumentException("Size must be <cols>x<rows>");
+                        sizeX = Integer.parseInt(size[0]);
+                        sizeY = Integer.parseInt(size[1]);
+                        if (sizeX <= 0 || sizeY <= 0) throw new IllegalArgumentException("Size must be positive");
+                        break;
+                    case "-d":
+                    case "--dynamic":
+                        dynamic = true;
+                        break;
+                    case "-z":
+                    case "--compress":
+                        compress = true;
+                        break;
+                    case "-o":
+                    case "--output":
+                        output = Paths.get(value(args, ++i, arg));
+                        break;
+                    default:
+                        if (arg.startsWith("-") || input != null) {
+                            throw new IllegalArgumentException("Unexpected argument: " + arg);
+                        }
+                        input = Paths.get(arg);
+                }
+            }
+            if (input == null) throw new IllegalArgumentException("Missing pattern file");
+        } catch (IllegalArgumentException e) {
+            // Also catches NumberFormatException, and unknown engine names from Engine.valueOf.
+            err.println(e.getMessage());
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        BoardSink sink = new BoardSink(engine, sizeX, sizeY);
+        try {
+            try {
+                if (isSnapshot(input)) {
+                    loadSnapshot(Snapshot.read(input), sink);
+                } else {
+                    loadPattern(input, engine, sink);
+                }
+            } catch (IOException | UncheckedIOException | RLEException | RLEParserException e) {
+                err.println("Could not load " + input + ": " + e.getMessage());
+                return EXIT_FAILURE;
+            }
+
+            RuleSet ruleSet = ruleName != null ? RulesCollection.getByName(ruleName) : findRuleSet(sink.rule);
+            if (ruleSet == null) {
+                err.println("No rule set matching " + (ruleName != null ? ruleName : sink.rule));
+                return EXIT_FAILURE;
+            }
+
+            Board board = sink.board;
+            board.setRuleSet(ruleSet);
+            if (dynamic) board.setDynamic(true);
+            GenerationScheduler scheduler = null;
+            if (threads > 1) {
+                scheduler = new GenerationScheduler(threads);
+                board.setScheduler(scheduler);
+                board.setMultithreading(true);
+            }
+
+            long start = System.nanoTime();
+            try {
+                board.step(generations);
+            } finally {
+                if (scheduler != null) {
+                    scheduler.shutdown();
+                }
+            }
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+
+            // Cell updates are counted over the area of the board after the final generation.
+            double cellUpdates = (double) generations * board.getSizeX() * board.getSizeY();
+            out.println(String.format(Locale.ROOT, "Pattern:     %s (%dx%d), %s",
+                    input.getFileName(), board.getSizeX(), board.getSizeY(), ruleSet.getRuleString()));
+            out.println(String.format(Locale.ROOT, "Engine:      %s, %d thread%s",
+                    engine, threads, threads == 1 ? "" : "s"));
+            out.println(String.format(Locale.ROOT, "Generations: %d in %.3f s", generations, seconds));
+            out.println(String.format(Locale.ROOT, "Throughput:  %.1f generations/s, %.4g cell updates/s",
+                    generations / seconds, cellUpdates / seconds));
+            out.println(String.format(Locale.ROOT, "Population:  %d", population(board)));
+
+            if (output != null) {
+                try {
+                    if (isSnapshot(output)) {
+                        Snapshot.write(output, board, compress);
+                    } else if (isMacrocell(output)) {
+                        writeMacrocell(board, input.getFileName().toString(), output);
+                    } else {
+                        writeRLE(board, input.getFileName().toString(), output);
+                    }
+                } catch (IOException | RLEException e) {
+                    err.println("Could not write " + output + ": " + e.getMessage());
+                    return EXIT_FAILURE;
+                }
+            }
+            return EXIT_OK;
+        } finally {
+            // Boards backed by files delete them when closed.
+            if (sink.board instanceof MappedBoard) {
+                ((MappedBoard) sink.board).close();
+            }
+        }
+    }
+
+    /**
+     * @param args Command line arguments.
+     * @param i Index of the option's value.
+     * @param option Option the value belongs to.
+     * @return The value.
+     */
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for " + option);
+        return args[i];
+    }
+
+    /**
+     * @param rule Rule string of a pattern.
+     * @return The rule set in the rules collection matching the rule string, or {@code null} if there is none.
+     */
+    private static RuleSet findRuleSet(String rule) {
+        for (RuleSet ruleSet : RulesCollection.getCollection()) {
+            try {
+                if (ruleSet.isEqual(rule)) return ruleSet;
+            } catch (RuntimeException e) {
+                // Rule strings without both a birth and a survival part match nothing.
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param path Path of a pattern file.
+     * @return {@code true} if the file is in the Macrocell format, going by its extension.
+     */
+    private static boolean isMacrocell(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".mc");
+    }
+
+    /**
+     * @param path Path of a board file.
+     * @return {@code true} if the file is a binary snapshot, going by its extension.
+     */
+    private static boolean isSnapshot(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".snap");
+    }
+
+    /**
+     * @param board A board.
+     * @return The number of alive cells on the board, uncapped on boards that can hold more than
+     * {@link Integer#MAX_VALUE} of them.
+     */
+    private static long population(Board board) {
+        if (board instanceof MappedBoard) return ((MappedBoard) board).getPopulation();
+        if (board instanceof HashLifeBoard) return ((HashLifeBoard) board).getPopulation();
+        return board.getAliveCount();
+    }
+
+    /**
+     * Creates the board for a Macrocell or RLE pattern file through the sink, and inserts the pattern. Large RLE files
+     * are decoded in parallel.
+     * @param input Pattern file to read.
+     * @param engine Engine of the board.
+     * @param sink Sink creating the board.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void loadPattern(Path input, Engine engine, BoardSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (isMacrocell(input)) {
+                Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1);
+                loadMacrocell(Macrocell.toPattern(reader), engine, sink);
+            } else if (channel.size() >= ParallelDecoder.MIN_PARALLEL_BYTES) {
+                loadPacked(ParallelDecoder.decode(channel, ForkJoinPool.commonPool()), sink);
+            } else {
+                new RLEReader(channel).read(sink);
+            }
+        }
+    }
+
+    /**
+     * Creates the board for a snapshot through the sink, and restores the snapshot onto it, carrying on from the
+     * generation and dynamic flag it was saved with.
+     * @param snapshot Snapshot to restore.
+     * @param sink Sink creating the board.
+     */
+    private static void loadSnapshot(Snapshot snapshot, BoardSink sink) {
+        sink.header(snapshot.getSizeX(), snapshot.getSizeY(), snapshot.getRule());
+        snapshot.restore(sink.board);
+    }
+
+    /**
+     * Creates the board for a pattern of packed rows through the sink, and inserts the pattern's rows.
+     * @param pattern Pattern to insert.
+     * @param sink Sink creating the board.
+     */
+    private static void loadPacked(PackedPattern pattern, BoardSink sink) {
+        sink.header(pattern.getSizeX(), pattern.getSizeY(), pattern.getRule());
+        sink.board.insertPattern(pattern.getSizeX(), pattern.getRows());
+    }
+
+    /**
+     * Creates the board for a Macrocell pattern through the sink, and inserts the pattern. A {@code HashLifeBoard}
+     * takes the pattern's nodes as they are, while other engines need the pattern expanded into cells.
+     * @param pattern Pattern to insert.
+     * @param engine Engine of the board.
+     * @param sink Sink creating the board.
+     */
+    private static void loadMacrocell(MacrocellPattern pattern, Engine engine, BoardSink sink) {
+        if (engine == Engine.HashLifeBoard) {
+            int width = pattern.getRoot() == 0 ? 1 : (int) Math.min(1L << pattern.getLevel(pattern.getRoot()), 1 << 30);
+            sink.header(width, width, pattern.getRule());
+            ((HashLifeBoard) sink.board).insertQuadTree(pattern);
+        } else {
+            byte[][] cells = pattern.getPattern();
+            sink.header(cells[0].length, cells.length, pattern.getRule());
+            sink.board.insertPattern(cells);
+        }
+    }
+
+    /**
+     * Writes the whole plane of the board as a Macrocell file. Boards other than {@code HashLifeBoard} are copied
+     * into one first.
+     * @param board Board to encode.
+     * @param name Name to give the pattern.
+     * @param output File to write to.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void writeMacrocell(Board board, String name, Path output) throws IOException {
+        HashLifeBoard hashLife;
+        if (board instanceof HashLifeBoard) {
+            hashLife = (HashLifeBoard) board;
+        } else {
+            long[][] rows = new long[board.getSizeY()][(board.getSizeX() + 63) >>> 6];
+            for (int y = 0; y < rows.length; y++) {
+                board.readRow(y, rows[y]);
+            }
+            hashLife = new HashLifeBoard(board.getSizeX(), board.getSizeY());
+            hashLife.insertPattern(board.getSizeX(), rows);
+        }
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            Macrocell.write(out, name, "", "", board.getRuleSet().getRuleString(), hashLife.getQuadTree());
+        }
+    }
+
+    /**
+     * Writes the alive cells of the board as RLE, trimmed to their bounding box, one row at a time.
+     * @param board Board to encode.
+     * @param name Name to give the pattern.
+     * @param output File to write to.
+     * @throws IOException Throws an exception if the IO operation fails.
+     */
+    private static void writeRLE(Board board, String name, Path output) throws IOException {
+        Board trimmed = null;
+        if (board.getAliveCount() > 0) {
+            try {
+                trimmed = board.patternToBoard();
+            } catch (IllegalArgumentException e) {
+                // Boards on an unbounded plane may have every alive cell outside of their window.
+                trimmed = null;
+            }
+        }
+        String date = new SimpleDateFormat("yyyy/MM/dd HH:mm").format(new Date());
+        String rule = board.getRuleSet().getRuleString();
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            RLEWriter writer = new RLEWriter(out);
+            if (trimmed != null) {
+                writer.writeHeader(name, "", "", date, rule, trimmed.getSizeX(), trimmed.getSizeY());
+                writer.writeRows(trimmed::readRow);
+            } else {
+                writer.writeHeader(name, "", "", date, rule, 1, 1);
+                writer.writeRow(new long[1]);
+            }
+            writer.finish();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which tiles of a board changed during the last generation, so that a board only needs to evaluate the tiles
+ * that can change in the next one.
+ *
+ * A cell can only change state if a cell in its neighborhood changed during the last generation. The tiles that need
+ * evaluating are therefore the tiles that changed, together with the halo of tiles around them. Stable regions, such
+ * as still lifes and empty space, are skipped entirely.
+ *
+ * Each row of tiles has its own bitset, so bands of whole tile rows may be marked from different threads.
+ */
+final class ActivityTracker {
+    /**
+     * Number of rows and columns of cells in a tile.
+     */
+    static final int TILE_SIZE = 16;
+
+    /**
+     * Base-2 logarithm of {@link #TILE_SIZE}.
+     */
+    static final int TILE_SHIFT = 4;
+
+    /**
+     * Number of columns of tiles.
+     */
+    private int tilesX;
+
+    /**
+     * Number of rows of tiles.
+     */
+    private int tilesY;
+
+    /**
+     * Tiles that changed during the current generation, one bitset per row of tiles.
+     */
+    private long[][] changed;
+
+    /**
+     * Tiles to evaluate during the current generation, one bitset per row of tiles.
+     */
+    private long[][] active;
+
+    /**
+     * Stamps of the latest change to each row of tiles, for {@link Board#getRowChangeStamp(int)}.
+     */
+    private final ChangeStamps stamps = new ChangeStamps(TILE_SHIFT);
+
+    /**
+     * Population of the tiles and of the blocks of tiles, for {@link Board#readDensity(int, int, long[])}.
+     */
+    private final DensityPyramid density = new DensityPyramid(TILE_SHIFT);
+
+    /**
+     * Constructor.
+     * Every tile starts out as changed.
+     * @param sizeX Number of columns of cells.
+     * @param sizeY Number of rows of cells.
+     */
+    ActivityTracker(int sizeX, int sizeY) {
+        resize(sizeX, sizeY);
+    }
+
+    /**
+     * Changes the number of cells tracked, and marks every tile as changed.
+     * @param sizeX Number of columns of cells.
+     * @param sizeY Number of rows of cells.
+     */
+    void resize(int sizeX, int sizeY) {
+        tilesX = (sizeX + TILE_SIZE - 1) >>> TILE_SHIFT;
+        tilesY = (sizeY + TILE_SIZE - 1) >>> TILE_SHIFT;
+        int words = BitBoard.wordsFor(tilesX);
+        changed = new long[tilesY][words];
+        active = new long[tilesY][words];
+        stamps.resize(sizeY);
+        density.resize(sizeX, sizeY);
+        markAllChanged();
+    }
+
+    /**
+     * Marks every tile as changed, for when the board was changed as a whole.
+     */
+    void markAllChanged() {
+        stamps.markAllChanged();
+        density.markStale();
+        for (long[] row : changed) {
+            for (int tileX = 0; tileX < tilesX; tileX++) {
+                row[tileX >>> 6] |= 1L << tileX;
+            }
+        }
+    }
+
+    /**
+     * Marks the tile holding the passed cell as changed.
+     * @param y Y-coordinate of the cell.
+     * @param x X-coordinate of the cell.
+     * @param alive New state of the cell.
+     */
+    void markCellChanged(int y, int x, boolean alive) {
+        stamps.markEdited(y);
+        markChanged(y >>> TILE_SHIFT, x >>> TILE_SHIFT, alive ? 1 : -1);
+    }
+
+    /**
+     * Marks a tile as changed.
+     * @param tileY Row of the tile.
+     * @param tileX Column of the tile.
+     * @param delta Change in the number of alive cells in the tile.
+     */
+    void markChanged(int tileY, int tileX, int delta) {
+        changed[tileY][tileX >>> 6] |= 1L << tileX;
+        stamps.markChanged(tileY << TILE_SHIFT);
+        density.add(tileY, tileX, delta);
+    }
+
+    /**
+     * Starts a new generation. The tiles that changed and their halos become the active tiles, and no tiles are
+     * marked as changed.
+     * @param wrap {@code true} if tiles at opposite edges of the board are neighbors.
+     */
+    void advance(boolean wrap) {
+        stamps.advance();
+        int lastBit = (tilesX - 1) & 63;
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            long[] above = rowAt(tileY - 1, wrap);
+            long[] row = changed[tileY];
+            long[] below = rowAt(tileY + 1, wrap);
+            long[] out = active[tileY];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = halo(above, i, lastBit, wrap) | halo(row, i, lastBit, wrap) | halo(below, i, lastBit, wrap);
+            }
+        }
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            Arrays.fill(changed[tileY], 0L);
+        }
+    }
+
+    /**
+     * @param tileY Row of tiles.
+     * @param wrap {@code true} if tiles at opposite edges of the board are neighbors.
+     * @return The changed tiles of the row, or {@code null} if the row is outside the board.
+     */
+    private long[] rowAt(int tileY, boolean wrap) {
+        if (tileY >= 0 && tileY < tilesY) return changed[tileY];
+        if (!wrap) return null;
+        return changed[tileY < 0 ? tileY + tilesY : tileY - tilesY];
+    }
+
+    /**
+     * @param row Changed tiles of a row, or {@code null}.
+     * @param i Index of the word.
+     * @param lastBit Bit index of the last tile in the last word.
+     * @param wrap {@code true} if the first and last tile are neighbors.
+     * @return The tiles of the word that are changed or next to a changed tile.
+     */
+    private static long halo(long[] row, int i, int lastBit, boolean wrap) {
+        if (row == null) return 0;
+        long word = row[i] | LifeKernel.west(row, i, lastBit, wrap) | LifeKernel.east(row, i, lastBit, wrap);
+        return i == row.length - 1 ? word & (-1L >>> (63 - lastBit)) : word;
+    }
+
+    /**
+     * @param tileY Row of the tile.
+     * @param tileX Column of the tile.
+     * @return {@code true} if the tile must be evaluated during the current generation.
+     */
+    boolean isActive(int tileY, int tileX) {
+        return (active[tileY][tileX >>> 6] & (1L << tileX)) != 0;
+    }
+
+    /**
+     * @param tileY Row of tiles.
+     * @return {@code true} if any tile in the row must be evaluated during the current generation.
+     */
+    boolean isRowActive(int tileY) {
+        for (long word : active[tileY]) {
+            if (word != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Stamp of the latest change to the board.
+     */
+    long getChangeStamp() {
+        return stamps.getStamp();
+    }
+
+    /**
+     * @param y A row of cells.
+     * @return Stamp of the latest change to the row's tiles.
+     */
+    long getRowChangeStamp(int y) {
+        return stamps.getRowStamp(y);
+    }
+
+    /**
+     * @return Population of the tiles and of the blocks of tiles.
+     */
+    DensityPyramid getDensity() {
+        return density;
+    }
+
+    /**
+     * @return Number of columns of tiles.
+     */
+    int getTilesX() {
+        return tilesX;
+    }
+
+    /**
+     * @return Number of rows of tiles.
+     */
+    int getTilesY() {
+        return tilesY;
+    }
+}
@@ -10,13 +10,11 @@ import model.BoundingBox;
 import model.Size;
 import model.state.State;
 import rules.RuleSet;
-import view.BoardCoordinate;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static utils.Utils.wrap;
 
@@ -37,24 +35,24 @@ public class ArrayListBoard implements Board {
     private List<List<Cell>> prevGen;
 
     /**
-     * Set of cells that have the possibility of changing state in the next generation.
+     * Tiles of the board that have the possibility of changing state in the next generation.
      */
-    private Set<BoardCoordinate> cellsOfInterest;
+    private ActivityTracker activity;
 
     /**
-     * Current rule set being used to evaluate cell states each generation.
+     * Creates the cells thisGen and prevGen are filled with.
      */
-    private RuleSet ruleSet;
+    private final Supplier<Cell> cellFactory;
 
     /**
-     * Worker threads.
+     * Current rule set being used to evaluate cell states each generation.
      */
-    private static List<Thread> workers = new ArrayList<>();
+    private RuleSet ruleSet;
 
     /**
-     * Number of threads to employ.
+     * Scheduler splitting generations between threads, or {@code null} to use the shared one.
      */
-    private int maxThreads = Runtime.getRuntime().availableProcessors();
+    private GenerationScheduler scheduler;
 
     /**
      * {@code true} if this {@code Board} is dynamic, {@code false} otherwise.
@@ -66,12 +64,6 @@ public class ArrayListBoard implements Board {
      */
     private boolean multithreadingEnabled;
 
-    /**
-     * Index for initializing threads.
-     * @see ArrayListBoard#createWorkers()
-     */
-    private int threadIndex = 0;
-
     /**
      * Number of alive cells in this generation.
      */
@@ -89,6 +81,18 @@ public class ArrayListBoard implements Board {
      * @param sizeY Height of the thisGen.
      */
     public ArrayListBoard(int sizeX, int sizeY) {
+        this(sizeX, sizeY, ByteCell::new);
+    }
+
+    /**
+     * Constructor.
+     * Accepts the initial sizes of thisGen, and the {@code Cell} implementation to fill it with.
+     * @param sizeX Length of the thisGen.
+     * @param sizeY Height of the thisGen.
+     * @param cellFactory Creates a new dead cell for each position on the board.
+     */
+    public ArrayListBoard(int sizeX, int sizeY, Supplier<Cell> cellFactory) {
+        this.cellFactory = cellFactory;
         initBoard(sizeX, sizeY);
     }
 
@@ -98,6 +102,7 @@ public class ArrayListBoard implements Board {
      * @param board The {@code Board} instance to copy.
      */
     public ArrayListBoard(Board board) {
+        this.cellFactory = ByteCell::new;
         initBoard(board.getSizeX(), board.getSizeY());
         List<List<Cell>> boolBoard = board.getThisGen();
         for (int y = 0; y < boolBoard.size(); y++) {
@@ -109,93 +114,91 @@ public class ArrayListBoard implements Board {
         }
         this.dynamic = board.getDynamic();
         this.multithreadingEnabled = board.getMultithreading();
+        this.aliveCount = countAlive(thisGen);
     }
 
     /**
-     * nextGeneration with multi-threading enabled. Reads no. of processors and distributes workload accordingly.
+     * nextGeneration with multi-threading enabled. Splits the board into bands of tile rows, which are evaluated on the
+     * board's {@link GenerationScheduler}.
      */
     @Override
     public void nextGenerationConcurrent() {
         genCount++;
-        createWorkers();
-        try {
-            runWorkers();
-        } catch (InterruptedException ie){
-            ie.printStackTrace();
-        }
-        workers.clear();
-        threadIndex = 0;
+
+        List<List<Cell>> temp = thisGen;
+        thisGen = prevGen;
+        prevGen = temp;
+        activity.advance(!dynamic);
+
+        List<List<Cell>> oldBoard = prevGen;
+        aliveCount += getScheduler().run(activity.getTilesY(),
+                (fromTileY, toTileY) -> evaluateTileRows(fromTileY, toTileY, oldBoard));
         if (dynamic) {
             postGenerationGrow();
         }
     }
 
     /**
-     * Evaluates the board relative to the passed {@code threadIndex}.
-     * @param threadIndex The index of the instantiated thread.
+     * Evaluates every cell of the active tiles in a band of tile rows, and marks the tiles where any cell changed.
+     * Cells of inactive tiles are stable, and already hold the same state in both generations. Only cells within the
+     * band are written, so bands can be evaluated in parallel without two threads writing the same cell.
+     * @param fromTileY First tile row of the band.
+     * @param toTileY Tile row after the last tile row of the band.
      * @param oldBoard The previous generation to calculate from.
-     */
-    private void evaluateChunkSize(int threadIndex, List<List<Cell>> oldBoard) {
-        int blockSize = oldBoard.size() / maxThreads;
-        int toY = blockSize * threadIndex;
-        // this if-sentence makes the last thread take care of all remaining rows of the current thisGen, ensuring that
-        // the thisGen y-value does NOT need to be a factorial of maxThreads.
-        if (threadIndex == maxThreads) {
-            toY = oldBoard.size();
-        }
-        int fromY = blockSize * (threadIndex - 1);
-
-        Set<BoardCoordinate> interestingCells = getCellsOfInterest(oldBoard, fromY, toY);
-
-        for (BoardCoordinate coordinate : interestingCells) {
-            Cell cell = oldBoard.get(coordinate.getY()).get(coordinate.getX());
-            int numNeighbors = neighbors(oldBoard, coordinate);
-            State newState = ruleSet.getNewState(cell.getState(), numNeighbors);
-            State cellState = thisGen.get(coordinate.getY()).get(coordinate.getX()).getState();
-            if (!cellState.isAlive() && newState.isAlive() || (cellState.isAlive() && newState.isAlive())) {
-                aliveCount++;
+     * @return Change in the number of alive cells within the band.
+     */
+    private int evaluateTileRows(int fromTileY, int toTileY, List<List<Cell>> oldBoard) {
+        int sizeY = oldBoard.size();
+        int sizeX = sizeY == 0 ? 0 : oldBoard.get(0).size();
+        int delta = 0;
+
+        for (int tileY = fromTileY; tileY < toTileY; tileY++) {
+            if (!activity.isRowActive(tileY)) continue;
+
+            int fromY = tileY * ActivityTracker.TILE_SIZE;
+            int toY = Math.min(sizeY, fromY + ActivityTracker.TILE_SIZE);
+            for (int tileX = 0; tileX < activity.getTilesX(); tileX++) {
+                if (!activity.isActive(tileY, tileX)) continue;
+
+                int fromX = tileX * ActivityTracker.TILE_SIZE;
+                int toX = Math.min(sizeX, fromX + ActivityTracker.TILE_SIZE);
+                boolean tileChanged = false;
+                int tileDelta = 0;
+                for (int y = fromY; y < toY; y++) {
+                    List<Cell> oldRow = oldBoard.get(y);
+                    List<Cell> newRow = thisGen.get(y);
+                    for (int x = fromX; x < toX; x++) {
+                        boolean wasAlive = oldRow.get(x).getState().isAlive();
+                        boolean alive = ruleSet.next(wasAlive, neighbors(oldBoard, y, x));
+                        newRow.get(x).getState().setAlive(alive);
+                        if (alive != wasAlive) {
+                            tileChanged = true;
+                            tileDelta += alive ? 1 : -1;
+                        }
+                    }
+                }
+                if (tileChanged) {
+                    activity.markChanged(tileY, tileX, tileDelta);
+                    delta += tileDelta;
+                }
             }
-            cellState.setAlive(newState.isAlive());
         }
+        return delta;
     }
 
     /**
-     * Retrieves the next threadIndex.
+     * @return The scheduler generations are split between threads on, or the shared one if none has been set.
      */
-    private synchronized int getThreadIndex() {
-        threadIndex++;
-        return threadIndex;
+    public GenerationScheduler getScheduler() {
+        return scheduler == null ? GenerationScheduler.shared() : scheduler;
     }
 
     /**
-     * Creates workers and assigns their tasks.
+     * @param scheduler Scheduler to split generations between threads on.
      */
-    private void createWorkers() {
-        List<List<Cell>> temp = thisGen;
-        thisGen = prevGen;
-        prevGen = temp;
-        thisGen = killBoard(thisGen);
-
-        for(int i = 1; i <= maxThreads; i++) {
-            workers.add(new Thread(() -> {
-                int threadIndex = getThreadIndex();
-                evaluateChunkSize(threadIndex, prevGen);
-            }));
-        }
-    }
-
-    /**
-     * Runs all available workers.
-     * @throws InterruptedException Throws if thread execution was interrupted.
-     */
-    private static void runWorkers() throws InterruptedException {
-        for(Thread t : workers) {
-            t.start();
-        }
-
-        for(Thread t : workers) {
-            t.join();
-        }
+    @Override
+    public void setScheduler(GenerationScheduler scheduler) {
+        this.scheduler = scheduler;
     }
 
     /**
@@ -205,7 +208,7 @@ public class ArrayListBoard implements Board {
      */
     private void initBoard(int sizeX, int sizeY) {
         ruleSet = rules.RulesCollection.getByName("Conway");
-        cellsOfInterest = new HashSet<>();
+        activity = new ActivityTracker(sizeX, sizeY);
 
         prevGen = new ArrayList<>(sizeY);
         thisGen = new ArrayList<>(sizeY);
@@ -215,8 +218,8 @@ public class ArrayListBoard implements Board {
             thisGen.add(row);
             prevGen.add(nextRow);
             for (int j = 0; j < sizeX; j++) {
-                row.add(new ByteCell());
-                nextRow.add(new ByteCell());
+                row.add(cellFactory.get());
+                nextRow.add(cellFactory.get());
             }
         }
     }
@@ -231,8 +234,8 @@ public class ArrayListBoard implements Board {
             List<Cell> row = new ArrayList<>(cols);
             List<Cell> prevRow = new ArrayList<>(cols);
             for (int j = 0; j < cols; j++) {
-                row.add(new ByteCell());
-                prevRow.add(new ByteCell());
+                row.add(cellFactory.get());
+                prevRow.add(cellFactory.get());
             }
             thisGen.add(row);
             prevGen.add(prevRow);
@@ -248,8 +251,8 @@ public class ArrayListBoard implements Board {
             List<Cell> row = thisGen.get(i);
             List<Cell> prevRow = prevGen.get(i);
             for (int x = 0; x < currColCount; x++) {
-                row.add(new ByteCell());
-                prevRow.add(new ByteCell());
+                row.add(cellFactory.get());
+                prevRow.add(cellFactory.get());
             }
         }
     }
@@ -283,6 +286,43 @@ public class ArrayListBoard implements Board {
                 prevGen.get(relY).get(relX).getState().setAlive(cellAlive);
             }
         }
+        activity.resize(getSizeX(), getSizeY());
+        aliveCount = countAlive(thisGen);
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Inserts a pattern of packed rows in the middle of the board, without unpacking it into a byte array first.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows Rows of the pattern, as described by {@link Board#insertPattern(int, long[][])}.
+     */
+    @Override
+    public void insertPattern(int sizeX, long[][] rows) {
+        while (rows.length > thisGen.size()) {
+            doubleRows();
+        }
+        while (sizeX > thisGen.get(0).size()) {
+            doubleCols();
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (thisGen.size() / 2) - (rows.length / 2);
+        int originCol = (thisGen.get(0).size() / 2) - (sizeX / 2);
+
+        for (int y = 0; y < rows.length; y++) {
+            long[] row = rows[y];
+            List<Cell> thisRow = thisGen.get(originRow + y);
+            List<Cell> prevRow = prevGen.get(originRow + y);
+            for (int x = 0; x < sizeX; x++) {
+                boolean cellAlive = LifeKernel.bit(row, x);
+                thisRow.get(originCol + x).getState().setAlive(cellAlive);
+                prevRow.get(originCol + x).getState().setAlive(cellAlive);
+            }
+        }
+        activity.resize(getSizeX(), getSizeY());
+        aliveCount = countAlive(thisGen);
         if (dynamic) {
             postGenerationGrow();
         }
@@ -303,68 +343,33 @@ public class ArrayListBoard implements Board {
     }
 
     /**
-     * Clears all drawn cells from the board.
-     */
-    public void clearBoard() {
-        killBoard(thisGen);
-        genCount = 0;
-        aliveCount = 0;
-    }
-
-    /**
-     * Returns the coordinates of all cells surrounding a cell.
-     * @param coordinate of the target cell.
-     * @return a set of coordinates of neighbour cells.
+     * @param board Board to count alive cells in.
+     * @return Number of alive cells in the passed board.
      */
-    private Set<BoardCoordinate> growSelection(BoardCoordinate coordinate) {
-        Set<BoardCoordinate> result = new HashSet<>();
-
-        for (int y = -1; y <= 1; y++) {
-            int actualY = coordinate.getY() + y;
-            for (int x = -1; x <= 1; x++) {
-                int actualX = coordinate.getX() + x;
-
-                if (!dynamic) {
-                    actualY = wrap(getSizeY(), 0, actualY);
-                    actualX = wrap(getSizeX(), 0, actualX);
-                }
-
-                if (actualX >= 0 &&
-                        actualX < getSizeX() &&
-                        actualY >= 0 &&
-                        actualY < getSizeY()) {
-                    result.add(new BoardCoordinate(actualY, actualX));
+    private static int countAlive(List<List<Cell>> board) {
+        int count = 0;
+        for (List<Cell> row : board) {
+            for (Cell cell : row) {
+                if (cell.getState().isAlive()) {
+                    count++;
                 }
             }
         }
-        return result;
+        return count;
     }
 
     /**
-     * Retrieves all alive cells and their neighbors. These are the cells that are applicable for dying or resurrection,
-     * since both transitions requires alive cells as neighbors.
-     * @param board Board to fetch cells of interest in.
-     * @param startRow Start from this row.
-     * @param endRow End at this row.
-     * @return A set of coordinates where there are cells of interest.
+     * Clears all drawn cells from the board.
      */
-    private Set<BoardCoordinate> getCellsOfInterest(List<List<Cell>> board, int startRow, int endRow) {
-        Set<BoardCoordinate> result = new HashSet<>();
-        for (int y = startRow; y < endRow; y++) {
-            List<Cell> row = board.get(y);
-            for (int x = 0; x < row.size(); x++) {
-                Cell cell = row.get(x);
-
-                if (cell.getState().isAlive()) {
-                    result.addAll(growSelection(new BoardCoordinate(y, x)));
-                }
-            }
-        }
-        return result;
+    public void clearBoard() {
+        killBoard(thisGen);
+        activity.markAllChanged();
+        genCount = 0;
+        aliveCount = 0;
     }
 
     /**
-     * Iterates through cells of interest in prevGen, counting their alive neighbors and applying the new state for
+     * Evaluates the active tiles of prevGen, counting the alive neighbors of their cells and applying the new state for
      * each cell in thisGen.
      */
     @Override
@@ -374,21 +379,9 @@ public class ArrayListBoard implements Board {
         List<List<Cell>> temp = thisGen;
         thisGen = prevGen;
         prevGen = temp;
-        thisGen = killBoard(thisGen);
-        aliveCount = 0;
+        activity.advance(!dynamic);
 
-        cellsOfInterest = getCellsOfInterest(prevGen, 0, getSizeY());
-
-        for (BoardCoordinate coordinate : cellsOfInterest) {
-            int numNeighbors = neighbors(prevGen, coordinate);
-            Cell cell = prevGen.get(coordinate.getY()).get(coordinate.getX());
-            State newState = ruleSet.getNewState(cell.getState(), numNeighbors);
-            State cellState = thisGen.get(coordinate.getY()).get(coordinate.getX()).getState();
-            if (!cellState.isAlive() && newState.isAlive() || (cellState.isAlive() && newState.isAlive())) {
-                aliveCount++;
-            }
-            cellState.setAlive(newState.isAlive());
-        }
+        aliveCount += evaluateTileRows(0, activity.getTilesY(), prevGen);
         if (dynamic) {
             postGenerationGrow();
         }
@@ -456,7 +449,7 @@ public class ArrayListBoard implements Board {
     private List<Cell> getEmptyRow() {
         List<Cell> row = new ArrayList<>(thisGen.get(0).size());
         for (int i = 0; i < thisGen.get(0).size(); i++) {
-            row.add(new ByteCell());
+            row.add(cellFactory.get());
         }
         return row;
     }
@@ -467,6 +460,7 @@ public class ArrayListBoard implements Board {
     public void addRowBottom(){
         thisGen.add(getEmptyRow());
         prevGen.add(getEmptyRow());
+        activity.resize(getSizeX(), getSizeY());
     }
 
     /**
@@ -475,6 +469,7 @@ public class ArrayListBoard implements Board {
     public void addRowTop(){
         thisGen.add(0, getEmptyRow());
         prevGen.add(0, getEmptyRow());
+        activity.resize(getSizeX(), getSizeY());
     }
 
     /**
@@ -484,9 +479,10 @@ public class ArrayListBoard implements Board {
         for (int i = 0; i < thisGen.size(); i++) {
             List<Cell> row = thisGen.get(i);
             List<Cell> prevRow = prevGen.get(i);
-            row.add(new ByteCell());
-            prevRow.add(new ByteCell());
+            row.add(cellFactory.get());
+            prevRow.add(cellFactory.get());
         }
+        activity.resize(getSizeX(), getSizeY());
     }
 
     /**
@@ -496,20 +492,20 @@ public class ArrayListBoard implements Board {
         for (int i = 0; i < thisGen.size(); i++) {
             List<Cell> prevRow = prevGen.get(i);
             List<Cell> row = thisGen.get(i);
-            prevRow.add(0, new ByteCell());
-            row.add(0, new ByteCell());
+            prevRow.add(0, cellFactory.get());
+            row.add(0, cellFactory.get());
         }
+        activity.resize(getSizeX(), getSizeY());
     }
 
     /**
      * Method for checking a specific cell coordinate's neighbour count.
      * @param board The board to check the cell neighbor count in.
-     * @param coordinate The coordinate of the cell to count the neighbors of.
+     * @param cellY Y-coordinate of the cell to count the neighbors of.
+     * @param cellX X-coordinate of the cell to count the neighbors of.
      * @return Number of neighbors.
      */
-    private int neighbors(List<List<Cell>> board, BoardCoordinate coordinate) {
-        int cellY = coordinate.getY();
-        int cellX = coordinate.getX();
+    private int neighbors(List<List<Cell>> board, int cellY, int cellX) {
         int boardColLen = board.get(0).size();
         int boardRowLen = board.size();
         int num = 0;
@@ -527,7 +523,7 @@ public class ArrayListBoard implements Board {
                     neighborY = wrap(boardRowLen, 0, neighborY);
                     neighborX = wrap(boardColLen, 0, neighborX);
                 }
-                if (neighborX < 0 || neighborY < 0 || neighborX > getSizeX() - 1 || neighborY > getSizeY() - 1) {
+                if (neighborX < 0 || neighborY < 0 || neighborX > boardColLen - 1 || neighborY > boardRowLen - 1) {
                     continue;
                 }
                 if (board.get(neighborY).get(neighborX).getState().isAlive()) {
@@ -639,6 +635,7 @@ public class ArrayListBoard implements Board {
     @Override
     public void setRuleSet(RuleSet ruleSet) {
         this.ruleSet = ruleSet;
+        activity.markAllChanged();
     }
 
     /**
@@ -691,6 +688,7 @@ public class ArrayListBoard implements Board {
     @Override
     public void setDynamic(boolean dynamic) {
         this.dynamic = dynamic;
+        activity.markAllChanged();
     }
 
     /**
@@ -709,6 +707,41 @@ public class ArrayListBoard implements Board {
         this.multithreadingEnabled = multithreadingEnabled;
     }
 
+    /**
+     * @return Stamp of the board's latest change.
+     */
+    @Override
+    public long getChangeStamp() {
+        return activity.getChangeStamp();
+    }
+
+    /**
+     * Changes are tracked per row of tiles, so a row counts as changed when any row of its tiles changed.
+     * @param y A row of the board.
+     * @return Stamp of the latest change to the row's tiles.
+     */
+    @Override
+    public long getRowChangeStamp(int y) {
+        return activity.getRowChangeStamp(y);
+    }
+
+    /**
+     * Blocks at least as large as a tile are read from the populations kept for the tiles, which are updated as the
+     * tiles change.
+     * @param shift Base-2 logarithm of the side of the blocks, in cells.
+     * @param blockY Row of blocks to read.
+     * @param dst Array to write the population of each block of the row into.
+     */
+    @Override
+    public void readDensity(int shift, int blockY, long[] dst) {
+        DensityPyramid density = activity.getDensity();
+        if (shift < density.getTileShift()) {
+            Board.super.readDensity(shift, blockY, dst);
+        } else {
+            density.read(this, shift, blockY, dst);
+        }
+    }
+
     /**
      * Sets the value of the cell at the passed Y and X coordinates.
      * @param y Y-coordinate of the cell to set.
@@ -717,7 +750,12 @@ public class ArrayListBoard implements Board {
      */
     @Override
     public void setCellAlive(int y, int x, boolean alive) {
-        thisGen.get(y).get(x).getState().setAlive(alive);
+        State state = thisGen.get(y).get(x).getState();
+        if (state.isAlive() != alive) {
+            state.setAlive(alive);
+            aliveCount += alive ? 1 : -1;
+            activity.markCellChanged(y, x, alive);
+        }
     }
 
     /**
@@ -738,6 +776,15 @@ public class ArrayListBoard implements Board {
         return genCount;
     }
 
+    /**
+     * Sets the number of generations advanced, as when restoring a saved board.
+     * @param genCount Number of generations.
+     */
+    @Override
+    public void setGenCount(int genCount) {
+        this.genCount = genCount;
+    }
+
     /**
      * @return The number of alive cells in this generation.
      */
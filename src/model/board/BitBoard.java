@@ -0,0 +1,731 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.BoundingBox;
+import model.Size;
+import rules.RuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bit-packed implementation of Board. Each row of the table is stored as an array of {@code long} words, with 64 cells
+ * packed into each word. Column {@code x} of a row lives in bit {@code x % 64} of word {@code x / 64}. Bits past the
+ * last column of a row are always kept at 0.
+ *
+ * Compared to {@link ArrayListBoard}, which spends two object headers and a reference on every cell, this board spends
+ * a single bit per cell, making it suitable for very large boards.
+ */
+public class BitBoard implements Board {
+    /**
+     * Number of cells packed into each word.
+     */
+    static final int WORD_SIZE = 64;
+
+    /**
+     * The current generation of the board, one word array per row. Swapped around with prevGen.
+     */
+    private long[][] thisGen;
+
+    /**
+     * The previous generation of the board, one word array per row. Swapped around with thisGen.
+     */
+    private long[][] prevGen;
+
+    /**
+     * Number of columns on the board.
+     */
+    private int sizeX;
+
+    /**
+     * Number of rows on the board.
+     */
+    private int sizeY;
+
+    /**
+     * Current rule set being used to evaluate cell states each generation.
+     */
+    private RuleSet ruleSet;
+
+    /**
+     * Kernel evaluating the current rule set.
+     */
+    private LifeKernel kernel;
+
+    /**
+     * Scheduler splitting generations between threads, or {@code null} to use the shared one.
+     */
+    private GenerationScheduler scheduler;
+
+    /**
+     * {@code true} if this {@code Board} is dynamic, {@code false} otherwise.
+     */
+    private boolean dynamic;
+
+    /**
+     * {@code true} is multi threading is enabled, false otherwise.
+     */
+    private boolean multithreadingEnabled;
+
+    /**
+     * Number of alive cells in this generation.
+     */
+    private int aliveCount = 0;
+
+    /**
+     * Number of generations since this board's creation.
+     */
+    private int genCount = 0;
+
+    /**
+     * Stamps of the latest change to each row, for {@link #getRowChangeStamp(int)}.
+     */
+    private final ChangeStamps stamps = new ChangeStamps(0);
+
+    /**
+     * Constructor.
+     * Accepts the initial sizes of thisGen.
+     * @param sizeX Length of the thisGen.
+     * @param sizeY Height of the thisGen.
+     */
+    public BitBoard(int sizeX, int sizeY) {
+        initBoard(sizeX, sizeY);
+    }
+
+    /**
+     * Constructor.
+     * Accepts a {@code Board} instance for copying. Returns an equivalent instance of the passed {@code Board} instance.
+     * @param board The {@code Board} instance to copy.
+     */
+    public BitBoard(Board board) {
+        initBoard(board.getSizeX(), board.getSizeY());
+        for (int y = 0; y < sizeY; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                if (board.getCellAlive(y, x)) {
+                    setBit(thisGen[y], x);
+                }
+            }
+        }
+        setRuleSet(board.getRuleSet());
+        this.dynamic = board.getDynamic();
+        this.multithreadingEnabled = board.getMultithreading();
+        this.aliveCount = countAlive(thisGen);
+    }
+
+    /**
+     * Initializes thisGen and prevGen as empty tables with the passed sizes.
+     * @param sizeX Number of columns to initialize with.
+     * @param sizeY Number of rows to initialize with.
+     */
+    private void initBoard(int sizeX, int sizeY) {
+        if (sizeX < 0 || sizeY < 0) {
+            throw new IllegalArgumentException("Illegal board size: " + sizeX + "x" + sizeY);
+        }
+        setRuleSet(rules.RulesCollection.getByName("Conway"));
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        thisGen = new long[sizeY][wordsFor(sizeX)];
+        prevGen = new long[sizeY][wordsFor(sizeX)];
+        stamps.resize(sizeY);
+    }
+
+    /**
+     * @param cols Number of columns.
+     * @return Number of words needed to hold the passed number of columns.
+     */
+    static int wordsFor(int cols) {
+        return (cols + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * @param row Row to read from.
+     * @param x Column of the bit to read.
+     * @return {@code true} if the bit is set, {@code false} otherwise.
+     */
+    private static boolean getBit(long[] row, int x) {
+        return (row[x >>> 6] & (1L << x)) != 0;
+    }
+
+    /**
+     * @param row Row to write to.
+     * @param x Column of the bit to set.
+     */
+    private static void setBit(long[] row, int x) {
+        row[x >>> 6] |= 1L << x;
+    }
+
+    /**
+     * @param row Row to write to.
+     * @param x Column of the bit to clear.
+     */
+    private static void clearBit(long[] row, int x) {
+        row[x >>> 6] &= ~(1L << x);
+    }
+
+    /**
+     * @param table Table to count alive cells in.
+     * @return Number of set bits in the passed table.
+     */
+    private static int countAlive(long[][] table) {
+        int count = 0;
+        for (long[] row : table) {
+            for (long word : row) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sets all cells in a table to dead.
+     * @param table Table to set cells to dead in.
+     * @return The passed table, now with all dead cells.
+     */
+    private static long[][] killBoard(long[][] table) {
+        for (long[] row : table) {
+            Arrays.fill(row, 0L);
+        }
+        return table;
+    }
+
+    /**
+     * nextGeneration with multi-threading enabled. Splits the board into bands of rows, which are computed on the
+     * board's {@link GenerationScheduler}. Each row of thisGen is written by a single band.
+     */
+    @Override
+    public void nextGenerationConcurrent() {
+        genCount++;
+
+        long[][] temp = thisGen;
+        thisGen = prevGen;
+        prevGen = temp;
+        stamps.advance();
+        aliveCount = getScheduler().run(sizeY, this::stepRows);
+
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Computes the next generation of every row in prevGen with the word-parallel kernel, writing the result to
+     * thisGen.
+     */
+    @Override
+    public void nextGeneration() {
+        genCount++;
+
+        long[][] temp = thisGen;
+        thisGen = prevGen;
+        prevGen = temp;
+        stamps.advance();
+        aliveCount = stepRows(0, sizeY);
+
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Computes the next generation of a band of rows in prevGen, writing the result to thisGen, and marks the rows
+     * that changed.
+     * @param fromY First row of the band.
+     * @param toY Row after the last row of the band.
+     * @return Number of alive cells in the band's next generation.
+     */
+    private int stepRows(int fromY, int toY) {
+        int count = 0;
+        for (int y = fromY; y < toY; y++) {
+            count += kernel.stepRow(rowAt(prevGen, y - 1), prevGen[y], rowAt(prevGen, y + 1), thisGen[y],
+                    sizeX, !dynamic);
+            if (!Arrays.equals(prevGen[y], thisGen[y])) {
+                stamps.markChanged(y);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The scheduler generations are split between threads on, or the shared one if none has been set.
+     */
+    public GenerationScheduler getScheduler() {
+        return scheduler == null ? GenerationScheduler.shared() : scheduler;
+    }
+
+    /**
+     * @param scheduler Scheduler to split generations between threads on.
+     */
+    @Override
+    public void setScheduler(GenerationScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns the row at the passed Y-coordinate, wrapping around the edges if the board is not dynamic.
+     * @param table Table to fetch the row from.
+     * @param y Y-coordinate of the row.
+     * @return The row, or {@code null} if the row is outside a dynamic board.
+     */
+    private long[] rowAt(long[][] table, int y) {
+        if (y >= 0 && y < sizeY) return table[y];
+        if (dynamic || sizeY == 0) return null;
+        return table[y < 0 ? y + sizeY : y - sizeY];
+    }
+
+    /**
+     * Doubles the number of rows of both thisGen and prevGen.
+     */
+    private void doubleRows() {
+        resizeRows(Math.max(1, sizeY * 2), 0);
+    }
+
+    /**
+     * Doubles the number of columns of both thisGen and prevGen.
+     */
+    private void doubleCols() {
+        resizeCols(Math.max(1, sizeX * 2));
+    }
+
+    /**
+     * Changes the number of rows to the passed value, keeping the existing rows.
+     * @param newSizeY New number of rows.
+     * @param offset Number of empty rows to insert above the existing rows.
+     */
+    private void resizeRows(int newSizeY, int offset) {
+        int words = wordsFor(sizeX);
+        long[][] newThisGen = new long[newSizeY][];
+        long[][] newPrevGen = new long[newSizeY][];
+        System.arraycopy(thisGen, 0, newThisGen, offset, sizeY);
+        System.arraycopy(prevGen, 0, newPrevGen, offset, sizeY);
+        for (int y = 0; y < newSizeY; y++) {
+            if (newThisGen[y] == null) {
+                newThisGen[y] = new long[words];
+                newPrevGen[y] = new long[words];
+            }
+        }
+        thisGen = newThisGen;
+        prevGen = newPrevGen;
+        sizeY = newSizeY;
+        stamps.resize(newSizeY);
+    }
+
+    /**
+     * Changes the number of columns to the passed value, keeping the existing columns.
+     * @param newSizeX New number of columns.
+     */
+    private void resizeCols(int newSizeX) {
+        int words = wordsFor(newSizeX);
+        if (words != wordsFor(sizeX)) {
+            for (int y = 0; y < sizeY; y++) {
+                thisGen[y] = Arrays.copyOf(thisGen[y], words);
+                prevGen[y] = Arrays.copyOf(prevGen[y], words);
+            }
+        }
+        sizeX = newSizeX;
+        stamps.markAllChanged();
+    }
+
+    /**
+     * Inserts a pattern into both thisGen and prevGen, placing it in the middle.
+     * @param pattern Pattern to insert into the thisGen.
+     */
+    @Override
+    public void insertPattern(byte[][] pattern) {
+        while (pattern.length > sizeY) {
+            doubleRows();
+        }
+        while (pattern[0].length > sizeX) {
+            doubleCols();
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (sizeY / 2) - (pattern.length / 2);
+        int originCol = (sizeX / 2) - (pattern[0].length / 2);
+
+        for (int y = 0; y < pattern.length; y++) {
+            byte[] row = pattern[y];
+            long[] thisRow = thisGen[originRow + y];
+            long[] prevRow = prevGen[originRow + y];
+            for (int x = 0; x < row.length; x++) {
+                int relX = originCol + x;
+                if (row[x] == 1) {
+                    setBit(thisRow, relX);
+                    setBit(prevRow, relX);
+                } else {
+                    clearBit(thisRow, relX);
+                    clearBit(prevRow, relX);
+                }
+            }
+        }
+        aliveCount = countAlive(thisGen);
+        stamps.markAllChanged();
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Inserts a pattern of packed rows in the middle of the board, copying a word at a time into both generations.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows Rows of the pattern, as described by {@link Board#insertPattern(int, long[][])}.
+     */
+    @Override
+    public void insertPattern(int sizeX, long[][] rows) {
+        while (rows.length > this.sizeY) {
+            doubleRows();
+        }
+        while (sizeX > this.sizeX) {
+            doubleCols();
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (this.sizeY / 2) - (rows.length / 2);
+        int originCol = (this.sizeX / 2) - (sizeX / 2);
+
+        for (int y = 0; y < rows.length; y++) {
+            LifeKernel.copyBits(rows[y], thisGen[originRow + y], originCol, sizeX);
+            LifeKernel.copyBits(rows[y], prevGen[originRow + y], originCol, sizeX);
+        }
+        aliveCount = countAlive(thisGen);
+        stamps.markAllChanged();
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Clears all drawn cells from the board.
+     */
+    @Override
+    public void clearBoard() {
+        killBoard(thisGen);
+        stamps.markAllChanged();
+        genCount = 0;
+        aliveCount = 0;
+    }
+
+    /**
+     * Checks board edges for live cells, and expands if any are found.
+     */
+    private void postGenerationGrow() {
+        if (sizeX == 0 || sizeY == 0) return;
+
+        boolean leftAdded = false;
+        boolean rightAdded = false;
+        boolean topAdded = false;
+        boolean bottomAdded = false;
+
+        boolean left = false;
+        boolean right = false;
+        for (long[] row : thisGen) {
+            left |= getBit(row, 0);
+            right |= getBit(row, sizeX - 1);
+            if (left && right) break;
+        }
+        boolean top = !LifeKernel.isEmpty(thisGen[0]);
+        boolean bottom = !LifeKernel.isEmpty(thisGen[sizeY - 1]);
+
+        if (left) {
+            addColLeft();
+            leftAdded = true;
+        }
+        if (right) {
+            addColRight();
+            rightAdded = true;
+        }
+        if (top) {
+            addRowTop();
+            topAdded = true;
+        }
+        if (bottom) {
+            addRowBottom();
+            bottomAdded = true;
+        }
+        if (topAdded || bottomAdded || rightAdded || leftAdded) {
+            callPostResizeListeners(new Size(
+                    getSizeY(),
+                    getSizeX(),
+                    topAdded ? 1 : 0,
+                    rightAdded ? 1 : 0,
+                    bottomAdded ? 1 : 0,
+                    leftAdded ? 1 : 0
+            ));
+        }
+    }
+
+    /**
+     * Adds an empty row to the bottom of the board.
+     */
+    @Override
+    public void addRowBottom() {
+        resizeRows(sizeY + 1, 0);
+    }
+
+    /**
+     * Adds an empty row to the top of the board.
+     */
+    @Override
+    public void addRowTop() {
+        resizeRows(sizeY + 1, 1);
+    }
+
+    /**
+     * Adds an empty column to the right of the board.
+     */
+    @Override
+    public void addColRight() {
+        resizeCols(sizeX + 1);
+    }
+
+    /**
+     * Adds an empty column to the left of the board, shifting every row one bit towards the higher columns.
+     */
+    @Override
+    public void addColLeft() {
+        resizeCols(sizeX + 1);
+        for (int y = 0; y < sizeY; y++) {
+            LifeKernel.shiftRight(thisGen[y]);
+            LifeKernel.shiftRight(prevGen[y]);
+        }
+    }
+
+    /**
+     * @return {@code thisGen} into a single line {@code String} of 0s and 1s.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(sizeX * sizeY);
+        for (long[] row : thisGen) {
+            for (int x = 0; x < sizeX; x++) {
+                sb.append(getBit(row, x) ? "1" : "0");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates and returns a "trimmed" board, only within the {@code BoundingBox}.
+     * @return A new {@code Board} containing only the cells within this {@code Board}'s {@code BoundingBox}.
+     */
+    @Override
+    public Board patternToBoard() {
+        BoundingBox bb = getBoundingBox();
+        Board patternBoard = new BitBoard(bb.getSizeX(), bb.getSizeY());
+
+        for (int row = bb.getFirstRow(); row <= bb.getLastRow(); row++) {
+            for (int col = bb.getFirstCol(); col <= bb.getLastCol(); col++) {
+                if (getBit(thisGen[row], col)) {
+                    patternBoard.setCellAlive(row - bb.getFirstRow(), col - bb.getFirstCol(), true);
+                }
+            }
+        }
+        return patternBoard;
+    }
+
+    /**
+     * Creates a bounding box within which the current state of the thisGen is of interest (boundary of alive cells).
+     * @return The BoundingBox representing the area of interest.
+     */
+    private BoundingBox getBoundingBox() {
+        BoundingBox bb = new BoundingBox(sizeY, sizeX, 0, 0);
+        for (int y = 0; y < sizeY; y++) {
+            LifeKernel.addToBounds(thisGen[y], y, bb);
+        }
+        return bb;
+    }
+
+    /**
+     * List of listeners to be called after the board resizes.
+     */
+    private List<Consumer<Size>> postResizeListeners = new ArrayList<>();
+
+    /**
+     * Adds the passed {@code Consumer} to the list of post resize listeners.
+     * @param runner Runner to add to list of listeners.
+     */
+    @Override
+    public void addPostResizeListener(Consumer<Size> runner) {
+        postResizeListeners.add(runner);
+    }
+
+    /**
+     * Calls all registered post resize listeners with the passed {@code Size} object.
+     * @param size Size object to pass to each listener.
+     */
+    private void callPostResizeListeners(Size size) {
+        for (Consumer<Size> runner : postResizeListeners) {
+            runner.accept(size);
+        }
+    }
+
+    /**
+     * Setter method for the active board rules.
+     * @param ruleSet The requested rule set.
+     */
+    @Override
+    public void setRuleSet(RuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+        this.kernel = new LifeKernel(ruleSet);
+    }
+
+    /**
+     * Getter method for the active board rules.
+     * @return The current rule set.
+     */
+    @Override
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Returns the number of columns in the thisGen.
+     * @return The number of columns.
+     */
+    @Override
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the number of rows in the thisGen.
+     * @return The number of rows.
+     */
+    @Override
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns a live view of thisGen. Cells are created on access and write through to the packed table, so this
+     * should only be used by callers that have no other way of reading the board.
+     * @return A view of the current generation.
+     */
+    @Override
+    public List<List<Cell>> getThisGen() {
+        return new BoardView(this);
+    }
+
+    /**
+     * @return True if this {@code Board} is currently dynamic.
+     */
+    @Override
+    public boolean getDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @param dynamic New dynamic status for this {@code Board}.
+     */
+    @Override
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * @return True if multithreading is enable, false otherwise.
+     */
+    @Override
+    public boolean getMultithreading() {
+        return multithreadingEnabled;
+    }
+
+    /**
+     * @param multithreadingEnabled Sets multithreading status.
+     */
+    @Override
+    public void setMultithreading(boolean multithreadingEnabled) {
+        this.multithreadingEnabled = multithreadingEnabled;
+    }
+
+    /**
+     * Sets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to set.
+     * @param x X-coordinate of the cell to set.
+     * @param alive New status of the cell.
+     */
+    @Override
+    public void setCellAlive(int y, int x, boolean alive) {
+        if (x < 0 || x >= sizeX) throw new IndexOutOfBoundsException("Column: " + x);
+        long[] row = thisGen[y];
+        boolean wasAlive = getBit(row, x);
+        if (alive && !wasAlive) {
+            setBit(row, x);
+            aliveCount++;
+            stamps.markEdited(y);
+        } else if (!alive && wasAlive) {
+            clearBit(row, x);
+            aliveCount--;
+            stamps.markEdited(y);
+        }
+    }
+
+    /**
+     * Copies a row of the board into the passed array as packed bits.
+     * @param y Row to copy.
+     * @param dst Array to copy the row into.
+     */
+    @Override
+    public void readRow(int y, long[] dst) {
+        System.arraycopy(thisGen[y], 0, dst, 0, wordsFor(sizeX));
+    }
+
+    /**
+     * @return Stamp of the board's latest change.
+     */
+    @Override
+    public long getChangeStamp() {
+        return stamps.getStamp();
+    }
+
+    /**
+     * @param y A row of the board.
+     * @return Stamp of the latest change to the row.
+     */
+    @Override
+    public long getRowChangeStamp(int y) {
+        return stamps.getRowStamp(y);
+    }
+
+    /**
+     * Gets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to get.
+     * @param x X-coordinate of the cell to get.
+     */
+    @Override
+    public boolean getCellAlive(int y, int x) {
+        if (x < 0 || x >= sizeX) throw new IndexOutOfBoundsException("Column: " + x);
+        return getBit(thisGen[y], x);
+    }
+
+    /**
+     * @return The number of generation advanced since clearing this board.
+     */
+    @Override
+    public int getGenCount() {
+        return genCount;
+    }
+
+    /**
+     * Sets the number of generations advanced, as when restoring a saved board.
+     * @param genCount Number of generations.
+     */
+    @Override
+    public void setGenCount(int genCount) {
+        this.genCount = genCount;
+    }
+
+    /**
+     * @return The number of alive cells in this generation.
+     */
+    @Override
+    public int getAliveCount() {
+        return aliveCount;
+    }
+}
@@ -29,5 +29,99 @@ public interface Board {
     void addColRight();
     void clearBoard();
     int getGenCount();
+    void setGenCount(int genCount);
     int getAliveCount();
+
+    /**
+     * Inserts a pattern of packed rows in the middle of the board, growing the board if it is too small, like
+     * {@link #insertPattern(byte[][])}. Column {@code x} of a row is bit {@code x & 63} of word {@code x >>> 6}. Boards
+     * that store their cells as bits override this with word-level copies.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows Rows of the pattern. A row may be {@code null} if it is empty, and shorter than the pattern is wide
+     *             if its last words are empty.
+     */
+    default void insertPattern(int sizeX, long[][] rows) {
+        byte[][] pattern = new byte[rows.length][sizeX];
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                pattern[y][x] = LifeKernel.bit(rows[y], x) ? (byte) 1 : 0;
+            }
+        }
+        insertPattern(pattern);
+    }
+
+    /**
+     * Copies a row of the board into the passed array as packed bits, laid out like
+     * {@link #insertPattern(int, long[][])}. Bits past the last column are cleared. Boards that store their cells as
+     * bits override this with word-level copies.
+     * @param y Row to copy.
+     * @param dst Array to copy the row into. Must hold at least {@code (getSizeX() + 63) / 64} words.
+     */
+    default void readRow(int y, long[] dst) {
+        int sizeX = getSizeX();
+        int words = (sizeX + 63) >>> 6;
+        for (int i = 0; i < words; i++) {
+            long word = 0;
+            for (int bit = 0, x = i << 6; bit < 64 && x < sizeX; bit++, x++) {
+                if (getCellAlive(y, x)) word |= 1L << bit;
+            }
+            dst[i] = word;
+        }
+    }
+
+    /**
+     * Reads the number of alive cells in each of a row of square blocks of cells, for drawing the board zoomed out
+     * below one pixel per cell. Blocks along the right and bottom edges are cut off by the edges of the board. Boards
+     * that keep the populations of their blocks up to date as they change override this, instead of counting the
+     * cells of every row.
+     * @param shift Base-2 logarithm of the side of the blocks, in cells.
+     * @param blockY Row of blocks to read.
+     * @param dst Array to write the population of each block of the row into. Must hold at least as many entries as
+     * there are blocks across the board.
+     */
+    default void readDensity(int shift, int blockY, long[] dst) {
+        DensityPyramid.countRows(this, shift, blockY, dst);
+    }
+
+    /**
+     * Returns a stamp that grows every time cells of the board change, by a generation or an edit, so that a view can
+     * redraw only the rows whose {@link #getRowChangeStamp(int)} is newer than the stamp it last drew. Boards that do
+     * not track their changes return -1.
+     * @return Stamp of the board's latest change, or -1 if changes are not tracked.
+     */
+    default long getChangeStamp() {
+        return -1;
+    }
+
+    /**
+     * @param y A row of the board.
+     * @return Stamp of the latest change to the row, as {@link #getChangeStamp()} returned it right after the change.
+     * Boards that do not track their changes return {@code Long.MAX_VALUE}, so that every row counts as changed.
+     */
+    default long getRowChangeStamp(int y) {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Advances the board by the passed number of generations. Boards that can skip ahead faster than one generation
+     * at a time override this.
+     * @param generations Number of generations to advance.
+     */
+    default void step(long generations) {
+        for (long i = 0; i < generations; i++) {
+            if (getMultithreading()) {
+                nextGenerationConcurrent();
+            } else {
+                nextGeneration();
+            }
+        }
+    }
+
+    /**
+     * Sets the scheduler {@link #nextGenerationConcurrent()} splits its work on, in place of the board's own. Boards
+     * that do not split their work between threads ignore it.
+     * @param scheduler Scheduler to step bands of rows on.
+     */
+    default void setScheduler(GenerationScheduler scheduler) {
+    }
 }
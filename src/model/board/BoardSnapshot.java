@@ -0,0 +1,323 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.Size;
+import rules.RuleSet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable copy of a board's cells and counters, taken between generations, that can be read from any thread while
+ * the board itself moves on. Every method that would change the board throws an
+ * {@link UnsupportedOperationException}.
+ *
+ * A snapshot shares the rows that did not change with the previous snapshot of the same board, so that taking one
+ * only copies the rows the board reports as changed since. The snapshot reports the change stamps of the board at the
+ * time it was taken, so a view can draw successive snapshots of a board as if they were the board itself.
+ */
+public final class BoardSnapshot implements Board {
+    /**
+     * Base-2 logarithm of the side of the blocks whose population is counted when the snapshot is taken.
+     */
+    private static final int BLOCK_SHIFT = ActivityTracker.TILE_SHIFT;
+
+    /**
+     * The board the snapshot was taken of.
+     */
+    private final Board source;
+
+    private final int sizeX;
+
+    private final int sizeY;
+
+    /**
+     * Rows of the board as packed bits, never written after the snapshot was taken.
+     */
+    private final long[][] rows;
+
+    /**
+     * Stamps of the latest change to each row, when the snapshot was taken.
+     */
+    private final long[] rowStamps;
+
+    /**
+     * Population of each block of {@code 2^BLOCK_SHIFT} cells square, row of blocks by row of blocks, never written
+     * after the snapshot was taken.
+     */
+    private final long[][] blocks;
+
+    /**
+     * Stamp of the board's latest change, when the snapshot was taken.
+     */
+    private final long stamp;
+
+    private final RuleSet ruleSet;
+
+    private final boolean dynamic;
+
+    private final boolean multithreading;
+
+    private final int genCount;
+
+    private final int aliveCount;
+
+    /**
+     * Constructor.
+     * @param source The board the snapshot was taken of.
+     * @param rows Rows of the board as packed bits.
+     * @param rowStamps Stamps of the latest change to each row.
+     * @param blocks Population of each block, row of blocks by row of blocks.
+     */
+    private BoardSnapshot(Board source, long[][] rows, long[] rowStamps, long[][] blocks) {
+        this.source = source;
+        this.sizeX = source.getSizeX();
+        this.sizeY = source.getSizeY();
+        this.rows = rows;
+        this.rowStamps = rowStamps;
+        this.blocks = blocks;
+        this.stamp = source.getChangeStamp();
+        this.ruleSet = source.getRuleSet();
+        this.dynamic = source.getDynamic();
+        this.multithreading = source.getMultithreading();
+        this.genCount = source.getGenCount();
+        this.aliveCount = source.getAliveCount();
+    }
+
+    /**
+     * Takes a snapshot of a board. Must not be called while the board is changing.
+     * The population of the blocks is only counted again for the rows of blocks holding rows that were copied.
+     * @param board The board to take a snapshot of.
+     * @param previous The previous snapshot of the board, to share unchanged rows with, or {@code null}.
+     * @return A snapshot of the board's current generation.
+     */
+    public static BoardSnapshot of(Board board, BoardSnapshot previous) {
+        int sizeX = board.getSizeX();
+        int sizeY = board.getSizeY();
+        boolean share = previous != null && previous.source == board && previous.sizeX == sizeX
+                && previous.sizeY == sizeY && previous.stamp >= 0;
+        long[][] rows = new long[sizeY][];
+        long[] rowStamps = new long[sizeY];
+        for (int y = 0; y < sizeY; y++) {
+            rowStamps[y] = board.getRowChangeStamp(y);
+            if (share && rowStamps[y] <= previous.stamp) {
+                rows[y] = previous.rows[y];
+            } else {
+                rows[y] = new long[(sizeX + 63) >>> 6];
+                board.readRow(y, rows[y]);
+            }
+        }
+
+        int blocksX = DensityPyramid.blocks(sizeX, BLOCK_SHIFT);
+        long[][] blocks = new long[DensityPyramid.blocks(sizeY, BLOCK_SHIFT)][];
+        for (int blockY = 0; blockY < blocks.length; blockY++) {
+            int fromY = blockY << BLOCK_SHIFT;
+            int toY = Math.min(sizeY, fromY + (1 << BLOCK_SHIFT));
+            boolean copied = !share;
+            for (int y = fromY; y < toY && !copied; y++) {
+                copied = rows[y] != previous.rows[y];
+            }
+            if (!copied) {
+                blocks[blockY] = previous.blocks[blockY];
+                continue;
+            }
+            blocks[blockY] = new long[blocksX];
+            for (int y = fromY; y < toY; y++) {
+                DensityPyramid.countBlocks(rows[y], BLOCK_SHIFT, blocks[blockY]);
+            }
+        }
+        return new BoardSnapshot(board, rows, rowStamps, blocks);
+    }
+
+    /**
+     * @return The board the snapshot was taken of.
+     */
+    public Board getSource() {
+        return source;
+    }
+
+    @Override
+    public void readRow(int y, long[] dst) {
+        System.arraycopy(rows[y], 0, dst, 0, rows[y].length);
+    }
+
+    @Override
+    public boolean getCellAlive(int y, int x) {
+        return LifeKernel.bit(rows[y], x);
+    }
+
+    /**
+     * Blocks at least as large as the blocks counted when the snapshot was taken are summed from those, without
+     * reading the rows.
+     * @param shift Base-2 logarithm of the side of the blocks, in cells.
+     * @param blockY Row of blocks to read.
+     * @param dst Array to write the population of each block of the row into.
+     */
+    @Override
+    public void readDensity(int shift, int blockY, long[] dst) {
+        if (shift < BLOCK_SHIFT) {
+            Board.super.readDensity(shift, blockY, dst);
+            return;
+        }
+        int merged = shift - BLOCK_SHIFT;
+        Arrays.fill(dst, 0, DensityPyramid.blocks(sizeX, shift), 0L);
+        int toY = (int) Math.min(blocks.length, (long) (blockY + 1) << merged);
+        for (int y = blockY << merged; y < toY; y++) {
+            long[] counted = blocks[y];
+            for (int x = 0; x < counted.length; x++) {
+                dst[x >>> merged] += counted[x];
+            }
+        }
+    }
+
+    @Override
+    public long getChangeStamp() {
+        return stamp;
+    }
+
+    @Override
+    public long getRowChangeStamp(int y) {
+        return rowStamps[y];
+    }
+
+    @Override
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    @Override
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    @Override
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    @Override
+    public boolean getDynamic() {
+        return dynamic;
+    }
+
+    @Override
+    public boolean getMultithreading() {
+        return multithreading;
+    }
+
+    @Override
+    public int getGenCount() {
+        return genCount;
+    }
+
+    @Override
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * @return Read-only table view of the snapshot.
+     */
+    @Override
+    public List<List<Cell>> getThisGen() {
+        return new BoardView(this);
+    }
+
+    /**
+     * @return A new board holding the bounding box of the snapshot's alive cells.
+     */
+    @Override
+    public Board patternToBoard() {
+        BitBoard board = new BitBoard(sizeX, sizeY);
+        board.insertPattern(sizeX, rows);
+        return board.patternToBoard();
+    }
+
+    @Override
+    public void nextGenerationConcurrent() {
+        throw immutable();
+    }
+
+    @Override
+    public void nextGeneration() {
+        throw immutable();
+    }
+
+    @Override
+    public void insertPattern(byte[][] pattern) {
+        throw immutable();
+    }
+
+    @Override
+    public void insertPattern(int sizeX, long[][] rows) {
+        throw immutable();
+    }
+
+    @Override
+    public void addPostResizeListener(Consumer<Size> runner) {
+        throw immutable();
+    }
+
+    @Override
+    public void setRuleSet(RuleSet ruleSet) {
+        throw immutable();
+    }
+
+    @Override
+    public void setDynamic(boolean dynamic) {
+        throw immutable();
+    }
+
+    @Override
+    public void setMultithreading(boolean multithreadingEnabled) {
+        throw immutable();
+    }
+
+    @Override
+    public void setCellAlive(int y, int x, boolean alive) {
+        throw immutable();
+    }
+
+    @Override
+    public void addRowTop() {
+        throw immutable();
+    }
+
+    @Override
+    public void addRowBottom() {
+        throw immutable();
+    }
+
+    @Override
+    public void addColLeft() {
+        throw immutable();
+    }
+
+    @Override
+    public void addColRight() {
+        throw immutable();
+    }
+
+    @Override
+    public void clearBoard() {
+        throw immutable();
+    }
+
+    @Override
+    public void setGenCount(int genCount) {
+        throw immutable();
+    }
+
+    /**
+     * @return The exception thrown by every method that would change the snapshot.
+     */
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Board snapshots cannot be changed");
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.state.State;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Table view of a {@code Board} that does not store its cells as {@code Cell} objects. Rows and cells are created on
+ * access, and reads and writes go through {@link Board#getCellAlive(int, int)} and
+ * {@link Board#setCellAlive(int, int, boolean)}.
+ */
+class BoardView extends AbstractList<List<Cell>> {
+    /**
+     * The viewed board.
+     */
+    private final Board board;
+
+    /**
+     * Constructor.
+     * @param board The board to view.
+     */
+    BoardView(Board board) {
+        this.board = board;
+    }
+
+    @Override
+    public List<Cell> get(int y) {
+        if (y < 0 || y >= board.getSizeY()) throw new IndexOutOfBoundsException("Row: " + y);
+        return new RowView(y);
+    }
+
+    @Override
+    public int size() {
+        return board.getSizeY();
+    }
+
+    /**
+     * View of a single row of the board.
+     */
+    private class RowView extends AbstractList<Cell> {
+        /**
+         * Y-coordinate of the viewed row.
+         */
+        private final int y;
+
+        RowView(int y) {
+            this.y = y;
+        }
+
+        @Override
+        public Cell get(int x) {
+            if (x < 0 || x >= board.getSizeX()) throw new IndexOutOfBoundsException("Column: " + x);
+            return new CellView(y, x);
+        }
+
+        @Override
+        public int size() {
+            return board.getSizeX();
+        }
+    }
+
+    /**
+     * View of a single cell of the board, acting as both the cell and its state.
+     */
+    private class CellView implements Cell, State {
+        /**
+         * Y-coordinate of the viewed cell.
+         */
+        private final int y;
+
+        /**
+         * X-coordinate of the viewed cell.
+         */
+        private final int x;
+
+        CellView(int y, int x) {
+            this.y = y;
+            this.x = x;
+        }
+
+        @Override
+        public Cell kill() {
+            setAlive(false);
+            return this;
+        }
+
+        @Override
+        public Cell resurrect() {
+            setAlive(true);
+            return this;
+        }
+
+        @Override
+        public State getState() {
+            return this;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return board.getCellAlive(y, x);
+        }
+
+        @Override
+        public void setAlive(boolean alive) {
+            board.setCellAlive(y, x, alive);
+        }
+
+        @Override
+        public boolean equals(Object otherState) {
+            return otherState instanceof State && this.isAlive() == ((State) otherState).isAlive();
+        }
+
+        @Override
+        public int hashCode() {
+            return isAlive() ? 1 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "State: " + (isAlive() ? "alive" : "dead");
+        }
+    }
+}
@@ -8,7 +8,7 @@ import model.state.State;
  * Benched at 350869KB on Turing Machine.
  */
 @Deprecated
-class BooleanCell implements Cell {
+public class BooleanCell implements Cell {
 
     private State state;
 
@@ -0,0 +1,99 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+/**
+ * Records when each group of rows of a board last changed, as the change stamps of {@link Board#getChangeStamp()}.
+ *
+ * The stamp grows by one for every generation and every edit. Rows changed during a generation all get the
+ * generation's stamp, so bands of rows may be marked from different threads, as long as no two threads mark rows of
+ * the same group.
+ */
+final class ChangeStamps {
+    /**
+     * Base-2 logarithm of the number of rows sharing a stamp.
+     */
+    private final int shift;
+
+    /**
+     * Stamp of the latest change.
+     */
+    private long stamp;
+
+    /**
+     * Stamp of the latest change to the board as a whole.
+     */
+    private long allChanged;
+
+    /**
+     * Stamp of the latest change to each group of rows.
+     */
+    private long[] groups = new long[0];
+
+    /**
+     * Constructor.
+     * Tracks no rows until resized.
+     * @param shift Base-2 logarithm of the number of rows sharing a stamp.
+     */
+    ChangeStamps(int shift) {
+        this.shift = shift;
+    }
+
+    /**
+     * Changes the number of rows tracked, and marks every row as changed.
+     * @param sizeY Number of rows.
+     */
+    void resize(int sizeY) {
+        groups = new long[(sizeY + (1 << shift) - 1) >>> shift];
+        markAllChanged();
+    }
+
+    /**
+     * Marks every row as changed, for when the board was changed as a whole.
+     */
+    void markAllChanged() {
+        allChanged = ++stamp;
+    }
+
+    /**
+     * Starts a new generation, whose changed rows are marked with {@link #markChanged(int)}.
+     */
+    void advance() {
+        stamp++;
+    }
+
+    /**
+     * Marks a row as changed during the current generation.
+     * @param y The row.
+     */
+    void markChanged(int y) {
+        groups[y >>> shift] = stamp;
+    }
+
+    /**
+     * Marks a row as changed by an edit outside of a generation.
+     * @param y The row.
+     */
+    void markEdited(int y) {
+        groups[y >>> shift] = ++stamp;
+    }
+
+    /**
+     * @return Stamp of the latest change.
+     */
+    long getStamp() {
+        return stamp;
+    }
+
+    /**
+     * @param y A row.
+     * @return Stamp of the latest change to the row.
+     */
+    long getRowStamp(int y) {
+        return Math.max(groups[y >>> shift], allChanged);
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * Population of square blocks of a board at every power-of-two block size, for {@link Board#readDensity}.
+ *
+ * The first level holds the population of each tile, and every level above holds the population of blocks twice as
+ * wide as the level below, like the levels of a mipmap. A board updates the populations of the tiles it changes, and
+ * the levels above are summed again, row by row, only for the rows of tiles that changed since they were last read.
+ * Changes to the board as a whole mark the pyramid as stale, and it is rebuilt from the board's rows when next read.
+ *
+ * Tiles in different rows may be updated from different threads, as long as no two threads update tiles of the same
+ * row, and no thread reads the pyramid meanwhile.
+ */
+final class DensityPyramid {
+    /**
+     * Base-2 logarithm of the side of the largest blocks kept, so that no block holds more than {@code 2^30} cells.
+     * Larger blocks are summed from these when read.
+     */
+    private static final int MAX_SHIFT = 15;
+
+    /**
+     * Base-2 logarithm of the side of a tile, in cells.
+     */
+    private final int tileShift;
+
+    private int sizeX;
+
+    private int sizeY;
+
+    /**
+     * Population of every block of each level, row by row. Level {@code k} has blocks {@code 2^(tileShift + k)} cells
+     * wide.
+     */
+    private int[][] levels = new int[0][];
+
+    /**
+     * Number of blocks across each level.
+     */
+    private int[] widths = new int[0];
+
+    /**
+     * Number of blocks down each level.
+     */
+    private int[] heights = new int[0];
+
+    /**
+     * Rows of tiles that changed since the levels above were last summed.
+     */
+    private boolean[] changedRows = new boolean[0];
+
+    /**
+     * {@code true} if the tiles must be counted again from the board's rows.
+     */
+    private boolean stale = true;
+
+    /**
+     * Constructor.
+     * Holds no blocks until resized.
+     * @param tileShift Base-2 logarithm of the side of a tile, in cells. At most {@value #MAX_SHIFT}.
+     */
+    DensityPyramid(int tileShift) {
+        this.tileShift = tileShift;
+    }
+
+    /**
+     * Changes the size of the board the blocks cover, and marks the pyramid as stale.
+     * @param sizeX Number of columns of cells.
+     * @param sizeY Number of rows of cells.
+     */
+    void resize(int sizeX, int sizeY) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        int count = MAX_SHIFT - tileShift + 1;
+        levels = new int[count][];
+        widths = new int[count];
+        heights = new int[count];
+        for (int level = 0; level < count; level++) {
+            widths[level] = blocks(sizeX, tileShift + level);
+            heights[level] = blocks(sizeY, tileShift + level);
+            levels[level] = new int[widths[level] * heights[level]];
+        }
+        changedRows = new boolean[heights[0]];
+        stale = true;
+    }
+
+    /**
+     * Marks the pyramid as stale, for when the board was changed as a whole.
+     */
+    void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Changes the population of a tile.
+     * @param tileY Row of the tile.
+     * @param tileX Column of the tile.
+     * @param delta Change in the number of alive cells in the tile.
+     */
+    void add(int tileY, int tileX, int delta) {
+        if (stale || delta == 0) return;
+        levels[0][tileY * widths[0] + tileX] += delta;
+        changedRows[tileY] = true;
+    }
+
+    /**
+     * @return Base-2 logarithm of the side of a tile, in cells.
+     */
+    int getTileShift() {
+        return tileShift;
+    }
+
+    /**
+     * Reads the population of a row of blocks at least as large as a tile, bringing the pyramid up to date first.
+     * @param board The board the pyramid covers, read from if the pyramid is stale.
+     * @param shift Base-2 logarithm of the side of the blocks, at least {@link #getTileShift()}.
+     * @param blockY Row of blocks.
+     * @param dst Receives the population of each block.
+     */
+    void read(Board board, int shift, int blockY, long[] dst) {
+        if (stale) {
+            rebuild(board);
+        } else {
+            sumChangedRows();
+        }
+
+        int level = Math.min(shift, MAX_SHIFT) - tileShift;
+        int width = widths[level];
+        int[] blocks = levels[level];
+        int merged = shift - tileShift - level;
+        int blocksX = blocks(sizeX, shift);
+        Arrays.fill(dst, 0, blocksX, 0L);
+        int fromY = blockY << merged;
+        int toY = Math.min(heights[level], (blockY + 1) << merged);
+        for (int y = fromY; y < toY; y++) {
+            for (int x = 0; x < width; x++) {
+                dst[x >>> merged] += blocks[y * width + x];
+            }
+        }
+    }
+
+    /**
+     * Counts the population of every tile from the board's rows, and sums every level above.
+     * @param board The board the pyramid covers.
+     */
+    private void rebuild(Board board) {
+        long[] row = new long[(sizeX + 63) >>> 6];
+        long[] tiles = new long[widths[0]];
+        int[] first = levels[0];
+        for (int tileY = 0; tileY < heights[0]; tileY++) {
+            Arrays.fill(tiles, 0L);
+            int toY = Math.min(sizeY, (tileY + 1) << tileShift);
+            for (int y = tileY << tileShift; y < toY; y++) {
+                board.readRow(y, row);
+                countBlocks(row, tileShift, tiles);
+            }
+            for (int tileX = 0; tileX < widths[0]; tileX++) {
+                first[tileY * widths[0] + tileX] = (int) tiles[tileX];
+            }
+            changedRows[tileY] = true;
+        }
+        stale = false;
+        sumChangedRows();
+    }
+
+    /**
+     * Sums the blocks of every level above the tiles again, for the rows of tiles that changed.
+     */
+    private void sumChangedRows() {
+        boolean[] changed = changedRows;
+        for (int level = 1; level < levels.length; level++) {
+            boolean[] above = new boolean[heights[level]];
+            boolean any = false;
+            for (int y = 0; y < changed.length; y++) {
+                if (!changed[y]) continue;
+                changed[y] = false;
+                above[y >>> 1] = true;
+                any = true;
+            }
+            if (!any) return;
+            for (int y = 0; y < above.length; y++) {
+                if (above[y]) sumRow(level, y);
+            }
+            changed = above;
+        }
+        Arrays.fill(changed, false);
+    }
+
+    /**
+     * Sums a row of blocks from the four blocks below each of them.
+     * @param level Level of the row, above the tiles.
+     * @param y Row of blocks.
+     */
+    private void sumRow(int level, int y) {
+        int[] below = levels[level - 1];
+        int belowWidth = widths[level - 1];
+        int[] blocks = levels[level];
+        int width = widths[level];
+        int top = (y << 1) * belowWidth;
+        boolean bottom = (y << 1) + 1 < heights[level - 1];
+        for (int x = 0; x < width; x++) {
+            int left = top + (x << 1);
+            boolean right = (x << 1) + 1 < belowWidth;
+            int sum = below[left] + (right ? below[left + 1] : 0);
+            if (bottom) {
+                sum += below[left + belowWidth] + (right ? below[left + belowWidth + 1] : 0);
+            }
+            blocks[y * width + x] = sum;
+        }
+    }
+
+    /**
+     * Reads the population of a row of blocks by counting the alive cells of the board's rows, for boards without a
+     * pyramid and for blocks smaller than a tile.
+     * @param board The board to read.
+     * @param shift Base-2 logarithm of the side of the blocks.
+     * @param blockY Row of blocks.
+     * @param dst Receives the population of each block.
+     */
+    static void countRows(Board board, int shift, int blockY, long[] dst) {
+        int sizeX = board.getSizeX();
+        Arrays.fill(dst, 0, blocks(sizeX, shift), 0L);
+        long[] row = new long[(sizeX + 63) >>> 6];
+        int toY = (int) Math.min(board.getSizeY(), (long) (blockY + 1) << shift);
+        for (int y = blockY << shift; y < toY; y++) {
+            board.readRow(y, row);
+            countBlocks(row, shift, dst);
+        }
+    }
+
+    /**
+     * Adds the alive cells of a row to the blocks they lie in.
+     * @param row A row of the board, as packed bits, with the bits past the last column cleared.
+     * @param shift Base-2 logarithm of the side of the blocks.
+     * @param dst Population of each block, added to.
+     */
+    static void countBlocks(long[] row, int shift, long[] dst) {
+        if (shift >= 6) {
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] != 0) dst[(int) (((long) i << 6) >>> shift)] += Long.bitCount(row[i]);
+            }
+            return;
+        }
+        long mask = (1L << (1 << shift)) - 1;
+        for (int i = 0; i < row.length; i++) {
+            long word = row[i];
+            for (int block = (i << 6) >>> shift; word != 0; block++, word >>>= 1 << shift) {
+                dst[block] += Long.bitCount(word & mask);
+            }
+        }
+    }
+
+    /**
+     * @param cells Number of cells.
+     * @param shift Base-2 logarithm of the side of the blocks.
+     * @return Number of blocks needed to cover the cells.
+     */
+    static int blocks(int cells, int shift) {
+        return (int) (((long) cells + (1L << shift) - 1) >>> shift);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits the rows of a board into bands and steps the bands in parallel on a long-lived {@link ForkJoinPool}.
+ *
+ * Schedulers hold no state between runs, so boards with their own schedulers can step at the same time. A scheduler
+ * may also be shared between boards, or built around an existing pool. Boards that are not given a scheduler use
+ * the {@link #shared()} one, so that boards created and dropped along the way leave no threads behind.
+ */
+public final class GenerationScheduler {
+    /**
+     * Computes the next generation of a band of rows.
+     */
+    @FunctionalInterface
+    public interface Band {
+        /**
+         * @param fromRow First row of the band.
+         * @param toRow Row after the last row of the band.
+         * @return Number of alive cells in the band after stepping, or 0 if the caller does not count them.
+         */
+        int step(int fromRow, int toRow);
+    }
+
+    /**
+     * Fewest rows worth handing to a thread of their own.
+     */
+    private static final int MIN_BAND_ROWS = 16;
+
+    /**
+     * Number of bands per thread, so that threads finishing early can steal work from the others.
+     */
+    private static final int BANDS_PER_THREAD = 4;
+
+    /**
+     * Pool running the bands.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * {@code true} if the pool was created by, and should be shut down by, this scheduler.
+     */
+    private final boolean ownsPool;
+
+    /**
+     * Holder of the shared scheduler, created on first use.
+     */
+    private static final class Shared {
+        /**
+         * Scheduler with one thread per available processor, whose pool is never shut down. Its threads are daemon
+         * threads, so they do not keep the program running.
+         */
+        static final GenerationScheduler INSTANCE =
+                new GenerationScheduler(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @return The scheduler shared by every board that is not given one. Its {@link #shutdown()} does nothing.
+     */
+    public static GenerationScheduler shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Constructor.
+     * Creates a scheduler with one thread per available processor.
+     */
+    public GenerationScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param parallelism Number of threads to step bands on.
+     */
+    public GenerationScheduler(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    /**
+     * Constructor.
+     * Creates a scheduler stepping bands on an existing pool, which is left running by {@link #shutdown()}.
+     * @param pool Pool to step bands on.
+     */
+    public GenerationScheduler(ForkJoinPool pool) {
+        this.pool = pool;
+        this.ownsPool = false;
+    }
+
+    /**
+     * @return Number of threads bands are stepped on.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Splits the passed number of rows into bands, steps each band exactly once and waits for all of them.
+     * @param rows Number of rows to step.
+     * @param band Steps a single band.
+     * @return Sum of the values returned by every band.
+     */
+    public int run(int rows, Band band) {
+        int parallelism = pool.getParallelism();
+        int bandRows = Math.max(MIN_BAND_ROWS, (rows + parallelism * BANDS_PER_THREAD - 1) / (parallelism * BANDS_PER_THREAD));
+        if (parallelism == 1 || rows <= bandRows) {
+            return band.step(0, rows);
+        }
+        return pool.invoke(new BandTask(band, 0, rows, bandRows));
+    }
+
+    /**
+     * Stops the threads of the pool, if this scheduler created it.
+     */
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Splits a range of rows in halves until it is a single band.
+     */
+    private static final class BandTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final Band band;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+
+        BandTask(Band band, int fromRow, int toRow, int bandRows) {
+            this.band = band;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (toRow - fromRow <= bandRows) {
+                return band.step(fromRow, toRow);
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            BandTask upper = new BandTask(band, fromRow, middle, bandRows);
+            upper.fork();
+            int lower = new BandTask(band, middle, toRow, bandRows).compute();
+            return upper.join() + lower;
+        }
+    }
+}
@@ -0,0 +1,873 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.BoundingBox;
+import model.Size;
+import rules.RuleSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * HashLife implementation of Board. The plane is held as a canonical, memoized quadtree, which lets highly regular
+ * patterns be advanced by millions of generations in a single {@link #step(long)}.
+ *
+ * The quadtree covers an unbounded plane. The board's rows and columns are a window onto that plane; cells outside
+ * the window are still simulated, so a board that is not dynamic does not wrap around its edges. A dynamic board grows
+ * its window to keep every alive cell in view.
+ */
+public class HashLifeBoard implements Board {
+    /**
+     * Smallest root level kept, so that the root always has grandchildren.
+     */
+    private static final int MIN_LEVEL = 3;
+
+    /**
+     * Largest root level, keeping plane coordinates within a {@code long}.
+     */
+    private static final int MAX_LEVEL = 60;
+
+    /**
+     * Engine creating and advancing the nodes of this board.
+     */
+    private final HashLifeEngine engine;
+
+    /**
+     * Root of the quadtree. Every alive cell on the plane is within the root.
+     */
+    private QuadNode root;
+
+    /**
+     * Row of the plane where the root's top edge lies.
+     */
+    private long rootTop;
+
+    /**
+     * Column of the plane where the root's left edge lies.
+     */
+    private long rootLeft;
+
+    /**
+     * Row of the plane where the board's first row lies.
+     */
+    private long windowTop;
+
+    /**
+     * Column of the plane where the board's first column lies.
+     */
+    private long windowLeft;
+
+    /**
+     * Number of columns on the board.
+     */
+    private int sizeX;
+
+    /**
+     * Number of rows on the board.
+     */
+    private int sizeY;
+
+    /**
+     * Current rule set being used to evaluate cell states each generation.
+     */
+    private RuleSet ruleSet;
+
+    /**
+     * {@code true} if this {@code Board} is dynamic, {@code false} otherwise.
+     */
+    private boolean dynamic;
+
+    /**
+     * {@code true} is multi threading is enabled, false otherwise.
+     */
+    private boolean multithreadingEnabled;
+
+    /**
+     * Number of generations since this board's creation.
+     */
+    private long genCount = 0;
+
+    /**
+     * Constructor.
+     * Accepts the initial sizes of the window onto the plane.
+     * @param sizeX Number of columns.
+     * @param sizeY Number of rows.
+     */
+    public HashLifeBoard(int sizeX, int sizeY) {
+        if (sizeX < 0 || sizeY < 0) {
+            throw new IllegalArgumentException("Illegal board size: " + sizeX + "x" + sizeY);
+        }
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.ruleSet = rules.RulesCollection.getByName("Conway");
+        this.engine = new HashLifeEngine(defaultMaxNodes(), ruleSet.getBirthMask(), ruleSet.getSurviveMask());
+        this.root = engine.empty(MIN_LEVEL);
+    }
+
+    /**
+     * @return A node limit using roughly a quarter of the maximum heap.
+     */
+    private static int defaultMaxNodes() {
+        long nodes = Runtime.getRuntime().maxMemory() / 4 / HashLifeEngine.NODE_BYTES;
+        return (int) Math.min(Integer.MAX_VALUE / 2, nodes);
+    }
+
+    /**
+     * Sets the number of nodes the canonical node table may hold before unreachable nodes and memoized results are
+     * collected. Collections happen between steps, so a single large step may exceed the limit.
+     * @param maxNodes Number of nodes.
+     */
+    public void setMaxNodes(int maxNodes) {
+        if (maxNodes <= 0) throw new IllegalArgumentException("Node limit must be positive: " + maxNodes);
+        engine.setMaxNodes(maxNodes);
+    }
+
+    /**
+     * @return Number of nodes the canonical node table may hold before it is collected.
+     */
+    public int getMaxNodes() {
+        return engine.getMaxNodes();
+    }
+
+    /**
+     * Sets the node limit from a rough memory budget.
+     * @param bytes Number of bytes the node table may use.
+     * @see HashLifeBoard#setMaxNodes(int)
+     */
+    public void setMemoryLimit(long bytes) {
+        setMaxNodes((int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / HashLifeEngine.NODE_BYTES)));
+    }
+
+    /**
+     * @return Number of nodes currently in the canonical node table.
+     */
+    public int getNodeCount() {
+        return engine.size();
+    }
+
+    /**
+     * HashLife does not split its work between threads, so this steps the board on the calling thread.
+     */
+    @Override
+    public void nextGenerationConcurrent() {
+        step(1);
+    }
+
+    /**
+     * Advances the board a single generation.
+     */
+    @Override
+    public void nextGeneration() {
+        step(1);
+    }
+
+    /**
+     * Advances the board by the passed number of generations, in one jump per set bit of {@code generations}.
+     * @param generations Number of generations to advance.
+     */
+    @Override
+    public void step(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Cannot step backwards: " + generations);
+        }
+        for (int stepLog = 0; stepLog < 63 && (generations >>> stepLog) != 0; stepLog++) {
+            if ((generations & (1L << stepLog)) != 0) {
+                advance(stepLog);
+            }
+        }
+        genCount += generations;
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Advances the plane by {@code 2^stepLog} generations.
+     * @param stepLog Base-2 logarithm of the number of generations to advance.
+     */
+    private void advance(int stepLog) {
+        if (engine.shouldCollect()) {
+            engine.collect(root);
+        }
+        // The root must be large enough that nothing can escape its center during the jump.
+        while (root.level < stepLog + 3 || !isPadded()) {
+            expandRoot();
+        }
+        long shift = 1L << (root.level - 2);
+        root = engine.advance(root, stepLog);
+        rootTop += shift;
+        rootLeft += shift;
+        compactRoot();
+        while (root.level < MIN_LEVEL) {
+            expandRoot();
+        }
+    }
+
+    /**
+     * @return {@code true} if every alive cell is within the center quarter of the root's width.
+     */
+    private boolean isPadded() {
+        long centerPopulation = root.nw.se.se.population
+                + root.ne.sw.sw.population
+                + root.sw.ne.ne.population
+                + root.se.nw.nw.population;
+        return centerPopulation == root.population;
+    }
+
+    /**
+     * Doubles the width of the root, keeping it centered on the same point of the plane.
+     */
+    private void expandRoot() {
+        if (root.level >= MAX_LEVEL) {
+            throw new IllegalStateException("Pattern has grown past the edge of the plane");
+        }
+        long shift = 1L << (root.level - 1);
+        root = engine.expand(root);
+        rootTop -= shift;
+        rootLeft -= shift;
+    }
+
+    /**
+     * Halves the width of the root as long as no alive cells are lost.
+     */
+    private void compactRoot() {
+        while (root.level > MIN_LEVEL) {
+            QuadNode center = engine.center(root);
+            if (center.population != root.population) return;
+            long shift = 1L << (root.level - 2);
+            root = center;
+            rootTop += shift;
+            rootLeft += shift;
+        }
+    }
+
+    /**
+     * @param top Row on the plane.
+     * @param left Column on the plane.
+     * @return {@code true} if the cell is within the root.
+     */
+    private boolean rootContains(long top, long left) {
+        long width = 1L << root.level;
+        return top >= rootTop && top - rootTop < width && left >= rootLeft && left - rootLeft < width;
+    }
+
+    /**
+     * Checks that the passed cell is within the board.
+     * @param y Y-coordinate of the cell.
+     * @param x X-coordinate of the cell.
+     */
+    private void checkBounds(int y, int x) {
+        if (y < 0 || y >= sizeY) throw new IndexOutOfBoundsException("Row: " + y);
+        if (x < 0 || x >= sizeX) throw new IndexOutOfBoundsException("Column: " + x);
+    }
+
+    /**
+     * Sets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to set.
+     * @param x X-coordinate of the cell to set.
+     * @param alive New status of the cell.
+     */
+    @Override
+    public void setCellAlive(int y, int x, boolean alive) {
+        checkBounds(y, x);
+        setPlaneCell(windowTop + y, windowLeft + x, alive);
+    }
+
+    /**
+     * Sets the value of a cell anywhere on the plane, expanding the root if needed.
+     * @param top Row of the cell on the plane.
+     * @param left Column of the cell on the plane.
+     * @param alive New status of the cell.
+     */
+    private void setPlaneCell(long top, long left, boolean alive) {
+        if (!rootContains(top, left)) {
+            if (!alive) return;
+            while (!rootContains(top, left)) {
+                expandRoot();
+            }
+        }
+        root = engine.setCell(root, top - rootTop, left - rootLeft, alive);
+    }
+
+    /**
+     * Gets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to get.
+     * @param x X-coordinate of the cell to get.
+     */
+    @Override
+    public boolean getCellAlive(int y, int x) {
+        checkBounds(y, x);
+        long top = windowTop + y;
+        long left = windowLeft + x;
+        return rootContains(top, left) && HashLifeEngine.getCell(root, top - rootTop, left - rootLeft);
+    }
+
+    /**
+     * Inserts a pattern into the middle of the board, doubling the board's size until the pattern fits.
+     * @param pattern Pattern to insert.
+     */
+    @Override
+    public void insertPattern(byte[][] pattern) {
+        while (pattern.length > sizeY) {
+            sizeY = Math.max(1, sizeY * 2);
+        }
+        while (pattern[0].length > sizeX) {
+            sizeX = Math.max(1, sizeX * 2);
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (sizeY / 2) - (pattern.length / 2);
+        int originCol = (sizeX / 2) - (pattern[0].length / 2);
+
+        for (int y = 0; y < pattern.length; y++) {
+            byte[] row = pattern[y];
+            for (int x = 0; x < row.length; x++) {
+                boolean cellAlive = row[x] == 1;
+                if (cellAlive != getCellAlive(originRow + y, originCol + x)) {
+                    setCellAlive(originRow + y, originCol + x, cellAlive);
+                }
+            }
+        }
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Inserts a pattern of packed rows in the middle of the board, visiting only the alive cells of the pattern when
+     * the board is empty.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows Rows of the pattern, as described by {@link Board#insertPattern(int, long[][])}.
+     */
+    @Override
+    public void insertPattern(int sizeX, long[][] rows) {
+        while (rows.length > this.sizeY) {
+            this.sizeY = Math.max(1, this.sizeY * 2);
+        }
+        while (sizeX > this.sizeX) {
+            this.sizeX = Math.max(1, this.sizeX * 2);
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (this.sizeY / 2) - (rows.length / 2);
+        int originCol = (this.sizeX / 2) - (sizeX / 2);
+
+        boolean empty = root.population == 0;
+        for (int y = 0; y < rows.length; y++) {
+            long[] row = rows[y];
+            if (!empty) {
+                // Dead cells of the pattern overwrite whatever is already on the board.
+                for (int x = 0; x < sizeX; x++) {
+                    if (!LifeKernel.bit(row, x) && getCellAlive(originRow + y, originCol + x)) {
+                        setCellAlive(originRow + y, originCol + x, false);
+                    }
+                }
+            }
+            if (row == null) continue;
+            for (int i = 0; i < row.length; i++) {
+                for (long word = row[i]; word != 0; word &= word - 1) {
+                    int x = (i << 6) + Long.numberOfTrailingZeros(word);
+                    setCellAlive(originRow + y, originCol + x, true);
+                }
+            }
+        }
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Inserts a quadtree in the middle of the board, growing the window if it is narrower than the tree, like
+     * {@link #insertPattern(byte[][])}. The tree is never expanded into cells when the board is empty: its nodes
+     * become the board's nodes as they are, so the cost depends on the number of distinct nodes rather than the area
+     * of the tree. On a board that is not empty, the alive cells of the tree are added to those already there.
+     * @param tree Tree to insert.
+     */
+    public void insertQuadTree(QuadTree tree) {
+        if (tree.getRoot() == 0) return;
+
+        QuadNode[] nodes = new QuadNode[tree.getRoot() + 1];
+        for (int id = 1; id < nodes.length; id++) {
+            int level = tree.getLevel(id);
+            if (level == QuadTree.LEAF_LEVEL) {
+                nodes[id] = leafNode(tree.getLeaf(id), 0, 0, level);
+                continue;
+            }
+            if (level < QuadTree.LEAF_LEVEL || level > MAX_LEVEL) {
+                throw new IllegalArgumentException("Illegal level " + level + " of node " + id);
+            }
+            QuadNode[] children = new QuadNode[4];
+            for (int quadrant = 0; quadrant < 4; quadrant++) {
+                int child = tree.getChild(id, quadrant);
+                if (child >= id || child < 0) {
+                    throw new IllegalArgumentException("Node " + id + " refers to node " + child + " out of order");
+                }
+                children[quadrant] = child == 0 ? engine.empty(level - 1) : nodes[child];
+                if (children[quadrant].level != level - 1) {
+                    throw new IllegalArgumentException("Node " + id + " has a quadrant of the wrong level");
+                }
+            }
+            nodes[id] = engine.join(children[0], children[1], children[2], children[3]);
+        }
+        QuadNode node = nodes[tree.getRoot()];
+
+        long width = 1L << node.level;
+        while (width > sizeY && sizeY <= Integer.MAX_VALUE / 2) {
+            sizeY = Math.max(1, sizeY * 2);
+        }
+        while (width > sizeX && sizeX <= Integer.MAX_VALUE / 2) {
+            sizeX = Math.max(1, sizeX * 2);
+        }
+
+        // Sets the top left corner to begin inserting cells on the plane.
+        long top = windowTop + (sizeY / 2) - (width / 2);
+        long left = windowLeft + (sizeX / 2) - (width / 2);
+        if (root.population == 0) {
+            root = node;
+            rootTop = top;
+            rootLeft = left;
+            compactRoot();
+        } else {
+            addCells(node, top, left);
+        }
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Builds the canonical node of a square of cells within a leaf.
+     * @param cells Cells of the leaf, laid out as described by {@link QuadTree#getLeaf(int)}.
+     * @param y Row of the square within the leaf.
+     * @param x Column of the square within the leaf.
+     * @param level Level of the square.
+     * @return The node.
+     */
+    private QuadNode leafNode(long cells, int y, int x, int level) {
+        if (level == 0) {
+            return (cells >>> (y * 8 + x) & 1) != 0 ? engine.alive : engine.dead;
+        }
+        if (cells == 0) {
+            return engine.empty(level);
+        }
+        int half = 1 << (level - 1);
+        return engine.join(
+                leafNode(cells, y, x, level - 1),
+                leafNode(cells, y, x + half, level - 1),
+                leafNode(cells, y + half, x, level - 1),
+                leafNode(cells, y + half, x + half, level - 1)
+        );
+    }
+
+    /**
+     * Sets every alive cell of the node alive on the plane.
+     * @param node Node to add the cells of.
+     * @param top Row of the plane where the node's top edge lies.
+     * @param left Column of the plane where the node's left edge lies.
+     */
+    private void addCells(QuadNode node, long top, long left) {
+        if (node.population == 0) return;
+        if (node.level == 0) {
+            setPlaneCell(top, left, true);
+            return;
+        }
+        long half = 1L << (node.level - 1);
+        addCells(node.nw, top, left);
+        addCells(node.ne, top, left + half);
+        addCells(node.sw, top + half, left);
+        addCells(node.se, top + half, left + half);
+    }
+
+    /**
+     * Exports the plane as a quadtree. Each distinct node of the board's canonical quadtree is exported once, so
+     * repeated regions of the plane share a single node in the table, and the cost depends on the number of distinct
+     * nodes rather than the area of the plane.
+     * @return The plane's quadtree.
+     */
+    public QuadTree getQuadTree() {
+        NodeTable table = new NodeTable();
+        table.setRoot(exportNode(root, table, new HashMap<>()));
+        return table;
+    }
+
+    /**
+     * Adds a node and its descendants to a table, unless they are already there.
+     * @param node Node to add. At least leaf level.
+     * @param table Table to add to.
+     * @param ids Numbers of the nodes already added.
+     * @return Number of the node in the table, or 0 if it is empty.
+     */
+    private static int exportNode(QuadNode node, NodeTable table, Map<QuadNode, Integer> ids) {
+        if (node.population == 0) return 0;
+        Integer known = ids.get(node);
+        if (known != null) return known;
+
+        int id;
+        if (node.level == QuadTree.LEAF_LEVEL) {
+            long cells = 0;
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 8; x++) {
+                    if (HashLifeEngine.getCell(node, y, x)) cells |= 1L << (y * 8 + x);
+                }
+            }
+            id = table.addLeaf(cells);
+        } else {
+            id = table.addNode(node.level,
+                    exportNode(node.nw, table, ids),
+                    exportNode(node.ne, table, ids),
+                    exportNode(node.sw, table, ids),
+                    exportNode(node.se, table, ids));
+        }
+        ids.put(node, id);
+        return id;
+    }
+
+    /**
+     * Clears all cells from the plane, and frees every node that is no longer needed.
+     */
+    @Override
+    public void clearBoard() {
+        root = engine.empty(MIN_LEVEL);
+        rootTop = windowTop;
+        rootLeft = windowLeft;
+        engine.collect(root);
+        genCount = 0;
+    }
+
+    /**
+     * Grows the window so that every alive cell is inside it, with a margin of one dead cell.
+     */
+    private void postGenerationGrow() {
+        if (root.population == 0) return;
+
+        long firstRow = rootTop + firstIndex(root, false, new HashMap<>());
+        long lastRow = rootTop + lastIndex(root, false, new HashMap<>());
+        long firstCol = rootLeft + firstIndex(root, true, new HashMap<>());
+        long lastCol = rootLeft + lastIndex(root, true, new HashMap<>());
+
+        long deltaTop = Math.max(0, windowTop - (firstRow - 1));
+        long deltaLeft = Math.max(0, windowLeft - (firstCol - 1));
+        long deltaBottom = Math.max(0, lastRow + 1 - (windowTop + sizeY - 1));
+        long deltaRight = Math.max(0, lastCol + 1 - (windowLeft + sizeX - 1));
+        if (deltaTop + deltaLeft + deltaBottom + deltaRight == 0) return;
+
+        windowTop -= deltaTop;
+        windowLeft -= deltaLeft;
+        sizeY = (int) Math.min(Integer.MAX_VALUE, sizeY + deltaTop + deltaBottom);
+        sizeX = (int) Math.min(Integer.MAX_VALUE, sizeX + deltaLeft + deltaRight);
+        callPostResizeListeners(new Size(
+                sizeY,
+                sizeX,
+                (int) Math.min(Integer.MAX_VALUE, deltaTop),
+                (int) Math.min(Integer.MAX_VALUE, deltaRight),
+                (int) Math.min(Integer.MAX_VALUE, deltaBottom),
+                (int) Math.min(Integer.MAX_VALUE, deltaLeft)
+        ));
+    }
+
+    /**
+     * @param node Non-empty node to search.
+     * @param columns {@code true} to search columns, {@code false} to search rows.
+     * @param memo Results for nodes already searched.
+     * @return Index of the first row or column within the node holding an alive cell.
+     */
+    private static long firstIndex(QuadNode node, boolean columns, Map<QuadNode, Long> memo) {
+        if (node.level == 0) return 0;
+        Long known = memo.get(node);
+        if (known != null) return known;
+
+        // Quadrants along the lower and upper half of the searched axis.
+        QuadNode lowA = node.nw;
+        QuadNode lowB = columns ? node.sw : node.ne;
+        QuadNode highA = columns ? node.ne : node.sw;
+        QuadNode highB = node.se;
+
+        long result;
+        if (!lowA.isEmpty() || !lowB.isEmpty()) {
+            result = Math.min(
+                    lowA.isEmpty() ? Long.MAX_VALUE : firstIndex(lowA, columns, memo),
+                    lowB.isEmpty() ? Long.MAX_VALUE : firstIndex(lowB, columns, memo));
+        } else {
+            result = (1L << (node.level - 1)) + Math.min(
+                    highA.isEmpty() ? Long.MAX_VALUE / 2 : firstIndex(highA, columns, memo),
+                    highB.isEmpty() ? Long.MAX_VALUE / 2 : firstIndex(highB, columns, memo));
+        }
+        memo.put(node, result);
+        return result;
+    }
+
+    /**
+     * @param node Non-empty node to search.
+     * @param columns {@code true} to search columns, {@code false} to search rows.
+     * @param memo Results for nodes already searched.
+     * @return Index of the last row or column within the node holding an alive cell.
+     */
+    private static long lastIndex(QuadNode node, boolean columns, Map<QuadNode, Long> memo) {
+        if (node.level == 0) return 0;
+        Long known = memo.get(node);
+        if (known != null) return known;
+
+        // Quadrants along the lower and upper half of the searched axis.
+        QuadNode lowA = node.nw;
+        QuadNode lowB = columns ? node.sw : node.ne;
+        QuadNode highA = columns ? node.ne : node.sw;
+        QuadNode highB = node.se;
+
+        long result;
+        if (!highA.isEmpty() || !highB.isEmpty()) {
+            result = (1L << (node.level - 1)) + Math.max(
+                    highA.isEmpty() ? Long.MIN_VALUE / 2 : lastIndex(highA, columns, memo),
+                    highB.isEmpty() ? Long.MIN_VALUE / 2 : lastIndex(highB, columns, memo));
+        } else {
+            result = Math.max(
+                    lowA.isEmpty() ? Long.MIN_VALUE : lastIndex(lowA, columns, memo),
+                    lowB.isEmpty() ? Long.MIN_VALUE : lastIndex(lowB, columns, memo));
+        }
+        memo.put(node, result);
+        return result;
+    }
+
+    /**
+     * Adds an empty row to the bottom of the board.
+     */
+    @Override
+    public void addRowBottom() {
+        sizeY++;
+    }
+
+    /**
+     * Adds an empty row to the top of the board.
+     */
+    @Override
+    public void addRowTop() {
+        windowTop--;
+        sizeY++;
+    }
+
+    /**
+     * Adds an empty column to the right of the board.
+     */
+    @Override
+    public void addColRight() {
+        sizeX++;
+    }
+
+    /**
+     * Adds an empty column to the left of the board.
+     */
+    @Override
+    public void addColLeft() {
+        windowLeft--;
+        sizeX++;
+    }
+
+    /**
+     * @return The board's window into a single line {@code String} of 0s and 1s.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < sizeY; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                sb.append(getCellAlive(y, x) ? "1" : "0");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates and returns a "trimmed" board, only within the bounding box of the alive cells on the board.
+     * @return A new {@code Board} containing only the cells within this {@code Board}'s {@code BoundingBox}.
+     */
+    @Override
+    public Board patternToBoard() {
+        BoundingBox bb = getBoundingBox();
+        Board patternBoard = new BitBoard(bb.getSizeX(), bb.getSizeY());
+        for (int row = bb.getFirstRow(); row <= bb.getLastRow(); row++) {
+            for (int col = bb.getFirstCol(); col <= bb.getLastCol(); col++) {
+                if (getCellAlive(row, col)) {
+                    patternBoard.setCellAlive(row - bb.getFirstRow(), col - bb.getFirstCol(), true);
+                }
+            }
+        }
+        return patternBoard;
+    }
+
+    /**
+     * Creates a bounding box within which the current state of the window is of interest (boundary of alive cells).
+     * @return The BoundingBox representing the area of interest.
+     */
+    private BoundingBox getBoundingBox() {
+        BoundingBox bb = new BoundingBox(sizeY, sizeX, 0, 0);
+        for (int y = 0; y < sizeY; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                if (!getCellAlive(y, x)) continue;
+                bb.setFirstRow(Math.min(bb.getFirstRow(), y));
+                bb.setFirstCol(Math.min(bb.getFirstCol(), x));
+                bb.setLastRow(Math.max(bb.getLastRow(), y));
+                bb.setLastCol(Math.max(bb.getLastCol(), x));
+            }
+        }
+        return bb;
+    }
+
+    /**
+     * List of listeners to be called after the board resizes.
+     */
+    private List<Consumer<Size>> postResizeListeners = new ArrayList<>();
+
+    /**
+     * Adds the passed {@code Consumer} to the list of post resize listeners.
+     * @param runner Runner to add to list of listeners.
+     */
+    @Override
+    public void addPostResizeListener(Consumer<Size> runner) {
+        postResizeListeners.add(runner);
+    }
+
+    /**
+     * Calls all registered post resize listeners with the passed {@code Size} object.
+     * @param size Size object to pass to each listener.
+     */
+    private void callPostResizeListeners(Size size) {
+        for (Consumer<Size> runner : postResizeListeners) {
+            runner.accept(size);
+        }
+    }
+
+    /**
+     * Setter method for the active board rules. Discards all memoized results. Rules where dead cells with no alive
+     * neighbors come to life would fill the whole plane, and are not supported.
+     * @param ruleSet The requested rule set.
+     */
+    @Override
+    public void setRuleSet(RuleSet ruleSet) {
+        if ((ruleSet.getBirthMask() & 1) != 0) {
+            throw new IllegalArgumentException("Rule set " + ruleSet.getName() + " is not supported on an unbounded plane");
+        }
+        this.ruleSet = ruleSet;
+        engine.setRule(ruleSet.getBirthMask(), ruleSet.getSurviveMask());
+    }
+
+    /**
+     * Getter method for the active board rules.
+     * @return The current rule set.
+     */
+    @Override
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * @return The number of columns in the window.
+     */
+    @Override
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * @return The number of rows in the window.
+     */
+    @Override
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns a live view of the window. Cells are created on access and read from the quadtree, so this should only
+     * be used by callers that have no other way of reading the board.
+     * @return A view of the current generation.
+     */
+    @Override
+    public List<List<Cell>> getThisGen() {
+        return new BoardView(this);
+    }
+
+    /**
+     * @return True if this {@code Board} is currently dynamic.
+     */
+    @Override
+    public boolean getDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @param dynamic New dynamic status for this {@code Board}.
+     */
+    @Override
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * @return True if multithreading is enable, false otherwise.
+     */
+    @Override
+    public boolean getMultithreading() {
+        return multithreadingEnabled;
+    }
+
+    /**
+     * @param multithreadingEnabled Sets multithreading status.
+     */
+    @Override
+    public void setMultithreading(boolean multithreadingEnabled) {
+        this.multithreadingEnabled = multithreadingEnabled;
+    }
+
+    /**
+     * @return The number of generation advanced since clearing this board, capped at {@code Integer.MAX_VALUE}.
+     */
+    @Override
+    public int getGenCount() {
+        return (int) Math.min(Integer.MAX_VALUE, genCount);
+    }
+
+    /**
+     * Sets the number of generations advanced, as when restoring a saved board.
+     * @param genCount Number of generations.
+     */
+    @Override
+    public void setGenCount(int genCount) {
+        this.genCount = genCount;
+    }
+
+    /**
+     * @return The number of alive cells on the whole plane, capped at {@code Integer.MAX_VALUE}.
+     */
+    @Override
+    public int getAliveCount() {
+        return (int) Math.min(Integer.MAX_VALUE, root.population);
+    }
+
+    /**
+     * @return The number of alive cells on the whole plane.
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    /**
+     * @return The number of generation advanced since clearing this board.
+     */
+    public long getGenerationCount() {
+        return genCount;
+    }
+
+    /**
+     * Sets the number of generations advanced, as when restoring a saved board.
+     * @param genCount Number of generations.
+     */
+    public void setGenerationCount(long genCount) {
+        this.genCount = genCount;
+    }
+}
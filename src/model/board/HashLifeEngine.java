@@ -0,0 +1,403 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Memoized quadtree engine implementing Gosper's HashLife algorithm.
+ *
+ * All nodes are created through {@link #join(QuadNode, QuadNode, QuadNode, QuadNode)}, which looks them up in a
+ * canonical hash table so that identical regions are only ever stored once. Advancing a node memoizes the result on
+ * the node, so that repeated regions, in space as well as in time, are only computed once.
+ *
+ * The table is bounded by a node limit. When it is exceeded, {@link #collect(QuadNode)} drops every node that is not
+ * reachable from the passed root, along with all memoized results.
+ */
+final class HashLifeEngine {
+    /**
+     * Rough number of bytes used per node, including its slot in the table.
+     */
+    static final int NODE_BYTES = 64;
+
+    /**
+     * A single dead cell.
+     */
+    final QuadNode dead = new QuadNode(false);
+
+    /**
+     * A single alive cell.
+     */
+    final QuadNode alive = new QuadNode(true);
+
+    /**
+     * Buckets of the canonical node table, chained through {@link QuadNode#next}.
+     */
+    private QuadNode[] buckets = new QuadNode[1 << 16];
+
+    /**
+     * Number of nodes in the canonical node table.
+     */
+    private int size;
+
+    /**
+     * Number of nodes the table may hold before {@link #shouldCollect()} asks for a collection.
+     */
+    private int maxNodes;
+
+    /**
+     * Canonical empty node of each level, indexed by level.
+     */
+    private final List<QuadNode> emptyNodes = new ArrayList<>();
+
+    /**
+     * Neighbor counts where a dead cell comes to life, as bits.
+     */
+    private int birthMask;
+
+    /**
+     * Neighbor counts where an alive cell survives, as bits.
+     */
+    private int surviveMask;
+
+    /**
+     * Current mark used while collecting garbage.
+     */
+    private int markEpoch;
+
+    /**
+     * Constructor.
+     * @param maxNodes Number of nodes the table may hold before it is collected.
+     * @param birthMask Neighbor counts where a dead cell comes to life, as bits.
+     * @param surviveMask Neighbor counts where an alive cell survives, as bits.
+     */
+    HashLifeEngine(int maxNodes, int birthMask, int surviveMask) {
+        this.maxNodes = maxNodes;
+        this.birthMask = birthMask;
+        this.surviveMask = surviveMask;
+        emptyNodes.add(dead);
+    }
+
+    /**
+     * Changes the rule nodes are advanced with, discarding all memoized results.
+     * @param birthMask Neighbor counts where a dead cell comes to life, as bits.
+     * @param surviveMask Neighbor counts where an alive cell survives, as bits.
+     */
+    void setRule(int birthMask, int surviveMask) {
+        if (this.birthMask == birthMask && this.surviveMask == surviveMask) return;
+        this.birthMask = birthMask;
+        this.surviveMask = surviveMask;
+        forEachNode(node -> node.result = null);
+    }
+
+    /**
+     * @param maxNodes Number of nodes the table may hold before it is collected.
+     */
+    void setMaxNodes(int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @return Number of nodes the table may hold before it is collected.
+     */
+    int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * @return Number of nodes in the canonical node table.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the table has grown past its node limit.
+     */
+    boolean shouldCollect() {
+        return size > maxNodes;
+    }
+
+    /**
+     * Returns the canonical node made up of the passed quadrants.
+     * @param nw North-west quadrant.
+     * @param ne North-east quadrant.
+     * @param sw South-west quadrant.
+     * @param se South-east quadrant.
+     * @return The canonical node.
+     */
+    QuadNode join(QuadNode nw, QuadNode ne, QuadNode sw, QuadNode se) {
+        int hash = hash(nw, ne, sw, se);
+        int index = hash & (buckets.length - 1);
+        for (QuadNode node = buckets[index]; node != null; node = node.next) {
+            if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+                return node;
+            }
+        }
+
+        QuadNode node = new QuadNode(nw, ne, sw, se, hash);
+        insert(node);
+        return node;
+    }
+
+    /**
+     * Combines the hashes of four quadrants.
+     */
+    private static int hash(QuadNode nw, QuadNode ne, QuadNode sw, QuadNode se) {
+        int hash = nw.hash;
+        hash = hash * 31 + ne.hash;
+        hash = hash * 31 + sw.hash;
+        hash = hash * 31 + se.hash;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Adds a node to the table, growing it if it is too full.
+     * @param node Node to add.
+     */
+    private void insert(QuadNode node) {
+        if (size >= buckets.length - (buckets.length >>> 2)) {
+            QuadNode[] old = buckets;
+            buckets = new QuadNode[old.length * 2];
+            for (QuadNode head : old) {
+                QuadNode current = head;
+                while (current != null) {
+                    QuadNode next = current.next;
+                    int index = current.hash & (buckets.length - 1);
+                    current.next = buckets[index];
+                    buckets[index] = current;
+                    current = next;
+                }
+            }
+        }
+        int index = node.hash & (buckets.length - 1);
+        node.next = buckets[index];
+        buckets[index] = node;
+        size++;
+    }
+
+    /**
+     * Calls the passed action on every node in the table.
+     */
+    private void forEachNode(Consumer<QuadNode> action) {
+        for (QuadNode head : buckets) {
+            for (QuadNode node = head; node != null; node = node.next) {
+                action.accept(node);
+            }
+        }
+    }
+
+    /**
+     * @param level Level of the node.
+     * @return The canonical node of the passed level containing only dead cells.
+     */
+    QuadNode empty(int level) {
+        while (emptyNodes.size() <= level) {
+            QuadNode smaller = emptyNodes.get(emptyNodes.size() - 1);
+            emptyNodes.add(join(smaller, smaller, smaller, smaller));
+        }
+        return emptyNodes.get(level);
+    }
+
+    /**
+     * Surrounds a node with empty space, returning a node one level up with the passed node in its center.
+     * @param node Node to expand. Must be at least level 1.
+     * @return The expanded node.
+     */
+    QuadNode expand(QuadNode node) {
+        QuadNode border = empty(node.level - 1);
+        return join(
+                join(border, border, border, node.nw),
+                join(border, border, node.ne, border),
+                join(border, node.sw, border, border),
+                join(node.se, border, border, border)
+        );
+    }
+
+    /**
+     * @param node Node to take the center of. Must be at least level 2.
+     * @return The center of the node, one level down.
+     */
+    QuadNode center(QuadNode node) {
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    /**
+     * Returns the center of the passed node advanced by {@code 2^step} generations.
+     * @param node Node to advance. Must be at least level 2.
+     * @param step Base-2 logarithm of the number of generations to advance. At most {@code node.level - 2}.
+     * @return The center of the node, one level down, advanced by {@code 2^step} generations.
+     */
+    QuadNode advance(QuadNode node, int step) {
+        if (node.population == 0) {
+            return empty(node.level - 1);
+        }
+        if (node.result != null && node.resultStep == step) {
+            return node.result;
+        }
+
+        QuadNode result;
+        if (node.level == 2) {
+            result = advanceBase(node);
+        } else {
+            boolean fullSpeed = step == node.level - 2;
+
+            // The nine overlapping sub-squares, one level down.
+            QuadNode n00 = node.nw;
+            QuadNode n01 = join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw);
+            QuadNode n02 = node.ne;
+            QuadNode n10 = join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne);
+            QuadNode n11 = center(node);
+            QuadNode n12 = join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne);
+            QuadNode n20 = node.sw;
+            QuadNode n21 = join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw);
+            QuadNode n22 = node.se;
+
+            // First half: either advance each sub-square, or just take its center.
+            QuadNode r00 = fullSpeed ? advance(n00, step - 1) : center(n00);
+            QuadNode r01 = fullSpeed ? advance(n01, step - 1) : center(n01);
+            QuadNode r02 = fullSpeed ? advance(n02, step - 1) : center(n02);
+            QuadNode r10 = fullSpeed ? advance(n10, step - 1) : center(n10);
+            QuadNode r11 = fullSpeed ? advance(n11, step - 1) : center(n11);
+            QuadNode r12 = fullSpeed ? advance(n12, step - 1) : center(n12);
+            QuadNode r20 = fullSpeed ? advance(n20, step - 1) : center(n20);
+            QuadNode r21 = fullSpeed ? advance(n21, step - 1) : center(n21);
+            QuadNode r22 = fullSpeed ? advance(n22, step - 1) : center(n22);
+
+            // Second half: advance the four quadrants assembled from the results.
+            int nextStep = fullSpeed ? step - 1 : step;
+            result = join(
+                    advance(join(r00, r01, r10, r11), nextStep),
+                    advance(join(r01, r02, r11, r12), nextStep),
+                    advance(join(r10, r11, r20, r21), nextStep),
+                    advance(join(r11, r12, r21, r22), nextStep)
+            );
+        }
+
+        node.result = result;
+        node.resultStep = step;
+        return result;
+    }
+
+    /**
+     * Advances the center 2x2 cells of a 4x4 node by a single generation.
+     * @param node Level 2 node to advance.
+     * @return The level 1 center, advanced by one generation.
+     */
+    private QuadNode advanceBase(QuadNode node) {
+        // Cells of the 4x4 square as bits, row by row, with (0, 0) in bit 0.
+        int bits = 0;
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                if (getCell(node, y, x)) {
+                    bits |= 1 << (y * 4 + x);
+                }
+            }
+        }
+        return join(
+                nextCell(bits, 1, 1),
+                nextCell(bits, 1, 2),
+                nextCell(bits, 2, 1),
+                nextCell(bits, 2, 2)
+        );
+    }
+
+    /**
+     * Evaluates a single cell of a 4x4 square.
+     * @param bits Cells of the square, row by row.
+     * @param y Row of the cell, 1 or 2.
+     * @param x Column of the cell, 1 or 2.
+     * @return The cell in the next generation.
+     */
+    private QuadNode nextCell(int bits, int y, int x) {
+        // 3x3 neighborhood of (1, 1), shifted into place, without the cell itself.
+        int neighborhood = 0x757 << ((y - 1) * 4 + (x - 1));
+        int numNeighbors = Integer.bitCount(bits & neighborhood);
+        boolean isAlive = (bits & (1 << (y * 4 + x))) != 0;
+        int mask = isAlive ? surviveMask : birthMask;
+        return (mask & (1 << numNeighbors)) != 0 ? alive : dead;
+    }
+
+    /**
+     * Reads a single cell of a node.
+     * @param node Node to read from.
+     * @param y Row within the node.
+     * @param x Column within the node.
+     * @return {@code true} if the cell is alive.
+     */
+    static boolean getCell(QuadNode node, long y, long x) {
+        while (node.level > 0) {
+            if (node.population == 0) return false;
+            long half = 1L << (node.level - 1);
+            if (y < half) {
+                node = x < half ? node.nw : node.ne;
+            } else {
+                node = x < half ? node.sw : node.se;
+                y -= half;
+            }
+            if (x >= half) x -= half;
+        }
+        return node.population != 0;
+    }
+
+    /**
+     * Returns a copy of the node with a single cell changed.
+     * @param node Node to change.
+     * @param y Row within the node.
+     * @param x Column within the node.
+     * @param isAlive New state of the cell.
+     * @return The changed node.
+     */
+    QuadNode setCell(QuadNode node, long y, long x, boolean isAlive) {
+        if (node.level == 0) {
+            return isAlive ? alive : dead;
+        }
+        long half = 1L << (node.level - 1);
+        if (y < half) {
+            if (x < half) {
+                return join(setCell(node.nw, y, x, isAlive), node.ne, node.sw, node.se);
+            }
+            return join(node.nw, setCell(node.ne, y, x - half, isAlive), node.sw, node.se);
+        }
+        if (x < half) {
+            return join(node.nw, node.ne, setCell(node.sw, y - half, x, isAlive), node.se);
+        }
+        return join(node.nw, node.ne, node.sw, setCell(node.se, y - half, x - half, isAlive));
+    }
+
+    /**
+     * Drops every node that is not reachable from the passed root, along with all memoized results.
+     * @param root Root to keep.
+     */
+    void collect(QuadNode root) {
+        forEachNode(node -> node.result = null);
+        QuadNode[] old = buckets;
+        buckets = new QuadNode[old.length];
+        size = 0;
+        markEpoch++;
+        for (QuadNode node : emptyNodes) {
+            keep(node);
+        }
+        keep(root);
+    }
+
+    /**
+     * Re-inserts the passed node and everything reachable from it into the table.
+     * @param node Node to keep.
+     */
+    private void keep(QuadNode node) {
+        if (node.level == 0 || node.mark == markEpoch) return;
+        node.mark = markEpoch;
+        keep(node.nw);
+        keep(node.ne);
+        keep(node.sw);
+        keep(node.se);
+        insert(node);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.BoundingBox;
+import rules.RuleSet;
+
+/**
+ * Word-parallel next generation kernel for birth/survival rule sets.
+ *
+ * Evaluates 64 cells at once. The eight neighbors of each cell are supplied as eight words, shifted so that bit
+ * {@code i} of each word holds the corresponding neighbor of the cell in bit {@code i}. The neighbor count of every
+ * cell is then summed in parallel with a tree of bit-sliced full adders, yielding the count as four bit planes, which
+ * are matched against the birth and survive masks of the rule set.
+ */
+public final class LifeKernel {
+    /**
+     * Neighbor counts where a dead cell comes to life, as bits.
+     * @see RuleSet#getBirthMask()
+     */
+    private final int birthMask;
+
+    /**
+     * Neighbor counts where an alive cell survives, as bits.
+     * @see RuleSet#getSurviveMask()
+     */
+    private final int surviveMask;
+
+    /**
+     * {@code true} if the rule set is B3/S23, which has a shorter evaluation.
+     */
+    private final boolean conway;
+
+    /**
+     * Constructor.
+     * @param ruleSet Rule set to evaluate cells with.
+     */
+    public LifeKernel(RuleSet ruleSet) {
+        this.birthMask = ruleSet.getBirthMask();
+        this.surviveMask = ruleSet.getSurviveMask();
+        this.conway = birthMask == (1 << 3) && surviveMask == ((1 << 2) | (1 << 3));
+    }
+
+    /**
+     * Computes the next state of 64 cells.
+     * @param aW Neighbors up and to the left.
+     * @param a Neighbors up.
+     * @param aE Neighbors up and to the right.
+     * @param cW Neighbors to the left.
+     * @param c The cells themselves.
+     * @param cE Neighbors to the right.
+     * @param bW Neighbors down and to the left.
+     * @param b Neighbors down.
+     * @param bE Neighbors down and to the right.
+     * @return The cells' states in the next generation.
+     */
+    public long next(long aW, long a, long aE, long cW, long c, long cE, long bW, long b, long bE) {
+        // Ones: add up each row of neighbors, then the three partial sums.
+        long sumA = aW ^ a ^ aE;
+        long carryA = (aW & a) | (aE & (aW ^ a));
+        long sumC = cW ^ cE;
+        long carryC = cW & cE;
+        long sumB = bW ^ b ^ bE;
+        long carryB = (bW & b) | (bE & (bW ^ b));
+        long bit0 = sumA ^ sumC ^ sumB;
+        long carry0 = (sumA & sumC) | (sumB & (sumA ^ sumC));
+
+        // Twos: four carries of weight 2.
+        long sumCarries = carryA ^ carryC ^ carryB;
+        long carryCarries = (carryA & carryC) | (carryB & (carryA ^ carryC));
+        long bit1 = sumCarries ^ carry0;
+        long carry1 = sumCarries & carry0;
+
+        // Fours and eights: two carries of weight 4.
+        long bit2 = carryCarries ^ carry1;
+        long bit3 = carryCarries & carry1;
+
+        if (conway) {
+            return ~bit3 & ~bit2 & bit1 & (bit0 | c);
+        }
+
+        long result = 0;
+        for (int n = 0; n <= 8; n++) {
+            boolean birth = (birthMask & (1 << n)) != 0;
+            boolean survive = (surviveMask & (1 << n)) != 0;
+            if (!birth && !survive) continue;
+
+            long count = ((n & 1) != 0 ? bit0 : ~bit0)
+                    & ((n & 2) != 0 ? bit1 : ~bit1)
+                    & ((n & 4) != 0 ? bit2 : ~bit2)
+                    & ((n & 8) != 0 ? bit3 : ~bit3);
+            if (birth && survive) {
+                result |= count;
+            } else if (birth) {
+                result |= count & ~c;
+            } else {
+                result |= count & c;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the next generation of a single row.
+     * @param above Row above, or {@code null} if the row is dead or outside the board.
+     * @param row Row to compute the next generation of.
+     * @param below Row below, or {@code null} if the row is dead or outside the board.
+     * @param out Row to write the next generation to. Must be as long as {@code row}.
+     * @param sizeX Number of columns in the row.
+     * @param wrap {@code true} if the first and last column are neighbors.
+     * @return Number of alive cells in the next generation of the row.
+     */
+    public int stepRow(long[] above, long[] row, long[] below, long[] out, int sizeX, boolean wrap) {
+        int words = out.length;
+        int lastBit = (sizeX - 1) & 63;
+        long lastMask = -1L >>> (63 - lastBit);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            long next = next(
+                    west(above, i, lastBit, wrap), word(above, i), east(above, i, lastBit, wrap),
+                    west(row, i, lastBit, wrap), row[i], east(row, i, lastBit, wrap),
+                    west(below, i, lastBit, wrap), word(below, i), east(below, i, lastBit, wrap)
+            );
+            if (i == words - 1) {
+                next &= lastMask;
+            }
+            out[i] = next;
+            count += Long.bitCount(next);
+        }
+        return count;
+    }
+
+    /**
+     * @param row Row to read, or {@code null}.
+     * @param i Index of the word.
+     * @return The word, or 0 if there is no row.
+     */
+    private static long word(long[] row, int i) {
+        return row == null ? 0 : row[i];
+    }
+
+    /**
+     * Reads 64 consecutive bits of a row, which may reach past either end of it.
+     * @param row Row to read, or {@code null}. Words past its end are read as 0.
+     * @param from Column of the first bit to read. May be negative.
+     * @return The bits, with column {@code from} in bit 0.
+     */
+    static long bits(long[] row, int from) {
+        if (row == null) return 0;
+        int i = from >> 6;
+        int shift = from & 63;
+        long low = i >= 0 && i < row.length ? row[i] : 0;
+        if (shift == 0) return low;
+        long high = i + 1 >= 0 && i + 1 < row.length ? row[i + 1] : 0;
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /**
+     * @param row Row to read, or {@code null}. Words past its end are read as 0.
+     * @param x Column of the bit to read.
+     * @return {@code true} if the bit is set, {@code false} otherwise.
+     */
+    static boolean bit(long[] row, int x) {
+        return row != null && (x >>> 6) < row.length && (row[x >>> 6] & (1L << x)) != 0;
+    }
+
+    /**
+     * Copies the first columns of a row into another row from a column on, a word at a time, leaving the other
+     * columns of the destination as they are.
+     * @param src Row to copy from. Words past its end are read as 0.
+     * @param dst Row to copy into.
+     * @param toX Column of {@code dst} the first column of {@code src} is copied to.
+     * @param sizeX Number of columns to copy.
+     */
+    static void copyBits(long[] src, long[] dst, int toX, int sizeX) {
+        int endX = toX + sizeX;
+        for (int i = toX >>> 6; i << 6 < endX; i++) {
+            long mask = -1L;
+            if (i << 6 < toX) mask &= -1L << toX;
+            if ((i + 1) << 6 > endX) mask &= -1L >>> (64 - (endX & 63));
+            dst[i] = (dst[i] & ~mask) | (bits(src, (i << 6) - toX) & mask);
+        }
+    }
+
+    /**
+     * Moves every cell in the row one column to the right, leaving column 0 dead.
+     * @param row Row to shift.
+     */
+    static void shiftRight(long[] row) {
+        for (int w = row.length - 1; w > 0; w--) {
+            row[w] = (row[w] << 1) | (row[w - 1] >>> 63);
+        }
+        if (row.length > 0) {
+            row[0] <<= 1;
+        }
+    }
+
+    /**
+     * @param row Row to check.
+     * @return {@code true} if the row contains nothing but dead cells.
+     */
+    static boolean isEmpty(long[] row) {
+        for (long word : row) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Grows a bounding box to hold the alive cells of a row.
+     * @param row Row to add.
+     * @param y Index of the row.
+     * @param bb Bounding box to grow.
+     */
+    static void addToBounds(long[] row, int y, BoundingBox bb) {
+        for (int w = 0; w < row.length; w++) {
+            long word = row[w];
+            if (word == 0) continue;
+
+            int first = w * 64 + Long.numberOfTrailingZeros(word);
+            int last = w * 64 + (63 - Long.numberOfLeadingZeros(word));
+            if (y < bb.getFirstRow()) {
+                bb.setFirstRow(y);
+            }
+            if (first < bb.getFirstCol()) {
+                bb.setFirstCol(first);
+            }
+            if (y > bb.getLastRow()) {
+                bb.setLastRow(y);
+            }
+            if (last > bb.getLastCol()) {
+                bb.setLastCol(last);
+            }
+        }
+    }
+
+    /**
+     * Shifts the word so that each bit holds its left neighbor.
+     * @param row Row to read, or {@code null}.
+     * @param i Index of the word.
+     * @param lastBit Bit index of the last column in the last word.
+     * @param wrap {@code true} if the first and last column are neighbors.
+     * @return The left neighbors of the word.
+     */
+    static long west(long[] row, int i, int lastBit, boolean wrap) {
+        if (row == null) return 0;
+        long carry;
+        if (i > 0) {
+            carry = row[i - 1] >>> 63;
+        } else {
+            carry = wrap ? (row[row.length - 1] >>> lastBit) & 1 : 0;
+        }
+        return (row[i] << 1) | carry;
+    }
+
+    /**
+     * Shifts the word so that each bit holds its right neighbor.
+     * @param row Row to read, or {@code null}.
+     * @param i Index of the word.
+     * @param lastBit Bit index of the last column in the last word.
+     * @param wrap {@code true} if the first and last column are neighbors.
+     * @return The right neighbors of the word.
+     */
+    static long east(long[] row, int i, int lastBit, boolean wrap) {
+        if (row == null) return 0;
+        if (i < row.length - 1) {
+            return (row[i] >>> 1) | (row[i + 1] << 63);
+        }
+        long carry = wrap ? row[0] & 1 : 0;
+        return (row[i] >>> 1) | (carry << lastBit);
+    }
+}
@@ -0,0 +1,780 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.BoundingBox;
+import model.Size;
+import rules.RuleSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bit-packed implementation of Board whose two generations live in a memory mapped file rather than on the heap.
+ *
+ * Rows are packed like in {@link BitBoard}, and laid out one after the other in a temporary file holding both
+ * generations, so the size of the board is limited by disk space rather than by the heap. Generations are computed a
+ * band of rows at a time, streaming three rows at a time through the heap, so the operating system can page each band
+ * in and out as it goes.
+ *
+ * The board is meant for large, fixed-size tori. It can be made dynamic, but every time it grows, the current
+ * generation is copied into a new file. The file is deleted when the board is closed, or when the JVM exits.
+ */
+public class MappedBoard implements Board, AutoCloseable {
+    /**
+     * Greatest number of bytes mapped by a single buffer.
+     */
+    private static final int MAP_SIZE = 1 << 30;
+
+    /**
+     * Flags for live cells along each edge of the board, gathered while stepping a dynamic board.
+     */
+    private static final int EDGE_TOP = 1;
+    private static final int EDGE_RIGHT = 2;
+    private static final int EDGE_BOTTOM = 4;
+    private static final int EDGE_LEFT = 8;
+
+    /**
+     * Directory the backing files are created in.
+     */
+    private final Path directory;
+
+    /**
+     * Backing file holding both generations.
+     */
+    private Storage storage;
+
+    /**
+     * Generation of {@link #storage} that is the current one, 0 or 1.
+     */
+    private int thisGen;
+
+    /**
+     * Number of columns on the board.
+     */
+    private int sizeX;
+
+    /**
+     * Number of rows on the board.
+     */
+    private int sizeY;
+
+    /**
+     * Current rule set being used to evaluate cell states each generation.
+     */
+    private RuleSet ruleSet;
+
+    /**
+     * Kernel evaluating the current rule set.
+     */
+    private LifeKernel kernel;
+
+    /**
+     * Scheduler splitting generations between threads, or {@code null} to use the shared one.
+     */
+    private GenerationScheduler scheduler;
+
+    /**
+     * {@code true} if this {@code Board} is dynamic, {@code false} otherwise.
+     */
+    private boolean dynamic;
+
+    /**
+     * {@code true} is multi threading is enabled, false otherwise.
+     */
+    private boolean multithreadingEnabled;
+
+    /**
+     * Number of alive cells in this generation.
+     */
+    private long population = 0;
+
+    /**
+     * Number of generations since this board's creation.
+     */
+    private int genCount = 0;
+
+    /**
+     * Number of alive cells counted by the bands of the generation being computed.
+     */
+    private final AtomicLong bandPopulation = new AtomicLong();
+
+    /**
+     * Edges with alive cells found by the bands of the generation being computed.
+     */
+    private final AtomicInteger bandEdges = new AtomicInteger();
+
+    /**
+     * Constructor.
+     * Creates the backing file in the default temporary-file directory.
+     * @param sizeX Number of columns.
+     * @param sizeY Number of rows.
+     */
+    public MappedBoard(int sizeX, int sizeY) {
+        this(sizeX, sizeY, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Constructor.
+     * @param sizeX Number of columns.
+     * @param sizeY Number of rows.
+     * @param directory Directory to create the backing file in, which should have room for two bits per cell.
+     */
+    public MappedBoard(int sizeX, int sizeY, Path directory) {
+        if (sizeX < 0 || sizeY < 0) {
+            throw new IllegalArgumentException("Illegal board size: " + sizeX + "x" + sizeY);
+        }
+        this.directory = directory;
+        setRuleSet(rules.RulesCollection.getByName("Conway"));
+        this.storage = new Storage(directory, BitBoard.wordsFor(sizeX), sizeY);
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+    }
+
+    /**
+     * Keeps the rows of both generations in a temporary file, mapped into memory in chunks of whole rows.
+     */
+    private static final class Storage {
+        private final FileChannel channel;
+
+        /**
+         * Number of words in each row.
+         */
+        private final int words;
+
+        /**
+         * Number of rows in each chunk.
+         */
+        private final int chunkRows;
+
+        /**
+         * Chunks of each generation, indexed by generation and then by chunk.
+         */
+        private final LongBuffer[][] chunks = new LongBuffer[2][];
+
+        Storage(Path directory, int words, int sizeY) {
+            this.words = words;
+            this.chunkRows = words == 0 ? Math.max(1, sizeY) : MAP_SIZE / (words * 8);
+            long genBytes = (long) words * 8 * sizeY;
+            try {
+                Path file = Files.createTempFile(directory, "board", ".map");
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+                if (genBytes > 0) {
+                    // Writing the last byte sizes the file without writing the rest, which reads back as zeroes.
+                    channel.write(ByteBuffer.allocate(1), 2 * genBytes - 1);
+                }
+                int count = (int) (((long) sizeY + chunkRows - 1) / chunkRows);
+                for (int gen = 0; gen < 2; gen++) {
+                    chunks[gen] = new LongBuffer[count];
+                    for (int c = 0; c < count; c++) {
+                        long rows = Math.min(chunkRows, sizeY - (long) c * chunkRows);
+                        long position = gen * genBytes + (long) c * chunkRows * words * 8;
+                        chunks[gen][c] = channel.map(FileChannel.MapMode.READ_WRITE, position, rows * words * 8)
+                                .order(ByteOrder.nativeOrder()).asLongBuffer();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not create board file in " + directory, e);
+            }
+        }
+
+        /**
+         * @param gen Generation to read from.
+         * @param y Row to read.
+         * @param dst Array to copy the row's words into.
+         */
+        void read(int gen, int y, long[] dst) {
+            LongBuffer chunk = chunks[gen][y / chunkRows].duplicate();
+            chunk.position((y % chunkRows) * words);
+            chunk.get(dst, 0, words);
+        }
+
+        /**
+         * @param gen Generation to write to.
+         * @param y Row to write.
+         * @param src Array to copy the row's words from.
+         */
+        void write(int gen, int y, long[] src) {
+            LongBuffer chunk = chunks[gen][y / chunkRows].duplicate();
+            chunk.position((y % chunkRows) * words);
+            chunk.put(src, 0, words);
+        }
+
+        /**
+         * @param gen Generation to read from.
+         * @param y Row of the word.
+         * @param i Index of the word in the row.
+         * @return The word.
+         */
+        long get(int gen, int y, int i) {
+            return chunks[gen][y / chunkRows].get((y % chunkRows) * words + i);
+        }
+
+        /**
+         * @param gen Generation to write to.
+         * @param y Row of the word.
+         * @param i Index of the word in the row.
+         * @param word New value of the word.
+         */
+        void put(int gen, int y, int i, long word) {
+            chunks[gen][y / chunkRows].put((y % chunkRows) * words + i, word);
+        }
+
+        /**
+         * Closes and deletes the file. The mapped chunks are released once they are garbage collected.
+         */
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The file is scratch space, so failing to delete it is not worth failing over.
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes the backing file. The board must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    /**
+     * @param gen Generation to count alive cells in.
+     * @return Number of set bits in the passed generation.
+     */
+    private long countAlive(int gen) {
+        long[] row = new long[storage.words];
+        long count = 0;
+        for (int y = 0; y < sizeY; y++) {
+            storage.read(gen, y, row);
+            for (long word : row) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * nextGeneration with multi-threading enabled. Splits the board into bands of rows, which are computed on the
+     * board's {@link GenerationScheduler}. Each row of thisGen is written by a single band.
+     */
+    @Override
+    public void nextGenerationConcurrent() {
+        genCount++;
+        thisGen ^= 1;
+        bandPopulation.set(0);
+        bandEdges.set(0);
+        getScheduler().run(sizeY, this::stepRows);
+        population = bandPopulation.get();
+
+        if (dynamic) {
+            grow(bandEdges.get());
+        }
+    }
+
+    /**
+     * Computes the next generation of every row of the previous generation with the word-parallel kernel, writing the
+     * result to thisGen.
+     */
+    @Override
+    public void nextGeneration() {
+        genCount++;
+        thisGen ^= 1;
+        bandPopulation.set(0);
+        bandEdges.set(0);
+        stepRows(0, sizeY);
+        population = bandPopulation.get();
+
+        if (dynamic) {
+            grow(bandEdges.get());
+        }
+    }
+
+    /**
+     * Computes the next generation of a band of rows of the previous generation, writing the result to thisGen. Only
+     * the rows around the row being computed are held on the heap.
+     * @param fromY First row of the band.
+     * @param toY Row after the last row of the band.
+     * @return Always 0, as the alive cells are counted in {@link #bandPopulation} to avoid overflowing.
+     */
+    private int stepRows(int fromY, int toY) {
+        int prevGen = thisGen ^ 1;
+        int words = storage.words;
+        long[] above = new long[words];
+        long[] row = new long[words];
+        long[] below = new long[words];
+        long[] out = new long[words];
+        boolean hasAbove = readRowAt(prevGen, fromY - 1, above);
+        if (toY > fromY) storage.read(prevGen, fromY, row);
+
+        long count = 0;
+        int edges = 0;
+        int lastBit = (sizeX - 1) & 63;
+        for (int y = fromY; y < toY; y++) {
+            boolean hasBelow = readRowAt(prevGen, y + 1, below);
+            count += kernel.stepRow(hasAbove ? above : null, row, hasBelow ? below : null, out, sizeX, !dynamic);
+            storage.write(thisGen, y, out);
+
+            if (dynamic && words > 0) {
+                long any = 0;
+                for (long word : out) {
+                    any |= word;
+                }
+                if (any != 0) {
+                    if (y == 0) edges |= EDGE_TOP;
+                    if (y == sizeY - 1) edges |= EDGE_BOTTOM;
+                    if ((out[0] & 1) != 0) edges |= EDGE_LEFT;
+                    if ((out[words - 1] >>> lastBit & 1) != 0) edges |= EDGE_RIGHT;
+                }
+            }
+
+            long[] temp = above;
+            above = row;
+            row = below;
+            below = temp;
+            hasAbove = true;
+        }
+
+        bandPopulation.addAndGet(count);
+        if (edges != 0) {
+            bandEdges.accumulateAndGet(edges, (a, b) -> a | b);
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the row at the passed Y-coordinate, wrapping around the edges if the board is not dynamic.
+     * @param gen Generation to read from.
+     * @param y Y-coordinate of the row.
+     * @param dst Array to copy the row into.
+     * @return {@code false} if the row is outside a dynamic board, leaving {@code dst} as it was.
+     */
+    private boolean readRowAt(int gen, int y, long[] dst) {
+        if (y < 0 || y >= sizeY) {
+            if (dynamic || sizeY == 0) return false;
+            y = y < 0 ? y + sizeY : y - sizeY;
+        }
+        storage.read(gen, y, dst);
+        return true;
+    }
+
+    /**
+     * @return The scheduler generations are split between threads on, or the shared one if none has been set.
+     */
+    public GenerationScheduler getScheduler() {
+        return scheduler == null ? GenerationScheduler.shared() : scheduler;
+    }
+
+    /**
+     * @param scheduler Scheduler to split generations between threads on.
+     */
+    @Override
+    public void setScheduler(GenerationScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Moves the current generation into a new backing file of the passed size. The previous generation is not kept,
+     * as the next generation overwrites it anyway.
+     * @param newSizeX New number of columns.
+     * @param newSizeY New number of rows.
+     * @param offsetX Number of empty columns to insert left of the existing columns, 0 or 1.
+     * @param offsetY Number of empty rows to insert above the existing rows.
+     */
+    private void resize(int newSizeX, int newSizeY, int offsetX, int offsetY) {
+        Storage resized = new Storage(directory, BitBoard.wordsFor(newSizeX), newSizeY);
+        long[] row = new long[Math.max(storage.words, resized.words)];
+        for (int y = 0; y < sizeY; y++) {
+            Arrays.fill(row, 0L);
+            storage.read(thisGen, y, row);
+            if (offsetX != 0) {
+                LifeKernel.shiftRight(row);
+            }
+            resized.write(thisGen, y + offsetY, row);
+        }
+        storage.close();
+        storage = resized;
+        sizeX = newSizeX;
+        sizeY = newSizeY;
+    }
+
+    /**
+     * Inserts a pattern in the middle of the board, growing the board first if it is too small.
+     * @param pattern Pattern to insert.
+     */
+    @Override
+    public void insertPattern(byte[][] pattern) {
+        long[][] rows = new long[pattern.length][];
+        for (int y = 0; y < pattern.length; y++) {
+            rows[y] = new long[BitBoard.wordsFor(pattern[y].length)];
+            for (int x = 0; x < pattern[y].length; x++) {
+                if (pattern[y][x] == 1) rows[y][x >>> 6] |= 1L << x;
+            }
+        }
+        insertPattern(pattern[0].length, rows);
+    }
+
+    /**
+     * Inserts a pattern of packed rows in the middle of the board, copying a word at a time into both generations.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows Rows of the pattern, as described by {@link Board#insertPattern(int, long[][])}.
+     */
+    @Override
+    public void insertPattern(int sizeX, long[][] rows) {
+        if (rows.length > this.sizeY || sizeX > this.sizeX) {
+            int newSizeX = this.sizeX;
+            int newSizeY = this.sizeY;
+            while (rows.length > newSizeY) {
+                newSizeY = Math.max(1, newSizeY * 2);
+            }
+            while (sizeX > newSizeX) {
+                newSizeX = Math.max(1, newSizeX * 2);
+            }
+            resize(newSizeX, newSizeY, 0, 0);
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (this.sizeY / 2) - (rows.length / 2);
+        int originCol = (this.sizeX / 2) - (sizeX / 2);
+
+        long[] thisRow = new long[storage.words];
+        for (int y = 0; y < rows.length; y++) {
+            storage.read(thisGen, originRow + y, thisRow);
+            LifeKernel.copyBits(rows[y], thisRow, originCol, sizeX);
+            storage.write(thisGen, originRow + y, thisRow);
+            storage.write(thisGen ^ 1, originRow + y, thisRow);
+        }
+        population = countAlive(thisGen);
+        if (dynamic) {
+            grow(findEdges());
+        }
+    }
+
+    /**
+     * Clears all drawn cells from the board.
+     */
+    @Override
+    public void clearBoard() {
+        long[] empty = new long[storage.words];
+        for (int y = 0; y < sizeY; y++) {
+            storage.write(thisGen, y, empty);
+        }
+        genCount = 0;
+        population = 0;
+    }
+
+    /**
+     * @return The edges of the board with alive cells in this generation, as {@code EDGE_} flags.
+     */
+    private int findEdges() {
+        if (sizeX == 0 || sizeY == 0) return 0;
+        int lastWord = storage.words - 1;
+        int lastBit = (sizeX - 1) & 63;
+        int edges = 0;
+        long[] row = new long[storage.words];
+        for (int y = 0; y < sizeY; y++) {
+            if ((storage.get(thisGen, y, 0) & 1) != 0) edges |= EDGE_LEFT;
+            if ((storage.get(thisGen, y, lastWord) >>> lastBit & 1) != 0) edges |= EDGE_RIGHT;
+        }
+        storage.read(thisGen, 0, row);
+        if (!LifeKernel.isEmpty(row)) edges |= EDGE_TOP;
+        storage.read(thisGen, sizeY - 1, row);
+        if (!LifeKernel.isEmpty(row)) edges |= EDGE_BOTTOM;
+        return edges;
+    }
+
+    /**
+     * Grows the board by a row or column on each edge with alive cells, copying the board into a new file once.
+     * @param edges Edges with alive cells, as {@code EDGE_} flags.
+     */
+    private void grow(int edges) {
+        if (edges == 0) return;
+        int top = (edges & EDGE_TOP) != 0 ? 1 : 0;
+        int right = (edges & EDGE_RIGHT) != 0 ? 1 : 0;
+        int bottom = (edges & EDGE_BOTTOM) != 0 ? 1 : 0;
+        int left = (edges & EDGE_LEFT) != 0 ? 1 : 0;
+        resize(sizeX + left + right, sizeY + top + bottom, left, top);
+        callPostResizeListeners(new Size(getSizeY(), getSizeX(), top, right, bottom, left));
+    }
+
+    /**
+     * Adds an empty row to the bottom of the board.
+     */
+    @Override
+    public void addRowBottom() {
+        resize(sizeX, sizeY + 1, 0, 0);
+    }
+
+    /**
+     * Adds an empty row to the top of the board.
+     */
+    @Override
+    public void addRowTop() {
+        resize(sizeX, sizeY + 1, 0, 1);
+    }
+
+    /**
+     * Adds an empty column to the right of the board.
+     */
+    @Override
+    public void addColRight() {
+        resize(sizeX + 1, sizeY, 0, 0);
+    }
+
+    /**
+     * Adds an empty column to the left of the board.
+     */
+    @Override
+    public void addColLeft() {
+        resize(sizeX + 1, sizeY, 1, 0);
+    }
+
+    /**
+     * @return The current generation as a single line {@code String} of 0s and 1s.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(sizeX * sizeY);
+        for (int y = 0; y < sizeY; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                sb.append(getCellAlive(y, x) ? "1" : "0");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates and returns a "trimmed" board, only within the {@code BoundingBox}. The trimmed board is a
+     * {@link BitBoard}, so the pattern has to fit on the heap.
+     * @return A new {@code Board} containing only the cells within this {@code Board}'s {@code BoundingBox}.
+     */
+    @Override
+    public Board patternToBoard() {
+        BoundingBox bb = getBoundingBox();
+        Board patternBoard = new BitBoard(bb.getSizeX(), bb.getSizeY());
+
+        long[] row = new long[storage.words];
+        for (int y = bb.getFirstRow(); y <= bb.getLastRow(); y++) {
+            storage.read(thisGen, y, row);
+            for (int x = bb.getFirstCol(); x <= bb.getLastCol(); x++) {
+                if (LifeKernel.bit(row, x)) {
+                    patternBoard.setCellAlive(y - bb.getFirstRow(), x - bb.getFirstCol(), true);
+                }
+            }
+        }
+        return patternBoard;
+    }
+
+    /**
+     * Creates a bounding box within which the current generation is of interest (boundary of alive cells).
+     * @return The BoundingBox representing the area of interest.
+     */
+    private BoundingBox getBoundingBox() {
+        BoundingBox bb = new BoundingBox(sizeY, sizeX, 0, 0);
+        long[] row = new long[storage.words];
+        for (int y = 0; y < sizeY; y++) {
+            storage.read(thisGen, y, row);
+            LifeKernel.addToBounds(row, y, bb);
+        }
+        return bb;
+    }
+
+    /**
+     * List of listeners to be called after the board resizes.
+     */
+    private List<Consumer<Size>> postResizeListeners = new ArrayList<>();
+
+    /**
+     * Adds the passed {@code Consumer} to the list of post resize listeners.
+     * @param runner Runner to add to list of listeners.
+     */
+    @Override
+    public void addPostResizeListener(Consumer<Size> runner) {
+        postResizeListeners.add(runner);
+    }
+
+    /**
+     * Calls all registered post resize listeners with the passed {@code Size} object.
+     * @param size Size object to pass to each listener.
+     */
+    private void callPostResizeListeners(Size size) {
+        for (Consumer<Size> runner : postResizeListeners) {
+            runner.accept(size);
+        }
+    }
+
+    /**
+     * Setter method for the active board rules.
+     * @param ruleSet The requested rule set.
+     */
+    @Override
+    public void setRuleSet(RuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+        this.kernel = new LifeKernel(ruleSet);
+    }
+
+    /**
+     * Getter method for the active board rules.
+     * @return The current rule set.
+     */
+    @Override
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Returns the number of columns on the board.
+     * @return The number of columns.
+     */
+    @Override
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the number of rows on the board.
+     * @return The number of rows.
+     */
+    @Override
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns a live view of the current generation. Cells are created on access and write through to the file, so
+     * this should only be used by callers that have no other way of reading the board.
+     * @return A view of the current generation.
+     */
+    @Override
+    public List<List<Cell>> getThisGen() {
+        return new BoardView(this);
+    }
+
+    /**
+     * @return True if this {@code Board} is currently dynamic.
+     */
+    @Override
+    public boolean getDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @param dynamic New dynamic status for this {@code Board}.
+     */
+    @Override
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * @return True if multithreading is enable, false otherwise.
+     */
+    @Override
+    public boolean getMultithreading() {
+        return multithreadingEnabled;
+    }
+
+    /**
+     * @param multithreadingEnabled Sets multithreading status.
+     */
+    @Override
+    public void setMultithreading(boolean multithreadingEnabled) {
+        this.multithreadingEnabled = multithreadingEnabled;
+    }
+
+    /**
+     * Sets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to set.
+     * @param x X-coordinate of the cell to set.
+     * @param alive New status of the cell.
+     */
+    @Override
+    public void setCellAlive(int y, int x, boolean alive) {
+        if (x < 0 || x >= sizeX) throw new IndexOutOfBoundsException("Column: " + x);
+        if (y < 0 || y >= sizeY) throw new IndexOutOfBoundsException("Row: " + y);
+        long word = storage.get(thisGen, y, x >>> 6);
+        boolean wasAlive = (word & (1L << x)) != 0;
+        if (alive && !wasAlive) {
+            storage.put(thisGen, y, x >>> 6, word | (1L << x));
+            population++;
+        } else if (!alive && wasAlive) {
+            storage.put(thisGen, y, x >>> 6, word & ~(1L << x));
+            population--;
+        }
+    }
+
+    /**
+     * Copies a row of the board into the passed array as packed bits.
+     * @param y Row to copy.
+     * @param dst Array to copy the row into.
+     */
+    @Override
+    public void readRow(int y, long[] dst) {
+        storage.read(thisGen, y, dst);
+    }
+
+    /**
+     * Gets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to get.
+     * @param x X-coordinate of the cell to get.
+     */
+    @Override
+    public boolean getCellAlive(int y, int x) {
+        if (x < 0 || x >= sizeX) throw new IndexOutOfBoundsException("Column: " + x);
+        if (y < 0 || y >= sizeY) throw new IndexOutOfBoundsException("Row: " + y);
+        return (storage.get(thisGen, y, x >>> 6) & (1L << x)) != 0;
+    }
+
+    /**
+     * @return The number of generation advanced since clearing this board.
+     */
+    @Override
+    public int getGenCount() {
+        return genCount;
+    }
+
+    /**
+     * Sets the number of generations advanced, as when restoring a saved board.
+     * @param genCount Number of generations.
+     */
+    @Override
+    public void setGenCount(int genCount) {
+        this.genCount = genCount;
+    }
+
+    /**
+     * @return The number of alive cells in this generation, capped at {@code Integer.MAX_VALUE}.
+     */
+    @Override
+    public int getAliveCount() {
+        return (int) Math.min(Integer.MAX_VALUE, population);
+    }
+
+    /**
+     * @return The number of alive cells in this generation.
+     */
+    public long getPopulation() {
+        return population;
+    }
+}
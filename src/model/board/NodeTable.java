@@ -0,0 +1,107 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * Growable {@link QuadTree} backed by primitive arrays. Nodes are added bottom-up, and are not deduplicated, so a
+ * table holds exactly the nodes it was given.
+ */
+public final class NodeTable implements QuadTree {
+    /**
+     * Level of each node, indexed by node. Index 0 is unused.
+     */
+    private int[] levels = new int[16];
+
+    /**
+     * Four children of each node above leaf level, or the leaf's cells for leaves, indexed by node.
+     */
+    private long[] contents = new long[16 * 2];
+
+    /**
+     * Number of nodes added.
+     */
+    private int count;
+
+    /**
+     * Root node.
+     */
+    private int root;
+
+    /**
+     * @param cells Cells of the leaf, laid out as described by {@link #getLeaf(int)}.
+     * @return Number of the added leaf.
+     */
+    public int addLeaf(long cells) {
+        int node = add(LEAF_LEVEL);
+        contents[node * 2] = cells;
+        return node;
+    }
+
+    /**
+     * @param level Level of the node, above leaf level.
+     * @param nw North-west quadrant.
+     * @param ne North-east quadrant.
+     * @param sw South-west quadrant.
+     * @param se South-east quadrant.
+     * @return Number of the added node.
+     */
+    public int addNode(int level, int nw, int ne, int sw, int se) {
+        int node = add(level);
+        contents[node * 2] = ((long) nw << 32) | (ne & 0xFFFFFFFFL);
+        contents[node * 2 + 1] = ((long) sw << 32) | (se & 0xFFFFFFFFL);
+        return node;
+    }
+
+    /**
+     * @param level Level of the node to add.
+     * @return Number of the added node.
+     */
+    private int add(int level) {
+        int node = ++count;
+        if (node == levels.length) {
+            levels = Arrays.copyOf(levels, node * 2);
+            contents = Arrays.copyOf(contents, node * 4);
+        }
+        levels[node] = level;
+        return node;
+    }
+
+    /**
+     * @param root The root node, or 0 if the tree is empty.
+     */
+    public void setRoot(int root) {
+        this.root = root;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return count;
+    }
+
+    @Override
+    public int getRoot() {
+        return root;
+    }
+
+    @Override
+    public int getLevel(int node) {
+        return levels[node];
+    }
+
+    @Override
+    public int getChild(int node, int quadrant) {
+        long pair = contents[node * 2 + (quadrant >>> 1)];
+        return (quadrant & 1) == 0 ? (int) (pair >>> 32) : (int) pair;
+    }
+
+    @Override
+    public long getLeaf(int node) {
+        return contents[node * 2];
+    }
+}
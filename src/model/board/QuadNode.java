@@ -0,0 +1,153 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+/**
+ * An immutable square of cells, {@code 2^level} cells wide, represented as four quadrants of half the width.
+ * Level 0 nodes are single cells and have no quadrants.
+ *
+ * Nodes are canonical within the {@link HashLifeEngine} that created them: two nodes from the same engine represent
+ * the same square of cells if and only if they are the same object. This allows identical regions of the plane to be
+ * shared, and the result of advancing a node to be memoized on the node itself.
+ */
+public final class QuadNode {
+    /**
+     * Size of this node, as the base-2 logarithm of its width.
+     */
+    final int level;
+
+    /**
+     * North-west quadrant.
+     */
+    final QuadNode nw;
+
+    /**
+     * North-east quadrant.
+     */
+    final QuadNode ne;
+
+    /**
+     * South-west quadrant.
+     */
+    final QuadNode sw;
+
+    /**
+     * South-east quadrant.
+     */
+    final QuadNode se;
+
+    /**
+     * Number of alive cells within this node.
+     */
+    final long population;
+
+    /**
+     * Hash of the quadrants' hashes, used by the canonical node table.
+     */
+    final int hash;
+
+    /**
+     * Next node in the same bucket of the canonical node table.
+     */
+    QuadNode next;
+
+    /**
+     * Memoized center of this node advanced by {@code 2^resultStep} generations, or {@code null}.
+     */
+    QuadNode result;
+
+    /**
+     * Base-2 logarithm of the number of generations {@code result} was advanced by.
+     */
+    int resultStep;
+
+    /**
+     * Mark used while collecting garbage.
+     */
+    int mark;
+
+    /**
+     * Constructor for single cells.
+     * @param alive {@code true} for an alive cell, {@code false} for a dead cell.
+     */
+    QuadNode(boolean alive) {
+        this.level = 0;
+        this.nw = null;
+        this.ne = null;
+        this.sw = null;
+        this.se = null;
+        this.population = alive ? 1 : 0;
+        this.hash = alive ? 1 : 0;
+    }
+
+    /**
+     * Constructor for nodes made up of four quadrants.
+     * @param nw North-west quadrant.
+     * @param ne North-east quadrant.
+     * @param sw South-west quadrant.
+     * @param se South-east quadrant.
+     * @param hash Hash of the four quadrants.
+     */
+    QuadNode(QuadNode nw, QuadNode ne, QuadNode sw, QuadNode se, int hash) {
+        this.level = nw.level + 1;
+        this.nw = nw;
+        this.ne = ne;
+        this.sw = sw;
+        this.se = se;
+        this.population = nw.population + ne.population + sw.population + se.population;
+        this.hash = hash;
+    }
+
+    /**
+     * @return Base-2 logarithm of the width of this node.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return North-west quadrant, or {@code null} for single cells.
+     */
+    public QuadNode getNw() {
+        return nw;
+    }
+
+    /**
+     * @return North-east quadrant, or {@code null} for single cells.
+     */
+    public QuadNode getNe() {
+        return ne;
+    }
+
+    /**
+     * @return South-west quadrant, or {@code null} for single cells.
+     */
+    public QuadNode getSw() {
+        return sw;
+    }
+
+    /**
+     * @return South-east quadrant, or {@code null} for single cells.
+     */
+    public QuadNode getSe() {
+        return se;
+    }
+
+    /**
+     * @return Number of alive cells within this node.
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return {@code true} if this node contains only dead cells.
+     */
+    public boolean isEmpty() {
+        return population == 0;
+    }
+}
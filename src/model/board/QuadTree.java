@@ -0,0 +1,52 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+/**
+ * A quadtree as a table of numbered nodes, for moving patterns in and out of a {@link HashLifeBoard} without expanding
+ * them into a grid of cells.
+ *
+ * Nodes are numbered from 1, and node 0 stands for an empty node of any level. Every node is numbered after its
+ * children, so that a table can be built, and read, in a single pass from the first node to the last. The smallest
+ * nodes are {@value #LEAF_LEVEL}-level leaves of 8 by 8 cells, stored as the 64 bits of a {@code long}.
+ */
+public interface QuadTree {
+    /**
+     * Level of leaf nodes, which are 8 cells wide.
+     */
+    int LEAF_LEVEL = 3;
+
+    /**
+     * @return Number of nodes in the table, not counting the empty node 0.
+     */
+    int getNodeCount();
+
+    /**
+     * @return The root node, or 0 if the tree is empty.
+     */
+    int getRoot();
+
+    /**
+     * @param node A node, from 1 to {@link #getNodeCount()}.
+     * @return Base-2 logarithm of the width of the node, at least {@value #LEAF_LEVEL}.
+     */
+    int getLevel(int node);
+
+    /**
+     * @param node A node above leaf level.
+     * @param quadrant 0 for north-west, 1 for north-east, 2 for south-west and 3 for south-east.
+     * @return The quadrant's node, numbered below {@code node}, or 0 if the quadrant is empty.
+     */
+    int getChild(int node, int quadrant);
+
+    /**
+     * @param node A leaf node.
+     * @return The cells of the leaf, with row {@code y} in bits {@code 8y} to {@code 8y + 7}, and column {@code x} of
+     * a row in bit {@code x} of them.
+     */
+    long getLeaf(int node);
+}
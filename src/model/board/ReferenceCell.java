@@ -8,7 +8,7 @@ import model.state.State;
  * Benched at 351385KB on Turing Machine.
  */
 @Deprecated
-class ReferenceCell implements Cell {
+public class ReferenceCell implements Cell {
 
     private State state;
 
@@ -0,0 +1,300 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Steps a board on a thread of its own, at a target rate or as fast as it can, and publishes {@link BoardSnapshot}s
+ * of it for a view to draw.
+ *
+ * The board belongs to the service's thread once the service is created. Every change to it, from an edit to a new
+ * rule set, is passed in as a command with {@link #submit(Consumer)}, and is run between two generations. The view
+ * polls for the latest snapshot with {@link #takeSnapshot()}, so it only ever draws the latest completed generation,
+ * and neither waits for the other. A new snapshot is only taken once the view has taken the previous one, so a board
+ * stepping faster than the view draws does not spend its time copying rows nobody sees.
+ *
+ * In turbo mode, the board is stepped flat out in batches of generations, each sized to fit a frame's time budget
+ * from the measured time per generation, and passed to {@link Board#step(long)} in one go. Only the last generation
+ * of a batch is published, and commands wait for at most a batch.
+ */
+public final class SimulationService {
+    /**
+     * Longest time the thread waits before publishing a snapshot it skipped, while the view has not taken the last one.
+     */
+    private static final long REPUBLISH_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Most generations stepped in one batch in turbo mode, for boards that skip ahead faster than they step.
+     */
+    private static final long MAX_BATCH = 1 << 20;
+
+    /**
+     * Weight of the latest batch in the average time per generation, in turbo mode.
+     */
+    private static final double LATENCY_WEIGHT = 0.25;
+
+    /**
+     * The board being stepped. Only touched by the service's thread.
+     */
+    private final Board board;
+
+    /**
+     * Commands waiting to be run on the service's thread.
+     */
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+
+    /**
+     * Latest snapshot the view has not taken yet, or {@code null}.
+     */
+    private final AtomicReference<BoardSnapshot> published = new AtomicReference<>();
+
+    /**
+     * Source of the current time, in nanoseconds, that generations are timed by.
+     */
+    private final LongSupplier clock;
+
+    private final Thread thread;
+
+    /**
+     * Latest snapshot taken. Only touched by the service's thread.
+     */
+    private BoardSnapshot last;
+
+    /**
+     * {@code true} if the board changed since the last snapshot was taken. Only touched by the service's thread.
+     */
+    private boolean unpublished;
+
+    /**
+     * {@code true} while the board is being stepped. Only touched by the service's thread.
+     */
+    private boolean running;
+
+    /**
+     * Time between two generations, in nanoseconds, or 0 to step as fast as possible. Only touched by the service's
+     * thread.
+     */
+    private long interval;
+
+    /**
+     * Time the next generation is due, from the clock. Only touched by the service's thread.
+     */
+    private long due;
+
+    /**
+     * Time budget of a batch of generations in turbo mode, in nanoseconds, or 0 if turbo mode is off. Only touched by
+     * the service's thread.
+     */
+    private long frameBudget;
+
+    /**
+     * Average time per generation of the latest batches, in nanoseconds, or 0 before the first batch. Only touched by
+     * the service's thread.
+     */
+    private double nanosPerGeneration;
+
+    /**
+     * Number of generations stepped per batch.
+     */
+    private volatile long batch = 1;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor.
+     * Starts the service's thread, with the board paused, and publishes a first snapshot.
+     * @param board The board to step, which must no longer be used by any other thread.
+     */
+    public SimulationService(Board board) {
+        this(board, System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     * Starts the service's thread, with the board paused, and publishes a first snapshot.
+     * @param board The board to step, which must no longer be used by any other thread.
+     * @param clock Source of the current time, in nanoseconds, that generations are timed by.
+     */
+    SimulationService(Board board, LongSupplier clock) {
+        this.board = board;
+        this.clock = clock;
+        this.unpublished = true;
+        this.thread = new Thread(this::loop, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs a command against the board on the service's thread, between two generations, and publishes a snapshot of
+     * the board right after it.
+     * @param command Command to run against the board.
+     * @return Future completing with the snapshot taken after the command, or exceptionally with what the command
+     * threw.
+     */
+    public CompletableFuture<BoardSnapshot> submit(Consumer<Board> command) {
+        CompletableFuture<BoardSnapshot> future = new CompletableFuture<>();
+        commands.add(() -> {
+            try {
+                command.accept(board);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            } finally {
+                unpublished = true;
+            }
+            future.complete(publish());
+        });
+        return future;
+    }
+
+    /**
+     * Starts stepping the board.
+     */
+    public void start() {
+        commands.add(() -> {
+            running = true;
+            due = clock.getAsLong();
+        });
+    }
+
+    /**
+     * Stops stepping the board, after the generation being computed.
+     */
+    public void stop() {
+        commands.add(() -> running = false);
+    }
+
+    /**
+     * @param interval Time between two generations, in nanoseconds, or 0 to step the board as fast as possible.
+     */
+    public void setInterval(long interval) {
+        commands.add(() -> {
+            due += Math.max(0, interval) - this.interval;
+            this.interval = Math.max(0, interval);
+        });
+    }
+
+    /**
+     * Turns turbo mode on or off. In turbo mode the interval is ignored.
+     * @param frameBudget Time to spend stepping the board per published snapshot, in nanoseconds, or 0 to turn turbo
+     *                    mode off and step one generation at a time.
+     */
+    public void setTurbo(long frameBudget) {
+        commands.add(() -> {
+            this.frameBudget = Math.max(0, frameBudget);
+            nanosPerGeneration = 0;
+            batch = 1;
+        });
+    }
+
+    /**
+     * @return Number of generations stepped per batch in turbo mode, or 1 if turbo mode is off.
+     */
+    public long getGenerationsPerFrame() {
+        return batch;
+    }
+
+    /**
+     * @return The latest snapshot of the board not yet taken, or {@code null} if there is none.
+     */
+    public BoardSnapshot takeSnapshot() {
+        return published.getAndSet(null);
+    }
+
+    /**
+     * Stops the service's thread, after the command or generation being run.
+     */
+    public void shutdown() {
+        shutdown = true;
+        thread.interrupt();
+    }
+
+    /**
+     * Runs commands and steps the board until shut down.
+     */
+    private void loop() {
+        try {
+            while (!shutdown) {
+                Runnable command = commands.poll(timeout(), TimeUnit.NANOSECONDS);
+                if (command != null) {
+                    command.run();
+                    continue;
+                }
+                if (running && clock.getAsLong() - due >= 0) {
+                    long generations = batch;
+                    long start = clock.getAsLong();
+                    board.step(generations);
+                    long now = clock.getAsLong();
+                    unpublished = true;
+                    if (frameBudget > 0) {
+                        adaptBatch(generations, now - start);
+                        due = now;
+                    } else {
+                        // Falling behind the interval does not make the board catch up with a burst of generations.
+                        due = Math.max(due + interval, now - interval);
+                    }
+                }
+                if (unpublished && published.get() == null) {
+                    publish();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sizes the next batch of turbo mode to fit the frame budget. The average time per generation follows slow
+     * batches at once, and fast batches gradually, and a batch at most doubles from one batch to the next, so that a
+     * board slowing down does not overrun the budget for long.
+     * @param generations Number of generations in the batch just stepped.
+     * @param elapsed Time the batch took, in nanoseconds.
+     */
+    private void adaptBatch(long generations, long elapsed) {
+        double latest = (double) Math.max(1, elapsed) / generations;
+        if (nanosPerGeneration == 0 || latest > nanosPerGeneration) {
+            nanosPerGeneration = latest;
+        } else {
+            nanosPerGeneration += (latest - nanosPerGeneration) * LATENCY_WEIGHT;
+        }
+        long fitting = (long) (frameBudget / nanosPerGeneration);
+        batch = Math.max(1, Math.min(Math.min(fitting, generations * 2), MAX_BATCH));
+    }
+
+    /**
+     * @return Time to wait for a command before there is something else to do, in nanoseconds.
+     */
+    private long timeout() {
+        if (unpublished && published.get() == null) return 0;
+        long timeout = Long.MAX_VALUE;
+        if (running) {
+            timeout = Math.max(0, due - clock.getAsLong());
+        }
+        if (unpublished) {
+            timeout = Math.min(timeout, REPUBLISH_NANOS);
+        }
+        return timeout;
+    }
+
+    /**
+     * Takes a snapshot of the board, and publishes it in place of any snapshot the view has not taken.
+     * @return The snapshot.
+     */
+    private BoardSnapshot publish() {
+        last = BoardSnapshot.of(board, last);
+        published.set(last);
+        unpublished = false;
+        return last;
+    }
+}
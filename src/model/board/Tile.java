@@ -0,0 +1,82 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * A square of {@value #SIZE} by {@value #SIZE} cells on the plane of a {@link TiledBoard}. Each row of the tile is a
+ * single word, with column {@code x} of the tile in bit {@code x}.
+ */
+final class Tile {
+    /**
+     * Number of rows and columns in a tile.
+     */
+    static final int SIZE = 64;
+
+    /**
+     * Base-2 logarithm of {@link #SIZE}, for converting plane coordinates to tile coordinates.
+     */
+    static final int SHIFT = 6;
+
+    /**
+     * Mask extracting the coordinate within a tile from a plane coordinate.
+     */
+    static final int MASK = SIZE - 1;
+
+    /**
+     * Cells of the tile, one word per row.
+     */
+    final long[] rows = new long[SIZE];
+
+    /**
+     * Row of the tile, in tiles.
+     */
+    int tileY;
+
+    /**
+     * Column of the tile, in tiles.
+     */
+    int tileX;
+
+    /**
+     * Number of alive cells in the tile.
+     */
+    int population;
+
+    /**
+     * Moves this tile to the passed tile coordinates and kills all its cells.
+     * @param tileY Row of the tile, in tiles.
+     * @param tileX Column of the tile, in tiles.
+     * @return This tile.
+     */
+    Tile reset(int tileY, int tileX) {
+        this.tileY = tileY;
+        this.tileX = tileX;
+        this.population = 0;
+        Arrays.fill(rows, 0L);
+        return this;
+    }
+
+    /**
+     * @param tileY Row of a tile, in tiles.
+     * @param tileX Column of a tile, in tiles.
+     * @return Key of the tile in a {@link TileMap}.
+     */
+    static long key(int tileY, int tileX) {
+        return ((long) tileY << 32) | (tileX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param tile Tile to read, or {@code null}.
+     * @param y Row within the tile.
+     * @return The row, or 0 if there is no tile.
+     */
+    static long row(Tile tile, int y) {
+        return tile == null ? 0 : tile.rows[y];
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from tile coordinates to {@link Tile}s, keyed by primitive {@code long}s so that lookups
+ * do not box. Tiles are only ever added; a map is emptied as a whole with {@link #clear()}.
+ */
+final class TileMap {
+    /**
+     * Keys of the slots, valid where {@code slots} is not {@code null}.
+     */
+    private long[] keys;
+
+    /**
+     * Tiles of the slots, or {@code null} for free slots.
+     */
+    private Tile[] slots;
+
+    /**
+     * Tiles in the order they were added, for iteration.
+     */
+    private Tile[] tiles;
+
+    /**
+     * Number of tiles in the map.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    TileMap() {
+        keys = new long[16];
+        slots = new Tile[16];
+        tiles = new Tile[8];
+    }
+
+    /**
+     * @param key Key to hash.
+     * @return Mixed bits of the key, so that neighboring tiles are spread over the table.
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @param key Key of the tile, as made by {@link Tile#key(int, int)}.
+     * @return The tile, or {@code null} if there is no tile with the key.
+     */
+    Tile get(long key) {
+        int mask = slots.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Tile tile = slots[i];
+            if (tile == null) return null;
+            if (keys[i] == key) return tile;
+        }
+    }
+
+    /**
+     * @param tileY Row of the tile, in tiles.
+     * @param tileX Column of the tile, in tiles.
+     * @return The tile, or {@code null} if there is no tile at the coordinates.
+     */
+    Tile get(int tileY, int tileX) {
+        return get(Tile.key(tileY, tileX));
+    }
+
+    /**
+     * Adds a tile to the map. The map must not already hold a tile at the same coordinates.
+     * @param tile Tile to add.
+     */
+    void put(Tile tile) {
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        insert(Tile.key(tile.tileY, tile.tileX), tile);
+        if (size == tiles.length) {
+            tiles = Arrays.copyOf(tiles, size * 2);
+        }
+        tiles[size++] = tile;
+    }
+
+    /**
+     * Places a tile in the first free slot for its key.
+     * @param key Key of the tile.
+     * @param tile Tile to place.
+     */
+    private void insert(long key, Tile tile) {
+        int mask = slots.length - 1;
+        int i = hash(key) & mask;
+        while (slots[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        slots[i] = tile;
+    }
+
+    /**
+     * Moves every tile into a table with the passed number of slots.
+     * @param capacity New number of slots. Must be a power of two.
+     */
+    private void rehash(int capacity) {
+        keys = new long[capacity];
+        slots = new Tile[capacity];
+        for (int i = 0; i < size; i++) {
+            insert(Tile.key(tiles[i].tileY, tiles[i].tileX), tiles[i]);
+        }
+    }
+
+    /**
+     * @param i Index of the tile, from 0 up to {@link #size()}.
+     * @return The tile added {@code i}th to the map.
+     */
+    Tile at(int i) {
+        return tiles[i];
+    }
+
+    /**
+     * @return Number of tiles in the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every tile from the map.
+     */
+    void clear() {
+        Arrays.fill(slots, null);
+        Arrays.fill(tiles, 0, size, null);
+        size = 0;
+    }
+}
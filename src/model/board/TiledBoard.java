@@ -0,0 +1,775 @@
+/*
+ * Game of Life
+ * @author Jonas I.
+ * @author Victor B.
+ * @author Yanislav Z.
+ */
+package model.board;
+
+import model.BoundingBox;
+import model.Size;
+import rules.RuleSet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sparse implementation of Board. The plane is split into {@value Tile#SIZE} by {@value Tile#SIZE} cell tiles, and
+ * only tiles holding alive cells are stored, in a {@link TileMap} keyed by tile coordinates. Each generation only
+ * visits the stored tiles and those of their neighbors that alive cells can spread into, so the cost of a generation
+ * depends on the population of the board rather than the area it spans.
+ *
+ * Like {@link HashLifeBoard}, the tiles cover an unbounded plane, and the board's rows and columns are a window onto
+ * that plane. A board that is not dynamic does not wrap around its edges, and a dynamic board grows its window, in
+ * constant time, to keep every alive cell in view.
+ */
+public class TiledBoard implements Board {
+    /**
+     * Tiles of the current generation.
+     */
+    private TileMap thisGen = new TileMap();
+
+    /**
+     * Tiles of the next generation, while it is being computed. Swapped around with thisGen.
+     */
+    private TileMap nextGen = new TileMap();
+
+    /**
+     * Tiles no longer in use, kept for reuse.
+     */
+    private final ArrayDeque<Tile> freeTiles = new ArrayDeque<>();
+
+    /**
+     * Tiles of nextGen to compute during the current generation, in the first {@link #targetCount} entries.
+     */
+    private Tile[] targets = new Tile[16];
+
+    private int targetCount;
+
+    /**
+     * Scheduler splitting generations between threads, or {@code null} to use the shared one.
+     */
+    private GenerationScheduler scheduler;
+
+    /**
+     * Row of the plane where the board's first row lies.
+     */
+    private int windowTop;
+
+    /**
+     * Column of the plane where the board's first column lies.
+     */
+    private int windowLeft;
+
+    /**
+     * Number of columns on the board.
+     */
+    private int sizeX;
+
+    /**
+     * Number of rows on the board.
+     */
+    private int sizeY;
+
+    /**
+     * Current rule set being used to evaluate cell states each generation.
+     */
+    private RuleSet ruleSet;
+
+    /**
+     * Kernel evaluating the current rule set.
+     */
+    private LifeKernel kernel;
+
+    /**
+     * {@code true} if this {@code Board} is dynamic, {@code false} otherwise.
+     */
+    private boolean dynamic;
+
+    /**
+     * {@code true} is multi threading is enabled, false otherwise.
+     */
+    private boolean multithreadingEnabled;
+
+    /**
+     * Number of alive cells on the whole plane.
+     */
+    private int aliveCount = 0;
+
+    /**
+     * Number of generations since this board's creation.
+     */
+    private int genCount = 0;
+
+    /**
+     * Constructor.
+     * Accepts the initial sizes of the window onto the plane.
+     * @param sizeX Number of columns.
+     * @param sizeY Number of rows.
+     */
+    public TiledBoard(int sizeX, int sizeY) {
+        if (sizeX < 0 || sizeY < 0) {
+            throw new IllegalArgumentException("Illegal board size: " + sizeX + "x" + sizeY);
+        }
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        setRuleSet(rules.RulesCollection.getByName("Conway"));
+    }
+
+    /**
+     * @return Number of tiles currently stored.
+     */
+    public int getTileCount() {
+        return thisGen.size();
+    }
+
+    /**
+     * nextGeneration with multi-threading enabled. The tiles to compute are split into bands, which are computed on
+     * the board's {@link GenerationScheduler}.
+     */
+    @Override
+    public void nextGenerationConcurrent() {
+        step(true);
+    }
+
+    /**
+     * Computes the next generation of every stored tile, and of every neighboring tile that alive cells reach the
+     * edge of.
+     */
+    @Override
+    public void nextGeneration() {
+        step(false);
+    }
+
+    /**
+     * Computes the next generation. The tiles of the next generation are created and added to nextGen first, on the
+     * calling thread, so that computing them only reads thisGen and writes each tile from a single band.
+     * @param concurrent {@code true} to compute the tiles in bands on the board's scheduler.
+     */
+    private void step(boolean concurrent) {
+        genCount++;
+
+        targetCount = 0;
+        for (int i = 0; i < thisGen.size(); i++) {
+            Tile tile = thisGen.at(i);
+            if (tile.population == 0) continue;
+
+            int ty = tile.tileY;
+            int tx = tile.tileX;
+            long[] rows = tile.rows;
+            long first = rows[0];
+            long last = rows[Tile.SIZE - 1];
+            long any = 0;
+            for (long row : rows) {
+                any |= row;
+            }
+
+            addTarget(ty, tx);
+            if (first != 0) addTarget(ty - 1, tx);
+            if (last != 0) addTarget(ty + 1, tx);
+            if ((any & 1) != 0) addTarget(ty, tx - 1);
+            if (any < 0) addTarget(ty, tx + 1);
+            if ((first & 1) != 0) addTarget(ty - 1, tx - 1);
+            if (first < 0) addTarget(ty - 1, tx + 1);
+            if ((last & 1) != 0) addTarget(ty + 1, tx - 1);
+            if (last < 0) addTarget(ty + 1, tx + 1);
+        }
+
+        aliveCount = concurrent ? getScheduler().run(targetCount, this::stepTiles) : stepTiles(0, targetCount);
+
+        for (int i = 0; i < thisGen.size(); i++) {
+            freeTiles.push(thisGen.at(i));
+        }
+        thisGen.clear();
+        TileMap temp = thisGen;
+        thisGen = nextGen;
+        nextGen = temp;
+
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Adds an empty tile at the passed tile coordinates to nextGen and to the tiles to compute, unless already added.
+     * @param ty Row of the tile, in tiles.
+     * @param tx Column of the tile, in tiles.
+     */
+    private void addTarget(int ty, int tx) {
+        if (nextGen.get(ty, tx) != null) return;
+
+        Tile out = obtainTile(ty, tx);
+        nextGen.put(out);
+        if (targetCount == targets.length) {
+            targets = Arrays.copyOf(targets, targetCount * 2);
+        }
+        targets[targetCount++] = out;
+    }
+
+    /**
+     * Computes the next generation of a band of the tiles to compute.
+     * @param from Index of the first tile of the band.
+     * @param to Index after the last tile of the band.
+     * @return Number of alive cells in the band's tiles.
+     */
+    private int stepTiles(int from, int to) {
+        int population = 0;
+        for (int i = from; i < to; i++) {
+            population += stepTile(targets[i]);
+        }
+        return population;
+    }
+
+    /**
+     * Computes the next generation of a tile of nextGen from the tiles of thisGen around it.
+     * @param out The tile of nextGen, which is empty.
+     * @return Number of alive cells in the tile.
+     */
+    private int stepTile(Tile out) {
+        int ty = out.tileY;
+        int tx = out.tileX;
+        Tile n = thisGen.get(ty - 1, tx);
+        Tile s = thisGen.get(ty + 1, tx);
+        Tile w = thisGen.get(ty, tx - 1);
+        Tile e = thisGen.get(ty, tx + 1);
+        Tile nw = thisGen.get(ty - 1, tx - 1);
+        Tile ne = thisGen.get(ty - 1, tx + 1);
+        Tile sw = thisGen.get(ty + 1, tx - 1);
+        Tile se = thisGen.get(ty + 1, tx + 1);
+        Tile c = thisGen.get(ty, tx);
+
+        long[] rows = out.rows;
+        int population = 0;
+
+        // Words of the row above, of this row and of the row below, in the west, center and east tiles.
+        long aboveW = Tile.row(nw, Tile.SIZE - 1);
+        long above = Tile.row(n, Tile.SIZE - 1);
+        long aboveE = Tile.row(ne, Tile.SIZE - 1);
+        long rowW = Tile.row(w, 0);
+        long row = Tile.row(c, 0);
+        long rowE = Tile.row(e, 0);
+        for (int y = 0; y < Tile.SIZE; y++) {
+            long belowW;
+            long below;
+            long belowE;
+            if (y < Tile.SIZE - 1) {
+                belowW = Tile.row(w, y + 1);
+                below = Tile.row(c, y + 1);
+                belowE = Tile.row(e, y + 1);
+            } else {
+                belowW = Tile.row(sw, 0);
+                below = Tile.row(s, 0);
+                belowE = Tile.row(se, 0);
+            }
+
+            long next = kernel.next(
+                    (above << 1) | (aboveW >>> 63), above, (above >>> 1) | (aboveE << 63),
+                    (row << 1) | (rowW >>> 63), row, (row >>> 1) | (rowE << 63),
+                    (below << 1) | (belowW >>> 63), below, (below >>> 1) | (belowE << 63)
+            );
+            rows[y] = next;
+            population += Long.bitCount(next);
+
+            aboveW = rowW;
+            above = row;
+            aboveE = rowE;
+            rowW = belowW;
+            row = below;
+            rowE = belowE;
+        }
+
+        out.population = population;
+        return population;
+    }
+
+    /**
+     * @return The scheduler generations are split between threads on, or the shared one if none has been set.
+     */
+    public GenerationScheduler getScheduler() {
+        return scheduler == null ? GenerationScheduler.shared() : scheduler;
+    }
+
+    /**
+     * @param scheduler Scheduler to split generations between threads on.
+     */
+    @Override
+    public void setScheduler(GenerationScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param ty Row of the tile, in tiles.
+     * @param tx Column of the tile, in tiles.
+     * @return An empty tile at the passed tile coordinates, reused if possible.
+     */
+    private Tile obtainTile(int ty, int tx) {
+        Tile tile = freeTiles.poll();
+        return (tile == null ? new Tile() : tile).reset(ty, tx);
+    }
+
+    /**
+     * Checks that the passed cell is within the board.
+     * @param y Y-coordinate of the cell.
+     * @param x X-coordinate of the cell.
+     */
+    private void checkBounds(int y, int x) {
+        if (y < 0 || y >= sizeY) throw new IndexOutOfBoundsException("Row: " + y);
+        if (x < 0 || x >= sizeX) throw new IndexOutOfBoundsException("Column: " + x);
+    }
+
+    /**
+     * Sets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to set.
+     * @param x X-coordinate of the cell to set.
+     * @param alive New status of the cell.
+     */
+    @Override
+    public void setCellAlive(int y, int x, boolean alive) {
+        checkBounds(y, x);
+        int planeY = windowTop + y;
+        int planeX = windowLeft + x;
+        int ty = planeY >> Tile.SHIFT;
+        int tx = planeX >> Tile.SHIFT;
+        Tile tile = thisGen.get(ty, tx);
+        if (tile == null) {
+            if (!alive) return;
+            tile = obtainTile(ty, tx);
+            thisGen.put(tile);
+        }
+
+        long[] rows = tile.rows;
+        int row = planeY & Tile.MASK;
+        long bit = 1L << planeX;
+        boolean wasAlive = (rows[row] & bit) != 0;
+        if (alive && !wasAlive) {
+            rows[row] |= bit;
+            tile.population++;
+            aliveCount++;
+        } else if (!alive && wasAlive) {
+            rows[row] &= ~bit;
+            tile.population--;
+            aliveCount--;
+        }
+    }
+
+    /**
+     * Copies a row of the board into the passed array as packed bits, reading a word from at most two tiles at a
+     * time.
+     * @param y Row to copy.
+     * @param dst Array to copy the row into.
+     */
+    @Override
+    public void readRow(int y, long[] dst) {
+        if (y < 0 || y >= sizeY) throw new IndexOutOfBoundsException("Row: " + y);
+        int planeY = windowTop + y;
+        int ty = planeY >> Tile.SHIFT;
+        int row = planeY & Tile.MASK;
+        int words = BitBoard.wordsFor(sizeX);
+        for (int i = 0; i < words; i++) {
+            int planeX = windowLeft + (i << 6);
+            int tx = planeX >> Tile.SHIFT;
+            int shift = planeX & Tile.MASK;
+            Tile low = thisGen.get(ty, tx);
+            long word = low == null ? 0 : low.rows[row] >>> shift;
+            if (shift != 0) {
+                Tile high = thisGen.get(ty, tx + 1);
+                if (high != null) word |= high.rows[row] << (Tile.SIZE - shift);
+            }
+            if (i == words - 1 && (sizeX & 63) != 0) {
+                word &= -1L >>> (64 - (sizeX & 63));
+            }
+            dst[i] = word;
+        }
+    }
+
+    /**
+     * Gets the value of the cell at the passed Y and X coordinates.
+     * @param y Y-coordinate of the cell to get.
+     * @param x X-coordinate of the cell to get.
+     */
+    @Override
+    public boolean getCellAlive(int y, int x) {
+        checkBounds(y, x);
+        int planeY = windowTop + y;
+        int planeX = windowLeft + x;
+        Tile tile = thisGen.get(planeY >> Tile.SHIFT, planeX >> Tile.SHIFT);
+        return tile != null && (tile.rows[planeY & Tile.MASK] & (1L << planeX)) != 0;
+    }
+
+    /**
+     * Inserts a pattern into the middle of the board, doubling the board's size until the pattern fits.
+     * @param pattern Pattern to insert.
+     */
+    @Override
+    public void insertPattern(byte[][] pattern) {
+        while (pattern.length > sizeY) {
+            sizeY = Math.max(1, sizeY * 2);
+        }
+        while (pattern[0].length > sizeX) {
+            sizeX = Math.max(1, sizeX * 2);
+        }
+
+        // Sets the top left corner to begin inserting cells on the board.
+        int originRow = (sizeY / 2) - (pattern.length / 2);
+        int originCol = (sizeX / 2) - (pattern[0].length / 2);
+
+        for (int y = 0; y < pattern.length; y++) {
+            byte[] row = pattern[y];
+            for (int x = 0; x < row.length; x++) {
+                setCellAlive(originRow + y, originCol + x, row[x] == 1);
+            }
+        }
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Inserts a pattern of packed rows in the middle of the board, a tile row of 64 cells at a time. Tiles are only
+     * created where the pattern has alive cells, so a sparse pattern costs no more than its population.
+     * @param sizeX Number of columns in the pattern.
+     * @param rows Rows of the pattern, as described by {@link Board#insertPattern(int, long[][])}.
+     */
+    @Override
+    public void insertPattern(int sizeX, long[][] rows) {
+        while (rows.length > this.sizeY) {
+            this.sizeY = Math.max(1, this.sizeY * 2);
+        }
+        while (sizeX > this.sizeX) {
+            this.sizeX = Math.max(1, this.sizeX * 2);
+        }
+        if (sizeX == 0 || rows.length == 0) return;
+
+        // Sets the top left corner to begin inserting cells on the plane.
+        int top = windowTop + (this.sizeY / 2) - (rows.length / 2);
+        int left = windowLeft + (this.sizeX / 2) - (sizeX / 2);
+        int bottom = top + rows.length;
+        int right = left + sizeX;
+
+        for (int ty = top >> Tile.SHIFT; ty <= (bottom - 1) >> Tile.SHIFT; ty++) {
+            int firstRow = Math.max(top, ty << Tile.SHIFT);
+            int lastRow = Math.min(bottom, (ty + 1) << Tile.SHIFT);
+            for (int tx = left >> Tile.SHIFT; tx <= (right - 1) >> Tile.SHIFT; tx++) {
+                int tileLeft = tx << Tile.SHIFT;
+                long mask = -1L;
+                if (tileLeft < left) mask &= -1L << left;
+                if (tileLeft + Tile.SIZE > right) mask &= -1L >>> (Tile.SIZE - (right & Tile.MASK));
+
+                Tile tile = thisGen.get(ty, tx);
+                for (int planeY = firstRow; planeY < lastRow; planeY++) {
+                    long bits = LifeKernel.bits(rows[planeY - top], tileLeft - left) & mask;
+                    if (tile == null) {
+                        if (bits == 0) continue;
+                        tile = obtainTile(ty, tx);
+                        thisGen.put(tile);
+                    }
+                    int row = planeY & Tile.MASK;
+                    long old = tile.rows[row];
+                    long updated = (old & ~mask) | bits;
+                    int delta = Long.bitCount(updated) - Long.bitCount(old);
+                    tile.rows[row] = updated;
+                    tile.population += delta;
+                    aliveCount += delta;
+                }
+            }
+        }
+        if (dynamic) {
+            postGenerationGrow();
+        }
+    }
+
+    /**
+     * Clears all cells from the plane.
+     */
+    @Override
+    public void clearBoard() {
+        for (int i = 0; i < thisGen.size(); i++) {
+            freeTiles.push(thisGen.at(i));
+        }
+        thisGen.clear();
+        genCount = 0;
+        aliveCount = 0;
+    }
+
+    /**
+     * Grows the window so that every alive cell is inside it, with a margin of one dead cell.
+     */
+    private void postGenerationGrow() {
+        if (aliveCount == 0) return;
+
+        long firstRow = Long.MAX_VALUE;
+        long lastRow = Long.MIN_VALUE;
+        long firstCol = Long.MAX_VALUE;
+        long lastCol = Long.MIN_VALUE;
+        for (int i = 0; i < thisGen.size(); i++) {
+            Tile tile = thisGen.at(i);
+            if (tile.population == 0) continue;
+
+            long top = (long) tile.tileY << Tile.SHIFT;
+            long left = (long) tile.tileX << Tile.SHIFT;
+            long any = 0;
+            for (int y = 0; y < Tile.SIZE; y++) {
+                long row = tile.rows[y];
+                if (row == 0) continue;
+                any |= row;
+                firstRow = Math.min(firstRow, top + y);
+                lastRow = Math.max(lastRow, top + y);
+            }
+            firstCol = Math.min(firstCol, left + Long.numberOfTrailingZeros(any));
+            lastCol = Math.max(lastCol, left + Tile.SIZE - 1 - Long.numberOfLeadingZeros(any));
+        }
+
+        long deltaTop = Math.max(0, windowTop - (firstRow - 1));
+        long deltaLeft = Math.max(0, windowLeft - (firstCol - 1));
+        long deltaBottom = Math.max(0, lastRow + 1 - ((long) windowTop + sizeY - 1));
+        long deltaRight = Math.max(0, lastCol + 1 - ((long) windowLeft + sizeX - 1));
+        if (deltaTop + deltaLeft + deltaBottom + deltaRight == 0) return;
+
+        windowTop -= deltaTop;
+        windowLeft -= deltaLeft;
+        sizeY += deltaTop + deltaBottom;
+        sizeX += deltaLeft + deltaRight;
+        callPostResizeListeners(new Size(
+                sizeY,
+                sizeX,
+                (int) deltaTop,
+                (int) deltaRight,
+                (int) deltaBottom,
+                (int) deltaLeft
+        ));
+    }
+
+    /**
+     * Adds an empty row to the bottom of the board.
+     */
+    @Override
+    public void addRowBottom() {
+        sizeY++;
+    }
+
+    /**
+     * Adds an empty row to the top of the board.
+     */
+    @Override
+    public void addRowTop() {
+        windowTop--;
+        sizeY++;
+    }
+
+    /**
+     * Adds an empty column to the right of the board.
+     */
+    @Override
+    public void addColRight() {
+        sizeX++;
+    }
+
+    /**
+     * Adds an empty column to the left of the board.
+     */
+    @Override
+    public void addColLeft() {
+        windowLeft--;
+        sizeX++;
+    }
+
+    /**
+     * @return The board's window into a single line {@code String} of 0s and 1s.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(sizeX * sizeY);
+        for (int y = 0; y < sizeY; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                sb.append(getCellAlive(y, x) ? "1" : "0");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates and returns a "trimmed" board, only within the bounding box of the alive cells on the board.
+     * @return A new {@code Board} containing only the cells within this {@code Board}'s {@code BoundingBox}.
+     */
+    @Override
+    public Board patternToBoard() {
+        BoundingBox bb = getBoundingBox();
+        Board patternBoard = new BitBoard(bb.getSizeX(), bb.getSizeY());
+        for (int row = bb.getFirstRow(); row <= bb.getLastRow(); row++) {
+            for (int col = bb.getFirstCol(); col <= bb.getLastCol(); col++) {
+                if (getCellAlive(row, col)) {
+                    patternBoard.setCellAlive(row - bb.getFirstRow(), col - bb.getFirstCol(), true);
+                }
+            }
+        }
+        return patternBoard;
+    }
+
+    /**
+     * Creates a bounding box within which the current state of the window is of interest (boundary of alive cells).
+     * Only the stored tiles are searched.
+     * @return The BoundingBox representing the area of interest.
+     */
+    private BoundingBox getBoundingBox() {
+        BoundingBox bb = new BoundingBox(sizeY, sizeX, 0, 0);
+        for (int i = 0; i < thisGen.size(); i++) {
+            Tile tile = thisGen.at(i);
+            if (tile.population == 0) continue;
+
+            // Columns of the tile within the window.
+            long left = ((long) tile.tileX << Tile.SHIFT) - windowLeft;
+            long lo = Math.max(0, -left);
+            long hi = Math.min(Tile.SIZE - 1, sizeX - 1 - left);
+            if (lo > hi) continue;
+            long mask = (-1L << lo) & (-1L >>> (Tile.SIZE - 1 - hi));
+
+            long top = ((long) tile.tileY << Tile.SHIFT) - windowTop;
+            for (int y = 0; y < Tile.SIZE; y++) {
+                long row = tile.rows[y] & mask;
+                if (row == 0 || top + y < 0 || top + y >= sizeY) continue;
+
+                int boardY = (int) (top + y);
+                int first = (int) (left + Long.numberOfTrailingZeros(row));
+                int last = (int) (left + Tile.SIZE - 1 - Long.numberOfLeadingZeros(row));
+                bb.setFirstRow(Math.min(bb.getFirstRow(), boardY));
+                bb.setFirstCol(Math.min(bb.getFirstCol(), first));
+                bb.setLastRow(Math.max(bb.getLastRow(), boardY));
+                bb.setLastCol(Math.max(bb.getLastCol(), last));
+            }
+        }
+        return bb;
+    }
+
+    /**
+     * List of listeners to be called after the board resizes.
+     */
+    private List<Consumer<Size>> postResizeListeners = new ArrayList<>();
+
+    /**
+     * Adds the passed {@code Consumer} to the list of post resize listeners.
+     * @param runner Runner to add to list of listeners.
+     */
+    @Override
+    public void addPostResizeListener(Consumer<Size> runner) {
+        postResizeListeners.add(runner);
+    }
+
+    /**
+     * Calls all registered post resize listeners with the passed {@code Size} object.
+     * @param size Size object to pass to each listener.
+     */
+    private void callPostResizeListeners(Size size) {
+        for (Consumer<Size> runner : postResizeListeners) {
+            runner.accept(size);
+        }
+    }
+
+    /**
+     * Setter method for the active board rules. Rules where dead cells with no alive neighbors come to life would
+     * fill the whole plane, and are not supported.
+     * @param ruleSet The requested rule set.
+     */
+    @Override
+    public void setRuleSet(RuleSet ruleSet) {
+        if ((ruleSet.getBirthMask() & 1) != 0) {
+            throw new IllegalArgumentException("Rule set " + ruleSet.getName() + " is not supported on an unbounded plane");
+        }
+        this.ruleSet = ruleSet;
+        this.kernel = new LifeKernel(ruleSet);
+    }
+
+    /**
+     * Getter method for the active board rules.
+     * @return The current rule set.
+     */
+    @Override
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * @return The number of columns in the window.
+     */
+    @Override
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * @return The number of rows in the window.
+     */
+    @Override
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns a live view of the window. Cells are created on access and write through to the tiles, so this should
+     * only be used by callers that have no other way of reading the board.
+     * @return A view of the current generation.
+     */
+    @Override
+    public List<List<Cell>> getThisGen() {
+        return new BoardView(this);
+    }
+
+    /**
+     * @return True if this {@code Board} is currently dynamic.
+     */
+    @Override
+    public boolean getDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * @param dynamic New dynamic status for this {@code Board}.
+     */
+    @Override
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * @return True if multithreading is enable, false otherwise.
+     */
+    @Override
+    public boolean getMultithreading() {
+        return multithreadingEnabled;
+    }
+
+    /**
+     * @param multithreadingEnabled Sets multithreading status.
+     */
+    @Override
+    public void setMultithreading(boolean multithreadingEnabled) {
+        this.multithreadingEnabled = multithreadingEnabled;
+    }
+
+    /**
+     * @return The number of generation advanced since clearing this board.
+     */
+    @Override
+    public int getGenCount() {
+        return genCount;
+    }
+
+    /**
+     * Sets the number of generations advanced, as when restoring a saved board.
+     * @param genCount Number of generations.
+     */
+    @Override
+    public void setGenCount(int genCount) {
+        this.genCount = genCount;
+    }
+
+    /**
+     * @return The number of alive cells on the whole plane.
+     */
+    @Override
+    public int getAliveCount() {
+        return aliveCount;
+    }
+}
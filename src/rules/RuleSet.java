@@ -33,6 +33,24 @@ public class RuleSet {
      * Name for the rule set.
      */
     private final String name;
+    /**
+     * Bit mask of neighbor counts where a dead cell comes to life. Bit {@code n} is set if a dead cell with {@code n}
+     * neighbors is born.
+     */
+    private final int birthMask;
+    /**
+     * Bit mask of neighbor counts where an alive cell survives. Bit {@code n} is set if an alive cell with {@code n}
+     * neighbors survives.
+     */
+    private final int surviveMask;
+    /**
+     * Number of possible neighbor counts, 0 through 8.
+     */
+    private static final int NEIGHBOR_COUNTS = 9;
+    /**
+     * Next state of a cell, indexed by {@link #transitionIndex(boolean, int)}.
+     */
+    private final boolean[] transitions = new boolean[2 * NEIGHBOR_COUNTS];
 
     /**
      * Compares this rule set's rule string with the passed rule string and determined whether they represent the same
@@ -95,9 +113,39 @@ public class RuleSet {
         this.name = name;
         this.surviveStateRanges = surviveStateRanges;
         this.birthStateRanges = birthStateRanges;
+        this.birthMask = toMask(birthStateRanges);
+        this.surviveMask = toMask(surviveStateRanges);
+        for (int n = 0; n < NEIGHBOR_COUNTS; n++) {
+            transitions[transitionIndex(false, n)] = (birthMask & (1 << n)) != 0;
+            transitions[transitionIndex(true, n)] = (surviveMask & (1 << n)) != 0;
+        }
         initRuleString();
     }
 
+    /**
+     * @param alive Current state of a cell.
+     * @param numNeighbors Number of neighbors the cell currently has.
+     * @return Index of the cell's next state in the transition table.
+     */
+    private static int transitionIndex(boolean alive, int numNeighbors) {
+        return alive ? NEIGHBOR_COUNTS + numNeighbors : numNeighbors;
+    }
+
+    /**
+     * Folds the passed ranges into a bit mask of neighbor counts.
+     * @param stateRanges Ranges to fold.
+     * @return A mask where bit {@code n} is set if {@code n} is within any of the ranges.
+     */
+    private static int toMask(StateRange[] stateRanges) {
+        int mask = 0;
+        for (StateRange stateRange : stateRanges) {
+            for (int i = stateRange.getMin(); i <= stateRange.getMax(); i++) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
     /**
      * Evaluates the new state of a given cell in the coming generation based on the cell's current state as well as
      * the contained ranges.
@@ -110,26 +158,31 @@ public class RuleSet {
         // Initialize new state at first dead state, not taking into account rule sets where a cell can have more than
         // two states.
         State newState = new ByteState();
-        if (currentState.isAlive()) {
-            for (StateRange stateRange : surviveStateRanges) {
-                int min = stateRange.getMin();
-                int max = stateRange.getMax();
-                if (numNeighbors <= max && numNeighbors >= min) {
-                    newState.setAlive(true);
-                }
-            }
-        } else {
-            for (StateRange stateRange : birthStateRanges) {
-                int min = stateRange.getMin();
-                int max = stateRange.getMax();
-                if (numNeighbors <= max && numNeighbors >= min) {
-                    newState.setAlive(true);
-                }
-            }
-        }
+        newState.setAlive(next(currentState.isAlive(), numNeighbors));
         return newState;
     }
 
+    /**
+     * Evaluates whether a cell is alive in the coming generation, without allocating a new state.
+     *
+     * @param alive {@code true} if the cell is currently alive.
+     * @param numNeighbors Number of neighbors the cell currently has, from 0 to 8.
+     * @return {@code true} if the cell is alive in the coming generation.
+     */
+    public boolean next(boolean alive, int numNeighbors) {
+        return transitions[transitionIndex(alive, numNeighbors)];
+    }
+
+    /**
+     * Getter for the transition table as a bit mask.
+     *
+     * @return An 18 bit mask where bit {@code n} is set if a dead cell with {@code n} neighbors comes to life, and bit
+     * {@code 9 + n} is set if an alive cell with {@code n} neighbors survives.
+     */
+    public int transitionMask() {
+        return (birthMask & 0x1FF) | (surviveMask & 0x1FF) << NEIGHBOR_COUNTS;
+    }
+
     /**
      * Getter for the rule set's name.
      *
@@ -139,6 +192,24 @@ public class RuleSet {
         return name;
     }
 
+    /**
+     * Getter for the birth mask.
+     *
+     * @return Bit mask where bit {@code n} is set if a dead cell with {@code n} neighbors comes to life.
+     */
+    public int getBirthMask() {
+        return birthMask;
+    }
+
+    /**
+     * Getter for the survive mask.
+     *
+     * @return Bit mask where bit {@code n} is set if an alive cell with {@code n} neighbors survives.
+     */
+    public int getSurviveMask() {
+        return surviveMask;
+    }
+
     /**
      * Getter for the rule set's rule string.
      *
@@ -0,0 +1,133 @@
+package RLE;
+
+import model.board.HashLifeBoard;
+import model.board.NodeTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MacrocellTest {
+    private static final String GLIDER =
+            "[M2] (golly 2.0)\n" +
+            "#R B36/S23\n" +
+            "#N Glider\n" +
+            ".*$..*$***$\n" +
+            "4 0 0 1 0\n";
+
+    @Test
+    void should_read_nodes_and_metadata() throws IOException {
+        MacrocellPattern pattern = Macrocell.toPattern(new StringReader(GLIDER));
+
+        assertEquals("B36/S23", pattern.getRule());
+        assertEquals("Glider", pattern.getName());
+        assertEquals(2, pattern.getNodeCount());
+        assertEquals(2, pattern.getRoot());
+        assertEquals(4, pattern.getLevel(2));
+        assertEquals(1, pattern.getChild(2, 2));
+        assertEquals(0b10L | 0b100L << 8 | 0b111L << 16, pattern.getLeaf(1));
+    }
+
+    @Test
+    void should_expand_into_cells() throws IOException {
+        byte[][] pattern = Macrocell.toPattern(new StringReader(GLIDER)).getPattern();
+
+        assertEquals(16, pattern.length);
+        assertArrayEquals(new byte[] {0,1,0,0}, Arrays.copyOf(pattern[8], 4));
+        assertArrayEquals(new byte[] {0,0,1,0}, Arrays.copyOf(pattern[9], 4));
+        assertArrayEquals(new byte[] {1,1,1,0}, Arrays.copyOf(pattern[10], 4));
+    }
+
+    @Test
+    void should_write_what_it_reads() throws IOException {
+        StringWriter out = new StringWriter();
+        MacrocellPattern pattern = Macrocell.toPattern(new StringReader(GLIDER));
+        Macrocell.write(out, "Glider", "", "", pattern.getRule(), pattern);
+
+        assertEquals("[M2] (game-of-life)\n#R B36/S23\n#N Glider\n.*$..*$***$\n4 0 0 1 0\n", out.toString());
+    }
+
+    @Test
+    void should_write_identical_subtrees_once() throws IOException {
+        NodeTable tree = new NodeTable();
+        int first = tree.addLeaf(0b11L | 0b11L << 8);
+        int second = tree.addLeaf(0b11L | 0b11L << 8);
+        int node = tree.addNode(4, first, second, second, first);
+        tree.setRoot(tree.addNode(5, node, 0, 0, node));
+
+        StringWriter out = new StringWriter();
+        Macrocell.write(out, "", "", "", "B3/S23", tree);
+        assertEquals("[M2] (game-of-life)\n#R B3/S23\n**$**$\n4 1 1 1 1\n5 2 0 0 2\n", out.toString());
+    }
+
+    @Test
+    void should_walk_shared_empty_nodes_once() throws IOException {
+        // Empty nodes that are not the empty node 0, each shared by all four quadrants of the next, up to 2^50 cells.
+        NodeTable tree = new NodeTable();
+        int node = tree.addLeaf(0);
+        for (int level = 4; level <= 50; level++) {
+            node = tree.addNode(level, node, node, node, node);
+        }
+        tree.setRoot(node);
+
+        StringWriter out = new StringWriter();
+        Macrocell.write(out, "", "", "", "B3/S23", tree);
+        assertEquals("[M2] (game-of-life)\n#R B3/S23\n", out.toString());
+    }
+
+    @Test
+    void should_load_huge_regular_patterns_without_expanding_them() throws IOException {
+        // A block in every 8 by 8 leaf of a plane 2^30 cells wide.
+        StringBuilder mc = new StringBuilder("[M2]\n**$**$\n");
+        for (int level = 4; level <= 30; level++) {
+            int child = level - 3;
+            mc.append(level).append(' ').append(child).append(' ').append(child).append(' ')
+                    .append(child).append(' ').append(child).append('\n');
+        }
+        MacrocellPattern pattern = Macrocell.toPattern(new StringReader(mc.toString()));
+        HashLifeBoard board = new HashLifeBoard(100, 100);
+        board.insertQuadTree(pattern);
+
+        assertEquals(4L << 54, board.getPopulation());
+        assertThrows(RLEException.class, pattern::getPattern);
+
+        StringWriter out = new StringWriter();
+        Macrocell.write(out, "", "", "", "B3/S23", board.getQuadTree());
+        assertEquals(mc.toString().replace("[M2]\n", "[M2] (game-of-life)\n#R B3/S23\n"), out.toString());
+    }
+
+    @Test
+    void should_round_trip_through_hash_life_board() throws IOException {
+        Random random = new Random(5);
+        HashLifeBoard board = new HashLifeBoard(70, 50);
+        for (int y = 0; y < 50; y++) {
+            for (int x = 0; x < 70; x++) {
+                board.setCellAlive(y, x, random.nextInt(3) == 0);
+            }
+        }
+        StringWriter out = new StringWriter();
+        Macrocell.write(out, "", "", "", "B3/S23", board.getQuadTree());
+
+        HashLifeBoard copy = new HashLifeBoard(70, 50);
+        copy.insertQuadTree(Macrocell.toPattern(new StringReader(out.toString())));
+        assertEquals(board.getPopulation(), copy.getPopulation());
+        board.step(64);
+        copy.step(64);
+        assertEquals(board.getPopulation(), copy.getPopulation());
+    }
+
+    @Test
+    void should_reject_invalid_files() {
+        assertThrows(RLEParserException.class, () -> Macrocell.toPattern(new StringReader("x = 1, y = 1\no!")));
+        assertThrows(RLEParserException.class, () -> Macrocell.toPattern(new StringReader("[M2]\n4 1 0 0 0\n")));
+        assertThrows(RLEParserException.class, () -> Macrocell.toPattern(new StringReader("[M2]\n*$\n5 1 0 0 0\n")));
+        assertThrows(RLEParserException.class, () -> Macrocell.toPattern(new StringReader("[M2]\n*********$\n")));
+    }
+}
@@ -0,0 +1,51 @@
+package RLE;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PackedPatternTest {
+    @Test
+    void should_pack_runs_into_row_words() throws IOException {
+        String rle = "#N Runs\nx = 200, y = 3, rule = B36/S23\n62b4o$$130b70o!";
+        PackedPattern pattern = Parser.toPackedPattern(new StringReader(rle));
+
+        assertEquals("Runs", pattern.getName());
+        assertEquals("B36/S23", pattern.getRule());
+        assertEquals(200, pattern.getSizeX());
+        assertEquals(3, pattern.getSizeY());
+
+        long[][] rows = pattern.getRows();
+        assertArrayEquals(new long[] { 3L << 62, 3 }, rows[0]);
+        assertNull(rows[1]);
+        assertArrayEquals(new long[] { 0, 0, -1L << 2, -1L >>> 56 }, rows[2]);
+    }
+
+    @Test
+    void should_unpack_like_byte_parser() throws IOException {
+        String rle = "x = 70, y = 4\nbob$2bo$3o66bo$$!";
+        byte[][] expected = Parser.toPattern(rle).getPattern();
+        byte[][] unpacked = Parser.toPackedPattern(new StringReader(rle)).getPattern();
+
+        assertEquals(expected.length, unpacked.length);
+        for (int y = 0; y < expected.length; y++) {
+            assertArrayEquals(expected[y], unpacked[y]);
+        }
+    }
+
+    @Test
+    void should_only_allocate_rows_with_alive_cells() throws IOException {
+        String rle = "x = 100000, y = 100000\n99999$99999bo!";
+        PackedPattern pattern = Parser.toPackedPattern(new StringReader(rle));
+
+        long[][] rows = pattern.getRows();
+        assertNull(rows[0]);
+        assertEquals(1563, rows[99999].length);
+        assertEquals(1L << 31, rows[99999][1562]);
+    }
+}
@@ -0,0 +1,137 @@
+package RLE;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelDecoderTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return A random RLE file with runs of empty rows, and line breaks in the middle of run counts.
+     */
+    private static String randomRLE(int sizeX, int sizeY, long seed) {
+        Random random = new Random(seed);
+        StringBuilder body = new StringBuilder();
+        int row = 0;
+        for (int y = 0; y < sizeY; y++) {
+            if (random.nextInt(3) == 0) continue;
+            if (y > row) body.append(y - row > 1 ? Integer.toString(y - row) : "").append('$');
+            row = y;
+            int x = 0;
+            while (x < sizeX) {
+                int length = 1 + random.nextInt(Math.min(150, sizeX - x));
+                char state = random.nextBoolean() ? 'o' : 'b';
+                body.append(length > 1 ? Integer.toString(length) : "").append(state);
+                x += length;
+            }
+        }
+        StringBuilder rle = new StringBuilder("#N Random\n#C Seed " + seed + "\n\n");
+        rle.append("x = ").append(sizeX).append(", y = ").append(sizeY).append(", rule = B36/S23\n");
+        for (int i = 0; i < body.length(); i += 70) {
+            rle.append(body, i, Math.min(body.length(), i + 70)).append('\n');
+        }
+        return rle.append("!\n").toString();
+    }
+
+    private static PackedPattern decode(String rle, long chunkBytes) throws IOException {
+        return decode(rle, chunkBytes, () -> false, bytes -> {});
+    }
+
+    private static PackedPattern decode(String rle, long chunkBytes, BooleanSupplier cancelled,
+                                        LongConsumer progress) throws IOException {
+        Path path = Files.createTempFile("pattern", ".rle");
+        try {
+            Files.write(path, rle.getBytes(StandardCharsets.UTF_8));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return ParallelDecoder.decode(channel, pool, chunkBytes, cancelled, progress);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void should_decode_like_single_pass_reader() throws IOException {
+        for (long chunkBytes : new long[] {1, 7, 100, 1 << 20}) {
+            String rle = randomRLE(300, 200, chunkBytes);
+            PackedPattern expected = Parser.toPackedPattern(new StringReader(rle));
+            PackedPattern actual = decode(rle, chunkBytes);
+
+            assertEquals("Random", actual.getName());
+            assertEquals("Seed " + chunkBytes, actual.getDescription());
+            assertEquals("B36/S23", actual.getRule());
+            assertEquals(300, actual.getSizeX());
+            assertEquals(200, actual.getSizeY());
+            for (int y = 0; y < 200; y++) {
+                assertArrayEquals(expected.getRows()[y], actual.getRows()[y], "Row " + y);
+            }
+        }
+    }
+
+    @Test
+    void should_stop_at_terminator() throws IOException {
+        PackedPattern pattern = decode("x = 3, y = 3\nbo$2bo$3o!\n3o$3o$3o$3o!", 2);
+        assertArrayEquals(new long[] {0b010}, pattern.getRows()[0]);
+        assertArrayEquals(new long[] {0b100}, pattern.getRows()[1]);
+        assertArrayEquals(new long[] {0b111}, pattern.getRows()[2]);
+    }
+
+    @Test
+    void should_report_progress_up_to_file_size() throws IOException {
+        String rle = randomRLE(300, 200, 42);
+        List<Long> progress = new ArrayList<>();
+        decode(rle, 100, () -> false, progress::add);
+
+        assertTrue(progress.size() > 2, "Reports: " + progress.size());
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) >= progress.get(i - 1), "Report " + i);
+        }
+        assertEquals(rle.getBytes(StandardCharsets.UTF_8).length, (long) progress.get(progress.size() - 1));
+    }
+
+    @Test
+    void should_stop_when_cancelled() {
+        AtomicInteger checks = new AtomicInteger();
+        assertThrows(CancellationException.class,
+                () -> decode(randomRLE(300, 200, 7), 100, () -> checks.incrementAndGet() > 3, bytes -> {}));
+    }
+
+    @Test
+    void should_reject_pattern_exceeding_its_size() {
+        assertThrows(RLEParserException.class, () -> decode("x = 3, y = 2\nbo$2bo$3o!", 2));
+        assertThrows(RLEParserException.class, () -> decode("x = 3, y = 3\nbo$4o$o!", 2));
+        assertThrows(RLEException.class, () -> decode("#N No header\n", 2));
+    }
+}
@@ -2,6 +2,8 @@ package RLE;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
@@ -40,6 +42,17 @@ class ParserTest {
         assertEquals(boardToString(expected), boardToString(result));
     }
 
+    @Test
+    void reads_pattern_and_metadata_from_reader() throws IOException {
+        String base = "#N Blinker\n#O John Conway\nx = 3, y = 1, rule = B3/S23\n3o!";
+        ParsedPattern result = Parser.toPattern(new StringReader(base));
+
+        assertEquals("Blinker", result.getName());
+        assertEquals("John Conway", result.getAuthor());
+        assertEquals("B3/S23", result.getRule());
+        assertEquals("111", boardToString(result.getPattern()));
+    }
+
     @Test
     void converts_block_from_RLE_to_board() {
         String base = "x = 2, y = 2, rule = B3/S23\n2o$2o!";
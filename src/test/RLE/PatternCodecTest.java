@@ -0,0 +1,84 @@
+package RLE;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternCodecTest {
+    private static ParsedPattern roundTrip(ParsedPattern pattern) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PatternCodec.write(out, pattern);
+        return PatternCodec.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    void should_read_packed_pattern_it_writes() throws IOException {
+        String rle = "#N Runs\n#O Someone\nx = 200, y = 3, rule = B36/S23\n62b4o$$130b70o!";
+        PackedPattern pattern = Parser.toPackedPattern(new StringReader(rle));
+        ParsedPattern read = roundTrip(pattern);
+
+        assertTrue(read instanceof PackedPattern);
+        assertEquals("Runs", read.getName());
+        assertEquals("Someone", read.getAuthor());
+        assertEquals("B36/S23", read.getRule());
+        assertEquals(200, ((PackedPattern) read).getSizeX());
+        long[][] rows = ((PackedPattern) read).getRows();
+        assertEquals(3, rows.length);
+        for (int y = 0; y < rows.length; y++) {
+            assertArrayEquals(pattern.getRows()[y], rows[y]);
+        }
+    }
+
+    @Test
+    void should_pack_byte_pattern() throws IOException {
+        byte[][] cells = {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}};
+        ParsedPattern read = roundTrip(new ParsedPattern("B3/S23", cells));
+
+        assertTrue(read instanceof PackedPattern);
+        byte[][] pattern = read.getPattern();
+        for (int y = 0; y < cells.length; y++) {
+            assertArrayEquals(cells[y], pattern[y]);
+        }
+    }
+
+    @Test
+    void should_read_macrocell_pattern_it_writes() throws IOException {
+        String mc = "[M2] (golly 2.0)\n#R B36/S23\n#N Glider\n.*$..*$***$\n4 0 0 1 0\n";
+        MacrocellPattern pattern = Macrocell.toPattern(new StringReader(mc));
+        ParsedPattern read = roundTrip(pattern);
+
+        assertTrue(read instanceof MacrocellPattern);
+        assertEquals("Glider", read.getName());
+        assertEquals("B36/S23", read.getRule());
+        MacrocellPattern tree = (MacrocellPattern) read;
+        assertEquals(pattern.getNodeCount(), tree.getNodeCount());
+        assertEquals(pattern.getRoot(), tree.getRoot());
+        assertEquals(pattern.getLeaf(1), tree.getLeaf(1));
+        byte[][] expected = pattern.getPattern();
+        byte[][] actual = read.getPattern();
+        for (int y = 0; y < expected.length; y++) {
+            assertArrayEquals(expected[y], actual[y]);
+        }
+    }
+
+    @Test
+    void should_reject_invalid_data() throws IOException {
+        byte[] rle = "x = 3, y = 3\nbo$2bo$3o!".getBytes();
+        assertThrows(RLEParserException.class, () -> PatternCodec.read(new ByteArrayInputStream(rle)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PatternCodec.write(out, Parser.toPackedPattern(new StringReader("x = 3, y = 3\nbo$2bo$3o!")));
+        byte[] bytes = out.toByteArray();
+        assertThrows(IOException.class,
+                () -> PatternCodec.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 4))));
+    }
+}
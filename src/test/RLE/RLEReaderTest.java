@@ -0,0 +1,119 @@
+package RLE;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RLEReaderTest {
+    private static final String GLIDER =
+            "#N Glider\n" +
+            "#O Richard K. Guy\n" +
+            "#C The smallest, most common, and first discovered spaceship.\n" +
+            "#C www.conwaylife.com/wiki/index.php?title=Glider\n" +
+            "x = 3, y = 3, rule = B3/S23\n" +
+            "bob$2bo$3o!";
+
+    /**
+     * Records the header and runs passed to it, as strings.
+     */
+    private static class RecordingSink implements RLEReader.RunSink {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void header(int sizeX, int sizeY, String rule) {
+            events.add(sizeX + "x" + sizeY + " " + rule);
+        }
+
+        @Override
+        public void aliveRun(int y, int x, int length) {
+            events.add(y + "," + x + "+" + length);
+        }
+    }
+
+    @Test
+    void should_pass_header_and_alive_runs_to_sink() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        new RLEReader(new StringReader(GLIDER)).read(sink);
+
+        String[] expected = {"3x3 B3/S23", "0,1+1", "1,2+1", "2,0+3"};
+        assertArrayEquals(expected, sink.events.toArray());
+    }
+
+    @Test
+    void should_read_metadata() throws IOException {
+        RLEReader reader = new RLEReader(new StringReader(GLIDER));
+        reader.read(new RecordingSink());
+
+        assertEquals("Glider", reader.getName());
+        assertEquals("Richard K. Guy", reader.getAuthor());
+        assertEquals("The smallest, most common, and first discovered spaceship.\n"
+                + "www.conwaylife.com/wiki/index.php?title=Glider", reader.getDescription());
+    }
+
+    @Test
+    void should_read_from_channel() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        byte[] bytes = GLIDER.getBytes(StandardCharsets.UTF_8);
+        new RLEReader(Channels.newChannel(new ByteArrayInputStream(bytes))).read(sink);
+
+        assertEquals(4, sink.events.size());
+    }
+
+    @Test
+    void should_handle_multi_row_skips_line_breaks_and_carriage_returns() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        new RLEReader(new StringReader("x = 12, y = 4\r\n2o3b\r\n2o$2$1\n1o!")).read(sink);
+
+        String[] expected = {"12x4 B3/S23", "0,0+2", "0,5+2", "3,0+11"};
+        assertArrayEquals(expected, sink.events.toArray());
+    }
+
+    @Test
+    void should_stop_at_end_of_pattern() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        new RLEReader(new StringReader("x = 1, y = 1, rule = B36/S23\no!o")).read(sink);
+
+        String[] expected = {"1x1 B36/S23", "0,0+1"};
+        assertArrayEquals(expected, sink.events.toArray());
+    }
+
+    @Test
+    void should_read_patterns_larger_than_its_buffer() throws IOException {
+        StringBuilder rle = new StringBuilder("x = 2, y = 20000\n");
+        for (int i = 0; i < 20000; i++) {
+            rle.append("bo$");
+        }
+        rle.append('!');
+        RecordingSink sink = new RecordingSink();
+        new RLEReader(new StringReader(rle.toString())).read(sink);
+
+        assertEquals(20001, sink.events.size());
+        assertEquals("19999,1+1", sink.events.get(20000));
+    }
+
+    @Test
+    void should_throw_if_axis_is_not_defined() {
+        assertThrows(RLEException.class,
+                () -> new RLEReader(new StringReader("y = 1\no!")).read(new RecordingSink()));
+        assertThrows(RLEException.class,
+                () -> new RLEReader(new StringReader("#N Empty\n")).read(new RecordingSink()));
+    }
+
+    @Test
+    void should_throw_if_pattern_exceeds_its_size() {
+        assertThrows(RLEParserException.class,
+                () -> new RLEReader(new StringReader("x = 2, y = 1\n3o!")).read(new RecordingSink()));
+        assertThrows(RLEParserException.class,
+                () -> new RLEReader(new StringReader("x = 2, y = 1\no$o!")).read(new RecordingSink()));
+    }
+}
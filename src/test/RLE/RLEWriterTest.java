@@ -0,0 +1,93 @@
+package RLE;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RLEWriterTest {
+    private static String write(int sizeX, long[][] rows) throws IOException {
+        StringWriter out = new StringWriter();
+        RLEWriter writer = new RLEWriter(out);
+        writer.writeHeader("", "", "", "", "B3/S23", sizeX, rows.length);
+        writer.writeRows((y, dst) -> System.arraycopy(rows[y], 0, dst, 0, dst.length));
+        writer.finish();
+        return out.toString();
+    }
+
+    @Test
+    void should_write_glider() throws IOException {
+        long[][] rows = { {0b010}, {0b001}, {0b111} };
+        assertEquals("x = 3, y = 3, rule = B3/S23\nbo$o$3o!\n", write(3, rows));
+    }
+
+    @Test
+    void should_skip_empty_rows() throws IOException {
+        long[][] rows = { {0}, {0}, {0b1}, {0}, {0}, {0b100}, {0} };
+        assertEquals("x = 3, y = 7, rule = B3/S23\n2$o3$2bo!\n", write(3, rows));
+    }
+
+    @Test
+    void should_write_metadata() throws IOException {
+        StringWriter out = new StringWriter();
+        RLEWriter writer = new RLEWriter(out);
+        writer.writeHeader("Name", "Author", "One\nTwo", "Date", "B36/S23", 1, 1);
+        writer.writeRow(new long[] {1});
+        writer.finish();
+        assertEquals("#N Name\n#O Author, Date\n#C One\n#C Two\nx = 1, y = 1, rule = B36/S23\no!\n", out.toString());
+    }
+
+    @Test
+    void should_wrap_lines_at_70_characters() throws IOException {
+        long[] row = new long[4];
+        for (int x = 0; x < 256; x += 2) {
+            row[x >>> 6] |= 1L << x;
+        }
+        String rle = write(256, new long[][] {row, row});
+        for (String line : rle.split("\n")) {
+            assertTrue(line.length() <= 70, line);
+        }
+    }
+
+    @Test
+    void should_read_back_what_it_writes() throws IOException {
+        Random random = new Random(3);
+        int sizeX = 300;
+        long[][] rows = new long[90][5];
+        for (long[] row : rows) {
+            if (random.nextInt(4) == 0) continue;
+            for (int i = 0; i < row.length; i++) {
+                row[i] = random.nextLong() & random.nextLong();
+            }
+            row[4] &= -1L >>> (320 - sizeX);
+        }
+
+        PackedPattern pattern = Parser.toPackedPattern(new StringReader(write(sizeX, rows)));
+        assertEquals(sizeX, pattern.getSizeX());
+        assertEquals(rows.length, pattern.getSizeY());
+        for (int y = 0; y < rows.length; y++) {
+            long[] expected = rows[y];
+            long[] actual = new long[expected.length];
+            if (pattern.getRows()[y] != null) {
+                System.arraycopy(pattern.getRows()[y], 0, actual, 0, pattern.getRows()[y].length);
+            }
+            assertArrayEquals(expected, actual, "Row " + y);
+        }
+    }
+
+    @Test
+    void should_reject_rows_outside_of_header() throws IOException {
+        RLEWriter writer = new RLEWriter(new StringWriter());
+        assertThrows(IllegalStateException.class, () -> writer.writeRow(new long[1]));
+        writer.writeHeader("", "", "", "", "B3/S23", 1, 1);
+        writer.writeRow(new long[1]);
+        assertThrows(IllegalStateException.class, () -> writer.writeRow(new long[1]));
+    }
+}
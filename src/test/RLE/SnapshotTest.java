@@ -0,0 +1,121 @@
+package RLE;
+
+import model.board.BitBoard;
+import model.board.Board;
+import model.board.HashLifeBoard;
+import model.board.TiledBoard;
+import org.junit.jupiter.api.Test;
+import rules.RulesCollection;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotTest {
+    private static Board randomBoard(int sizeX, int sizeY) {
+        Random random = new Random(sizeX * 31L + sizeY);
+        Board board = new BitBoard(sizeX, sizeY);
+        for (int y = 0; y < sizeY; y++) {
+            for (int x = 0; x < sizeX; x++) {
+                if (random.nextInt(4) == 0) board.setCellAlive(y, x, true);
+            }
+        }
+        return board;
+    }
+
+    private static void assertSameCells(Board expected, Board actual) {
+        assertEquals(expected.getSizeX(), actual.getSizeX());
+        assertEquals(expected.getSizeY(), actual.getSizeY());
+        for (int y = 0; y < expected.getSizeY(); y++) {
+            for (int x = 0; x < expected.getSizeX(); x++) {
+                assertEquals(expected.getCellAlive(y, x), actual.getCellAlive(y, x), "Cell " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void should_restore_what_it_writes() throws IOException {
+        Path path = Files.createTempFile("board", ".snap");
+        for (boolean compress : new boolean[] {false, true}) {
+            Board board = randomBoard(130, 70);
+            board.setRuleSet(RulesCollection.getByName("Highlife"));
+            board.nextGeneration();
+            board.nextGeneration();
+            board.setDynamic(true);
+            Snapshot.write(path, board, compress);
+
+            Snapshot snapshot = Snapshot.read(path);
+            assertEquals(board.getRuleSet().getRuleString(), snapshot.getRule());
+            assertEquals(2, snapshot.getGenCount());
+            assertTrue(snapshot.getDynamic());
+            assertEquals(130, snapshot.getSizeX());
+            assertEquals(70, snapshot.getSizeY());
+
+            Board restored = new TiledBoard(130, 70);
+            snapshot.restore(restored);
+            assertSameCells(board, restored);
+            assertEquals(2, restored.getGenCount());
+            assertTrue(restored.getDynamic());
+        }
+        Files.delete(path);
+    }
+
+    @Test
+    void should_write_rows_in_several_blocks() throws IOException {
+        // Rows of 3000 words make blocks of 43 rows, so 100 rows take three blocks.
+        Path path = Files.createTempFile("board", ".snap");
+        Board board = new BitBoard(3000 * 64, 100);
+        board.setCellAlive(0, 5, true);
+        board.setCellAlive(50, 3000 * 64 - 1, true);
+        board.setCellAlive(99, 70000, true);
+        for (boolean compress : new boolean[] {false, true}) {
+            Snapshot.write(path, board, compress);
+            long[][] rows = Snapshot.read(path).getRows();
+            long[] row = new long[3000];
+            for (int y = 0; y < 100; y++) {
+                board.readRow(y, row);
+                assertArrayEquals(row, rows[y], "Row " + y);
+            }
+        }
+        assertTrue(Files.size(path) < 3000 * 8 * 10);
+        Files.delete(path);
+    }
+
+    @Test
+    void should_keep_generation_count_of_hash_life_board() throws IOException {
+        Path path = Files.createTempFile("board", ".snap");
+        HashLifeBoard board = new HashLifeBoard(16, 16);
+        board.setCellAlive(4, 4, true);
+        board.setCellAlive(4, 5, true);
+        board.setCellAlive(4, 6, true);
+        board.setGenerationCount(1L << 40);
+        Snapshot.write(path, board, true);
+
+        HashLifeBoard restored = new HashLifeBoard(16, 16);
+        Snapshot.read(path).restore(restored);
+        assertEquals(1L << 40, restored.getGenerationCount());
+        assertEquals(3, restored.getAliveCount());
+        assertTrue(restored.getCellAlive(4, 5));
+        Files.delete(path);
+    }
+
+    @Test
+    void should_reject_files_that_are_not_snapshots() throws IOException {
+        Path path = Files.createTempFile("board", ".snap");
+        Files.write(path, "x = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n".getBytes());
+        assertThrows(RLEParserException.class, () -> Snapshot.read(path));
+
+        Snapshot.write(path, randomBoard(64, 64), false);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(RLEParserException.class, () -> Snapshot.read(path));
+        Files.delete(path);
+    }
+}
@@ -0,0 +1,179 @@
+package app;
+
+import RLE.PackedPattern;
+import RLE.ParsedPattern;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PatternCacheTest {
+    private static final String GLIDER = "#N Glider\nx = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n";
+
+    private static final PatternLoader.StreamWrapper PLAIN = (in, total) -> in;
+
+    /**
+     * Bodies and ETags served by path.
+     */
+    private final Map<String, String[]> served = new HashMap<>();
+
+    private final AtomicInteger fullResponses = new AtomicInteger();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+
+    private Path directory;
+
+    @BeforeEach
+    void start() throws IOException {
+        directory = Files.createTempDirectory("pattern-cache");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            String[] file = served.get(exchange.getRequestURI().getPath());
+            if (file == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else if (file[1].equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                byte[] body = file[0].getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("ETag", file[1]);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.stop(0);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http", "127.0.0.1", server.getAddress().getPort(), path);
+    }
+
+    private long count(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).count();
+        }
+    }
+
+    private static String rows(int sizeY) {
+        StringBuilder rle = new StringBuilder("x = 3, y = " + sizeY + "\n");
+        for (int y = 0; y < sizeY; y++) {
+            rle.append(y == 0 ? "" : "$").append("3o");
+        }
+        return rle.append("!\n").toString();
+    }
+
+    @Test
+    void should_revalidate_instead_of_downloading_again() throws IOException {
+        served.put("/glider.rle", new String[] {GLIDER, "\"v1\""});
+        PatternCache cache = new PatternCache(directory, PatternCache.DEFAULT_MAX_BYTES);
+
+        ParsedPattern first = cache.load(url("/glider.rle"), PLAIN);
+        ParsedPattern second = cache.load(url("/glider.rle"), PLAIN);
+
+        assertEquals(2, requests.get());
+        assertEquals(1, fullResponses.get());
+        assertEquals(3, ((PackedPattern) first).getSizeY());
+        assertEquals(3, ((PackedPattern) second).getSizeY());
+        assertEquals("B3/S23", second.getRule());
+    }
+
+    @Test
+    void should_store_same_content_once() throws IOException {
+        served.put("/a.rle", new String[] {GLIDER, "\"a\""});
+        served.put("/b.rle", new String[] {GLIDER, "\"b\""});
+        PatternCache cache = new PatternCache(directory, PatternCache.DEFAULT_MAX_BYTES);
+
+        cache.load(url("/a.rle"), PLAIN);
+        served.put("/a.rle", new String[] {GLIDER, "\"a2\""});
+        cache.load(url("/a.rle"), PLAIN);
+        cache.load(url("/b.rle"), PLAIN);
+
+        assertEquals(3, fullResponses.get());
+        assertEquals(2, count(".entry"));
+        assertEquals(1, count(".pattern"));
+    }
+
+    @Test
+    void should_evict_least_recently_used_patterns() throws IOException {
+        served.put("/a.rle", new String[] {rows(10), "\"a\""});
+        served.put("/b.rle", new String[] {rows(20), "\"b\""});
+        served.put("/c.rle", new String[] {rows(30), "\"c\""});
+        AtomicLong clock = new AtomicLong();
+        // Rows take 12 bytes each, so there is room for any two of the patterns, but not all three.
+        PatternCache cache = new PatternCache(directory, 700, clock::incrementAndGet);
+
+        cache.load(url("/a.rle"), PLAIN);
+        cache.load(url("/b.rle"), PLAIN);
+        cache.load(url("/a.rle"), PLAIN);
+        cache.load(url("/c.rle"), PLAIN);
+        assertEquals(2, count(".pattern"));
+
+        fullResponses.set(0);
+        cache.load(url("/a.rle"), PLAIN);
+        cache.load(url("/b.rle"), PLAIN);
+        assertEquals(1, fullResponses.get());
+    }
+
+    @Test
+    void should_serve_stored_pattern_when_offline() throws IOException {
+        served.put("/glider.rle", new String[] {GLIDER, "\"v1\""});
+        PatternCache cache = new PatternCache(directory, PatternCache.DEFAULT_MAX_BYTES);
+        URL url = url("/glider.rle");
+        cache.load(url, PLAIN);
+        server.stop(0);
+
+        assertEquals(3, ((PackedPattern) cache.load(url, PLAIN)).getSizeY());
+        assertThrows(IOException.class, () -> cache.load(url("/other.rle"), PLAIN));
+    }
+
+    @Test
+    void should_download_again_when_stored_pattern_is_corrupt() throws IOException {
+        served.put("/glider.rle", new String[] {GLIDER, "\"v1\""});
+        PatternCache cache = new PatternCache(directory, PatternCache.DEFAULT_MAX_BYTES);
+        cache.load(url("/glider.rle"), PLAIN);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.toString().endsWith(".pattern")) Files.write(file, new byte[] {1, 2, 3});
+            }
+        }
+
+        assertEquals(3, ((PackedPattern) cache.load(url("/glider.rle"), PLAIN)).getSizeY());
+        assertEquals(2, fullResponses.get());
+        assertEquals(3, ((PackedPattern) cache.load(url("/glider.rle"), PLAIN)).getSizeY());
+        assertEquals(2, fullResponses.get());
+    }
+}
@@ -0,0 +1,144 @@
+package app;
+
+import RLE.MacrocellPattern;
+import RLE.PackedPattern;
+import RLE.ParsedPattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternLibraryTest {
+    private static final String GLIDER =
+            "#N Glider\n#C A small spaceship.\nx = 5, y = 4, rule = B3/S23\n$2bo$3bo$b3o!\n";
+
+    private static final String MACROCELL_GLIDER =
+            "[M2] (golly 2.0)\n#R B36/S23\n#N Macrocell glider\n.*$..*$***$\n4 0 0 1 0\n";
+
+    private static final PatternLoader.StreamWrapper PLAIN = (in, total) -> in;
+
+    private Path directory;
+
+    @BeforeEach
+    void create() throws IOException {
+        directory = Files.createTempDirectory("pattern-library");
+    }
+
+    @AfterEach
+    void delete() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private Path write(String fileName, String contents) throws IOException {
+        return Files.write(directory.resolve(fileName), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void should_index_patterns_without_keeping_them() throws IOException {
+        write("glider.rle", GLIDER);
+        write("glider.mc", MACROCELL_GLIDER);
+        write("notes.txt", "Not a pattern");
+        List<PatternLibrary.Entry> entries = new PatternLibrary(directory).index().getEntries();
+
+        assertEquals(2, entries.size());
+        PatternLibrary.Entry macrocell = entries.get(0);
+        assertEquals("Macrocell glider", macrocell.getName());
+        assertEquals("B36/S23", macrocell.getRule());
+        assertEquals(5, macrocell.getPopulation());
+        assertEquals(3, macrocell.getWidth());
+        assertEquals(3, macrocell.getHeight());
+        assertEquals(8, macrocell.getMinY());
+
+        PatternLibrary.Entry rle = entries.get(1);
+        assertEquals("Glider", rle.getName());
+        assertEquals("B3/S23", rle.getRule());
+        assertEquals(5, rle.getPopulation());
+        assertEquals(1, rle.getMinX());
+        assertEquals(1, rle.getMinY());
+        assertEquals(3, rle.getWidth());
+        assertEquals(3, rle.getHeight());
+        assertEquals(GLIDER.indexOf("x ="), rle.getOffset());
+        assertTrue(Files.exists(directory.resolve(PatternLibrary.INDEX_FILE)));
+    }
+
+    @Test
+    void should_decode_pattern_when_read() throws IOException {
+        write("glider.rle", GLIDER);
+        write("glider.mc", MACROCELL_GLIDER);
+        PatternLibrary library = new PatternLibrary(directory);
+        List<PatternLibrary.Entry> entries = library.index().getEntries();
+
+        assertTrue(library.read(entries.get(0), PLAIN) instanceof MacrocellPattern);
+        ParsedPattern pattern = library.read(entries.get(1), PLAIN);
+        assertEquals(4, ((PackedPattern) pattern).getSizeY());
+        assertEquals(1, pattern.getPattern()[1][2]);
+    }
+
+    @Test
+    void should_use_index_for_unchanged_files() throws IOException {
+        Path file = write("glider.rle", GLIDER);
+        FileTime modified = Files.getLastModifiedTime(file);
+        new PatternLibrary(directory).index();
+
+        // Same size and time, so the file is not scanned again, and is read from its indexed offset.
+        write("glider.rle", GLIDER.replace("#N Glider", "garbage!!"));
+        Files.setLastModifiedTime(file, modified);
+        PatternLibrary library = new PatternLibrary(directory);
+        List<PatternLibrary.Entry> entries = library.index().getEntries();
+        assertEquals("Glider", entries.get(0).getName());
+        assertEquals(4, ((PackedPattern) library.read(entries.get(0), PLAIN)).getSizeY());
+    }
+
+    @Test
+    void should_rescan_changed_and_forget_deleted_files() throws IOException {
+        Path file = write("glider.rle", GLIDER);
+        write("other.rle", "x = 1, y = 1\no!\n");
+        PatternLibrary library = new PatternLibrary(directory);
+        assertEquals(2, library.index().getEntries().size());
+
+        Files.delete(directory.resolve("other.rle"));
+        write("glider.rle", GLIDER.replace("Glider", "Renamed"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        List<PatternLibrary.Entry> entries = new PatternLibrary(directory).index().getEntries();
+        assertEquals(1, entries.size());
+        assertEquals("Renamed", entries.get(0).getName());
+    }
+
+    @Test
+    void should_index_bad_files_until_they_change() throws IOException {
+        write("glider.rle", GLIDER);
+        Path bad = write("bad.rle", "x = 1, y = 1\n5o!\n");
+        PatternLibrary.Listing first = new PatternLibrary(directory).index();
+        assertEquals(1, first.getEntries().size());
+        assertEquals(1, first.getErrors().size());
+        assertTrue(first.getErrors().get(0).contains("bad.rle"), first.getErrors().get(0));
+
+        // The bad file is recorded with its size and time, so it is neither scanned nor reported again.
+        FileTime indexed = Files.getLastModifiedTime(directory.resolve(PatternLibrary.INDEX_FILE));
+        PatternLibrary.Listing second = new PatternLibrary(directory).index();
+        assertEquals(1, second.getEntries().size());
+        assertTrue(second.getErrors().isEmpty());
+        assertEquals(indexed, Files.getLastModifiedTime(directory.resolve(PatternLibrary.INDEX_FILE)));
+
+        write("bad.rle", "x = 1, y = 1\no!\n");
+        Files.setLastModifiedTime(bad, FileTime.fromMillis(Files.getLastModifiedTime(bad).toMillis() + 2000));
+        PatternLibrary.Listing fixed = new PatternLibrary(directory).index();
+        assertEquals(2, fixed.getEntries().size());
+        assertTrue(fixed.getErrors().isEmpty());
+    }
+}
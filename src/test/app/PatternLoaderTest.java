@@ -0,0 +1,88 @@
+package app;
+
+import RLE.MacrocellPattern;
+import RLE.PackedPattern;
+import RLE.ParsedPattern;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternLoaderTest {
+    private static final String GLIDER = "#N Glider\nx = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n";
+
+    @Test
+    void should_load_file_in_background() throws Exception {
+        Path file = Files.createTempFile("glider", ".rle");
+        Files.write(file, GLIDER.getBytes(StandardCharsets.UTF_8));
+        List<Long> progress = new ArrayList<>();
+        ParsedPattern pattern = new PatternLoader(null).load(file, (read, total) -> {
+            assertEquals(GLIDER.length(), total);
+            progress.add(read);
+        }).get(10, TimeUnit.SECONDS);
+
+        assertTrue(pattern instanceof PackedPattern);
+        assertEquals(3, ((PackedPattern) pattern).getSizeY());
+        assertEquals((long) GLIDER.length(), (long) progress.get(progress.size() - 1));
+        Files.delete(file);
+    }
+
+    @Test
+    void should_load_url_in_format_of_its_path() throws Exception {
+        Path file = Files.createTempFile("glider", ".mc");
+        Files.write(file, "[M2]\n#R B3/S23\n.*$..*$***$\n4 0 0 1 0\n".getBytes(StandardCharsets.UTF_8));
+        ParsedPattern pattern = new PatternLoader(null).load(file.toUri().toURL(), (read, total) -> { })
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(pattern instanceof MacrocellPattern);
+        Files.delete(file);
+    }
+
+    @Test
+    void should_complete_exceptionally_on_errors() throws IOException {
+        Path file = Files.createTempFile("broken", ".rle");
+        Files.write(file, "y = 3\nbo!".getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<ParsedPattern> load = new PatternLoader(null).load(file, (read, total) -> { });
+
+        assertThrows(ExecutionException.class, () -> load.get(10, TimeUnit.SECONDS));
+        Files.delete(file);
+    }
+
+    @Test
+    void should_stop_reading_when_cancelled() throws IOException, InterruptedException, TimeoutException {
+        StringBuilder rle = new StringBuilder("x = 2, y = 200000\n");
+        for (int i = 0; i < 200000; i++) {
+            rle.append("bo$");
+        }
+        rle.append('!');
+        Path file = Files.createTempFile("large", ".rle");
+        Files.write(file, rle.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Runs the load on this thread once the future is known, so the listener can cancel it.
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> progress = new ArrayList<>();
+        List<CompletableFuture<ParsedPattern>> loads = new ArrayList<>();
+        loads.add(new PatternLoader(tasks::add, null).load(file, (read, total) -> {
+            progress.add(read);
+            loads.get(0).cancel(true);
+        }));
+        tasks.get(0).run();
+
+        assertTrue(loads.get(0).isCancelled());
+        assertEquals(1, progress.size());
+        assertTrue(progress.get(0) < rle.length());
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,96 @@
+package cli;
+
+import RLE.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeadlessRunnerTest {
+    private static final String GLIDER = "x = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n";
+
+    private static int run(ByteArrayOutputStream out, String... args) {
+        PrintStream stream = new PrintStream(out, true);
+        return HeadlessRunner.run(args, stream, stream);
+    }
+
+    @Test
+    void should_step_pattern_and_write_result() throws IOException {
+        Path input = Files.createTempFile("glider", ".rle");
+        Path output = Files.createTempFile("glider-out", ".rle");
+        Files.write(input, GLIDER.getBytes(StandardCharsets.UTF_8));
+        for (HeadlessRunner.Engine engine : HeadlessRunner.Engine.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int status = run(out, "-g", "8", "-e", engine.name(), "-t", "2", "-s", "20x20", "-o", output.toString(),
+                    input.toString());
+            assertEquals(HeadlessRunner.EXIT_OK, status, out.toString());
+            assertTrue(out.toString().contains("generations/s"));
+            assertTrue(out.toString().contains("Population:  5"));
+
+            byte[][] result = Parser.toPattern(new String(Files.readAllBytes(output), StandardCharsets.UTF_8))
+                    .getPattern();
+            assertArrayEquals(new byte[][] { {0,1,0}, {0,0,1}, {1,1,1} }, result);
+        }
+        Files.delete(input);
+        Files.delete(output);
+    }
+
+    @Test
+    void should_read_and_write_macrocell() throws IOException {
+        Path input = Files.createTempFile("glider", ".mc");
+        Path output = Files.createTempFile("glider-out", ".mc");
+        Files.write(input, "[M2]\n#R B3/S23\n.*$..*$***$\n4 0 0 1 0\n".getBytes(StandardCharsets.UTF_8));
+        for (HeadlessRunner.Engine engine : HeadlessRunner.Engine.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int status = run(out, "-g", "4", "-e", engine.name(), "-o", output.toString(), input.toString());
+            assertEquals(HeadlessRunner.EXIT_OK, status, out.toString());
+            assertTrue(out.toString().contains("Population:  5"));
+            assertTrue(new String(Files.readAllBytes(output), StandardCharsets.UTF_8).startsWith("[M2]"));
+        }
+        Files.delete(input);
+        Files.delete(output);
+    }
+
+    @Test
+    void should_carry_on_from_snapshot() throws IOException {
+        Path input = Files.createTempFile("glider", ".rle");
+        Path snapshot = Files.createTempFile("glider", ".snap");
+        Path output = Files.createTempFile("glider-out", ".rle");
+        Files.write(input, GLIDER.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(HeadlessRunner.EXIT_OK, run(out, "-g", "4", "-s", "20x20", "-z", "-o", snapshot.toString(),
+                input.toString()), out.toString());
+        assertEquals(HeadlessRunner.EXIT_OK, run(out, "-g", "4", "-e", "TiledBoard", "-o", output.toString(),
+                snapshot.toString()), out.toString());
+
+        byte[][] result = Parser.toPattern(new String(Files.readAllBytes(output), StandardCharsets.UTF_8))
+                .getPattern();
+        assertArrayEquals(new byte[][] { {0,1,0}, {0,0,1}, {1,1,1} }, result);
+        Files.delete(input);
+        Files.delete(snapshot);
+        Files.delete(output);
+    }
+
+    @Test
+    void should_reject_invalid_arguments() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(HeadlessRunner.EXIT_USAGE, run(out));
+        assertEquals(HeadlessRunner.EXIT_USAGE, run(out, "-e", "Abacus", "pattern.rle"));
+        assertEquals(HeadlessRunner.EXIT_USAGE, run(out, "-g", "many", "pattern.rle"));
+        assertTrue(out.toString().contains("Usage:"));
+    }
+
+    @Test
+    void should_fail_on_missing_file() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(HeadlessRunner.EXIT_FAILURE, run(out, "does-not-exist.rle"));
+    }
+}
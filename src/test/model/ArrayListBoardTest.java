@@ -1,8 +1,14 @@
 package model;
 
 import model.board.ArrayListBoard;
+import model.board.BitBoard;
+import model.board.Board;
+import model.board.BooleanCell;
+import model.board.GenerationScheduler;
 import org.junit.jupiter.api.Test;
 
+import static model.board.BoardFixtures.soup;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class ArrayListBoardTest {
@@ -77,4 +83,124 @@ class ArrayListBoardTest {
         assertEquals("0000000000010100011000100", board.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    void concurrent_generation_matches_single_threaded() {
+        byte[][] pattern = soup(320, 320, 17);
+        ArrayListBoard expected = new ArrayListBoard(320, 320);
+        ArrayListBoard result = new ArrayListBoard(320, 320);
+        result.setScheduler(new GenerationScheduler(4));
+        expected.insertPattern(pattern);
+        result.insertPattern(pattern);
+        for (int i = 0; i < 20; i++) {
+            expected.nextGeneration();
+            result.nextGenerationConcurrent();
+            assertEquals(expected.toString(), result.toString());
+            assertEquals(expected.getAliveCount(), result.getAliveCount());
+        }
+        result.getScheduler().shutdown();
+    }
+
+    @Test
+    void should_match_bit_board_across_wrapping_edges() {
+        byte[][] pattern = soup(40, 40, 23);
+        ArrayListBoard result = new ArrayListBoard(40, 40);
+        Board expected = new BitBoard(40, 40);
+        result.insertPattern(pattern);
+        expected.insertPattern(pattern);
+        for (int i = 0; i < 100; i++) {
+            expected.nextGeneration();
+            result.nextGeneration();
+            assertEquals(expected.toString(), result.toString());
+            assertEquals(expected.getAliveCount(), result.getAliveCount());
+        }
+    }
+
+    @Test
+    void should_wake_stable_region_when_edited() {
+        ArrayListBoard board = new ArrayListBoard(40, 40);
+        board.setCellAlive(20, 20, true);
+        board.setCellAlive(20, 21, true);
+        board.setCellAlive(21, 20, true);
+        board.setCellAlive(21, 21, true);
+        board.nextGeneration();
+        board.nextGeneration();
+        board.nextGeneration();
+        assertEquals(4, board.getAliveCount());
+
+        // Turns the block into a pre-block, which becomes a block again after one generation.
+        board.setCellAlive(21, 21, false);
+        assertEquals(3, board.getAliveCount());
+        board.nextGeneration();
+        assertEquals(4, board.getAliveCount());
+        assertEquals(true, board.getCellAlive(21, 21));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void should_step_with_other_cell_implementations() {
+        ArrayListBoard board = new ArrayListBoard(5, 5, BooleanCell::new);
+        board.insertPattern(new byte[][] {
+                {0,1,0},
+                {0,0,1},
+                {1,1,1}
+        });
+        board.nextGeneration();
+        assertEquals("0000000000010100011000100", board.toString());
+        assertEquals(true, board.getThisGen().get(0).get(0) instanceof BooleanCell);
+    }
+
+    @Test
+    void should_stamp_changed_rows_of_tiles() {
+        Board board = new ArrayListBoard(64, 64);
+        board.setCellAlive(20, 20, true);
+        board.setCellAlive(20, 21, true);
+        board.setCellAlive(20, 22, true);
+        long drawn = board.getChangeStamp();
+
+        // Changes are tracked per row of 16x16 tiles, so the blinker marks rows 16 to 31.
+        board.nextGeneration();
+        for (int y = 0; y < 64; y++) {
+            assertEquals(y >= 16 && y < 32, board.getRowChangeStamp(y) > drawn, "Row " + y);
+        }
+
+        drawn = board.getChangeStamp();
+        board.setCellAlive(50, 1, true);
+        assertEquals(true, board.getRowChangeStamp(48) > drawn);
+        assertEquals(false, board.getRowChangeStamp(20) > drawn);
+    }
+
+    private static void assertDensity(Board board, int shift) {
+        int side = 1 << Math.min(shift, 30);
+        int blocksX = (int) (((long) board.getSizeX() + side - 1) / side);
+        long[] density = new long[blocksX];
+        for (int blockY = 0; (long) blockY * side < board.getSizeY(); blockY++) {
+            long[] expected = new long[blocksX];
+            for (int y = blockY * side; y < Math.min(board.getSizeY(), (long) (blockY + 1) * side); y++) {
+                for (int x = 0; x < board.getSizeX(); x++) {
+                    if (board.getCellAlive(y, x)) expected[x / side]++;
+                }
+            }
+            board.readDensity(shift, blockY, density);
+            assertArrayEquals(expected, density, "Shift " + shift + ", block row " + blockY);
+        }
+    }
+
+    @Test
+    void should_keep_density_of_blocks_up_to_date() {
+        Board board = new ArrayListBoard(100, 90);
+        board.insertPattern(soup(90, 100, 5));
+        for (int generation = 0; generation < 6; generation++) {
+            for (int shift : new int[] {0, 3, 4, 5, 7, 16}) {
+                assertDensity(board, shift);
+            }
+            if (generation % 2 == 0) {
+                board.nextGeneration();
+            } else {
+                board.nextGenerationConcurrent();
+            }
+            board.setCellAlive(generation * 11, generation * 13, !board.getCellAlive(generation * 11, generation * 13));
+        }
+        board.clearBoard();
+        assertDensity(board, 5);
+    }
+}
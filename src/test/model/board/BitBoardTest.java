@@ -0,0 +1,184 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitBoardTest {
+    @Test
+    void should_insert_byte_board() {
+        byte[][] testBoard = {
+                {1,0},
+                {0,1}
+        };
+        BitBoard board = new BitBoard(2, 2);
+        assertEquals("0000", board.toString());
+        board.insertPattern(testBoard);
+        assertEquals("1001", board.toString());
+        assertEquals(2, board.getAliveCount());
+    }
+
+    @Test
+    void should_expand_when_inserting_too_large_pattern() {
+        BitBoard board = new BitBoard(2, 2);
+        byte[][] pattern = new byte[][] {
+                {1,1,1,0},
+                {1,1,0,1},
+                {1,0,1,1},
+                {0,1,1,1}
+        };
+        board.insertPattern(pattern);
+        assertEquals(4, board.getSizeX());
+        assertEquals(4, board.getSizeY());
+        assertEquals("1110110110110111", board.toString());
+    }
+
+    @Test
+    void squares_remain_squares() {
+        BitBoard testBoard = new BitBoard(4, 4);
+
+        testBoard.insertPattern(new byte[][]{
+                {0,0,0,0},
+                {0,1,1,0},
+                {0,1,1,0},
+                {0,0,0,0}
+        });
+
+        testBoard.nextGeneration();
+
+        assertEquals("0000011001100000", testBoard.toString());
+    }
+
+    @Test
+    void should_step_glider() {
+        byte[][] glider = {
+                {0,1,0},
+                {0,0,1},
+                {1,1,1}
+        };
+        BitBoard board = new BitBoard(5, 5);
+        board.insertPattern(glider);
+        assertEquals("0000000100000100111000000", board.toString());
+        board.nextGeneration();
+        assertEquals("0000000000010100011000100", board.toString());
+        assertEquals(5, board.getAliveCount());
+    }
+
+    @Test
+    void should_wrap_around_edges_across_words() {
+        BitBoard board = new BitBoard(70, 3);
+        board.setCellAlive(1, 69, true);
+        board.setCellAlive(1, 0, true);
+        board.setCellAlive(1, 1, true);
+        board.nextGeneration();
+        assertTrue(board.getCellAlive(0, 0));
+        assertTrue(board.getCellAlive(1, 0));
+        assertTrue(board.getCellAlive(2, 0));
+        assertFalse(board.getCellAlive(1, 69));
+        assertFalse(board.getCellAlive(1, 1));
+        assertEquals(3, board.getAliveCount());
+    }
+
+    @Test
+    void should_grow_when_dynamic() {
+        BitBoard board = new BitBoard(3, 3);
+        board.setDynamic(true);
+        int[] resizes = new int[1];
+        board.addPostResizeListener(size -> resizes[0]++);
+        board.insertPattern(new byte[][] {
+                {0,0,0},
+                {1,1,1},
+                {0,0,0}
+        });
+        assertEquals(5, board.getSizeX());
+        assertEquals(1, resizes[0]);
+        board.nextGeneration();
+        assertEquals(5, board.getSizeY());
+        assertEquals("0000000100001000010000000", board.toString());
+    }
+
+    @Test
+    void should_copy_board() {
+        Board board = new ArrayListBoard(3, 3);
+        board.setCellAlive(1, 2, true);
+        BitBoard copy = new BitBoard(board);
+        assertEquals(board.toString(), copy.toString());
+        assertEquals(1, copy.getAliveCount());
+    }
+
+    @Test
+    void should_trim_to_pattern() {
+        BitBoard board = new BitBoard(100, 10);
+        board.setCellAlive(2, 70, true);
+        board.setCellAlive(3, 71, true);
+        Board pattern = board.patternToBoard();
+        assertEquals(2, pattern.getSizeX());
+        assertEquals(2, pattern.getSizeY());
+        assertEquals("1001", pattern.toString());
+    }
+
+    @Test
+    void should_add_column_left_across_words() {
+        BitBoard board = new BitBoard(64, 1);
+        board.setCellAlive(0, 63, true);
+        board.addColLeft();
+        assertEquals(65, board.getSizeX());
+        assertFalse(board.getCellAlive(0, 63));
+        assertTrue(board.getCellAlive(0, 64));
+    }
+
+    @Test
+    void should_expose_cells_through_view() {
+        BitBoard board = new BitBoard(3, 2);
+        board.getThisGen().get(1).get(2).resurrect();
+        assertTrue(board.getCellAlive(1, 2));
+        assertTrue(board.getThisGen().get(1).get(2).getState().isAlive());
+        assertEquals(2, board.getThisGen().size());
+        assertEquals(3, board.getThisGen().get(0).size());
+    }
+
+    @Test
+    void should_read_rows() {
+        BitBoard board = new BitBoard(70, 2);
+        board.setCellAlive(1, 0, true);
+        board.setCellAlive(1, 69, true);
+        long[] row = { -1, -1 };
+        board.readRow(0, row);
+        assertEquals(0, row[0] | row[1]);
+        board.readRow(1, row);
+        assertEquals(1, row[0]);
+        assertEquals(1L << 5, row[1]);
+    }
+
+    @Test
+    void should_stamp_changed_rows() {
+        BitBoard board = new BitBoard(100, 20);
+        board.setCellAlive(3, 70, true);
+        board.setCellAlive(4, 70, true);
+        board.setCellAlive(5, 70, true);
+        board.setCellAlive(15, 10, true);
+        board.setCellAlive(15, 11, true);
+        board.setCellAlive(16, 10, true);
+        board.setCellAlive(16, 11, true);
+        long drawn = board.getChangeStamp();
+
+        // The blinker turns into a horizontal line on row 4, while the block stays as it is.
+        board.nextGeneration();
+        assertTrue(board.getChangeStamp() > drawn);
+        for (int y = 0; y < 20; y++) {
+            assertEquals(y >= 3 && y <= 5, board.getRowChangeStamp(y) > drawn, "Row " + y);
+        }
+
+        drawn = board.getChangeStamp();
+        board.setCellAlive(10, 0, true);
+        board.setCellAlive(11, 0, false);
+        assertTrue(board.getRowChangeStamp(10) > drawn);
+        assertFalse(board.getRowChangeStamp(11) > drawn);
+
+        drawn = board.getChangeStamp();
+        board.clearBoard();
+        assertTrue(board.getRowChangeStamp(19) > drawn);
+    }
+}
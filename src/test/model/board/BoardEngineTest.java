@@ -0,0 +1,163 @@
+package model.board;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import rules.RulesCollection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.board.BoardFixtures.pack;
+import static model.board.BoardFixtures.soup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks every engine against {@link BitBoard}, which the other engines are tested against.
+ */
+class BoardEngineTest {
+    enum Engine {
+        ArrayListBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new ArrayListBoard(sizeX, sizeY);
+            }
+        },
+        BitBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new BitBoard(sizeX, sizeY);
+            }
+        },
+        TiledBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new TiledBoard(sizeX, sizeY);
+            }
+        },
+        HashLifeBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new HashLifeBoard(sizeX, sizeY);
+            }
+        },
+        MappedBoard {
+            @Override
+            Board create(int sizeX, int sizeY) {
+                return new MappedBoard(sizeX, sizeY);
+            }
+        };
+
+        abstract Board create(int sizeX, int sizeY);
+    }
+
+    /**
+     * Engines checked against {@link BitBoard}.
+     */
+    private static final Engine[] OTHERS = {
+            Engine.ArrayListBoard, Engine.TiledBoard, Engine.HashLifeBoard, Engine.MappedBoard
+    };
+
+    /**
+     * Engines whose board ends at its edges.
+     */
+    private static final Engine[] BOUNDED = {Engine.ArrayListBoard, Engine.MappedBoard};
+
+    private final List<Board> boards = new ArrayList<>();
+
+    private Board create(Engine engine, int sizeX, int sizeY) {
+        Board board = engine.create(sizeX, sizeY);
+        boards.add(board);
+        return board;
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        for (Board board : boards) {
+            if (board instanceof AutoCloseable) ((AutoCloseable) board).close();
+        }
+    }
+
+    /**
+     * @return A board of the engine holding a pattern in the middle of it.
+     */
+    private Board insert(Engine engine, int sizeX, int sizeY, byte[][] pattern, String rule) {
+        Board board = create(engine, sizeX, sizeY);
+        board.setRuleSet(RulesCollection.getByName(rule));
+        board.insertPattern(pattern);
+        return board;
+    }
+
+    // Tiled and HashLife boards see a window of an unbounded plane, so their patterns are kept away from the edges.
+    @Test
+    void should_match_bit_board() {
+        byte[][] pattern = soup(48, 48, 7);
+        for (Engine engine : OTHERS) {
+            Board expected = insert(Engine.BitBoard, 256, 256, pattern, "Conway");
+            Board result = insert(engine, 256, 256, pattern, "Conway");
+            for (int i = 0; i < 30; i++) {
+                expected.nextGeneration();
+                result.nextGeneration();
+                assertEquals(expected.toString(), result.toString(), engine.name());
+                assertEquals(expected.getAliveCount(), result.getAliveCount(), engine.name());
+            }
+            expected.step(33);
+            result.step(33);
+            assertEquals(expected.toString(), result.toString(), engine.name());
+            assertEquals(expected.getAliveCount(), result.getAliveCount(), engine.name());
+        }
+    }
+
+    @Test
+    void should_match_bit_board_with_highlife() {
+        byte[][] pattern = soup(24, 24, 5);
+        for (Engine engine : OTHERS) {
+            Board expected = insert(Engine.BitBoard, 200, 200, pattern, "Highlife");
+            Board result = insert(engine, 200, 200, pattern, "Highlife");
+            expected.step(40);
+            result.step(40);
+            assertEquals(expected.toString(), result.toString(), engine.name());
+            assertEquals(expected.getAliveCount(), result.getAliveCount(), engine.name());
+        }
+    }
+
+    @Test
+    void should_match_bit_board_up_to_edges() {
+        byte[][] pattern = soup(67, 131, 42);
+        for (Engine engine : BOUNDED) {
+            for (String rule : new String[] {"Conway", "Highlife"}) {
+                Board expected = insert(Engine.BitBoard, 131, 67, pattern, rule);
+                Board result = insert(engine, 131, 67, pattern, rule);
+                for (int i = 0; i < 20; i++) {
+                    expected.nextGeneration();
+                    result.nextGeneration();
+                    assertEquals(expected.toString(), result.toString(), engine + " " + rule);
+                    assertEquals(expected.getAliveCount(), result.getAliveCount(), engine + " " + rule);
+                }
+            }
+        }
+    }
+
+    @Test
+    void should_insert_packed_pattern_like_byte_pattern() {
+        byte[][] pattern = soup(70, 130, 7);
+        for (Engine engine : Engine.values()) {
+            Board bytes = create(engine, 150, 90);
+            Board packed = create(engine, 150, 90);
+            bytes.setCellAlive(0, 0, true);
+            packed.setCellAlive(0, 0, true);
+            bytes.setCellAlive(40, 40, true);
+            packed.setCellAlive(40, 40, true);
+            bytes.insertPattern(pattern);
+            packed.insertPattern(pattern[0].length, pack(pattern));
+
+            assertEquals(bytes.getSizeX(), packed.getSizeX(), engine.name());
+            assertEquals(bytes.getSizeY(), packed.getSizeY(), engine.name());
+            assertEquals(bytes.getAliveCount(), packed.getAliveCount(), engine.name());
+            for (int y = 0; y < bytes.getSizeY(); y++) {
+                for (int x = 0; x < bytes.getSizeX(); x++) {
+                    assertEquals(bytes.getCellAlive(y, x), packed.getCellAlive(y, x), engine + " " + y + "," + x);
+                }
+            }
+        }
+    }
+}
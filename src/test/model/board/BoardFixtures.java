@@ -0,0 +1,47 @@
+package model.board;
+
+import java.util.Random;
+
+/**
+ * Patterns shared by the tests of the boards.
+ */
+public final class BoardFixtures {
+    /**
+     * Hogging the constructor, to prevent instantiation.
+     */
+    private BoardFixtures() {}
+
+    /**
+     * @param sizeY Number of rows.
+     * @param sizeX Number of columns.
+     * @param seed Seed of the random cells.
+     * @return A pattern with about one cell in three alive, the same for the same seed.
+     */
+    public static byte[][] soup(int sizeY, int sizeX, long seed) {
+        Random random = new Random(seed);
+        byte[][] pattern = new byte[sizeY][sizeX];
+        for (byte[] row : pattern) {
+            for (int x = 0; x < row.length; x++) {
+                row[x] = random.nextInt(3) == 0 ? (byte) 1 : 0;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * @param pattern A pattern of cells.
+     * @return The pattern as packed rows, as passed to {@link Board#insertPattern(int, long[][])}, with empty rows
+     * left {@code null}.
+     */
+    public static long[][] pack(byte[][] pattern) {
+        long[][] rows = new long[pattern.length][];
+        for (int y = 0; y < pattern.length; y++) {
+            for (int x = 0; x < pattern[y].length; x++) {
+                if (pattern[y][x] != 1) continue;
+                if (rows[y] == null) rows[y] = new long[(pattern[y].length + 63) / 64];
+                rows[y][x >>> 6] |= 1L << x;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,82 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardSnapshotTest {
+    @Test
+    void should_copy_cells_and_counters() {
+        Board board = new BitBoard(70, 40);
+        board.setCellAlive(3, 65, true);
+        board.setCellAlive(3, 66, true);
+        board.setCellAlive(3, 67, true);
+        board.nextGeneration();
+        BoardSnapshot snapshot = BoardSnapshot.of(board, null);
+
+        assertSame(board, snapshot.getSource());
+        assertEquals(70, snapshot.getSizeX());
+        assertEquals(40, snapshot.getSizeY());
+        assertEquals(1, snapshot.getGenCount());
+        assertEquals(3, snapshot.getAliveCount());
+        assertTrue(snapshot.getCellAlive(2, 66));
+        assertTrue(snapshot.getCellAlive(4, 66));
+        assertFalse(snapshot.getCellAlive(3, 65));
+        assertEquals(board.getChangeStamp(), snapshot.getChangeStamp());
+        assertEquals(3, snapshot.patternToBoard().getSizeY());
+    }
+
+    @Test
+    void should_not_change_with_board() {
+        Board board = new ArrayListBoard(64, 64);
+        board.setCellAlive(20, 20, true);
+        BoardSnapshot first = BoardSnapshot.of(board, null);
+        board.setCellAlive(50, 50, true);
+        board.setCellAlive(20, 20, false);
+        BoardSnapshot second = BoardSnapshot.of(board, first);
+
+        assertTrue(first.getCellAlive(20, 20));
+        assertFalse(first.getCellAlive(50, 50));
+        assertFalse(second.getCellAlive(20, 20));
+        assertTrue(second.getCellAlive(50, 50));
+        // Rows untouched since the first snapshot keep their stamps, so a view draws them once.
+        assertEquals(first.getRowChangeStamp(0), second.getRowChangeStamp(0));
+        assertTrue(second.getRowChangeStamp(50) > first.getChangeStamp());
+    }
+
+    @Test
+    void should_read_density_of_blocks() {
+        Board board = new BitBoard(100, 70);
+        for (int i = 0; i < 100; i++) {
+            board.setCellAlive((i * 7) % 70, (i * 13) % 100, true);
+        }
+        BoardSnapshot first = BoardSnapshot.of(board, null);
+        board.setCellAlive(69, 99, true);
+        board.setCellAlive(0, 0, !board.getCellAlive(0, 0));
+        BoardSnapshot second = BoardSnapshot.of(board, first);
+
+        long[] expected = new long[100];
+        long[] actual = new long[100];
+        for (int shift = 0; shift <= 8; shift++) {
+            for (int blockY = 0; blockY < DensityPyramid.blocks(70, shift); blockY++) {
+                DensityPyramid.countRows(board, shift, blockY, expected);
+                second.readDensity(shift, blockY, actual);
+                assertArrayEquals(expected, actual, "shift " + shift + ", row " + blockY);
+            }
+        }
+    }
+
+    @Test
+    void should_refuse_changes() {
+        BoardSnapshot snapshot = BoardSnapshot.of(new BitBoard(8, 8), null);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setCellAlive(0, 0, true));
+        assertThrows(UnsupportedOperationException.class, snapshot::nextGeneration);
+        assertThrows(UnsupportedOperationException.class, snapshot::clearBoard);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getThisGen().get(0).get(0).kill());
+    }
+}
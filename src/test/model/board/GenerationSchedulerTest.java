@@ -0,0 +1,77 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenerationSchedulerTest {
+    @Test
+    void should_step_every_row_once() {
+        GenerationScheduler scheduler = new GenerationScheduler(4);
+        AtomicIntegerArray visits = new AtomicIntegerArray(1001);
+        int sum = scheduler.run(visits.length(), (fromRow, toRow) -> {
+            for (int y = fromRow; y < toRow; y++) {
+                visits.incrementAndGet(y);
+            }
+            return toRow - fromRow;
+        });
+        assertEquals(visits.length(), sum);
+        for (int y = 0; y < visits.length(); y++) {
+            assertEquals(1, visits.get(y));
+        }
+        scheduler.shutdown();
+    }
+
+    @Test
+    void should_use_configured_parallelism() {
+        GenerationScheduler scheduler = new GenerationScheduler(3);
+        assertEquals(3, scheduler.getParallelism());
+        scheduler.shutdown();
+        assertThrows(IllegalArgumentException.class, () -> new GenerationScheduler(0));
+    }
+
+    @Test
+    void should_leave_injected_pool_running() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        GenerationScheduler scheduler = new GenerationScheduler(pool);
+        assertEquals(0, scheduler.run(0, (fromRow, toRow) -> toRow - fromRow));
+        scheduler.shutdown();
+        assertFalse(pool.isShutdown());
+        pool.shutdown();
+    }
+
+    @Test
+    void should_step_boards_with_separate_schedulers_at_once() throws InterruptedException {
+        byte[][] pattern = new byte[64][64];
+        for (int y = 0; y < pattern.length; y++) {
+            for (int x = 0; x < pattern[y].length; x++) {
+                pattern[y][x] = (byte) ((x * 7 + y * 13) % 5 == 0 ? 1 : 0);
+            }
+        }
+        Board expected = new BitBoard(512, 512);
+        expected.insertPattern(pattern);
+        expected.step(50);
+
+        Board[] boards = new Board[4];
+        Thread[] threads = new Thread[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            Board board = new BitBoard(512, 512);
+            board.setScheduler(new GenerationScheduler(2));
+            board.setMultithreading(true);
+            board.insertPattern(pattern);
+            boards[i] = board;
+            threads[i] = new Thread(() -> board.step(50));
+            threads[i].start();
+        }
+        for (int i = 0; i < boards.length; i++) {
+            threads[i].join();
+            assertEquals(expected.toString(), boards[i].toString());
+            assertEquals(expected.getAliveCount(), boards[i].getAliveCount());
+        }
+    }
+}
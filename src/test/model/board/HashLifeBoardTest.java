@@ -0,0 +1,124 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+import rules.RuleSet;
+import rules.StateRange;
+
+import static model.board.BoardFixtures.soup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashLifeBoardTest {
+    private static final byte[][] GLIDER = {
+            {0,1,0},
+            {0,0,1},
+            {1,1,1}
+    };
+
+    @Test
+    void should_step_glider() {
+        HashLifeBoard board = new HashLifeBoard(5, 5);
+        board.insertPattern(GLIDER);
+        assertEquals("0000000100000100111000000", board.toString());
+        board.nextGeneration();
+        assertEquals("0000000000010100011000100", board.toString());
+        assertEquals(5, board.getAliveCount());
+        assertEquals(1, board.getGenCount());
+    }
+
+    @Test
+    void should_jump_glider_far_ahead() {
+        HashLifeBoard board = new HashLifeBoard(5, 5);
+        board.insertPattern(GLIDER);
+        board.step(1L << 20);
+        assertEquals(5, board.getPopulation());
+        assertEquals(1L << 20, board.getGenerationCount());
+        // The glider has moved 2^18 cells down and to the right, out of the fixed window.
+        assertEquals("0000000000000000000000000", board.toString());
+    }
+
+    @Test
+    void should_grow_window_when_dynamic() {
+        HashLifeBoard board = new HashLifeBoard(5, 5);
+        board.setDynamic(true);
+        int[] growth = new int[2];
+        board.addPostResizeListener(size -> {
+            growth[0] += size.getDeltaBottom();
+            growth[1] += size.getDeltaRight();
+        });
+        board.insertPattern(GLIDER);
+        board.step(400);
+        assertEquals(100, growth[0]);
+        assertEquals(100, growth[1]);
+        assertEquals(5, board.getAliveCount());
+    }
+
+    @Test
+    void should_stay_correct_when_collecting_garbage() {
+        byte[][] pattern = soup(32, 32, 11);
+        Board expected = new BitBoard(256, 256);
+        HashLifeBoard result = new HashLifeBoard(256, 256);
+        result.setMaxNodes(500);
+        expected.insertPattern(pattern);
+        result.insertPattern(pattern);
+        for (int i = 0; i < 20; i++) {
+            expected.step(3);
+            result.step(3);
+            assertEquals(expected.toString(), result.toString());
+        }
+    }
+
+    @Test
+    void should_set_and_clear_cells() {
+        HashLifeBoard board = new HashLifeBoard(100, 100);
+        board.setCellAlive(99, 0, true);
+        assertTrue(board.getCellAlive(99, 0));
+        assertEquals(1, board.getAliveCount());
+        board.setCellAlive(99, 0, false);
+        assertFalse(board.getCellAlive(99, 0));
+        board.setCellAlive(3, 4, true);
+        board.clearBoard();
+        assertEquals(0, board.getAliveCount());
+        assertEquals(0, board.getGenCount());
+    }
+
+    @Test
+    void should_trim_to_pattern() {
+        HashLifeBoard board = new HashLifeBoard(100, 10);
+        board.setCellAlive(2, 70, true);
+        board.setCellAlive(3, 71, true);
+        Board pattern = board.patternToBoard();
+        assertEquals("1001", pattern.toString());
+    }
+
+    @Test
+    void should_export_and_insert_quad_tree() {
+        HashLifeBoard board = new HashLifeBoard(32, 32);
+        board.insertPattern(GLIDER);
+        QuadTree tree = board.getQuadTree();
+
+        HashLifeBoard empty = new HashLifeBoard(32, 32);
+        empty.insertQuadTree(tree);
+        // Trees carry no position, so only the shape of the pattern is kept.
+        assertEquals(board.patternToBoard().toString(), empty.patternToBoard().toString());
+
+        HashLifeBoard occupied = new HashLifeBoard(32, 32);
+        occupied.setCellAlive(0, 0, true);
+        occupied.insertQuadTree(tree);
+        assertEquals(6, occupied.getAliveCount());
+        assertTrue(occupied.getCellAlive(0, 0));
+    }
+
+    @Test
+    void should_reject_rules_giving_birth_without_neighbors() {
+        HashLifeBoard board = new HashLifeBoard(32, 32);
+        RuleSet conway = board.getRuleSet();
+        RuleSet b0 = new RuleSet("B0", new StateRange[] { new StateRange(2, 3) },
+                new StateRange[] { new StateRange(0), new StateRange(3) });
+        assertThrows(IllegalArgumentException.class, () -> board.setRuleSet(b0));
+        assertSame(conway, board.getRuleSet());
+    }
+}
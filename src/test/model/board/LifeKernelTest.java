@@ -0,0 +1,125 @@
+package model.board;
+
+import model.BoundingBox;
+import org.junit.jupiter.api.Test;
+import rules.RuleSet;
+import rules.RulesCollection;
+import rules.StateRange;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LifeKernelTest {
+    private static boolean bit(long word, int i) {
+        return (word >>> i & 1) != 0;
+    }
+
+    private static void assertMatchesRuleSet(RuleSet ruleSet) {
+        LifeKernel kernel = new LifeKernel(ruleSet);
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            long[] words = new long[9];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = random.nextLong() & random.nextLong();
+            }
+            long result = kernel.next(words[0], words[1], words[2], words[3], words[4], words[5], words[6],
+                    words[7], words[8]);
+            for (int i = 0; i < 64; i++) {
+                int numNeighbors = 0;
+                for (int j = 0; j < words.length; j++) {
+                    if (j != 4 && bit(words[j], i)) numNeighbors++;
+                }
+                boolean alive = bit(words[4], i);
+                boolean expected = alive
+                        ? (ruleSet.getSurviveMask() >>> numNeighbors & 1) != 0
+                        : (ruleSet.getBirthMask() >>> numNeighbors & 1) != 0;
+                assertEquals(expected, bit(result, i), "Bit " + i + " with " + numNeighbors + " neighbors");
+            }
+        }
+    }
+
+    @Test
+    void should_evaluate_conway() {
+        assertMatchesRuleSet(RulesCollection.getByName("Conway"));
+    }
+
+    @Test
+    void should_evaluate_highlife() {
+        assertMatchesRuleSet(RulesCollection.getByName("Highlife"));
+    }
+
+    @Test
+    void should_evaluate_arbitrary_rules() {
+        assertMatchesRuleSet(new RuleSet("Test",
+                new StateRange[] { new StateRange(0), new StateRange(5, 8) },
+                new StateRange[] { new StateRange(1, 2), new StateRange(8) }));
+    }
+
+    @Test
+    void should_step_blinker_across_word_boundary() {
+        LifeKernel kernel = new LifeKernel(RulesCollection.getByName("Conway"));
+        long[] row = { 1L << 63, 1L };
+        long[] above = new long[2];
+        long[] out = new long[2];
+        row[0] |= 1L << 62;
+        assertEquals(1, kernel.stepRow(above, row, above, out, 100, false));
+        assertArrayEquals(new long[] { 1L << 63, 0 }, out);
+
+        long[] vertical = { 1L << 63, 0 };
+        assertEquals(3, kernel.stepRow(vertical, vertical, vertical, out, 100, false));
+        assertArrayEquals(new long[] { (1L << 63) | (1L << 62), 1L }, out);
+    }
+
+    @Test
+    void should_wrap_partial_last_word() {
+        LifeKernel kernel = new LifeKernel(RulesCollection.getByName("Conway"));
+        long[] vertical = { 1, 0 };
+        long[] out = new long[2];
+        assertEquals(3, kernel.stepRow(vertical, vertical, vertical, out, 70, true));
+        assertArrayEquals(new long[] { 3, 1L << 5 }, out);
+        assertEquals(2, kernel.stepRow(vertical, vertical, vertical, out, 70, false));
+        assertArrayEquals(new long[] { 3, 0 }, out);
+    }
+
+    @Test
+    void should_read_bits_across_words() {
+        long[] row = { 1L << 63, 5 };
+        assertEquals(0b1011L, LifeKernel.bits(row, 63));
+        assertEquals(0b1011000L, LifeKernel.bits(row, 60));
+        assertEquals(row[0], LifeKernel.bits(row, 0));
+        assertEquals(1L << 3, LifeKernel.bits(new long[] { 1 }, -3));
+        assertEquals(0, LifeKernel.bits(row, 128));
+        assertEquals(0, LifeKernel.bits(null, 0));
+    }
+
+    @Test
+    void should_copy_bits_into_middle_of_row() {
+        long[] dst = { -1L, -1L, -1L };
+        LifeKernel.copyBits(new long[] { 0b101, 0 }, dst, 62, 70);
+        // Columns 62 to 131 are replaced by the pattern 101 followed by dead cells.
+        assertArrayEquals(new long[] { -1L >>> 1, 1, -1L << 4 }, dst);
+    }
+
+    @Test
+    void should_shift_row_right_across_words() {
+        long[] row = { 1L << 63 | 1, 1 };
+        LifeKernel.shiftRight(row);
+        assertArrayEquals(new long[] { 0b10, 0b11 }, row);
+    }
+
+    @Test
+    void should_grow_bounds_to_alive_cells() {
+        BoundingBox bb = new BoundingBox(10, 200, 0, 0);
+        LifeKernel.addToBounds(new long[] { 0, 0 }, 2, bb);
+        LifeKernel.addToBounds(new long[] { 1L << 60, 1 }, 3, bb);
+        LifeKernel.addToBounds(new long[] { 0, 1L << 5 }, 7, bb);
+        assertEquals(3, bb.getFirstRow());
+        assertEquals(7, bb.getLastRow());
+        assertEquals(60, bb.getFirstCol());
+        assertEquals(69, bb.getLastCol());
+        assertTrue(LifeKernel.isEmpty(new long[] { 0, 0 }));
+    }
+}
@@ -0,0 +1,84 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+
+import static model.board.BoardFixtures.soup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedBoardTest {
+    @Test
+    void should_step_glider() {
+        byte[][] glider = {
+                {0,1,0},
+                {0,0,1},
+                {1,1,1}
+        };
+        try (MappedBoard board = new MappedBoard(5, 5)) {
+            board.insertPattern(glider);
+            assertEquals("0000000100000100111000000", board.toString());
+            board.nextGeneration();
+            assertEquals("0000000000010100011000100", board.toString());
+            assertEquals(5, board.getAliveCount());
+        }
+    }
+
+    @Test
+    void should_match_bit_board_in_bands() {
+        byte[][] pattern = soup(200, 100, 3);
+        Board expected = new BitBoard(100, 200);
+        GenerationScheduler scheduler = new GenerationScheduler(4);
+        try (MappedBoard result = new MappedBoard(100, 200)) {
+            result.setScheduler(scheduler);
+            expected.insertPattern(pattern);
+            result.insertPattern(pattern);
+            for (int i = 0; i < 10; i++) {
+                expected.nextGeneration();
+                result.nextGenerationConcurrent();
+                assertEquals(expected.toString(), result.toString());
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void should_grow_when_dynamic() {
+        try (MappedBoard board = new MappedBoard(3, 3)) {
+            board.setDynamic(true);
+            int[] resizes = new int[1];
+            board.addPostResizeListener(size -> resizes[0]++);
+            board.insertPattern(new byte[][] {
+                    {0,0,0},
+                    {1,1,1},
+                    {0,0,0}
+            });
+            assertEquals(5, board.getSizeX());
+            assertEquals(1, resizes[0]);
+            board.nextGeneration();
+            assertEquals(5, board.getSizeY());
+            assertEquals("0000000100001000010000000", board.toString());
+        }
+    }
+
+    @Test
+    void should_set_cells_and_add_columns_across_words() {
+        try (MappedBoard board = new MappedBoard(64, 2)) {
+            board.setCellAlive(0, 63, true);
+            board.setCellAlive(1, 0, true);
+            board.addColLeft();
+            board.addRowTop();
+            assertEquals(65, board.getSizeX());
+            assertEquals(3, board.getSizeY());
+            assertFalse(board.getCellAlive(1, 63));
+            assertTrue(board.getCellAlive(1, 64));
+            assertTrue(board.getCellAlive(2, 1));
+            assertEquals(2, board.getAliveCount());
+
+            Board pattern = board.patternToBoard();
+            assertEquals(64, pattern.getSizeX());
+            assertEquals(2, pattern.getSizeY());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationServiceTest {
+    /**
+     * @return The next snapshot published, waiting for up to a few seconds.
+     */
+    private static BoardSnapshot awaitSnapshot(SimulationService simulation) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            BoardSnapshot snapshot = simulation.takeSnapshot();
+            if (snapshot != null) return snapshot;
+            Thread.sleep(1);
+        }
+        throw new AssertionError("No snapshot published");
+    }
+
+    @Test
+    void should_publish_snapshot_after_command()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        SimulationService simulation = new SimulationService(new BitBoard(16, 16));
+        BoardSnapshot snapshot = simulation.submit(board -> board.setCellAlive(4, 5, true)).get(5, TimeUnit.SECONDS);
+        assertTrue(snapshot.getCellAlive(4, 5));
+        assertEquals(1, snapshot.getAliveCount());
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> simulation.submit(board -> board.setCellAlive(99, 0, true)).join());
+        assertTrue(error.getCause() instanceof RuntimeException);
+        simulation.shutdown();
+    }
+
+    @Test
+    void should_step_board_until_stopped() throws InterruptedException, ExecutionException, TimeoutException {
+        Board blinker = new BitBoard(16, 16);
+        blinker.setCellAlive(8, 7, true);
+        blinker.setCellAlive(8, 8, true);
+        blinker.setCellAlive(8, 9, true);
+        SimulationService simulation = new SimulationService(blinker);
+        simulation.start();
+
+        // Snapshots are published while the board runs flat out, each of a completed generation.
+        int seen = 0;
+        while (seen < 100) {
+            BoardSnapshot snapshot = awaitSnapshot(simulation);
+            seen = snapshot.getGenCount();
+            assertEquals(3, snapshot.getAliveCount());
+            assertEquals(seen % 2 == 0, snapshot.getCellAlive(8, 7), "Generation " + seen);
+        }
+
+        simulation.stop();
+        int stopped = simulation.submit(board -> {}).get(5, TimeUnit.SECONDS).getGenCount();
+        Thread.sleep(50);
+        assertEquals(stopped, simulation.submit(board -> {}).get(5, TimeUnit.SECONDS).getGenCount());
+        simulation.shutdown();
+    }
+
+    /**
+     * @return The generation of the board, once it reached at least the passed one, waiting for up to a few seconds.
+     */
+    private static int awaitGeneration(SimulationService simulation, int generation)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            int current = simulation.submit(board -> {}).get(5, TimeUnit.SECONDS).getGenCount();
+            if (current >= generation) return current;
+            Thread.sleep(1);
+        }
+        throw new AssertionError("Generation " + generation + " not reached");
+    }
+
+    @Test
+    void should_step_at_target_rate() throws InterruptedException, ExecutionException, TimeoutException {
+        AtomicLong now = new AtomicLong();
+        long interval = TimeUnit.MILLISECONDS.toNanos(50);
+        SimulationService simulation = new SimulationService(new BitBoard(16, 16), now::get);
+        simulation.setInterval(interval);
+        simulation.start();
+
+        // The first generation is due at once, and every other one only once the clock moved on by an interval.
+        assertEquals(1, awaitGeneration(simulation, 1));
+        Thread.sleep(100);
+        assertEquals(1, awaitGeneration(simulation, 1));
+        now.addAndGet(interval - 1);
+        Thread.sleep(100);
+        assertEquals(1, awaitGeneration(simulation, 1));
+        now.addAndGet(1);
+        assertEquals(2, awaitGeneration(simulation, 2));
+        Thread.sleep(100);
+        assertEquals(2, awaitGeneration(simulation, 2));
+        simulation.shutdown();
+    }
+
+    @Test
+    void should_step_batches_of_generations_in_turbo_mode() throws InterruptedException {
+        Board blinker = new BitBoard(16, 16);
+        blinker.setCellAlive(8, 7, true);
+        blinker.setCellAlive(8, 8, true);
+        blinker.setCellAlive(8, 9, true);
+        SimulationService simulation = new SimulationService(blinker);
+        simulation.setTurbo(TimeUnit.MILLISECONDS.toNanos(5));
+        simulation.start();
+
+        // A small board steps fast, so batches grow past one generation, and snapshots skip generations.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int previous = 0;
+        int largestSkip = 0;
+        while (largestSkip <= 1 && System.nanoTime() < deadline) {
+            Thread.sleep(16);
+            BoardSnapshot snapshot = awaitSnapshot(simulation);
+            assertEquals(snapshot.getGenCount() % 2 == 0, snapshot.getCellAlive(8, 7));
+            largestSkip = Math.max(largestSkip, snapshot.getGenCount() - previous);
+            previous = snapshot.getGenCount();
+        }
+        assertTrue(largestSkip > 1, "Largest skip: " + largestSkip);
+        assertTrue(simulation.getGenerationsPerFrame() > 1);
+        simulation.shutdown();
+    }
+}
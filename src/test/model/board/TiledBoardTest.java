@@ -0,0 +1,123 @@
+package model.board;
+
+import org.junit.jupiter.api.Test;
+
+import static model.board.BoardFixtures.soup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TiledBoardTest {
+    private static final byte[][] GLIDER = {
+            {0,1,0},
+            {0,0,1},
+            {1,1,1}
+    };
+
+    private static final byte[][] GLIDER_NORTH_WEST = {
+            {1,1,1},
+            {1,0,0},
+            {0,1,0}
+    };
+
+    @Test
+    void should_step_glider() {
+        TiledBoard board = new TiledBoard(5, 5);
+        board.insertPattern(GLIDER);
+        assertEquals("0000000100000100111000000", board.toString());
+        board.nextGeneration();
+        assertEquals("0000000000010100011000100", board.toString());
+        assertEquals(5, board.getAliveCount());
+        assertEquals(1, board.getGenCount());
+    }
+
+    @Test
+    void should_step_concurrently_like_sequentially() {
+        byte[][] pattern = soup(200, 200, 3);
+        TiledBoard expected = new TiledBoard(300, 300);
+        TiledBoard result = new TiledBoard(300, 300);
+        GenerationScheduler scheduler = new GenerationScheduler(4);
+        result.setScheduler(scheduler);
+        expected.insertPattern(pattern);
+        result.insertPattern(pattern);
+        for (int i = 0; i < 30; i++) {
+            expected.nextGeneration();
+            result.nextGenerationConcurrent();
+            assertEquals(expected.toString(), result.toString());
+            assertEquals(expected.getAliveCount(), result.getAliveCount());
+        }
+        scheduler.shutdown();
+    }
+
+    @Test
+    void should_only_store_tiles_near_alive_cells() {
+        TiledBoard board = new TiledBoard(5, 5);
+        board.insertPattern(GLIDER);
+        board.step(4000);
+        assertEquals(5, board.getAliveCount());
+        assertTrue(board.getTileCount() <= 4);
+        // The glider has moved 1000 cells down and to the right, out of the fixed window.
+        assertEquals("0000000000000000000000000", board.toString());
+    }
+
+    @Test
+    void should_grow_window_when_dynamic() {
+        TiledBoard board = new TiledBoard(5, 5);
+        board.setDynamic(true);
+        int[] growth = new int[2];
+        board.addPostResizeListener(size -> {
+            growth[0] += size.getDeltaTop();
+            growth[1] += size.getDeltaLeft();
+        });
+        board.insertPattern(GLIDER_NORTH_WEST);
+        board.step(400);
+        assertEquals(100, growth[0]);
+        assertEquals(100, growth[1]);
+        assertEquals(105, board.getSizeY());
+        assertEquals(105, board.getSizeX());
+        assertEquals(5, board.getAliveCount());
+        assertTrue(board.getCellAlive(1, 1));
+    }
+
+    @Test
+    void should_set_and_clear_cells() {
+        TiledBoard board = new TiledBoard(100, 100);
+        board.setCellAlive(99, 0, true);
+        board.setCellAlive(63, 64, true);
+        assertTrue(board.getCellAlive(99, 0));
+        assertTrue(board.getCellAlive(63, 64));
+        assertEquals(2, board.getAliveCount());
+        assertEquals(2, board.getTileCount());
+        board.setCellAlive(99, 0, false);
+        assertFalse(board.getCellAlive(99, 0));
+        board.clearBoard();
+        assertEquals(0, board.getAliveCount());
+        assertEquals(0, board.getTileCount());
+        assertEquals(0, board.getGenCount());
+    }
+
+    @Test
+    void should_trim_to_pattern() {
+        TiledBoard board = new TiledBoard(100, 10);
+        board.setCellAlive(2, 70, true);
+        board.setCellAlive(3, 71, true);
+        Board pattern = board.patternToBoard();
+        assertEquals("1001", pattern.toString());
+    }
+
+    @Test
+    void should_read_rows_across_tiles() {
+        TiledBoard board = new TiledBoard(10, 10);
+        board.setDynamic(true);
+        board.insertPattern(soup(130, 130, 9));
+        assertTrue(board.getSizeX() > 130);
+
+        long[] row = new long[(board.getSizeX() + 63) / 64];
+        for (int y = 0; y < board.getSizeY(); y++) {
+            board.readRow(y, row);
+            for (int x = 0; x < board.getSizeX(); x++) {
+                assertEquals(board.getCellAlive(y, x), (row[x >>> 6] >>> x & 1) != 0, y + "," + x);
+            }
+        }
+    }
+}
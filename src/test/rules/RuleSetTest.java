@@ -47,4 +47,18 @@ class RuleSetTest {
         assertEquals(true, alive.equals(highlife.getNewState(ReferenceState.getDead(), 6)), "Dead cell comes to life with 6 neighbors");
     }
 
-}
\ No newline at end of file
+    @Test
+    void should_evaluate_transition_table_like_state_ranges() {
+        RuleSet highlife = RulesCollection.getByName("Highlife");
+        for (int n = 0; n <= 8; n++) {
+            assertEquals(highlife.getNewState(ReferenceState.getAlive(), n).isAlive(), highlife.next(true, n));
+            assertEquals(highlife.getNewState(ReferenceState.getDead(), n).isAlive(), highlife.next(false, n));
+        }
+    }
+
+    @Test
+    void should_pack_transition_mask() {
+        RuleSet conway = RulesCollection.getByName("Conway");
+        assertEquals((1 << 3) | (1 << (9 + 2)) | (1 << (9 + 3)), conway.transitionMask());
+    }
+}
@@ -3,13 +3,15 @@ package view;
 import javafx.geometry.Point2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import model.Size;
 import model.board.Board;
-import model.board.Cell;
+import model.board.BoardSnapshot;
 
-import java.util.List;
+import java.util.Arrays;
 
 import static utils.Utils.limit;
 
@@ -17,6 +19,44 @@ import static utils.Utils.limit;
  * Controller for handling all actions, draws and method calls on the passed canvas
  */
 public class CanvasController {
+    /**
+     * Ways of drawing the board onto the canvas.
+     */
+    public enum RenderMode {
+        /**
+         * Each cell is filled as a rectangle of its own.
+         */
+        CELLS,
+        /**
+         * Cells are rasterized into an image, which is copied onto the canvas in one go.
+         */
+        IMAGE,
+        /**
+         * {@link #IMAGE} when more than {@link #IMAGE_MIN_CELLS} cells are displayed, and {@link #CELLS} otherwise.
+         */
+        AUTO
+    }
+
+    /**
+     * Fewest displayed cells that are drawn as an image in {@link RenderMode#AUTO}.
+     */
+    private static final long IMAGE_MIN_CELLS = 10000;
+
+    /**
+     * Lowest zoom level, where each pixel shows a block of {@code 2^10} by {@code 2^10} cells.
+     */
+    private static final int MIN_ZOOM = -10;
+
+    /**
+     * Number of shades between the dead and alive colors that blocks of cells are drawn with when zoomed out.
+     */
+    private static final int DENSITY_SHADES = 64;
+
+    /**
+     * Share of the alive color in the shade of a block with a single alive cell, so that sparse patterns stay visible.
+     */
+    private static final double MIN_DENSITY_SHADE = 0.25;
+
     /**
      * The graphics context to wrap around.
      */
@@ -78,7 +118,8 @@ public class CanvasController {
     private Color deadColor = Color.WHITE;
 
     /**
-     * Zoom level from 0 to 10, indicating the relative size of each cell.
+     * Zoom level from {@link #MIN_ZOOM} to 10, indicating the relative size of each cell. Below 0, each pixel shows a
+     * block of cells.
      */
     private int zoomLevel = 1;
 
@@ -111,6 +152,91 @@ public class CanvasController {
      */
     private double lastMouseY = 0;
 
+    /**
+     * Board the canvas shows, or {@code null} if the whole canvas must be drawn again.
+     */
+    private Board drawnBoard;
+
+    /**
+     * Position and size of the cells the canvas shows, as they were drawn.
+     */
+    private double[] drawnGeometry;
+
+    /**
+     * Change stamp of the board when the canvas was last drawn.
+     */
+    private long drawnStamp;
+
+    /**
+     * Displayed cells as they were drawn, one row of packed bits per displayed row, holding the words of the
+     * displayed columns.
+     */
+    private long[][] drawnCells = new long[0][];
+
+    /**
+     * A whole row of the board, as packed bits.
+     */
+    private long[] rowBuffer = new long[0];
+
+    /**
+     * Color the graphics context currently fills with.
+     */
+    private Color currentFill;
+
+    /**
+     * How the board is drawn onto the canvas.
+     */
+    private RenderMode renderMode = RenderMode.AUTO;
+
+    /**
+     * {@code true} if the cells are currently drawn as an image.
+     */
+    private boolean imageRendering;
+
+    /**
+     * Image the cells are rasterized into, as large as the canvas.
+     */
+    private WritableImage image;
+
+    /**
+     * Pixels of the image, as ARGB values, row by row.
+     */
+    private int[] pixels = new int[0];
+
+    private int imageWidth;
+
+    private int imageHeight;
+
+    /**
+     * First row of pixels changed since the image was last copied onto the canvas.
+     */
+    private int dirtyMinY = Integer.MAX_VALUE;
+
+    /**
+     * Last row of pixels changed since the image was last copied onto the canvas.
+     */
+    private int dirtyMaxY = -1;
+
+    /**
+     * The alive color as an ARGB value.
+     */
+    private int aliveArgb;
+
+    /**
+     * The dead color as an ARGB value.
+     */
+    private int deadArgb;
+
+    /**
+     * ARGB values of the shades blocks of cells are drawn with when zoomed out, from sparsest to densest.
+     */
+    private int[] densityShades = new int[DENSITY_SHADES];
+
+    /**
+     * Population of each block of a row of blocks, reused between rows.
+     */
+    private long[] densityRow = new long[0];
+
     /**
      * Constructor.
      * @param canvas The canvas to wrap around and manipulate.
@@ -138,37 +264,353 @@ public class CanvasController {
     /**
      * Draws the current board onto the GraphicsContext, using the aliveColor method for the value 1,
      * and deadColor method for the value 0.
+     *
+     * Only the cells that changed since the last draw are drawn again, unless the board, the displayed part of it or
+     * the colors changed. Rows the board reports as unchanged since the last draw are skipped without being read.
+     * When many cells are displayed, the cells are drawn into an image instead, which is copied onto the canvas as a
+     * single drawing command. Zoomed out below one pixel per cell, each pixel shows the density of a block of cells,
+     * read from the populations the board keeps for its blocks.
      * @param board The board to display.
      */
     public void draw(Board board) {
-        // Clear the canvas first.
+        if (canvas.getWidth() < 1 || canvas.getHeight() < 1) return;
+        recalculateOffset();
+
+        int densityShift = Math.max(0, -zoomLevel);
+        boolean useImage = densityShift > 0 || renderMode == RenderMode.IMAGE
+                || renderMode == RenderMode.AUTO && (long) rowDiff * colDiff > IMAGE_MIN_CELLS;
+        double[] geometry = {firstRowIndex, firstColIndex, rowDiff, colDiff, offsetRow, offsetCol, board.getSizeX(),
+                board.getSizeY(), cellScale, borderWidth, canvas.getWidth(), canvas.getHeight(), useImage ? 1 : 0};
+        long stamp = board.getChangeStamp();
+        // Successive snapshots of a board share its change stamps, and are drawn as the board they were taken of.
+        Board source = board instanceof BoardSnapshot ? ((BoardSnapshot) board).getSource() : board;
+        if (source != drawnBoard || !Arrays.equals(geometry, drawnGeometry)) {
+            imageRendering = useImage;
+            if (densityShift > 0) {
+                drawAllAsDensity(board, densityShift);
+            } else if (useImage) {
+                drawAllAsImage(board);
+            } else {
+                drawAll(board);
+            }
+            drawnBoard = source;
+            drawnGeometry = geometry;
+        } else if (densityShift > 0) {
+            drawDensityRows(board, densityShift, true);
+        } else {
+            drawChanges(board);
+        }
+        if (imageRendering) {
+            flushImage();
+        }
+        drawnStamp = stamp;
+    }
+
+    /**
+     * Clears the canvas and draws every displayed cell.
+     * @param board The board to display.
+     */
+    private void drawAll(Board board) {
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        currentFill = null;
+
+        int rows = Math.max(0, rowDiff);
+        int firstWord = firstColIndex >>> 6;
+        int words = colDiff > 0 ? ((firstColIndex + colDiff - 1) >>> 6) - firstWord + 1 : 0;
+        drawnCells = new long[rows][words];
+        for (int y = 0; y < rows; y++) {
+            long[] row = readRow(board, firstRowIndex + y);
+            System.arraycopy(row, firstWord, drawnCells[y], 0, words);
+            for (int x = 0; x < colDiff; x++) {
+                int col = firstColIndex + x;
+                fillCell(y, x, (row[col >>> 6] & (1L << col)) != 0);
+            }
+        }
+    }
 
-        List<List<Cell>> gameBoard = board.getThisGen();
-        
-        double cellWithBorder = cellScale - borderWidth;
+    /**
+     * Clears the canvas and rasterizes every displayed cell into the image, filling whole runs of cells in the same
+     * state at a time.
+     * @param board The board to display.
+     */
+    private void drawAllAsImage(Board board) {
+        clearImage();
+        int rows = Math.max(0, rowDiff);
+        int firstWord = firstColIndex >>> 6;
+        int words = colDiff > 0 ? ((firstColIndex + colDiff - 1) >>> 6) - firstWord + 1 : 0;
+        drawnCells = new long[rows][words];
+        for (int y = 0; y < rows; y++) {
+            long[] row = readRow(board, firstRowIndex + y);
+            System.arraycopy(row, firstWord, drawnCells[y], 0, words);
+            rasterizeRow(row, y);
+        }
+        dirtyMinY = 0;
+        dirtyMaxY = imageHeight - 1;
+    }
 
-        recalculateOffset();
+    /**
+     * Clears the canvas and the image, making the image as large as the canvas.
+     */
+    private void clearImage() {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        imageWidth = (int) Math.ceil(canvas.getWidth());
+        imageHeight = (int) Math.ceil(canvas.getHeight());
+        if (image == null || (int) image.getWidth() != imageWidth || (int) image.getHeight() != imageHeight) {
+            image = new WritableImage(imageWidth, imageHeight);
+            pixels = new int[imageWidth * imageHeight];
+        } else {
+            Arrays.fill(pixels, 0);
+        }
+        aliveArgb = toArgb(aliveColor);
+        deadArgb = toArgb(deadColor);
+    }
 
-        for (int y = 0; y < rowDiff; y++) {
-            List<Cell> row = gameBoard.get(firstRowIndex + y);
+    /**
+     * Clears the canvas and rasterizes the density of every displayed block of cells into the image, one pixel per
+     * block.
+     * @param board The board to display.
+     * @param shift Base-2 logarithm of the side of the blocks, in cells.
+     */
+    private void drawAllAsDensity(Board board, int shift) {
+        clearImage();
+        for (int i = 0; i < DENSITY_SHADES; i++) {
+            double share = MIN_DENSITY_SHADE + (1 - MIN_DENSITY_SHADE) * i / (DENSITY_SHADES - 1);
+            densityShades[i] = toArgb(deadColor.interpolate(aliveColor, share));
+        }
+        drawDensityRows(board, shift, false);
+        dirtyMinY = 0;
+        dirtyMaxY = imageHeight - 1;
+    }
 
-            for (int x = 0; x < colDiff; x++) {
-                Cell cell = row.get(firstColIndex + x);
+    /**
+     * Rasterizes the density of the displayed blocks of cells into the image. Blocks are aligned to the board, so the
+     * displayed part of the board may be shifted by up to a pixel.
+     * @param board The board to display.
+     * @param shift Base-2 logarithm of the side of the blocks, in cells.
+     * @param changedOnly {@code true} to skip rows of blocks whose rows have not changed since the last draw.
+     */
+    private void drawDensityRows(Board board, int shift, boolean changedOnly) {
+        if (rowDiff <= 0 || colDiff <= 0) return;
+        // Blocks shown by the top left pixel.
+        int originX = (firstColIndex - offsetCol) >> shift;
+        int originY = (firstRowIndex - offsetRow) >> shift;
+        int fromX = Math.max(originX, firstColIndex >> shift);
+        int toX = Math.min(originX + imageWidth, ((firstColIndex + colDiff - 1) >> shift) + 1);
+        int fromY = Math.max(originY, firstRowIndex >> shift);
+        int toY = Math.min(originY + imageHeight, ((firstRowIndex + rowDiff - 1) >> shift) + 1);
+
+        int blocksX = (int) (((long) board.getSizeX() + (1L << shift) - 1) >>> shift);
+        if (densityRow.length < blocksX) {
+            densityRow = new long[blocksX];
+        }
+        double area = (double) (1L << shift) * (1L << shift);
+        for (int blockY = fromY; blockY < toY; blockY++) {
+            if (changedOnly && !blockRowChanged(board, blockY, shift)) continue;
+
+            board.readDensity(shift, blockY, densityRow);
+            int line = (blockY - originY) * imageWidth - originX;
+            for (int blockX = fromX; blockX < toX; blockX++) {
+                long population = densityRow[blockX];
+                pixels[line + blockX] = population == 0 ? deadArgb
+                        : densityShades[(int) (Math.sqrt(Math.min(1, population / area)) * (DENSITY_SHADES - 1))];
+            }
+            dirtyMinY = Math.min(dirtyMinY, blockY - originY);
+            dirtyMaxY = Math.max(dirtyMaxY, blockY - originY);
+        }
+    }
+
+    /**
+     * @param board The board to display.
+     * @param blockY Row of blocks.
+     * @param shift Base-2 logarithm of the side of the blocks, in cells.
+     * @return {@code true} if any row of the blocks changed since the last draw.
+     */
+    private boolean blockRowChanged(Board board, int blockY, int shift) {
+        int toY = (int) Math.min(board.getSizeY(), (long) (blockY + 1) << shift);
+        for (int y = blockY << shift; y < toY; y++) {
+            if (board.getRowChangeStamp(y) > drawnStamp) return true;
+        }
+        return false;
+    }
 
-                if (cell.getState().isAlive()) {
-                    gc.setFill(aliveColor);
-                } else {
-                    gc.setFill(deadColor);
+    /**
+     * Rasterizes a displayed row into the first row of pixels of its cells, and copies that row of pixels to the
+     * other rows of the cells.
+     * @param row The row of the board, as packed bits.
+     * @param y Displayed row.
+     */
+    private void rasterizeRow(long[] row, int y) {
+        int scale = (int) cellScale;
+        int cellSize = scale - borderWidth;
+        int py = (offsetRow + y) * scale;
+        if (py < 0 || py >= imageHeight || cellSize <= 0) return;
+
+        int line = py * imageWidth;
+        int endCol = firstColIndex + colDiff;
+        for (int col = firstColIndex; col < endCol; ) {
+            boolean alive = (row[col >>> 6] & (1L << col)) != 0;
+            int runEnd = runEnd(row, col, endCol, alive);
+            int argb = alive ? aliveArgb : deadArgb;
+            int px = (offsetCol + col - firstColIndex) * scale;
+            if (borderWidth == 0) {
+                fillLine(line, px, px + (runEnd - col) * scale, argb);
+            } else {
+                for (int c = col; c < runEnd; c++, px += scale) {
+                    fillLine(line, px, px + cellSize, argb);
                 }
+            }
+            col = runEnd;
+        }
+
+        int fromX = Math.max(0, offsetCol * scale);
+        int toX = Math.min(imageWidth, (offsetCol + colDiff) * scale);
+        for (int r = 1; r < cellSize && py + r < imageHeight && fromX < toX; r++) {
+            System.arraycopy(pixels, line + fromX, pixels, line + r * imageWidth + fromX, toX - fromX);
+        }
+    }
+
+    /**
+     * @param row A row of the board, as packed bits.
+     * @param col First column of the run.
+     * @param endCol Column after the last column to look at.
+     * @param alive State of the cells in the run.
+     * @return Column after the last cell of the run of cells in the passed state starting at {@code col}.
+     */
+    private static int runEnd(long[] row, int col, int endCol, boolean alive) {
+        while (col < endCol) {
+            long word = alive ? row[col >>> 6] : ~row[col >>> 6];
+            int shift = col & 63;
+            int length = Long.numberOfTrailingZeros(~(word >>> shift));
+            col += length;
+            if (length < 64 - shift) break;
+        }
+        return Math.min(col, endCol);
+    }
+
+    /**
+     * Fills part of a row of pixels, clipped to the image.
+     * @param line Index of the row's first pixel.
+     * @param fromX First pixel to fill.
+     * @param toX Pixel after the last pixel to fill.
+     * @param argb Color to fill with.
+     */
+    private void fillLine(int line, int fromX, int toX, int argb) {
+        fromX = Math.max(0, fromX);
+        toX = Math.min(imageWidth, toX);
+        if (fromX < toX) {
+            Arrays.fill(pixels, line + fromX, line + toX, argb);
+        }
+    }
+
+    /**
+     * Rasterizes a displayed cell into the image.
+     * @param y Displayed row of the cell.
+     * @param x Displayed column of the cell.
+     * @param alive {@code true} to fill the cell with the alive color, {@code false} for the dead color.
+     */
+    private void rasterizeCell(int y, int x, boolean alive) {
+        int scale = (int) cellScale;
+        int px = (offsetCol + x) * scale;
+        int py = (offsetRow + y) * scale;
+        int toY = Math.min(imageHeight, py + scale - borderWidth);
+        for (int r = Math.max(0, py); r < toY; r++) {
+            fillLine(r * imageWidth, px, px + scale - borderWidth, alive ? aliveArgb : deadArgb);
+        }
+        if (py < toY) {
+            dirtyMinY = Math.min(dirtyMinY, Math.max(0, py));
+            dirtyMaxY = Math.max(dirtyMaxY, toY - 1);
+        }
+    }
+
+    /**
+     * Copies the rows of pixels that changed since the last copy into the image, and draws them onto the canvas.
+     */
+    private void flushImage() {
+        if (dirtyMaxY < dirtyMinY) return;
+        int height = dirtyMaxY - dirtyMinY + 1;
+        image.getPixelWriter().setPixels(0, dirtyMinY, imageWidth, height, PixelFormat.getIntArgbInstance(), pixels,
+                dirtyMinY * imageWidth, imageWidth);
+        gc.drawImage(image, 0, dirtyMinY, imageWidth, height, 0, dirtyMinY, imageWidth, height);
+        dirtyMinY = Integer.MAX_VALUE;
+        dirtyMaxY = -1;
+    }
+
+    /**
+     * @param color A color.
+     * @return The color as an ARGB value.
+     */
+    private static int toArgb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24
+                | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8
+                | (int) Math.round(color.getBlue() * 255);
+    }
 
-                double posX = (offsetCol + x) * cellScale;
-                double poxY = (offsetRow + y) * cellScale;
-                gc.fillRect(posX, poxY, cellWithBorder, cellWithBorder);
+    /**
+     * Draws the displayed cells that changed since the last draw, comparing the rows the board reports as changed
+     * with the cells as they were drawn.
+     * @param board The board to display.
+     */
+    private void drawChanges(Board board) {
+        int firstWord = firstColIndex >>> 6;
+        int endCol = firstColIndex + colDiff;
+        for (int y = 0; y < drawnCells.length; y++) {
+            if (board.getRowChangeStamp(firstRowIndex + y) <= drawnStamp) continue;
+
+            long[] row = readRow(board, firstRowIndex + y);
+            long[] drawn = drawnCells[y];
+            for (int i = 0; i < drawn.length; i++) {
+                int wordCol = (firstWord + i) << 6;
+                long mask = -1L;
+                if (wordCol < firstColIndex) mask &= -1L << firstColIndex;
+                if (wordCol + 64 > endCol) mask &= -1L >>> (wordCol + 64 - endCol);
+
+                long word = row[firstWord + i];
+                long changed = (word ^ drawn[i]) & mask;
+                drawn[i] = word;
+                while (changed != 0) {
+                    int bit = Long.numberOfTrailingZeros(changed);
+                    changed &= changed - 1;
+                    fillCell(y, wordCol + bit - firstColIndex, (word & (1L << bit)) != 0);
+                }
             }
         }
     }
 
+    /**
+     * @param board The board to read from.
+     * @param y Row of the board to read.
+     * @return The row as packed bits, in a buffer reused between calls.
+     */
+    private long[] readRow(Board board, int y) {
+        int words = (board.getSizeX() + 63) >>> 6;
+        if (rowBuffer.length < words) {
+            rowBuffer = new long[words];
+        }
+        board.readRow(y, rowBuffer);
+        return rowBuffer;
+    }
+
+    /**
+     * Draws a displayed cell, onto the canvas or into the image.
+     * @param y Displayed row of the cell.
+     * @param x Displayed column of the cell.
+     * @param alive {@code true} to draw the cell in the alive color, {@code false} for the dead color.
+     */
+    private void fillCell(int y, int x, boolean alive) {
+        if (imageRendering) {
+            rasterizeCell(y, x, alive);
+            return;
+        }
+        Color fill = alive ? aliveColor : deadColor;
+        if (fill != currentFill) {
+            gc.setFill(fill);
+            currentFill = fill;
+        }
+        double cellWithBorder = cellScale - borderWidth;
+        gc.fillRect((offsetCol + x) * cellScale, (offsetRow + y) * cellScale, cellWithBorder, cellWithBorder);
+    }
+
     private void recalculateOffset() {
         offsetRow = 0;
         offsetCol = 0;
@@ -300,18 +742,19 @@ public class CanvasController {
 
     /**
      * Adjusts the cell scale according to the zoom level.
-     * @param zoomLevel Zoom level to set cell scale relative to. Is an integer between 1 and 10.
+     * @param zoomLevel Zoom level to set cell scale relative to. Is an integer between {@link #MIN_ZOOM} and 10. Each
+     * level below 0 halves the cell scale.
      */
     private void setZoomLevel(int zoomLevel) {
         int maxZoom = 10;
-        int minZoom = 0;
+        int minZoom = MIN_ZOOM;
         zoomLevel = limit(maxZoom, minZoom, zoomLevel);
 
         this.zoomLevel = zoomLevel;
 
         int min = 1;
 
-        cellScale = min + (zoomLevel * 2);
+        cellScale = zoomLevel < 0 ? 1.0 / (1 << -zoomLevel) : min + (zoomLevel * 2);
         if (cellScale < 5) {
             borderWidth = 0;
         } else {
@@ -339,6 +782,7 @@ public class CanvasController {
      */
     public void setAliveColor(Color aliveColor) {
         this.aliveColor = aliveColor;
+        drawnBoard = null;
     }
 
     /**
@@ -347,6 +791,15 @@ public class CanvasController {
      */
     public void setDeadColor(Color deadColor) {
         this.deadColor = deadColor;
+        drawnBoard = null;
+    }
+
+    /**
+     * @param renderMode How to draw the board onto the canvas.
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode;
+        drawnBoard = null;
     }
 
     /**